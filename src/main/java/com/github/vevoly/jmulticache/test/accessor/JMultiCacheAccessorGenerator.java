@@ -0,0 +1,191 @@
+package com.github.vevoly.jmulticache.test.accessor;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.KeyTemplate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 类型化缓存访问器生成工具 (开发辅助，与 JMultiCacheEnumGenerator 用法一致)。
+ * <p>
+ * 为 application.yml 中的每个配置生成一个访问器类：参数名取自 key-field，参数类型尽量从 entity-class 的同名字段推断，
+ * 返回值类型由 storage-type 和 entity-class 决定。
+ * Dev-time generator of typed cache accessors, one class per config. Parameter names come from key-field,
+ * parameter types from same-named entity fields where possible, and the value type from storage-type.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheAccessorGenerator {
+
+    public static final String PACKAGE_NAME = "jmulticache.generated.accessor";
+    private static final String DEFAULT_OUTPUT_DIR = "src/main/java";
+
+    private final JMultiCacheExtProperties properties;
+
+    public void generateAccessors() throws IOException {
+        generateAccessors(Paths.get(DEFAULT_OUTPUT_DIR));
+    }
+
+    public void generateAccessors(Path sourceRoot) throws IOException {
+        Path dir = sourceRoot.resolve(PACKAGE_NAME.replace('.', '/'));
+        Files.createDirectories(dir);
+        for (Map.Entry<String, JMultiCacheExtProperties.ExtConfig> entry : properties.getConfigs().entrySet()) {
+            String className = toClassName(entry.getKey());
+            String source = generateSource(entry.getKey(), className, entry.getValue());
+            Files.writeString(dir.resolve(className + ".java"), source, StandardCharsets.UTF_8);
+        }
+        log.info("[AccessorGenerator] 访问器生成完成. dir={}, count={}", dir.toAbsolutePath(), properties.getConfigs().size());
+    }
+
+    String generateSource(String configName, String className, JMultiCacheExtProperties.ExtConfig config) {
+        Class<?> entityClass = resolveEntityClass(config.getEntityClass());
+        String entityType = entityClass == null ? "Object" : entityClass.getName();
+        String valueType = valueType(config.getStorageType(), entityType);
+
+        KeyTemplate template = KeyTemplate.compile(null, config.getKeyField());
+        List<String> variables = template.getVariables();
+        // key-field 为空或无法拆分时，按单个 key 参数处理
+        boolean singleKey = variables.isEmpty();
+
+        StringBuilder params = new StringBuilder();
+        String args;
+        if (singleKey) {
+            params.append("Object key, ");
+            args = "part(key)";
+        } else {
+            for (String variable : variables) {
+                params.append(paramType(entityClass, variable)).append(' ').append(variable).append(", ");
+            }
+            args = keyPartArgs(template.getLiterals(), variables);
+        }
+        String evictParams = params.substring(0, params.length() - 2);
+
+        return "package " + PACKAGE_NAME + ";\n\n"
+                + "import com.fasterxml.jackson.core.type.TypeReference;\n"
+                + "import com.github.vevoly.jmulticache.test.accessor.TypedCacheAccessor;\n"
+                + "import io.github.vevoly.jmulticache.api.JMultiCache;\n"
+                + "import io.github.vevoly.jmulticache.api.JMultiCacheOps;\n\n"
+                + "import java.util.function.Supplier;\n\n"
+                + "/**\n"
+                + " * " + configName + " 的类型化访问器，由 JMultiCacheAccessorGenerator 生成，请勿手动修改。\n"
+                + (StringUtils.hasText(config.getKeyField()) ? " * key-field: " + config.getKeyField() + "\n" : "")
+                + " */\n"
+                + "public final class " + className + " extends TypedCacheAccessor<" + valueType + "> {\n\n"
+                + "    public static final String CONFIG_NAME = \"" + configName + "\";\n\n"
+                + "    // 值类型在类加载时解析一次，调用时不再反射\n"
+                + "    public static final TypeReference<" + valueType + "> TYPE = new TypeReference<>() {\n"
+                + "    };\n\n"
+                + "    public " + className + "(JMultiCache jMultiCache, JMultiCacheOps jMultiCacheOps) {\n"
+                + "        super(jMultiCache, jMultiCacheOps, CONFIG_NAME, TYPE);\n"
+                + "    }\n\n"
+                + "    public " + valueType + " fetch(" + params + "Supplier<" + valueType + "> loader) {\n"
+                + "        return doFetch(loader, " + args + ");\n"
+                + "    }\n\n"
+                + "    public void evict(" + evictParams + ") {\n"
+                + "        doEvict(" + args + ");\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    /**
+     * 按 ":" 把 "字面量 + 变量" 序列切分为 keyParts 参数表达式，字面量 (例如 #id + ':suffix' 中的 suffix) 原样保留。
+     * #tenantId + ':' + #id -> part(tenantId), part(id)；#id + ':suffix' -> part(id), "suffix"
+     */
+    static String keyPartArgs(List<String> literals, List<String> variables) {
+        List<List<String>> parts = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        parts.add(current);
+        for (int i = 0; i < literals.size(); i++) {
+            String[] segments = literals.get(i).split(":", -1);
+            for (int j = 0; j < segments.length; j++) {
+                if (j > 0) {
+                    current = new ArrayList<>();
+                    parts.add(current);
+                }
+                if (!segments[j].isEmpty()) {
+                    current.add('"' + escapeJava(segments[j]) + '"');
+                }
+            }
+            if (i < variables.size()) {
+                current.add("part(" + variables.get(i) + ")");
+            }
+        }
+        StringBuilder args = new StringBuilder();
+        for (List<String> fragments : parts) {
+            if (args.length() > 0) {
+                args.append(", ");
+            }
+            args.append(fragments.isEmpty() ? "\"\"" : String.join(" + ", fragments));
+        }
+        return args.toString();
+    }
+
+    private static String escapeJava(String literal) {
+        return literal.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private String valueType(String storageType, String entityType) {
+        if (storageType == null) {
+            return entityType;
+        }
+        return switch (storageType) {
+            case "list", "zset" -> "java.util.List<" + entityType + ">";
+            case "set" -> "java.util.Set<" + entityType + ">";
+            // 分页对象类型由业务决定
+            case "page" -> "Object";
+            default -> entityType;
+        };
+    }
+
+    private String paramType(Class<?> entityClass, String variable) {
+        if (entityClass == null) {
+            return "Object";
+        }
+        Field field = ReflectionUtils.findField(entityClass, variable);
+        if (field == null) {
+            return "Object";
+        }
+        Class<?> type = ClassUtils.resolvePrimitiveIfNecessary(field.getType());
+        return type.getName().startsWith("java.lang.") ? type.getSimpleName() : type.getName();
+    }
+
+    private Class<?> resolveEntityClass(String entityClass) {
+        if (!StringUtils.hasText(entityClass)) {
+            return null;
+        }
+        try {
+            return ClassUtils.forName(entityClass, getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            log.warn("[AccessorGenerator] entity-class 不存在: {}", entityClass);
+            return null;
+        }
+    }
+
+    /**
+     * TEST_USER_CACHE -> TestUserCacheAccessor
+     */
+    static String toClassName(String configName) {
+        StringBuilder sb = new StringBuilder();
+        for (String word : configName.toLowerCase().split("_")) {
+            if (!word.isEmpty()) {
+                sb.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            }
+        }
+        return sb.append("Accessor").toString();
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.vevoly.jmulticache.test.accessor;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import org.springframework.core.ResolvableType;
+
+import java.util.function.Supplier;
+
+/**
+ * 生成的类型化缓存访问器的基类，调用方不再需要传配置名字符串和强制类型转换。
+ * <p>
+ * 配置名和值类型由生成类以静态常量提供，构造时解析一次；框架 API 只接受配置名，框架内部按名查找配置这一步无法省略。
+ * Base class of generated typed cache accessors: no config-name strings and no casts at call sites. The config
+ * name and value type are static constants of the generated class and are resolved once at construction.
+ *
+ * @param <T> 缓存值类型
+ */
+public abstract class TypedCacheAccessor<T> {
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final String configName;
+    private final TypeReference<T> type;
+    // 值类型的原始类，用于在访问器边界校验框架返回值
+    private final Class<?> rawType;
+
+    protected TypedCacheAccessor(JMultiCache jMultiCache, JMultiCacheOps jMultiCacheOps, String configName,
+                                 TypeReference<T> type) {
+        this.jMultiCache = jMultiCache;
+        this.jMultiCacheOps = jMultiCacheOps;
+        this.configName = configName;
+        this.type = type;
+        this.rawType = ResolvableType.forType(type.getType()).toClass();
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public TypeReference<T> getType() {
+        return type;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T doFetch(Supplier<T> loader, String... keyParts) {
+        Object value = jMultiCache.fetchData(configName, loader, keyParts);
+        if (value != null && !rawType.isInstance(value)) {
+            // 在访问器边界报错，而不是在调用方的某次赋值时才抛出 ClassCastException
+            throw new ClassCastException("Config " + configName + " returned " + value.getClass().getName()
+                    + ", expected " + type.getType().getTypeName());
+        }
+        return (T) value;
+    }
+
+    protected void doEvict(String... keyParts) {
+        jMultiCacheOps.evict(configName, (Object[]) keyParts);
+    }
+
+    /**
+     * 与 key-field 中的字符串拼接保持一致
+     */
+    protected static String part(Object value) {
+        return String.valueOf(value);
+    }
+}
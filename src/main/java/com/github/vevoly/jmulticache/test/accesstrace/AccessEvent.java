@@ -0,0 +1,15 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+/**
+ * 一次缓存访问
+ *
+ * @param keyHash   Key 的 64 位哈希，不记录原始 Key
+ * @param level     命中层级，见 LEVEL_* 常量；按本次调用是否回源、是否读取了 L2 判定
+ * @param sizeBytes 回源时的数据大小 (L2 字节数或采样估计)，命中缓存时为 0
+ */
+public record AccessEvent(long keyHash, long timestampMillis, byte level, int sizeBytes) {
+
+    public static final byte LEVEL_L1 = 1;
+    public static final byte LEVEL_L2 = 2;
+    public static final byte LEVEL_LOADER = 3;
+}
@@ -0,0 +1,99 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 定长记录的环形访问日志文件 (内存映射)。
+ * <p>
+ * 格式：magic(int) | 容量(int) | 已写入总数(long) | 记录...；每条记录 24 字节：
+ * keyHash(long) | timestamp(long) | level(byte) | 填充(3) | size(int)。写满后从头覆盖最旧的记录。
+ * Memory-mapped ring file of fixed-size access records; once full, the oldest records are overwritten.
+ */
+public class AccessTraceFile implements Closeable {
+
+    private static final int MAGIC = 0x4A4D4354; // "JMCT"
+    private static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private long written;
+
+    private AccessTraceFile(FileChannel channel, MappedByteBuffer buffer, int capacity, long written) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.written = written;
+    }
+
+    /**
+     * 打开或创建环形文件；已有文件的容量不同时重新创建
+     */
+    public static AccessTraceFile open(Path path, int capacity) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        long size = HEADER_BYTES + (long) capacity * RECORD_BYTES;
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean reuse = channel.size() == size;
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (reuse && buffer.getInt(0) == MAGIC && buffer.getInt(4) == capacity) {
+            return new AccessTraceFile(channel, buffer, capacity, buffer.getLong(8));
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, capacity);
+        buffer.putLong(8, 0);
+        return new AccessTraceFile(channel, buffer, capacity, 0);
+    }
+
+    public synchronized void append(long keyHash, long timestampMillis, byte level, int sizeBytes) {
+        int offset = HEADER_BYTES + (int) (written % capacity) * RECORD_BYTES;
+        buffer.putLong(offset, keyHash);
+        buffer.putLong(offset + 8, timestampMillis);
+        buffer.put(offset + 16, level);
+        buffer.putInt(offset + 20, sizeBytes);
+        written++;
+        buffer.putLong(8, written);
+    }
+
+    public synchronized long getWritten() {
+        return written;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * 按时间顺序读取文件中保留的全部记录
+     */
+    public static List<AccessEvent> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not an access trace file: " + path);
+            }
+            int capacity = buffer.getInt(4);
+            long written = buffer.getLong(8);
+            int count = (int) Math.min(written, capacity);
+            long first = written - count;
+            List<AccessEvent> events = new ArrayList<>(count);
+            for (long i = first; i < written; i++) {
+                int offset = HEADER_BYTES + (int) (i % capacity) * RECORD_BYTES;
+                events.add(new AccessEvent(buffer.getLong(offset), buffer.getLong(offset + 8),
+                        buffer.get(offset + 16), buffer.getInt(offset + 20)));
+            }
+            return events;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 离线重放访问日志，模拟不同的 L1 大小、TTL 和淘汰策略。
+ * <p>
+ * 按记录的时间戳推进模拟时钟：L1 未命中计一次 L2 请求，L2 过期或不存在计一次回源并按 redis-ttl 回填。
+ * 结果给出 L1 / L2 命中率和平均每秒 L2 请求数，用来按实际流量确定 local-max-size / local-ttl / redis-ttl。
+ * 命令行：java ... AccessTraceSimulator &lt;trace file&gt; [local-max-size,...] [local-ttl,...] [redis-ttl]
+ * Offline replay of a recorded access trace against simulated L1 sizes, TTLs and eviction policies,
+ * reporting projected hit ratios and L2 load.
+ */
+public final class AccessTraceSimulator {
+
+    public enum Policy {
+        // Caffeine 默认的 W-TinyLFU
+        TINY_LFU,
+        LRU
+    }
+
+    public record Scenario(Policy policy, long localMaxSize, Duration localTtl, Duration redisTtl) {
+    }
+
+    public record Result(Scenario scenario, long requests, long l1Hits, long l2Hits, long loads, double l2RequestsPerSecond) {
+
+        public double l1HitRatio() {
+            return requests == 0 ? 0 : (double) l1Hits / requests;
+        }
+
+        public double overallHitRatio() {
+            return requests == 0 ? 0 : (double) (l1Hits + l2Hits) / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-8s size=%-7d localTtl=%-8s redisTtl=%-8s l1Hit=%.2f%% totalHit=%.2f%% loads=%d l2Qps=%.1f",
+                    scenario.policy(), scenario.localMaxSize(), scenario.localTtl(), scenario.redisTtl(),
+                    l1HitRatio() * 100, overallHitRatio() * 100, loads, l2RequestsPerSecond);
+        }
+    }
+
+    private AccessTraceSimulator() {
+    }
+
+    public static Result simulate(List<AccessEvent> events, Scenario scenario) {
+        long[] now = {0};
+        L1 l1 = scenario.policy() == Policy.LRU
+                ? new LruL1(scenario.localMaxSize(), scenario.localTtl().toMillis())
+                : new TinyLfuL1(scenario.localMaxSize(), scenario.localTtl(), now);
+        Map<Long, Long> l2ExpireAt = new HashMap<>();
+        long redisTtl = scenario.redisTtl().toMillis();
+
+        long l1Hits = 0;
+        long l2Hits = 0;
+        long loads = 0;
+        for (AccessEvent event : events) {
+            now[0] = event.timestampMillis();
+            long key = event.keyHash();
+            if (l1.get(key, now[0])) {
+                l1Hits++;
+                continue;
+            }
+            Long expireAt = l2ExpireAt.get(key);
+            if (expireAt != null && expireAt > now[0]) {
+                l2Hits++;
+            } else {
+                loads++;
+                l2ExpireAt.put(key, now[0] + redisTtl);
+            }
+            l1.put(key, now[0]);
+        }
+        long requests = events.size();
+        double seconds = events.isEmpty() ? 0
+                : Math.max(1, events.get(events.size() - 1).timestampMillis() - events.get(0).timestampMillis()) / 1000.0;
+        double l2Qps = seconds == 0 ? 0 : (requests - l1Hits) / seconds;
+        return new Result(scenario, requests, l1Hits, l2Hits, loads, l2Qps);
+    }
+
+    public static List<Result> simulateAll(List<AccessEvent> events, List<Scenario> scenarios) {
+        List<Result> results = new ArrayList<>(scenarios.size());
+        for (Scenario scenario : scenarios) {
+            results.add(simulate(events, scenario));
+        }
+        return results;
+    }
+
+    /**
+     * 实际记录中的命中分布，用于和模拟结果对照
+     */
+    public static String describeRecorded(List<AccessEvent> events) {
+        long[] levels = new long[4];
+        for (AccessEvent event : events) {
+            levels[Math.min(3, Math.max(0, event.level()))]++;
+        }
+        return String.format("recorded: requests=%d, l1=%d, l2=%d, loads=%d",
+                events.size(), levels[AccessEvent.LEVEL_L1], levels[AccessEvent.LEVEL_L2], levels[AccessEvent.LEVEL_LOADER]);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: AccessTraceSimulator <trace file> [sizes e.g. 1000,5000] [local-ttls e.g. 30s,1m] [redis-ttl e.g. 1h]");
+            return;
+        }
+        List<AccessEvent> events = AccessTraceFile.read(Path.of(args[0]));
+        List<Long> sizes = new ArrayList<>();
+        for (String size : (args.length > 1 ? args[1] : "1000,2000,5000,10000").split(",")) {
+            sizes.add(Long.parseLong(size.trim()));
+        }
+        List<Duration> localTtls = new ArrayList<>();
+        for (String ttl : (args.length > 2 ? args[2] : "30s,1m,5m").split(",")) {
+            localTtls.add(parseDuration(ttl.trim()));
+        }
+        Duration redisTtl = parseDuration(args.length > 3 ? args[3] : "1h");
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (Policy policy : Policy.values()) {
+            for (long size : sizes) {
+                for (Duration ttl : localTtls) {
+                    scenarios.add(new Scenario(policy, size, ttl, redisTtl));
+                }
+            }
+        }
+        System.out.println(describeRecorded(events));
+        simulateAll(events, scenarios).forEach(System.out::println);
+    }
+
+    private static Duration parseDuration(String text) {
+        char unit = text.charAt(text.length() - 1);
+        long value = Long.parseLong(text.substring(0, text.length() - 1));
+        return switch (unit) {
+            case 's' -> Duration.ofSeconds(value);
+            case 'm' -> Duration.ofMinutes(value);
+            case 'h' -> Duration.ofHours(value);
+            default -> Duration.ofMillis(Long.parseLong(text));
+        };
+    }
+
+    private interface L1 {
+
+        boolean get(long key, long now);
+
+        void put(long key, long now);
+    }
+
+    /**
+     * 与生产一致的 Caffeine 实现，用模拟时钟驱动过期，淘汰在当前线程同步执行
+     */
+    private static final class TinyLfuL1 implements L1 {
+
+        private final Cache<Long, Boolean> cache;
+
+        TinyLfuL1(long maxSize, Duration ttl, long[] now) {
+            Ticker ticker = () -> now[0] * 1_000_000;
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .ticker(ticker)
+                    .executor(Runnable::run)
+                    .build();
+        }
+
+        @Override
+        public boolean get(long key, long now) {
+            return cache.getIfPresent(key) != null;
+        }
+
+        @Override
+        public void put(long key, long now) {
+            cache.put(key, Boolean.TRUE);
+        }
+    }
+
+    private static final class LruL1 implements L1 {
+
+        private final long ttl;
+        private final LinkedHashMap<Long, Long> expireAt;
+
+        LruL1(long maxSize, long ttl) {
+            this.ttl = ttl;
+            this.expireAt = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        @Override
+        public boolean get(long key, long now) {
+            Long expire = expireAt.get(key);
+            if (expire == null) {
+                return false;
+            }
+            if (expire <= now) {
+                expireAt.remove(key);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void put(long key, long now) {
+            expireAt.put(key, now + ttl);
+        }
+    }
+}
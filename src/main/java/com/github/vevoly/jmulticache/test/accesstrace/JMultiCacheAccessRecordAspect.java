@@ -0,0 +1,138 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.JMultiCacheKeyGenerator;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * 在框架入口采集开启 record-access 的配置的访问，交给 {@link JMultiCacheAccessRecorder} 写入记录文件。
+ * <p>
+ * 覆盖 {@link JMultiCache#fetchData} 和 {@link JMultiCacheable} 方法。命中层级按本次调用内发生的框架动作判定：
+ * 调用了 loader 或 {@link RedisStorageStrategy} 的 write (回填) 为 LOADER，只调用了 read 为 L2，两者都没有为 L1。
+ * 排在分阶段计时切面之后，开启 tracing 时能拿到存储策略上报的数据大小。
+ * {@link JMultiCacheable} 方法被代际、成本感知切面改走 fetchData 时只记录一次。
+ * Records accesses of record-access configs at the framework entry points. The hit level is derived
+ * from what the framework did during the call: loader or backfill, L2 read, or neither.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 4)
+@RequiredArgsConstructor
+public class JMultiCacheAccessRecordAspect {
+
+    private static final ThreadLocal<Access> CURRENT = new ThreadLocal<>();
+
+    private final JMultiCacheAccessRecorder jMultiCacheAccessRecorder;
+    private final JMultiCacheKeyGenerator jMultiCacheKeyGenerator;
+    private final JMultiCacheExtProperties properties;
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchData(String, java.util.function.Supplier, String...)) && args(configName, ..)")
+    public Object aroundFetchData(ProceedingJoinPoint pjp, String configName) throws Throwable {
+        if (!jMultiCacheAccessRecorder.isRecorded(configName)) {
+            return pjp.proceed();
+        }
+        Object[] args = pjp.getArgs().clone();
+        Access current = CURRENT.get();
+        if (current != null && !current.loading && current.configName.equals(configName)) {
+            // 同一次访问的内层入口 (@JMultiCacheable 方法被改走 fetchData)，由外层记录
+            args[1] = loader(current, (Supplier<?>) args[1]);
+            return pjp.proceed(args);
+        }
+        Access access = new Access(configName, properties.buildRedisKey(configName, (String[]) args[2]));
+        args[1] = loader(access, (Supplier<?>) args[1]);
+        return record(access, () -> pjp.proceed(args));
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object aroundCacheable(ProceedingJoinPoint pjp, JMultiCacheable cacheable) throws Throwable {
+        String configName = cacheable.configName();
+        if (!StringUtils.hasText(configName) || !jMultiCacheAccessRecorder.isRecorded(configName)) {
+            return pjp.proceed();
+        }
+        String key = jMultiCacheKeyGenerator.buildKey(configName, ((MethodSignature) pjp.getSignature()).getMethod(), pjp.getArgs());
+        return record(new Access(configName, key), pjp::proceed);
+    }
+
+    @Before("execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.read(..))")
+    public void beforeRead() {
+        Access access = CURRENT.get();
+        if (access != null && !access.loading) {
+            access.l2Read = true;
+        }
+    }
+
+    @Before("execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.write(..))")
+    public void beforeWrite() {
+        Access access = CURRENT.get();
+        if (access != null && !access.loading) {
+            // 框架只在回源后回填，走框架切面的方法拿不到 loader，以回填判定
+            access.loaded = true;
+        }
+    }
+
+    private Object record(Access access, Invocation invocation) throws Throwable {
+        Access previous = CURRENT.get();
+        CURRENT.set(access);
+        Object value;
+        try {
+            value = invocation.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+        byte level = access.loaded ? AccessEvent.LEVEL_LOADER : access.l2Read ? AccessEvent.LEVEL_L2 : AccessEvent.LEVEL_L1;
+        jMultiCacheAccessRecorder.record(access.configName, access.redisKey, level, value);
+        return value;
+    }
+
+    private static Supplier<Object> loader(Access access, Supplier<?> supplier) {
+        return () -> {
+            access.loaded = true;
+            access.loading = true;
+            try {
+                return supplier.get();
+            } finally {
+                access.loading = false;
+            }
+        };
+    }
+
+    /**
+     * 一次访问中观察到的框架动作；loading 期间的嵌套读取属于其他访问
+     */
+    private static final class Access {
+
+        final String configName;
+        final String redisKey;
+        boolean loading;
+        boolean loaded;
+        boolean l2Read;
+
+        Access(String configName, String redisKey) {
+            this.configName = configName;
+            this.redisKey = redisKey;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Invocation {
+        Object proceed() throws Throwable;
+    }
+}
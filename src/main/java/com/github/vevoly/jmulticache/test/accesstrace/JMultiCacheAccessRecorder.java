@@ -0,0 +1,144 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.trace.FetchTrace;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheTracing;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存访问记录器。
+ * <p>
+ * 开启 record-access 的配置，每次经过框架的读取 (fetchData 和 {@code @JMultiCacheable} 方法，由
+ * {@link JMultiCacheAccessRecordAspect} 采集) 都会向 {目录}/{配置名}.trace 环形文件追加一条 24 字节的记录：
+ * Key 哈希、时间戳、命中层级和 (回源时的) 数据大小。文件用 {@link AccessTraceSimulator} 离线重放。
+ * 数据大小优先取存储策略上报的 L2 字节数 (开启 tracing 时)，否则每 size-sample-interval 次回源序列化一次，
+ * 其余回源使用该配置的采样均值。
+ * Records hashed-key access events for configs with record-access into a binary ring file, for offline
+ * replay with {@link AccessTraceSimulator}. Sizes come from the L2 payload reported by the storage
+ * strategy when tracing is on, otherwise from a sampled serialization.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheAccessRecorder {
+
+    private final JMultiCacheExtProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, AccessTraceFile> files = new ConcurrentHashMap<>();
+    // Key: 配置名
+    private final Map<String, SizeSampler> samplers = new ConcurrentHashMap<>();
+
+    public boolean isRecorded(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        return config != null && config.isRecordAccess();
+    }
+
+    /**
+     * 追加一条访问记录
+     *
+     * @param redisKey 完整的 Redis Key，只记录哈希
+     * @param level    命中层级，见 {@link AccessEvent} 的 LEVEL_* 常量
+     * @param value    回源得到的数据，只在 level 为 LOADER 时用于计算大小
+     */
+    public void record(String configName, String redisKey, byte level, Object value) {
+        int size = level == AccessEvent.LEVEL_LOADER && value != null ? sizeOf(configName, value) : 0;
+        fileOf(configName).append(hash(redisKey), System.currentTimeMillis(), level, size);
+    }
+
+    /**
+     * 某个配置的访问记录文件路径
+     */
+    public Path getTracePath(String configName) {
+        return Path.of(properties.getAccessTrace().getDirectory(), configName + ".trace");
+    }
+
+    @PreDestroy
+    public void close() {
+        files.forEach((configName, file) -> {
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.warn("[AccessTrace] 关闭访问记录失败. config={}", configName, e);
+            }
+        });
+        files.clear();
+    }
+
+    private AccessTraceFile fileOf(String configName) {
+        return files.computeIfAbsent(configName, name -> {
+            try {
+                return AccessTraceFile.open(getTracePath(name), properties.getAccessTrace().getCapacity());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Open access trace failed for " + name, e);
+            }
+        });
+    }
+
+    private int sizeOf(String configName, Object value) {
+        FetchTrace trace = JMultiCacheTracing.current();
+        if (trace != null && trace.getPayloadBytes() > 0) {
+            return (int) Math.min(Integer.MAX_VALUE, trace.getPayloadBytes());
+        }
+        SizeSampler sampler = samplers.computeIfAbsent(configName, name -> new SizeSampler());
+        if (sampler.shouldSample(properties.getAccessTrace().getSizeSampleInterval())) {
+            try {
+                sampler.add(objectMapper.writeValueAsBytes(value).length);
+            } catch (Exception e) {
+                log.debug("[AccessTrace] 估算数据大小失败. config={}", configName, e);
+            }
+        }
+        return sampler.average();
+    }
+
+    /**
+     * FNV-1a 64 + 混淆，记录中不保留原始 Key
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 按间隔采样序列化大小，未采样的回源使用均值
+     */
+    private static final class SizeSampler {
+
+        private final AtomicLong loads = new AtomicLong();
+        private final LongAdder sampledBytes = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+
+        boolean shouldSample(int interval) {
+            return loads.getAndIncrement() % Math.max(1, interval) == 0;
+        }
+
+        void add(int bytes) {
+            sampledBytes.add(bytes);
+            samples.increment();
+        }
+
+        int average() {
+            long count = samples.sum();
+            return count == 0 ? 0 : (int) (sampledBytes.sum() / count);
+        }
+    }
+}
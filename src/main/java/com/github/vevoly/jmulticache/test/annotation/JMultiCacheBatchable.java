@@ -0,0 +1,32 @@
+package com.github.vevoly.jmulticache.test.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 批量缓存注解：用于参数为 ID 集合的方法。
+ * <p>
+ * 按 ID 拆分后先查 L1/L2 (pipeline)，只把未命中的 ID 交给原方法，结果按入参顺序合并返回。
+ * 方法返回 List 时按入参顺序返回命中的元素，返回 Map 时返回 ID -> 元素。
+ * Batch cache annotation for methods taking a collection of IDs. Hits are served from L1/L2 through
+ * the pipelined multi-get, the method is invoked only with the missing IDs, and results are merged
+ * in input order.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface JMultiCacheBatchable {
+
+    /**
+     * 单条实体的缓存配置名，例如 TEST_USER_CACHE
+     */
+    String configName();
+
+    /**
+     * 实体中的业务主键字段名，用于把方法返回的元素对应回 ID
+     */
+    String idField() default "id";
+}
@@ -0,0 +1,108 @@
+package com.github.vevoly.jmulticache.test.aspect;
+
+import com.github.vevoly.jmulticache.test.annotation.JMultiCacheBatchable;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JMultiCacheBatchable} 的切面实现，复用 fetchMultiDataMap 的 readMulti / writeMulti 批量路径。
+ * Aspect for {@link JMultiCacheBatchable}, backed by the pipelined fetchMultiDataMap path.
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheBatchAspect {
+
+    private final JMultiCache jMultiCache;
+
+    @Around("@annotation(batchable)")
+    @SuppressWarnings("unchecked")
+    public Object around(ProceedingJoinPoint pjp, JMultiCacheBatchable batchable) throws Throwable {
+        Object[] args = pjp.getArgs();
+        int idsIndex = findIdsArgument(args);
+        if (idsIndex < 0 || CollectionUtils.isEmpty((Collection<?>) args[idsIndex])) {
+            return pjp.proceed();
+        }
+        Collection<Object> ids = (Collection<Object>) args[idsIndex];
+        Class<?> idsType = ((MethodSignature) pjp.getSignature()).getParameterTypes()[idsIndex];
+
+        Map<Object, Object> found = (Map<Object, Object>) jMultiCache.fetchMultiDataMap(
+                batchable.configName(),
+                ids,
+                batchable.idField(),
+                missingIds -> loadMissing(pjp, args, idsIndex, idsType, missingIds, batchable.idField())
+        );
+
+        Class<?> returnType = ((MethodSignature) pjp.getSignature()).getReturnType();
+        if (Map.class.isAssignableFrom(returnType)) {
+            return found;
+        }
+        // 按入参顺序合并，不存在的 ID 不返回
+        List<Object> result = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            Object value = found.get(id);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 只用未命中的 ID 调用原方法，并把结果按 idField 转为 Map
+     */
+    private Map<Object, Object> loadMissing(ProceedingJoinPoint pjp, Object[] args, int idsIndex, Class<?> idsType,
+                                            Collection<?> missingIds, String idField) {
+        Object[] missingArgs = args.clone();
+        missingArgs[idsIndex] = Set.class.isAssignableFrom(idsType)
+                ? new LinkedHashSet<>(missingIds) : new ArrayList<>(missingIds);
+        log.debug("[BatchCache] 回源未命中的 ID. method={}, ids={}", pjp.getSignature().getName(), missingIds);
+
+        Object loaded;
+        try {
+            loaded = pjp.proceed(missingArgs);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Batch loader failed: " + pjp.getSignature(), e);
+        }
+        if (loaded instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>(map);
+        }
+        Map<Object, Object> result = new LinkedHashMap<>();
+        if (loaded instanceof Collection<?> collection) {
+            for (Object item : collection) {
+                if (item != null) {
+                    result.put(PropertyAccessorFactory.forBeanPropertyAccess(item).getPropertyValue(idField), item);
+                }
+            }
+        }
+        return result;
+    }
+
+    private int findIdsArgument(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof Collection) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
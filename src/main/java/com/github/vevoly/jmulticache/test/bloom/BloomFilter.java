@@ -0,0 +1,26 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import java.util.Collection;
+
+/**
+ * 已存在 Key 的布隆过滤器
+ * Bloom filter of keys known to exist.
+ */
+public interface BloomFilter {
+
+    /**
+     * 是否可能存在；返回 false 时一定不存在。过滤器未就绪时总是返回 true，避免误杀所有请求
+     */
+    boolean mightContain(String member);
+
+    void put(String member);
+
+    void putAll(Collection<String> members);
+
+    /**
+     * 过滤器是否已完成构建
+     */
+    boolean isReady();
+
+    void markReady();
+}
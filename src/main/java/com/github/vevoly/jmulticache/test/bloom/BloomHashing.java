@@ -0,0 +1,51 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 布隆过滤器的位数/哈希函数计算，采用 Kirsch-Mitzenmacher 双哈希。
+ * Bit-size / hash-count math and double hashing (Kirsch-Mitzenmacher).
+ */
+final class BloomHashing {
+
+    private BloomHashing() {
+    }
+
+    static long optimalNumOfBits(long n, double p) {
+        return (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+    }
+
+    static int optimalNumOfHashFunctions(long n, long m) {
+        return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    /**
+     * 计算 member 对应的 k 个位下标
+     */
+    static long[] offsets(String member, int numHashFunctions, long numBits) {
+        long hash1 = fnv1a64(member.getBytes(StandardCharsets.UTF_8));
+        long hash2 = mix64(hash1);
+        long[] offsets = new long[numHashFunctions];
+        long combined = hash1;
+        for (int i = 0; i < numHashFunctions; i++) {
+            offsets[i] = (combined & Long.MAX_VALUE) % numBits;
+            combined += hash2;
+        }
+        return offsets;
+    }
+
+    private static long fnv1a64(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 防穿透布隆过滤器：挡在 L2 和回源之前。
+ * <p>
+ * 空值占位符只能挡住 empty-cache-ttl 时间内的重复请求，而且每个不存在的 ID 仍要访问一次 Redis。
+ * 开启 bloom-filter 的配置在 preload 时构建过滤器，写入时同步更新，一定不存在的 ID 直接返回 null。
+ * Negative-lookup guard in front of L2 and the loader. Configs with bloom-filter enabled build the
+ * filter during preload and keep it updated on writes; IDs that cannot exist return null immediately.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheBloomGuard {
+
+    private static final String KEY_PREFIX = "jmc:bloom:";
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final JMultiCacheExtProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    private final Map<String, BloomFilter> filters = new ConcurrentHashMap<>();
+
+    /**
+     * 带布隆过滤器的 fetchData，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        // 未开启或还没构建完成，直接放行
+        if (!mightContain(configName, keyParts)) {
+            log.debug("[BloomGuard] 拦截不存在的 Key. config={}, keyParts={}", configName, keyParts);
+            return null;
+        }
+        return jMultiCache.fetchData(configName, supplier, keyParts);
+    }
+
+    /**
+     * 预热缓存并构建布隆过滤器，Map 的 Key 与 {@link JMultiCacheOps#preloadMultiCache} 一致
+     */
+    public <T> void preloadMultiCache(String configName, Map<String, T> dataMap) {
+        jMultiCacheOps.preloadMultiCache(configName, dataMap);
+        jMultiCacheInvalidationHub.invalidateSuffixes(configName, dataMap.keySet());
+        BloomFilter filter = getFilter(configName);
+        if (filter == null) {
+            return;
+        }
+        filter.putAll(dataMap.keySet());
+        filter.markReady();
+        log.info("[BloomGuard] 布隆过滤器构建完成. config={}, size={}", configName, dataMap.size());
+    }
+
+    /**
+     * 新数据写入时登记到过滤器，否则新 ID 会被误拦截
+     */
+    public void put(String configName, String... keyParts) {
+        BloomFilter filter = getFilter(configName);
+        if (filter != null) {
+            filter.put(toMember(keyParts));
+        }
+    }
+
+    public void putAll(String configName, Collection<String> members) {
+        BloomFilter filter = getFilter(configName);
+        if (filter != null) {
+            filter.putAll(members);
+        }
+    }
+
+    public boolean mightContain(String configName, String... keyParts) {
+        BloomFilter filter = getFilter(configName);
+        return filter == null || filter.mightContain(toMember(keyParts));
+    }
+
+    private BloomFilter getFilter(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getBloomFilter().isEnabled()) {
+            return null;
+        }
+        return filters.computeIfAbsent(configName, name -> createFilter(name, config.getBloomFilter()));
+    }
+
+    private BloomFilter createFilter(String configName, JMultiCacheExtProperties.BloomFilterConfig bloomConfig) {
+        if (bloomConfig.isShared()) {
+            return new RedisBitmapBloomFilter(stringRedisTemplate, KEY_PREFIX + configName,
+                    bloomConfig.getExpectedInsertions(), bloomConfig.getFpp());
+        }
+        return new LocalBloomFilter(bloomConfig.getExpectedInsertions(), bloomConfig.getFpp());
+    }
+
+    private String toMember(String... keyParts) {
+        return String.join(":", keyParts);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.JMultiCacheKeyGenerator;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 在框架的 {@link JMultiCacheable} 切面之前查询布隆过滤器，一定不存在的 Key 直接返回 null。
+ * <p>
+ * 排在请求级 L0 切面之后，L0 命中时不产生过滤器查询。
+ * Consults the Bloom filter ahead of the framework's {@link JMultiCacheable} aspect and returns null for
+ * keys that cannot exist. Ordered after the request-scope aspect so L0 hits skip the lookup.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class JMultiCacheBloomGuardAspect {
+
+    private final JMultiCacheBloomGuard jMultiCacheBloomGuard;
+    private final JMultiCacheKeyGenerator jMultiCacheKeyGenerator;
+    private final JMultiCacheExtProperties properties;
+
+    @Around("@annotation(cacheable)")
+    public Object around(ProceedingJoinPoint pjp, JMultiCacheable cacheable) throws Throwable {
+        String configName = cacheable.configName();
+        if (!StringUtils.hasText(configName)) {
+            return pjp.proceed();
+        }
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getBloomFilter().isEnabled()) {
+            return pjp.proceed();
+        }
+        // 过滤器成员是 Key 后缀 (keyParts 以 : 拼接)，与 preload 的 Map Key 一致
+        String key = jMultiCacheKeyGenerator.buildKey(configName,
+                ((MethodSignature) pjp.getSignature()).getMethod(), pjp.getArgs());
+        String member = StringUtils.hasText(config.getNamespace()) && key.startsWith(config.getNamespace() + ":")
+                ? key.substring(config.getNamespace().length() + 1) : key;
+        if (!jMultiCacheBloomGuard.mightContain(configName, member)) {
+            log.debug("[BloomGuard] 拦截不存在的 Key. config={}, key={}", configName, key);
+            return null;
+        }
+        return pjp.proceed();
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * 本地内存布隆过滤器，查询不产生任何网络开销。
+ * In-process Bloom filter, lookups never leave the JVM.
+ */
+public class LocalBloomFilter implements BloomFilter {
+
+    private final BitSet bits;
+    private final long numBits;
+    private final int numHashFunctions;
+    private volatile boolean ready;
+
+    public LocalBloomFilter(long expectedInsertions, double fpp) {
+        // BitSet 以 int 下标寻址
+        this.numBits = Math.min(BloomHashing.optimalNumOfBits(expectedInsertions, fpp), Integer.MAX_VALUE);
+        this.numHashFunctions = BloomHashing.optimalNumOfHashFunctions(expectedInsertions, numBits);
+        this.bits = new BitSet((int) numBits);
+    }
+
+    @Override
+    public boolean mightContain(String member) {
+        if (!ready) {
+            return true;
+        }
+        long[] offsets = BloomHashing.offsets(member, numHashFunctions, numBits);
+        synchronized (bits) {
+            for (long offset : offsets) {
+                if (!bits.get((int) offset)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void put(String member) {
+        long[] offsets = BloomHashing.offsets(member, numHashFunctions, numBits);
+        synchronized (bits) {
+            for (long offset : offsets) {
+                bits.set((int) offset);
+            }
+        }
+    }
+
+    @Override
+    public void putAll(Collection<String> members) {
+        members.forEach(this::put);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void markReady() {
+        this.ready = true;
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 基于 Redis 位图的布隆过滤器，所有节点共享同一份过滤器。
+ * <p>
+ * 一次查询只发送一个 pipeline 的 GETBIT，不读取缓存数据本身，也不会回源 DB。
+ * 位图 Key 带上位数和哈希函数个数，调整 expected-insertions / fpp 后会使用新的位图，不会拿旧位图按新参数查询；
+ * 就绪标记是位图末尾的一位，和位图同生共死：位图被淘汰或误删后自动回到未就绪状态，查询全部放行。
+ * Redis-bitmap Bloom filter shared by all nodes. A lookup is a single pipelined
+ * batch of GETBITs; it never reads the cached value or hits the DB. The bitmap key encodes the
+ * sizing, and the ready marker is the bit right after the filter bits, so losing the bitmap
+ * also drops the ready state instead of rejecting every lookup.
+ */
+public class RedisBitmapBloomFilter implements BloomFilter {
+
+    // Redis 位图最大偏移量 2^32 - 1，最后一位留给就绪标记
+    private static final long MAX_BITS = (1L << 32) - 1;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String bitmapKey;
+    private final byte[] rawKey;
+    private final long numBits;
+    private final int numHashFunctions;
+    // 就绪标记所在的偏移量
+    private final long readyOffset;
+
+    /**
+     * @param keyPrefix 位图 Key 前缀，实际 Key 为 keyPrefix:numBits:numHashFunctions
+     */
+    public RedisBitmapBloomFilter(StringRedisTemplate stringRedisTemplate, String keyPrefix,
+                                  long expectedInsertions, double fpp) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.numBits = Math.min(BloomHashing.optimalNumOfBits(expectedInsertions, fpp), MAX_BITS);
+        this.numHashFunctions = BloomHashing.optimalNumOfHashFunctions(expectedInsertions, numBits);
+        this.readyOffset = numBits;
+        this.bitmapKey = keyPrefix + ":" + numBits + ":" + numHashFunctions;
+        this.rawKey = bitmapKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public String getBitmapKey() {
+        return bitmapKey;
+    }
+
+    /**
+     * 就绪标记和过滤位在同一个 pipeline 中读取，未就绪时返回 true
+     */
+    @Override
+    public boolean mightContain(String member) {
+        long[] offsets = BloomHashing.offsets(member, numHashFunctions, numBits);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().getBit(rawKey, readyOffset);
+            for (long offset : offsets) {
+                connection.stringCommands().getBit(rawKey, offset);
+            }
+            return null;
+        });
+        if (!Boolean.TRUE.equals(results.get(0))) {
+            return true;
+        }
+        for (int i = 1; i < results.size(); i++) {
+            if (!Boolean.TRUE.equals(results.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void put(String member) {
+        long[] offsets = BloomHashing.offsets(member, numHashFunctions, numBits);
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            setBits(connection, offsets);
+            return null;
+        });
+    }
+
+    @Override
+    public void putAll(Collection<String> members) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String member : members) {
+                setBits(connection, BloomHashing.offsets(member, numHashFunctions, numBits));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isReady() {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().getBit(bitmapKey, readyOffset));
+    }
+
+    @Override
+    public void markReady() {
+        stringRedisTemplate.opsForValue().setBit(bitmapKey, readyOffset, true);
+    }
+
+    private void setBits(RedisConnection connection, long[] offsets) {
+        for (long offset : offsets) {
+            connection.stringCommands().setBit(rawKey, offset, true);
+        }
+    }
+}
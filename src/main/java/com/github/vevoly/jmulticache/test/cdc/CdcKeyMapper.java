@@ -0,0 +1,134 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcMapping;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcMode;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ExtConfig;
+import com.github.vevoly.jmulticache.test.key.KeyTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把行变更映射为缓存 Key 操作。
+ * <p>
+ * Key 复用配置的 key-field (没有 key-field 的映射会被告警并忽略)：启动时编译为不带 namespace 的 {@link KeyTemplate}，行的列值作为变量
+ * (列名按 columns 映射，否则按变量名或其 snake_case 形式匹配)。UPDATE 同时计算变更前后的 Key，
+ * Key 发生变化 (例如换了租户) 时旧 Key 失效；REFRESH 模式下用变更后的行构造 entity-class 直接写入。
+ * Maps row changes to cache key operations using each config's key-field, compiled once without
+ * the namespace. Updates that move a row to a different key evict the old key as well.
+ */
+@Slf4j
+public class CdcKeyMapper {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, List<Route>> routes = new HashMap<>();
+
+    public CdcKeyMapper(JMultiCacheExtProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        for (CdcMapping mapping : properties.getCdc().getMappings()) {
+            ExtConfig config = properties.getConfig(mapping.getConfig());
+            if (config == null) {
+                throw new IllegalArgumentException("Unknown j-multi-cache config in cdc mapping: " + mapping.getConfig());
+            }
+            if (!StringUtils.hasText(config.getKeyField())) {
+                // 没有 key-field 无法从行计算 Key，跳过该映射而不是让整个应用启动失败
+                log.warn("[CDC] 配置缺少 key-field，已忽略该映射. table={}, config={}", mapping.getTable(), mapping.getConfig());
+                continue;
+            }
+            Class<?> entityClass = null;
+            if (mapping.getMode() == CdcMode.REFRESH) {
+                if (!StringUtils.hasText(config.getEntityClass())) {
+                    throw new IllegalStateException("cdc refresh requires entity-class on config " + mapping.getConfig());
+                }
+                entityClass = ClassUtils.resolveClassName(config.getEntityClass(), getClass().getClassLoader());
+            }
+            routes.computeIfAbsent(mapping.getTable(), table -> new ArrayList<>())
+                    .add(new Route(mapping, KeyTemplate.compile(null, config.getKeyField()), entityClass));
+        }
+    }
+
+    public boolean isMapped(String table) {
+        return routes.containsKey(table);
+    }
+
+    public List<KeyChange> map(ChangeEvent event) {
+        List<Route> tableRoutes = routes.get(event.table());
+        if (tableRoutes == null) {
+            return List.of();
+        }
+        List<KeyChange> changes = new ArrayList<>(tableRoutes.size() * 2);
+        for (Route route : tableRoutes) {
+            String configName = route.mapping().getConfig();
+            String beforeKey = suffix(route, event.before());
+            String afterKey = suffix(route, event.after());
+            if (beforeKey != null && !beforeKey.equals(afterKey)) {
+                changes.add(KeyChange.evict(configName, beforeKey));
+            }
+            if (afterKey == null) {
+                continue;
+            }
+            if (route.entityClass() != null) {
+                Object entity = objectMapper.convertValue(camelCase(event.after(), false), route.entityClass());
+                changes.add(KeyChange.refresh(configName, afterKey, entity));
+            } else {
+                changes.add(KeyChange.evict(configName, afterKey));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * 计算 Key 后缀，行为空或缺少 key-field 引用的列时返回 null
+     */
+    private String suffix(Route route, Map<String, Object> row) {
+        if (row == null || row.isEmpty()) {
+            return null;
+        }
+        Map<String, Object> variables = camelCase(row, true);
+        route.mapping().getColumns().forEach((variable, column) -> variables.put(variable, row.get(column)));
+        for (String variable : route.template().getVariables()) {
+            if (variables.get(variable) == null) {
+                log.warn("[CDC] 行中缺少 Key 变量，已跳过. config={}, variable={}, row={}",
+                        route.mapping().getConfig(), variable, row);
+                return null;
+            }
+        }
+        return route.template().build(variables);
+    }
+
+    /**
+     * 列名转为驼峰 (tenant_id -> tenantId)，keepOriginal 时原列名同时保留
+     */
+    static Map<String, Object> camelCase(Map<String, Object> row, boolean keepOriginal) {
+        Map<String, Object> result = new HashMap<>(row.size() * 2);
+        row.forEach((column, value) -> {
+            if (keepOriginal || column.indexOf('_') < 0) {
+                result.put(column, value);
+            }
+            if (column.indexOf('_') >= 0) {
+                StringBuilder sb = new StringBuilder(column.length());
+                boolean upper = false;
+                for (char c : column.toCharArray()) {
+                    if (c == '_') {
+                        upper = sb.length() > 0;
+                    } else {
+                        sb.append(upper ? Character.toUpperCase(c) : c);
+                        upper = false;
+                    }
+                }
+                result.putIfAbsent(sb.toString(), value);
+            }
+        });
+        return result;
+    }
+
+    private record Route(CdcMapping mapping, KeyTemplate template, Class<?> entityClass) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 单线程顺序通道。同一 Key 总是分配到同一通道，按提交顺序处理；
+ * 一次取出队列中积压的变更，同一 Key 只保留最后一次，再整批交给 applier。
+ * Single-threaded ordered lane. A key always maps to the same lane; queued changes are drained
+ * together, coalesced per key (last one wins) and applied as one batch with retries.
+ */
+@Slf4j
+class CdcLane {
+
+    private final BlockingQueue<Item> queue;
+    private final int maxBatch;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final Consumer<List<KeyChange>> applier;
+    private final LongAdder coalesced;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    CdcLane(int index, int capacity, int maxBatch, int maxRetries, Duration retryBackoff,
+            Consumer<List<KeyChange>> applier, LongAdder coalesced) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatch = maxBatch;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.applier = applier;
+        this.coalesced = coalesced;
+        this.worker = new Thread(this::run, "j-multi-cache-cdc-lane-" + index);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 通道已满时阻塞，背压传回拉取线程
+     */
+    void submit(KeyChange change, Batch batch) throws InterruptedException {
+        queue.put(new Item(change, batch));
+    }
+
+    void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        List<Item> items = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                Item first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                items.add(first);
+                queue.drainTo(items, maxBatch - 1);
+
+                // 1. 合并同一 Key 的多次变更，后到的覆盖先到的
+                Map<String, KeyChange> latest = new LinkedHashMap<>(items.size() * 2);
+                for (Item item : items) {
+                    latest.put(item.change().key(), item.change());
+                }
+                coalesced.add(items.size() - latest.size());
+
+                // 2. 应用并通知所属批次
+                boolean ok = applyWithRetry(new ArrayList<>(latest.values()));
+                for (Item item : items) {
+                    item.batch().complete(ok);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                items.clear();
+            }
+        }
+    }
+
+    private boolean applyWithRetry(List<KeyChange> changes) throws InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                applier.accept(changes);
+                return true;
+            } catch (Exception e) {
+                if (attempt >= maxRetries) {
+                    log.error("[CDC] 应用缓存变更失败，批次将重新投递. size={}", changes.size(), e);
+                    return false;
+                }
+                log.warn("[CDC] 应用缓存变更失败，重试 {}/{}. size={}, error={}",
+                        attempt + 1, maxRetries, changes.size(), e.toString());
+                Thread.sleep(retryBackoff.toMillis() * (attempt + 1));
+            }
+        }
+    }
+
+    private record Item(KeyChange change, Batch batch) {
+    }
+
+    /**
+     * 一次拉取产生的全部 Key 操作，全部成功后才能确认事件
+     */
+    static final class Batch {
+
+        private final CountDownLatch latch;
+        private volatile boolean failed;
+
+        Batch(int size) {
+            this.latch = new CountDownLatch(size);
+        }
+
+        void complete(boolean ok) {
+            if (!ok) {
+                failed = true;
+            }
+            latch.countDown();
+        }
+
+        /**
+         * 等待全部完成，返回是否全部成功
+         */
+        boolean await() throws InterruptedException {
+            latch.await();
+            return !failed;
+        }
+    }
+}
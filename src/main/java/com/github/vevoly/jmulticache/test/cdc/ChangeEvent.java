@@ -0,0 +1,34 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import java.util.Map;
+
+/**
+ * 一条行变更事件，before / after 为变更前后的列值 (INSERT 无 before，DELETE 无 after)
+ * One row change captured from the source of truth.
+ *
+ * @param table     表名，与 cdc.mappings[].table 对应
+ * @param op        变更类型
+ * @param before    变更前的行
+ * @param after     变更后的行
+ * @param timestamp 源端提交时间 (毫秒)，用于统计延迟
+ */
+public record ChangeEvent(String table, Op op, Map<String, Object> before, Map<String, Object> after, long timestamp) {
+
+    public enum Op {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+
+    public static ChangeEvent insert(String table, Map<String, Object> after) {
+        return new ChangeEvent(table, Op.INSERT, null, after, System.currentTimeMillis());
+    }
+
+    public static ChangeEvent update(String table, Map<String, Object> before, Map<String, Object> after) {
+        return new ChangeEvent(table, Op.UPDATE, before, after, System.currentTimeMillis());
+    }
+
+    public static ChangeEvent delete(String table, Map<String, Object> before) {
+        return new ChangeEvent(table, Op.DELETE, before, null, System.currentTimeMillis());
+    }
+}
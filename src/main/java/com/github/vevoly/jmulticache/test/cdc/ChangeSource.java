@@ -0,0 +1,34 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 变更事件来源，例如 binlog / 逻辑复制订阅。
+ * <p>
+ * 至少一次语义：poll 取出的事件在 commit 之前不算消费，rollback 后会重新投递。
+ * 容器中存在该类型的 Bean 时优先使用，否则按 cdc.source 创建内置实现。
+ * Source of row change events with at-least-once delivery: polled events are redelivered
+ * after {@link #rollback()} until {@link #commit()} is called.
+ */
+public interface ChangeSource extends AutoCloseable {
+
+    /**
+     * 取出最多 maxEvents 条事件，没有事件时最多等待 timeout，超时返回空列表
+     */
+    List<ChangeEvent> poll(int maxEvents, Duration timeout) throws InterruptedException;
+
+    /**
+     * 确认此前取出的全部事件已处理
+     */
+    void commit();
+
+    /**
+     * 放弃此前取出但未确认的事件，下次 poll 重新投递
+     */
+    void rollback();
+
+    @Override
+    default void close() {
+    }
+}
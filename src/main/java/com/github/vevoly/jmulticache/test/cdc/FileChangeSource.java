@@ -0,0 +1,174 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文件事件源：追加写入的 JSON Lines 文件，每行一个 {@link ChangeEvent}，用于测试或对接导出变更的批处理任务。
+ * <p>
+ * 消费位置 (字节偏移) 在 commit 时写入旁边的 .offset 文件 (临时文件 + 原子替换)，重启后从上次确认的位置继续；
+ * 末尾不完整的行 (正在写入) 留到下一次读取，无法解析的行和超过 1MB 的行记录日志后跳过，计入 {@link #getSkippedRecords()}。
+ * Tails an append-only JSON Lines file. The committed byte offset is persisted next to it
+ * atomically, so restarts resume after the last committed event; a partial last line is left
+ * for the next poll. Unparseable and oversized lines are logged, counted and skipped.
+ */
+@Slf4j
+public class FileChangeSource implements ChangeSource {
+
+    private static final int READ_CHUNK = 1 << 20;
+    private static final long IDLE_SLEEP_MILLIS = 50;
+
+    private final Path file;
+    private final Path offsetFile;
+    private final ObjectMapper objectMapper;
+
+    private long committed;
+    private long position;
+    private long skippedRecords;
+
+    public FileChangeSource(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.offsetFile = file.resolveSibling(file.getFileName() + ".offset");
+        this.objectMapper = objectMapper;
+        this.committed = readOffset();
+        this.position = committed;
+    }
+
+    @Override
+    public synchronized List<ChangeEvent> poll(int maxEvents, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            List<ChangeEvent> events = readFrom(maxEvents);
+            if (!events.isEmpty() || System.nanoTime() >= deadline) {
+                return events;
+            }
+            Thread.sleep(Math.min(IDLE_SLEEP_MILLIS, Math.max(1, (deadline - System.nanoTime()) / 1_000_000)));
+        }
+    }
+
+    @Override
+    public synchronized void commit() {
+        if (position == committed) {
+            return;
+        }
+        try {
+            Path tmp = offsetFile.resolveSibling(offsetFile.getFileName() + ".tmp");
+            Files.writeString(tmp, String.valueOf(position));
+            Files.move(tmp, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入 CDC 消费位置失败: " + offsetFile, e);
+        }
+    }
+
+    @Override
+    public synchronized void rollback() {
+        position = committed;
+    }
+
+    public synchronized long getCommittedOffset() {
+        return committed;
+    }
+
+    /**
+     * 跳过的坏记录数 (无法解析或超过读取块大小)
+     */
+    public synchronized long getSkippedRecords() {
+        return skippedRecords;
+    }
+
+    private List<ChangeEvent> readFrom(int maxEvents) {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        List<ChangeEvent> events = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            // 1. 文件被截断或替换时从头开始
+            if (raf.length() < position) {
+                log.warn("[CDC] 事件文件变短，从头读取. file={}", file);
+                position = 0;
+            }
+            while (events.size() < maxEvents && position < raf.length()) {
+                byte[] chunk = new byte[(int) Math.min(READ_CHUNK, raf.length() - position)];
+                raf.seek(position);
+                raf.readFully(chunk);
+                // 2. 只消费以换行结尾的完整行
+                int lineStart = 0;
+                for (int i = 0; i < chunk.length && events.size() < maxEvents; i++) {
+                    if (chunk[i] != '\n') {
+                        continue;
+                    }
+                    parseLine(new String(chunk, lineStart, i - lineStart, StandardCharsets.UTF_8), events);
+                    lineStart = i + 1;
+                }
+                if (lineStart == 0) {
+                    // 没有完整行：单行超过一个读取块时跳到下一个换行，否则是正在写入的行
+                    if (chunk.length < READ_CHUNK || !skipOversizedLine(raf)) {
+                        break;
+                    }
+                    continue;
+                }
+                position += lineStart;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取 CDC 事件文件失败: " + file, e);
+        }
+        return events;
+    }
+
+    /**
+     * 从当前位置之后查找换行，找到时把超长行记为坏记录并跳过；还没有换行 (仍在写入) 时返回 false，下次再找
+     */
+    private boolean skipOversizedLine(RandomAccessFile raf) throws IOException {
+        byte[] buffer = new byte[READ_CHUNK];
+        long scan = position + READ_CHUNK;
+        while (scan < raf.length()) {
+            int length = (int) Math.min(READ_CHUNK, raf.length() - scan);
+            raf.seek(scan);
+            raf.readFully(buffer, 0, length);
+            for (int i = 0; i < length; i++) {
+                if (buffer[i] == '\n') {
+                    long end = scan + i + 1;
+                    log.error("[CDC] 单行超过 {} 字节，已跳过. file={}, offset={}, length={}", READ_CHUNK, file, position, end - position);
+                    skippedRecords++;
+                    position = end;
+                    return true;
+                }
+            }
+            scan += length;
+        }
+        return false;
+    }
+
+    private void parseLine(String line, List<ChangeEvent> events) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            events.add(objectMapper.readValue(line, ChangeEvent.class));
+        } catch (IOException e) {
+            log.error("[CDC] 无法解析的事件，已跳过. file={}, line={}", file, line, e);
+            skippedRecords++;
+        }
+    }
+
+    private long readOffset() {
+        try {
+            return Files.exists(offsetFile) ? Long.parseLong(Files.readString(offsetFile).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("[CDC] 消费位置文件损坏，从头读取. file={}", offsetFile, e);
+            return 0;
+        }
+    }
+}
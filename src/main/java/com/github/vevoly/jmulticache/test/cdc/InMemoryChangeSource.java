@@ -0,0 +1,72 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存事件源，用于测试和单机演示。
+ * <p>
+ * 容量按 "尚未 commit 的事件数" 计算，写满时 {@link #publish} 阻塞，把背压传给生产方；
+ * rollback 放回的事件已占用容量，不会因队列已满而丢失。
+ * Bounded in-memory change source for tests. Capacity counts uncommitted events, so publishers
+ * block under backpressure and rolled-back events always fit back in.
+ */
+public class InMemoryChangeSource implements ChangeSource {
+
+    private final LinkedBlockingDeque<ChangeEvent> queue = new LinkedBlockingDeque<>();
+    private final int capacity;
+    private final Semaphore permits;
+    private final List<ChangeEvent> inflight = new ArrayList<>();
+
+    public InMemoryChangeSource(int capacity) {
+        this.capacity = capacity;
+        this.permits = new Semaphore(capacity);
+    }
+
+    public void publish(ChangeEvent event) throws InterruptedException {
+        permits.acquire();
+        queue.putLast(event);
+    }
+
+    /**
+     * 尚未确认的事件数 (队列中 + 已取出未 commit)。
+     * 按已占用的容量计算：事件在 publish 时占用、commit 时释放，poll 在队列和 inflight 之间搬运时不会读到 0
+     */
+    public int pending() {
+        return capacity - permits.availablePermits();
+    }
+
+    @Override
+    public List<ChangeEvent> poll(int maxEvents, Duration timeout) throws InterruptedException {
+        ChangeEvent first = queue.pollFirst(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<ChangeEvent> events = new ArrayList<>();
+        events.add(first);
+        queue.drainTo(events, maxEvents - 1);
+        synchronized (this) {
+            inflight.addAll(events);
+        }
+        return events;
+    }
+
+    @Override
+    public synchronized void commit() {
+        permits.release(inflight.size());
+        inflight.clear();
+    }
+
+    @Override
+    public synchronized void rollback() {
+        // 逆序放回队首，保持原有顺序
+        for (int i = inflight.size() - 1; i >= 0; i--) {
+            queue.addFirst(inflight.get(i));
+        }
+        inflight.clear();
+    }
+}
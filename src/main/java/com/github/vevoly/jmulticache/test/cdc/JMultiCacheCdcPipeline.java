@@ -0,0 +1,231 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcConfig;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcMode;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.version.JMultiCacheVersionGuard;
+import com.github.vevoly.jmulticache.test.write.JMultiCacheWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 变更数据捕获驱动的缓存失效 / 刷新。
+ * <p>
+ * 拉取线程从 {@link ChangeSource} 批量取出行变更，经 {@link CdcKeyMapper} 按 cdc.mappings 映射成缓存 Key 操作，
+ * 再按 Key 哈希分发到固定数量的顺序通道：同一 Key 的变更严格按序处理，不同 Key 并行；通道内同一 Key 的连续变更合并，
+ * 失效和刷新都先写版本墓碑 (防止慢回源回填旧值)；失效经失效中心删除并广播，刷新按配置批量走 preload 的 pipeline 写入。
+ * 一批事件全部应用成功才 commit，失败则 rollback 重新投递 (至少一次，失效和刷新都是幂等的)；
+ * 通道有界且拉取线程等待本批完成后才拉取下一批，积压时事件留在事件源中，而不是堆在内存里。
+ * CDC-driven cache invalidation and refresh. Row changes are mapped to key operations, routed to
+ * ordered lanes by key hash, coalesced and applied in batches. Events are committed only after every
+ * resulting operation succeeded, so delivery is at-least-once and backlog stays in the source.
+ */
+@Slf4j
+@Component
+public class JMultiCacheCdcPipeline {
+
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheVersionGuard jMultiCacheVersionGuard;
+    private final JMultiCacheWriter jMultiCacheWriter;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ChangeSource> changeSources;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder keyChanges = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder redeliveries = new LongAdder();
+    private volatile long lagMillis;
+
+    private ChangeSource source;
+    private CdcKeyMapper mapper;
+    private CdcLane[] lanes;
+    private Thread poller;
+    private volatile boolean running;
+
+    public JMultiCacheCdcPipeline(JMultiCacheExtProperties properties, JMultiCacheVersionGuard jMultiCacheVersionGuard,
+                                  JMultiCacheWriter jMultiCacheWriter, JMultiCacheInvalidationHub jMultiCacheInvalidationHub,
+                                  ObjectMapper objectMapper, ObjectProvider<ChangeSource> changeSources) {
+        this.properties = properties;
+        this.jMultiCacheVersionGuard = jMultiCacheVersionGuard;
+        this.jMultiCacheWriter = jMultiCacheWriter;
+        this.jMultiCacheInvalidationHub = jMultiCacheInvalidationHub;
+        this.objectMapper = objectMapper;
+        this.changeSources = changeSources;
+    }
+
+    @PostConstruct
+    public void start() {
+        CdcConfig cdc = properties.getCdc();
+        if (!cdc.isEnabled()) {
+            return;
+        }
+        mapper = new CdcKeyMapper(properties, objectMapper);
+        source = changeSources.getIfAvailable(() -> createSource(cdc));
+        lanes = new CdcLane[cdc.getLanes()];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new CdcLane(i, cdc.getLaneCapacity(), cdc.getBatchSize(), cdc.getMaxRetries(),
+                    cdc.getRetryBackoff(), this::apply, coalesced);
+        }
+        running = true;
+        poller = new Thread(this::pollLoop, "j-multi-cache-cdc-poller");
+        poller.setDaemon(true);
+        poller.start();
+        log.info("[CDC] 已启动. source={}, mappings={}, lanes={}",
+                source.getClass().getSimpleName(), cdc.getMappings().size(), lanes.length);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        poller.interrupt();
+        try {
+            poller.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (CdcLane lane : lanes) {
+            lane.stop();
+        }
+        source.close();
+    }
+
+    /**
+     * 当前使用的事件源，未启用时返回 null
+     */
+    public ChangeSource getSource() {
+        return source;
+    }
+
+    public Stats getStats() {
+        return new Stats(events.sum(), keyChanges.sum(), coalesced.sum(), evictions.sum(), refreshes.sum(),
+                redeliveries.sum(), lagMillis);
+    }
+
+    /**
+     * @param events       已拉取的事件数 (含重新投递)
+     * @param keyChanges   映射出的 Key 操作数
+     * @param coalesced    合并掉的 Key 操作数
+     * @param evictions    实际执行的失效数
+     * @param refreshes    实际执行的刷新数
+     * @param redeliveries 因应用失败而回滚的批次数
+     * @param lagMillis    最近一批中最早事件从源端提交到应用完成的耗时
+     */
+    public record Stats(long events, long keyChanges, long coalesced, long evictions, long refreshes,
+                        long redeliveries, long lagMillis) {
+    }
+
+    private void pollLoop() {
+        CdcConfig cdc = properties.getCdc();
+        while (running) {
+            try {
+                List<ChangeEvent> batch = source.poll(cdc.getBatchSize(), cdc.getPollTimeout());
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                if (dispatch(batch)) {
+                    source.commit();
+                } else {
+                    redeliveries.increment();
+                    source.rollback();
+                    Thread.sleep(cdc.getRetryBackoff().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[CDC] 处理变更事件失败，批次将重新投递", e);
+                redeliveries.increment();
+                source.rollback();
+                sleepQuietly(cdc.getRetryBackoff().toMillis());
+            }
+        }
+    }
+
+    /**
+     * 分发一批事件并等待全部应用，返回是否全部成功
+     */
+    private boolean dispatch(List<ChangeEvent> batch) throws InterruptedException {
+        events.add(batch.size());
+        List<KeyChange> changes = new ArrayList<>(batch.size() * 2);
+        long oldest = Long.MAX_VALUE;
+        for (ChangeEvent event : batch) {
+            changes.addAll(mapper.map(event));
+            oldest = Math.min(oldest, event.timestamp());
+        }
+        keyChanges.add(changes.size());
+        if (!changes.isEmpty()) {
+            CdcLane.Batch pending = new CdcLane.Batch(changes.size());
+            for (KeyChange change : changes) {
+                lanes[Math.floorMod(change.key().hashCode(), lanes.length)].submit(change, pending);
+            }
+            if (!pending.await()) {
+                return false;
+            }
+        }
+        if (oldest > 0 && oldest != Long.MAX_VALUE) {
+            lagMillis = System.currentTimeMillis() - oldest;
+        }
+        return true;
+    }
+
+    /**
+     * 由各通道线程调用，按配置分组：失效先写版本墓碑，再经失效中心删除并整批广播；
+     * 刷新先写版本墓碑 (回源中的旧值不能再回填)，再批量写入，写入方负责通知失效中心
+     */
+    private void apply(List<KeyChange> changes) {
+        Map<String, List<String[]>> evictByConfig = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> refreshByConfig = new LinkedHashMap<>();
+        for (KeyChange change : changes) {
+            if (change.action() == CdcMode.REFRESH) {
+                refreshByConfig.computeIfAbsent(change.configName(), name -> new LinkedHashMap<>())
+                        .put(change.suffix(), change.value());
+            } else {
+                evictByConfig.computeIfAbsent(change.configName(), name -> new ArrayList<>())
+                        .add(change.suffix().split(":"));
+            }
+        }
+        evictByConfig.forEach((configName, keys) -> {
+            keys.forEach(keyParts -> jMultiCacheVersionGuard.tombstone(configName, keyParts));
+            jMultiCacheInvalidationHub.evictAll(configName, keys);
+            evictions.add(keys.size());
+        });
+        refreshByConfig.forEach((configName, dataMap) -> {
+            dataMap.keySet().forEach(suffix -> jMultiCacheVersionGuard.tombstone(configName, suffix.split(":")));
+            jMultiCacheWriter.putAll(configName, dataMap);
+            refreshes.add(dataMap.size());
+        });
+    }
+
+    private ChangeSource createSource(CdcConfig cdc) {
+        if ("file".equalsIgnoreCase(cdc.getSource())) {
+            return new FileChangeSource(Path.of(cdc.getFile()), objectMapper);
+        }
+        return new InMemoryChangeSource(cdc.getMemoryCapacity());
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
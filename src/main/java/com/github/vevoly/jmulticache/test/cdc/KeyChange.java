@@ -0,0 +1,30 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcMode;
+
+/**
+ * 由变更事件映射出的单个缓存 Key 操作
+ * One cache key operation derived from a change event.
+ *
+ * @param configName 缓存配置名
+ * @param suffix     keyParts 以 ":" 拼接的结果，与 preloadMultiCache 的 Key 一致
+ * @param action     EVICT 或 REFRESH
+ * @param value      REFRESH 时写入的实体
+ */
+public record KeyChange(String configName, String suffix, CdcMode action, Object value) {
+
+    public static KeyChange evict(String configName, String suffix) {
+        return new KeyChange(configName, suffix, CdcMode.EVICT, null);
+    }
+
+    public static KeyChange refresh(String configName, String suffix, Object value) {
+        return new KeyChange(configName, suffix, CdcMode.REFRESH, value);
+    }
+
+    /**
+     * 用于分配顺序通道和合并同一 Key 的多次变更
+     */
+    public String key() {
+        return configName + "|" + suffix;
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.vevoly.jmulticache.test.cluster;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * 按哈希槽 / 节点拆分的批量执行器。
+ * <p>
+ * 集群模式下批量 Key 先按槽分组 (同槽的多 Key 命令在集群中合法)，再按节点归并；每个节点的全部槽分组交给一次
+ * 节点批次 (通常是一次 pipeline)，各节点并行执行，结果合并返回。单机 / 哨兵不按槽拆分，整批只有一个分组。
+ * In cluster mode, splits a multi-key batch by hash slot and hands all slot groups of a node to one node
+ * batch (typically one pipeline); node batches run in parallel. Standalone deployments get a single group.
+ */
+public class ClusterBatchExecutor {
+
+    private final SlotNodeResolver resolver;
+    private final Executor executor;
+
+    public ClusterBatchExecutor(SlotNodeResolver resolver, Executor executor) {
+        this.resolver = resolver;
+        this.executor = executor;
+    }
+
+    /**
+     * 执行计划：节点 -> 该节点上的各个同槽 Key 分组；单机时只有一个包含全部 Key 的分组
+     */
+    public Map<String, List<List<String>>> plan(Collection<String> keys) {
+        Map<String, List<List<String>>> byNode = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return byNode;
+        }
+        if (resolver.isStandalone()) {
+            byNode.put(resolver.nodeOf(0), List.of(new ArrayList<>(keys)));
+            return byNode;
+        }
+        Map<Integer, List<String>> bySlot = new LinkedHashMap<>();
+        for (String key : keys) {
+            bySlot.computeIfAbsent(RedisSlots.slot(key), slot -> new ArrayList<>()).add(key);
+        }
+        bySlot.forEach((slot, slotKeys) ->
+                byNode.computeIfAbsent(resolver.nodeOf(slot), node -> new ArrayList<>()).add(slotKeys));
+        return byNode;
+    }
+
+    /**
+     * @param nodeBatch 对同一个节点上的全部槽分组执行一次批量 (每个分组内的 Key 同槽)，返回 Key -> 结果
+     */
+    public <R> Map<String, R> execute(Collection<String> keys, Function<List<List<String>>, Map<String, R>> nodeBatch) {
+        Map<String, List<List<String>>> plan = plan(keys);
+        if (plan.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (plan.size() == 1) {
+            // 单节点不切线程
+            return runNode(plan.values().iterator().next(), nodeBatch);
+        }
+        List<CompletableFuture<Map<String, R>>> futures = new ArrayList<>(plan.size());
+        for (List<List<String>> slotGroups : plan.values()) {
+            futures.add(CompletableFuture.supplyAsync(() -> runNode(slotGroups, nodeBatch), executor));
+        }
+        Map<String, R> merged = new HashMap<>(keys.size() * 2);
+        for (CompletableFuture<Map<String, R>> future : futures) {
+            merged.putAll(future.join());
+        }
+        return merged;
+    }
+
+    private <R> Map<String, R> runNode(List<List<String>> slotGroups, Function<List<List<String>>, Map<String, R>> nodeBatch) {
+        Map<String, R> result = nodeBatch.apply(slotGroups);
+        return result == null ? new HashMap<>() : result;
+    }
+}
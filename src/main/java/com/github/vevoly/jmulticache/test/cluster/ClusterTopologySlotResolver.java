@@ -0,0 +1,49 @@
+package com.github.vevoly.jmulticache.test.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 从集群拓扑读取 槽 -> 主节点 映射；槽位迁移或主从切换导致批次失败时，由 {@link JMultiCacheClusterBatch} 调用
+ * {@link #refresh()} 重新加载。
+ * Slot-to-master mapping read from the cluster topology; reloaded by {@link JMultiCacheClusterBatch}
+ * when a batch fails after resharding or failover.
+ */
+@Slf4j
+public class ClusterTopologySlotResolver implements SlotNodeResolver {
+
+    private final RedisConnectionFactory connectionFactory;
+    private volatile AtomicReferenceArray<String> slotOwners = new AtomicReferenceArray<>(RedisSlots.SLOT_COUNT);
+
+    public ClusterTopologySlotResolver(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        refresh();
+    }
+
+    @Override
+    public String nodeOf(int slot) {
+        String node = slotOwners.get(slot);
+        return node == null ? "unknown" : node;
+    }
+
+    public synchronized void refresh() {
+        AtomicReferenceArray<String> owners = new AtomicReferenceArray<>(RedisSlots.SLOT_COUNT);
+        try (RedisClusterConnection connection = connectionFactory.getClusterConnection()) {
+            for (RedisClusterNode node : connection.clusterGetNodes()) {
+                if (!node.isMaster()) {
+                    continue;
+                }
+                String nodeId = node.getHost() + ":" + node.getPort();
+                for (Integer slot : node.getSlotRange().getSlots()) {
+                    owners.set(slot, nodeId);
+                }
+            }
+        }
+        this.slotOwners = owners;
+        log.info("[Cluster] 槽位拓扑已刷新");
+    }
+}
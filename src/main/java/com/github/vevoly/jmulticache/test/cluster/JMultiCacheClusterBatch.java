@@ -0,0 +1,147 @@
+package com.github.vevoly.jmulticache.test.cluster;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 集群感知的批量读写。
+ * <p>
+ * 跨槽的多 Key 批量在集群上要么报错、要么被串行拆分；这里按槽 / 节点分组，每个节点的各槽命令放进同一个 pipeline，
+ * 各节点并行执行再合并；单机部署不拆分，整批一条命令。
+ * 批次失败 (槽位迁移的 MOVED / ASK、主从切换后连不上旧主节点) 时重新加载槽位拓扑，按新的分组重试一次。
+ * 需要同槽的相关 Key 在 namespace 中使用 hash tag，例如 "{user}:profile"。
+ * Cluster-aware batches (slot commands pipelined per node, nodes in parallel; one command when standalone).
+ * A failed batch reloads the slot topology and is retried once with the new grouping.
+ */
+@Slf4j
+@Component
+public class JMultiCacheClusterBatch {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ExecutorService executor;
+    private final SlotNodeResolver resolver;
+    private final ClusterBatchExecutor batchExecutor;
+
+    public JMultiCacheClusterBatch(StringRedisTemplate stringRedisTemplate, RedisConnectionFactory connectionFactory) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.executor = Executors.newFixedThreadPool(4, r -> {
+            Thread thread = new Thread(r, "j-multi-cache-cluster-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.resolver = createResolver(connectionFactory);
+        this.batchExecutor = new ClusterBatchExecutor(resolver, executor);
+    }
+
+    /**
+     * 批量读取字符串 Key，不存在的 Key 不返回。
+     * 单机时整批一次 MGET；集群时每个节点一次 pipeline，pipeline 内每个槽一条 MGET
+     */
+    public Map<String, String> multiGet(Collection<String> keys) {
+        return execute(keys, slotGroups -> {
+            Map<String, String> result = new HashMap<>();
+            if (slotGroups.size() == 1) {
+                collect(result, slotGroups.get(0), stringRedisTemplate.opsForValue().multiGet(slotGroups.get(0)));
+                return result;
+            }
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (List<String> slotKeys : slotGroups) {
+                    conn.mGet(slotKeys.toArray(new String[0]));
+                }
+                return null;
+            });
+            for (int i = 0; i < slotGroups.size(); i++) {
+                @SuppressWarnings("unchecked")
+                List<String> values = (List<String>) replies.get(i);
+                collect(result, slotGroups.get(i), values);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * 批量删除 (UNLINK)，与 multiGet 一样按节点 pipeline
+     */
+    public long unlink(Collection<String> keys) {
+        Map<String, Long> counts = execute(keys, slotGroups -> {
+            List<Object> replies = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (List<String> slotKeys : slotGroups) {
+                    conn.unlink(slotKeys.toArray(new String[0]));
+                }
+                return null;
+            });
+            long removed = 0;
+            for (Object reply : replies) {
+                removed += reply instanceof Long count ? count : 0L;
+            }
+            return Map.of(slotGroups.get(0).get(0), removed);
+        });
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Key 所在的节点，单机时为 default
+     */
+    public String nodeOf(String key) {
+        return resolver.nodeOf(RedisSlots.slot(key));
+    }
+
+    public ClusterBatchExecutor getBatchExecutor() {
+        return batchExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * 按当前拓扑执行；失败时刷新拓扑后重试一次 (单机部署没有拓扑，直接抛出)
+     */
+    private <R> Map<String, R> execute(Collection<String> keys, Function<List<List<String>>, Map<String, R>> nodeBatch) {
+        try {
+            return batchExecutor.execute(keys, nodeBatch);
+        } catch (DataAccessException | CompletionException e) {
+            if (!(resolver instanceof ClusterTopologySlotResolver topology)) {
+                throw e;
+            }
+            log.warn("[Cluster] 批量操作失败，刷新槽位拓扑后重试. keys={}", keys.size(), e);
+            topology.refresh();
+            return batchExecutor.execute(keys, nodeBatch);
+        }
+    }
+
+    private static void collect(Map<String, String> result, List<String> keys, List<String> values) {
+        for (int i = 0; values != null && i < keys.size(); i++) {
+            if (values.get(i) != null) {
+                result.put(keys.get(i), values.get(i));
+            }
+        }
+    }
+
+    private SlotNodeResolver createResolver(RedisConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof LettuceConnectionFactory lettuce && lettuce.isClusterAware()) {
+            log.info("[Cluster] 检测到 Redis Cluster，批量操作按槽位路由");
+            return new ClusterTopologySlotResolver(connectionFactory);
+        }
+        return SlotNodeResolver.singleNode();
+    }
+}
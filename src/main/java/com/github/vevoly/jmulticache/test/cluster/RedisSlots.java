@@ -0,0 +1,57 @@
+package com.github.vevoly.jmulticache.test.cluster;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis Cluster 哈希槽计算：CRC16(XMODEM) % 16384，支持 {hash-tag}。
+ * Redis Cluster hash slot: CRC16 (XMODEM) mod 16384, honouring {hash tags}.
+ */
+public final class RedisSlots {
+
+    public static final int SLOT_COUNT = 16384;
+
+    private static final int[] CRC16_TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i << 8;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 0x8000) != 0 ? (crc << 1) ^ 0x1021 : crc << 1;
+            }
+            CRC16_TABLE[i] = crc & 0xffff;
+        }
+    }
+
+    private RedisSlots() {
+    }
+
+    public static int slot(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int start = 0;
+        int end = bytes.length;
+        // 只对第一个非空的 {...} 计算
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '{') {
+                for (int j = i + 1; j < bytes.length; j++) {
+                    if (bytes[j] == '}') {
+                        if (j > i + 1) {
+                            start = i + 1;
+                            end = j;
+                        }
+                        break;
+                    }
+                }
+                break;
+            }
+        }
+        return crc16(bytes, start, end) % SLOT_COUNT;
+    }
+
+    static int crc16(byte[] bytes, int start, int end) {
+        int crc = 0;
+        for (int i = start; i < end; i++) {
+            crc = ((crc << 8) ^ CRC16_TABLE[((crc >>> 8) ^ (bytes[i] & 0xff)) & 0xff]) & 0xffff;
+        }
+        return crc;
+    }
+}
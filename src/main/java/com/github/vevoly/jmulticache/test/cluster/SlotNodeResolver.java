@@ -0,0 +1,45 @@
+package com.github.vevoly.jmulticache.test.cluster;
+
+/**
+ * 哈希槽 -> 节点 的映射
+ * Maps a hash slot to the node that owns it.
+ */
+@FunctionalInterface
+public interface SlotNodeResolver {
+
+    /**
+     * @return 节点标识，例如 host:port
+     */
+    String nodeOf(int slot);
+
+    /**
+     * 是否为单机 / 哨兵部署：此时多 Key 命令可以跨槽，不需要按槽拆分
+     */
+    default boolean isStandalone() {
+        return false;
+    }
+
+    /**
+     * 单机 / 哨兵：所有槽都在同一个节点
+     */
+    static SlotNodeResolver singleNode() {
+        return new SlotNodeResolver() {
+            @Override
+            public String nodeOf(int slot) {
+                return "default";
+            }
+
+            @Override
+            public boolean isStandalone() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * 本地多节点替身：按槽位平均分配给给定的节点，用于测试
+     */
+    static SlotNodeResolver evenlySplit(String... nodes) {
+        return slot -> nodes[(int) ((long) slot * nodes.length / RedisSlots.SLOT_COUNT)];
+    }
+}
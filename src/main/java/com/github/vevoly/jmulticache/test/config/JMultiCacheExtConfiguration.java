@@ -0,0 +1,13 @@
+package com.github.vevoly.jmulticache.test.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 多级缓存扩展组件的装配入口
+ * Entry point for wiring the multi-level cache extension components.
+ */
+@Configuration
+@EnableConfigurationProperties(JMultiCacheExtProperties.class)
+public class JMultiCacheExtConfiguration {
+}
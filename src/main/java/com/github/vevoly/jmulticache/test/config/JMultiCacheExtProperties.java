@@ -0,0 +1,282 @@
+package com.github.vevoly.jmulticache.test.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 扩展配置：与框架共用 j-multi-cache.configs 节点，只绑定扩展功能关心的字段。
+ * <p>
+ * Extension properties: shares the j-multi-cache.configs node with the framework
+ * and binds only the fields the extension components need.
+ */
+@Data
+@ConfigurationProperties(prefix = "j-multi-cache")
+public class JMultiCacheExtProperties {
+
+    private Map<String, ExtConfig> configs = new LinkedHashMap<>();
+
+    // L2 熔断与降级，按 Redis 节点生效
+    private ResilienceConfig resilience = new ResilienceConfig();
+
+    // L1 快照，重启后快速恢复本地缓存
+    private SnapshotConfig snapshot = new SnapshotConfig();
+
+    // 分阶段耗时统计和慢调用采样
+    private TracingConfig tracing = new TracingConfig();
+
+    // 访问记录文件，用于离线重放模拟
+    private AccessTraceConfig accessTrace = new AccessTraceConfig();
+
+    // 多配置读取计划的执行线程池
+    private FetchPlanConfig fetchPlan = new FetchPlanConfig();
+
+    // 变更数据捕获：源数据在缓存 API 之外变更时自动失效或刷新
+    private CdcConfig cdc = new CdcConfig();
+
+    // 本地日志存储引擎 (localstore profile)，storage-type: local 的配置用它代替 Redis 作为 L2
+    private LocalStoreConfig localStore = new LocalStoreConfig();
+
+    /**
+     * 获取扩展配置，未配置时返回 null
+     */
+    public ExtConfig getConfig(String configName) {
+        return configs.get(configName);
+    }
+
+    /**
+     * 拼接 Redis Key：namespace + keyParts，规则与框架一致
+     */
+    public String buildRedisKey(String configName, String... keyParts) {
+        ExtConfig config = configs.get(configName);
+        String namespace = config == null ? configName : config.getNamespace();
+        if (keyParts == null || keyParts.length == 0) {
+            return namespace;
+        }
+        return namespace + ":" + String.join(":", keyParts);
+    }
+
+    @Data
+    public static class ExtConfig {
+        private String namespace;
+        private String keyField;
+        private String storageType;
+        private String entityClass;
+        private Duration redisTtl;
+        private Duration localTtl;
+        private Long localMaxSize;
+
+        // 防穿透布隆过滤器
+        private BloomFilterConfig bloomFilter = new BloomFilterConfig();
+        // 写入模式: through 同步写 L2; behind 合并后异步批量写 L2
+        private WriteMode writeMode = WriteMode.THROUGH;
+        private WriteBehindConfig writeBehind = new WriteBehindConfig();
+        // 版本墓碑，防止慢回源把旧数据写回缓存
+        private VersionGuardConfig versionGuard = new VersionGuardConfig();
+        // 代际失效，evictNamespace / evictTag 为 O(1)
+        private GenerationConfig generation = new GenerationConfig();
+        // 分段分页：本配置只存 ID 列表 + 总数，记录从 record-config 批量获取
+        private PageConfig page = new PageConfig();
+        // list / set 配置的本地二级索引字段
+        private List<String> indexFields = new ArrayList<>();
+        // 按回源代价淘汰的本地缓存，容量沿用 local-max-size
+        private boolean costAware = false;
+        // 按访问频率和变化频率自适应调整 TTL
+        private AdaptiveTtlConfig adaptiveTtl = new AdaptiveTtlConfig();
+        // 请求内 L0 缓存：同一请求内重复读取只解析一次
+        private boolean requestScoped = false;
+        // 停机时写入 L1 快照的最热条数，0 表示不参与快照
+        private int snapshotTopN = 0;
+        // 记录访问日志，用于离线模拟缓存大小和 TTL
+        private boolean recordAccess = false;
+        // 按租户隔离本地缓存容量和回源并发
+        private TenantConfig tenant = new TenantConfig();
+        // 派生缓存依赖的源配置，源条目失效时级联失效
+        private List<DependsOnConfig> dependsOn = new ArrayList<>();
+    }
+
+    @Data
+    public static class BloomFilterConfig {
+        // 是否启用
+        private boolean enabled = false;
+        // 是否通过 Redis 位图在多节点间共享，false 时仅本地内存
+        private boolean shared = true;
+        // 预计元素数量
+        private long expectedInsertions = 100_000;
+        // 期望误判率
+        private double fpp = 0.01;
+    }
+
+    public enum WriteMode {
+        THROUGH,
+        BEHIND
+    }
+
+    @Data
+    public static class WriteBehindConfig {
+        // 刷新间隔
+        private Duration flushInterval = Duration.ofSeconds(1);
+        // 缓冲区上限，达到上限时由写入线程同步刷新
+        private int maxPending = 1000;
+    }
+
+    @Data
+    public static class VersionGuardConfig {
+        private boolean enabled = false;
+        // 墓碑存活时间，需大于最慢一次回源的耗时
+        private Duration tombstoneTtl = Duration.ofSeconds(30);
+        // 回源期间版本变化时的最大重试次数
+        private int maxReloads = 2;
+    }
+
+    @Data
+    public static class GenerationConfig {
+        private boolean enabled = false;
+        // 作为标签的 keyPart 下标 (例如 tenantId)，-1 表示不启用标签
+        private int tagPartIndex = -1;
+        // 本地缓存代际号的时间，其他节点最多延迟这么久看到新代际
+        private Duration localTtl = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class PageConfig {
+        // 记录所在的实体缓存配置，例如 TEST_USER_CACHE
+        private String recordConfig;
+        // 实体中的业务主键字段名
+        private String idField = "id";
+        // 是否异步预取下一页
+        private boolean prefetch = true;
+    }
+
+    @Data
+    public static class AdaptiveTtlConfig {
+        private boolean enabled = false;
+        // Redis TTL 的调整范围
+        private Duration minTtl = Duration.ofSeconds(10);
+        private Duration maxTtl = Duration.ofHours(1);
+        // 每分钟访问次数低于该值的 Key 不延长 TTL
+        private int hotAccessPerMinute = 10;
+    }
+
+    @Data
+    public static class ResilienceConfig {
+        private boolean enabled = true;
+        // 超过该耗时的 L2 调用计为慢调用
+        private Duration slowCallThreshold = Duration.ofMillis(100);
+        // 滑动窗口内失败 (含慢调用) 比例达到该值时熔断
+        private double failureRateThreshold = 0.5;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        // 熔断后多久放行一次探测请求
+        private Duration openDuration = Duration.ofSeconds(10);
+        // 降级时可用的过期数据最大条数
+        private long staleReserveSize = 10_000;
+        private Duration staleMaxAge = Duration.ofMinutes(30);
+        // L2 不可用时每秒允许的回源次数
+        private int loaderPermitsPerSecond = 50;
+    }
+
+    @Data
+    public static class SnapshotConfig {
+        private boolean enabled = false;
+        private String path = "data/j-multi-cache-l1.snapshot";
+        // 快照文件超过该时间则整体作废
+        private Duration maxAge = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class LocalStoreConfig {
+        private String path = "data/j-multi-cache-l2.log";
+        // 日志超过该大小时按当前数据重写压缩
+        private long compactThresholdBytes = 64L * 1024 * 1024;
+        // 每次写入 (或每个批次) 后是否强制刷盘
+        private boolean fsync = false;
+    }
+
+    @Data
+    public static class TracingConfig {
+        private boolean enabled = false;
+        // 超过该耗时的调用按采样率记录慢日志
+        private Duration slowThreshold = Duration.ofMillis(200);
+        private double slowSampleRate = 0.1;
+        // 直方图可记录的最大耗时
+        private Duration histogramMax = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class AccessTraceConfig {
+        private String directory = "data/access-trace";
+        // 每个配置保留的最近记录条数，每条 24 字节
+        private int capacity = 1_000_000;
+        // 未开启 tracing (拿不到 L2 字节数) 时，每隔多少次回源序列化一次估算数据大小
+        private int sizeSampleInterval = 16;
+    }
+
+    @Data
+    public static class TenantConfig {
+        private boolean enabled = false;
+        // 租户所在的 keyPart 下标
+        private int tenantPartIndex = 0;
+        // 分区总容量，0 表示使用 local-max-size
+        private long capacity = 0;
+        // 每个租户最多占用的容量比例，可按租户单独配置
+        private double defaultShare = 0.25;
+        private Map<String, Double> shares = new LinkedHashMap<>();
+        // 每个租户的最大并发回源数，0 表示不限制
+        private int maxConcurrentLoads = 0;
+        private Duration loadWaitTimeout = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class DependsOnConfig {
+        // 源配置名
+        private String config;
+        // 源 keyParts 取自派生 keyParts 的哪些下标
+        private List<Integer> keyPartIndexes = new ArrayList<>();
+    }
+
+    @Data
+    public static class FetchPlanConfig {
+        private int threads = 8;
+        // 整个计划的最长等待时间
+        private Duration timeout = Duration.ofSeconds(3);
+    }
+
+    @Data
+    public static class CdcConfig {
+        private boolean enabled = false;
+        // 内置事件源: memory | file，容器中存在 ChangeSource Bean 时忽略
+        private String source = "memory";
+        private String file = "data/cdc/changes.jsonl";
+        // 内存事件源最多容纳的未确认事件数，写满时发布方阻塞
+        private int memoryCapacity = 100_000;
+        private int batchSize = 500;
+        private Duration pollTimeout = Duration.ofMillis(100);
+        // 按 Key 哈希分配的顺序通道数，同一 Key 的变更始终在同一通道内按序处理
+        private int lanes = 4;
+        private int laneCapacity = 10_000;
+        private int maxRetries = 3;
+        private Duration retryBackoff = Duration.ofMillis(200);
+        private List<CdcMapping> mappings = new ArrayList<>();
+    }
+
+    @Data
+    public static class CdcMapping {
+        private String table;
+        private String config;
+        private CdcMode mode = CdcMode.EVICT;
+        // key-field 变量名 -> 列名，未配置时按变量名和 snake_case 列名自动匹配
+        private Map<String, String> columns = new LinkedHashMap<>();
+    }
+
+    public enum CdcMode {
+        EVICT,
+        // 用变更后的行直接构造 entity-class 写入缓存，行被删除时失效
+        REFRESH
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.vevoly.jmulticache.test.cost;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按回源代价淘汰的本地缓存 (采样版 GreedyDual-Size-Frequency)。
+ * <p>
+ * 每个条目的优先级 = 时钟 + 访问次数 × 回源代价 / 大小。超出容量时从存活条目中随机采样若干条淘汰优先级最低的，
+ * 并把时钟推进到被淘汰者的优先级 (老化)；新条目优先级低于采样最低值时直接拒绝写入。
+ * 这样内存紧张时，重建昂贵的数据会留下，廉价的数据先被淘汰。
+ * Sampled GreedyDual-Size-Frequency cache: priority = clock + hits * loadCost / size. When over capacity
+ * a random sample is taken and the lowest-priority entry is evicted (the clock advances to it); candidates
+ * below the sampled minimum are not admitted.
+ */
+class CostAwareLocalCache {
+
+    private static final int SAMPLE_SIZE = 8;
+
+    private final long maxSize;
+    private final long ttlNanos;
+    private final LoadCostStats stats;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 存活条目的紧凑数组 (删除时用末尾元素填补空位)，随机下标即为对存活条目的均匀采样；结构性修改在锁内进行
+    private final List<Entry> live = new ArrayList<>();
+    // 每次失效递增，回源期间发生过失效的结果不写入
+    private final AtomicLong epoch = new AtomicLong();
+    private volatile double clock;
+
+    CostAwareLocalCache(long maxSize, long ttlNanos, LoadCostStats stats) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.stats = stats;
+    }
+
+    Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            synchronized (this) {
+                removeLocked(entry);
+            }
+            return null;
+        }
+        entry.hits++;
+        entry.priority = clock + entry.hits * entry.costPerByte;
+        return entry.value;
+    }
+
+    long epoch() {
+        return epoch.get();
+    }
+
+    void put(String key, Object value, long loadCostNanos, long sizeBytes) {
+        put(key, value, loadCostNanos, sizeBytes, epoch.get());
+    }
+
+    /**
+     * @param epochBeforeLoad 回源前的 {@link #epoch()}，回源期间发生过失效则不写入
+     */
+    synchronized void put(String key, Object value, long loadCostNanos, long sizeBytes, long epochBeforeLoad) {
+        if (epoch.get() != epochBeforeLoad) {
+            return;
+        }
+        Entry entry = new Entry(key, value, (double) Math.max(1, loadCostNanos) / Math.max(1, sizeBytes));
+        entry.priority = clock + entry.costPerByte;
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            entry.slot = existing.slot;
+            live.set(entry.slot, entry);
+            entries.put(key, entry);
+            return;
+        }
+        if (entries.size() >= maxSize && !evictOne(entry.priority)) {
+            // 比采样到的条目都更廉价，不值得占用本地缓存
+            stats.recordAdmissionReject();
+            return;
+        }
+        entry.slot = live.size();
+        live.add(entry);
+        entries.put(key, entry);
+    }
+
+    synchronized void invalidate(String key) {
+        epoch.incrementAndGet();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            removeLocked(entry);
+        }
+    }
+
+    long size() {
+        return entries.size();
+    }
+
+    /**
+     * 从存活条目中采样，淘汰优先级最低的条目；候选者优先级更低时不淘汰，返回 false
+     */
+    private boolean evictOne(double candidatePriority) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Entry victim = null;
+        for (int i = 0; i < SAMPLE_SIZE && !live.isEmpty(); i++) {
+            Entry entry = live.get(random.nextInt(live.size()));
+            // 过期条目优先淘汰
+            if (System.nanoTime() - entry.createdAt > ttlNanos) {
+                victim = entry;
+                break;
+            }
+            if (victim == null || entry.priority < victim.priority) {
+                victim = entry;
+            }
+        }
+        if (victim == null || victim.priority > candidatePriority) {
+            return false;
+        }
+        removeLocked(victim);
+        clock = Math.max(clock, victim.priority);
+        stats.recordEviction();
+        return true;
+    }
+
+    private void removeLocked(Entry entry) {
+        if (!entries.remove(entry.key, entry)) {
+            return;
+        }
+        Entry last = live.remove(live.size() - 1);
+        if (last != entry) {
+            live.set(entry.slot, last);
+            last.slot = entry.slot;
+        }
+    }
+
+    private static final class Entry {
+        final String key;
+        final Object value;
+        final double costPerByte;
+        final long createdAt = System.nanoTime();
+        volatile int hits = 1;
+        volatile double priority;
+        // 在 live 中的下标，只在锁内读写
+        int slot;
+
+        Entry(String key, Object value, double costPerByte) {
+            this.key = key;
+            this.value = value;
+            this.costPerByte = costPerByte;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.vevoly.jmulticache.test.cost;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.JMultiCacheKeyGenerator;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 把开启 cost-aware 的 {@link JMultiCacheable} 方法接入 {@link JMultiCacheCostAwareCache}。
+ * <p>
+ * 排在请求级 L0 和布隆过滤器之后。按预编译的 Key 模板算出 keyParts，经 {@link JMultiCacheCostAwareCache#fetchData}
+ * 读取：本地未命中时由框架 L1 / L2 处理，真正回源时直接调用目标方法并只统计方法体的耗时，不再经过框架切面。
+ * Routes {@link JMultiCacheable} methods of cost-aware configs through {@link JMultiCacheCostAwareCache#fetchData},
+ * after the request-scope and Bloom filter aspects. On a real load the target method is invoked directly and
+ * only its body is timed, so framework L1 / L2 hits are never recorded as near-zero rebuild costs.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class JMultiCacheCostAwareAspect {
+
+    private final JMultiCacheCostAwareCache jMultiCacheCostAwareCache;
+    private final JMultiCacheKeyGenerator jMultiCacheKeyGenerator;
+    private final JMultiCacheExtProperties properties;
+
+    @Around("@annotation(cacheable)")
+    public Object around(ProceedingJoinPoint pjp, JMultiCacheable cacheable) throws Throwable {
+        String configName = cacheable.configName();
+        if (!StringUtils.hasText(configName)) {
+            // 未指定配置名时框架按方法推断，这里无法确定配置
+            return pjp.proceed();
+        }
+        if (!jMultiCacheCostAwareCache.isCostAware(configName)) {
+            return pjp.proceed();
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Object[] args = pjp.getArgs();
+        String key = jMultiCacheKeyGenerator.buildKey(configName, method, args);
+        String namespace = properties.getConfig(configName).getNamespace();
+        String suffix = key.startsWith(namespace + ":") ? key.substring(namespace.length() + 1) : key;
+        try {
+            return jMultiCacheCostAwareCache.fetchData(configName, () -> {
+                try {
+                    // 直接调用目标方法，回源代价只包含方法体
+                    return AopUtils.invokeJoinpointUsingReflection(pjp.getTarget(), method, args);
+                } catch (Throwable e) {
+                    throw new ProceedException(e);
+                }
+            }, suffix.split(":"));
+        } catch (ProceedException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 在 lambda 中传递原方法抛出的受检异常
+     */
+    private static final class ProceedException extends RuntimeException {
+        ProceedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.vevoly.jmulticache.test.cost;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 感知回源代价的本地缓存。
+ * <p>
+ * 默认的 W-TinyLFU 只看访问频率；开启 cost-aware 的配置会记录每次回源的耗时和数据大小，
+ * 并用 {@link CostAwareLocalCache} 决定准入和淘汰：内存紧张时保留重建昂贵的数据 (如 200ms 的列表查询)，
+ * 先淘汰廉价的数据 (如直接构造对象的 getById)。统计数据通过 JMultiCacheExtOps 查看。
+ * {@code @JMultiCacheable} 方法由 {@link JMultiCacheCostAwareAspect} 接入；本地副本订阅 {@link JMultiCacheInvalidationHub}。
+ * <p>
+ * 回源代价只计方法体 (supplier) 的耗时；框架 L1 / L2 命中时没有回源，按该配置的平均回源耗时和平均大小估算。
+ * 框架 L1 的 Caffeine 不提供按代价准入 / 淘汰的扩展点，所以这里单独维护一份；两者持有的是框架返回的同一个对象实例，
+ * 额外占用的只是每个条目的簿记开销，不是第二份数据。
+ * Cost-aware local cache. Load time and size are measured per entry and drive admission and eviction,
+ * so expensive-to-recompute values survive memory pressure and cheap ones go first. Only the supplier is
+ * timed; framework hits use the config's average load cost. The framework L1 has no cost hook, so this is
+ * a separate index over the same instances the framework returns. Annotated methods are routed here by
+ * {@link JMultiCacheCostAwareAspect}; entries are dropped on hub invalidations.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheCostAwareCache {
+
+    // 延迟获取：本类被切面依赖，直接注入会让 JMultiCache 过早创建而不被代理
+    private final ObjectProvider<JMultiCache> jMultiCacheProvider;
+    private final JMultiCacheExtProperties properties;
+    private final ObjectMapper objectMapper;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    private final Map<String, LoadCostStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, CostAwareLocalCache> caches = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            CostAwareLocalCache cache = caches.get(configName);
+            if (cache != null) {
+                cache.invalidate(properties.buildRedisKey(configName, keyParts));
+            }
+        });
+    }
+
+    /**
+     * 带回源代价统计的 fetchData，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        CostAwareLocalCache cache = getCache(configName);
+        String key = cache == null ? null : properties.buildRedisKey(configName, keyParts);
+        if (cache != null) {
+            @SuppressWarnings("unchecked")
+            T cached = (T) cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        LoadCostStats configStats = statsOf(configName);
+        long epoch = cache == null ? 0 : cache.epoch();
+        long[] loadNanos = {-1};
+        T value = jMultiCacheProvider.getObject().fetchData(configName, () -> {
+            long start = System.nanoTime();
+            T loaded = supplier.get();
+            loadNanos[0] = System.nanoTime() - start;
+            return loaded;
+        }, keyParts);
+        if (value == null) {
+            return null;
+        }
+        if (loadNanos[0] >= 0) {
+            long sizeBytes = estimateSize(value);
+            configStats.recordLoad(loadNanos[0], sizeBytes);
+            if (cache != null) {
+                cache.put(key, value, loadNanos[0], sizeBytes, epoch);
+            }
+        } else if (cache != null) {
+            // 框架 L1 / L2 命中时没有回源，用该配置的平均回源耗时和大小估算，不再序列化
+            long averageSize = configStats.averageSizeBytes();
+            cache.put(key, value, configStats.averageLoadNanos(), averageSize > 0 ? averageSize : estimateSize(value), epoch);
+        }
+        return value;
+    }
+
+    public void evict(String configName, String... keyParts) {
+        jMultiCacheInvalidationHub.evict(configName, keyParts);
+    }
+
+    boolean isCostAware(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        return config != null && config.isCostAware();
+    }
+
+    public LoadCostStats.Snapshot getCostStats(String configName) {
+        return statsOf(configName).snapshot();
+    }
+
+    private LoadCostStats statsOf(String configName) {
+        return stats.computeIfAbsent(configName, name -> new LoadCostStats());
+    }
+
+    public long getLocalSize(String configName) {
+        CostAwareLocalCache cache = caches.get(configName);
+        return cache == null ? 0 : cache.size();
+    }
+
+    private CostAwareLocalCache getCache(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.isCostAware()) {
+            return null;
+        }
+        Duration localTtl = config.getLocalTtl() == null ? Duration.ofMinutes(1) : config.getLocalTtl();
+        long maxSize = config.getLocalMaxSize() == null ? 10_000 : config.getLocalMaxSize();
+        return caches.computeIfAbsent(configName,
+                name -> new CostAwareLocalCache(maxSize, localTtl.toNanos(), statsOf(name)));
+    }
+
+    /**
+     * 估算序列化后的大小，只在回源时执行
+     */
+    private long estimateSize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value).length;
+        } catch (Exception e) {
+            return 1024;
+        }
+    }
+}
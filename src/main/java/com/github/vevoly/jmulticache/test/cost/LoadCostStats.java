@@ -0,0 +1,64 @@
+package com.github.vevoly.jmulticache.test.cost;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个配置的回源代价统计
+ * Per-config load cost statistics.
+ */
+public class LoadCostStats {
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final LongAdder totalSizeBytes = new LongAdder();
+    private volatile long maxLoadNanos;
+    private final LongAdder admissionRejects = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void recordLoad(long nanos, long sizeBytes) {
+        loads.increment();
+        totalLoadNanos.add(nanos);
+        totalSizeBytes.add(sizeBytes);
+        if (nanos > maxLoadNanos) {
+            maxLoadNanos = nanos;
+        }
+    }
+
+    void recordAdmissionReject() {
+        admissionRejects.increment();
+    }
+
+    void recordEviction() {
+        evictions.increment();
+    }
+
+    /**
+     * 平均回源耗时 (纳秒)，没有记录时返回 0
+     */
+    long averageLoadNanos() {
+        long count = loads.sum();
+        return count == 0 ? 0 : totalLoadNanos.sum() / count;
+    }
+
+    /**
+     * 平均数据大小 (字节)，没有记录时返回 0
+     */
+    long averageSizeBytes() {
+        long count = loads.sum();
+        return count == 0 ? 0 : totalSizeBytes.sum() / count;
+    }
+
+    public Snapshot snapshot() {
+        long count = loads.sum();
+        return new Snapshot(count,
+                count == 0 ? 0 : totalLoadNanos.sum() / count / 1_000_000.0,
+                maxLoadNanos / 1_000_000.0,
+                count == 0 ? 0 : totalSizeBytes.sum() / count,
+                admissionRejects.sum(),
+                evictions.sum());
+    }
+
+    public record Snapshot(long loads, double avgLoadMillis, double maxLoadMillis, long avgSizeBytes,
+                           long admissionRejects, long evictions) {
+    }
+}
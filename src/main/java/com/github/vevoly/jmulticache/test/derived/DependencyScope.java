@@ -0,0 +1,50 @@
+package com.github.vevoly.jmulticache.test.derived;
+
+import io.github.vevoly.jmulticache.api.JMultiCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 派生数据计算过程中的依赖记录。计算时读取的源缓存都应通过这里登记，源数据失效时派生数据随之失效
+ * Records the source entries a derived value is computed from.
+ */
+public class DependencyScope {
+
+    private final JMultiCache jMultiCache;
+    private final List<Source> sources = new ArrayList<>();
+
+    DependencyScope(JMultiCache jMultiCache) {
+        this.jMultiCache = jMultiCache;
+    }
+
+    /**
+     * 读取源缓存并登记依赖，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        dependsOn(configName, keyParts);
+        return jMultiCache.fetchData(configName, supplier, keyParts);
+    }
+
+    public void dependsOn(String configName, String... keyParts) {
+        sources.add(new Source(configName, keyParts));
+    }
+
+    /**
+     * 登记一批以 ID 为 Key 的源数据，例如 fetchMultiDataMap 读取的实体
+     */
+    public void dependsOnEach(String configName, Collection<?> ids) {
+        for (Object id : ids) {
+            sources.add(new Source(configName, new String[]{String.valueOf(id)}));
+        }
+    }
+
+    List<Source> getSources() {
+        return sources;
+    }
+
+    record Source(String configName, String[] keyParts) {
+    }
+}
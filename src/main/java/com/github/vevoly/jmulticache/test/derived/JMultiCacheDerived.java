@@ -0,0 +1,220 @@
+package com.github.vevoly.jmulticache.test.derived;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.DependsOnConfig;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ExtConfig;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 派生缓存与级联失效。
+ * <p>
+ * 组合视图 (例如 排行榜 + 用户详情) 作为独立的缓存条目保存，计算时依赖的源条目来自两部分：配置中的 depends-on
+ * (按 key-part-indexes 从派生 keyParts 映射出源 keyParts)，以及计算过程中通过 {@link DependencyScope} 登记的源。
+ * 依赖关系以反向索引保存在 Redis Set jmc:deps:{源 Key} 中，所有节点共享。级联挂在 {@link JMultiCacheInvalidationHub} 上：
+ * 本节点发起的任何失效 (evict、写入、CDC) 都会在一个 Lua 脚本中写墓碑并取出删除反向索引，再经失效中心失效引用它的
+ * 派生条目 (派生条目也可以是别的派生数据的源)；其他节点收到的广播 (remote) 不再重复级联。
+ * 计算期间源被失效的情况用短期墓碑检测：回填后发现任一依赖的墓碑晚于计算开始，立即失效刚写入的派生条目。
+ * 只有登记过依赖的配置 (depends-on 中的源，以及计算时动态登记过的源配置，经 Redis Set 在节点间共享) 才执行级联，
+ * 其他配置的失效不访问 Redis。其他节点最多在一个刷新周期 (1 秒) 后得知新的动态源配置，需要立即生效的源应写在 depends-on 中。
+ * Derived caches with cascading invalidation. Dependencies come from depends-on (with a key mapping) and
+ * from sources recorded during computation; they are kept as Redis reverse-index sets. Every invalidation
+ * originating on this node cascades, through the hub, to the derived entries that reference the source;
+ * remote events are not cascaded again. Only configs registered as dependencies trigger the cascade script.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheDerived {
+
+    private static final String DEPS_PREFIX = "jmc:deps:";
+    private static final String TOMBSTONE_PREFIX = "jmc:deps:evicted:";
+    // 动态登记过的源配置，所有节点共享
+    private static final String SOURCE_CONFIGS_KEY = "jmc:deps:configs";
+    private static final long SOURCE_REFRESH_MILLIS = 1_000;
+    // 需大于最慢一次派生计算的耗时
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(30);
+    private static final char PART_SEPARATOR = '\u001F';
+
+    /**
+     * 写墓碑并取出删除反向索引。KEYS[1]=墓碑 Key, KEYS[2]=反向索引 Key, ARGV[1]=失效时间, ARGV[2]=墓碑 TTL (毫秒)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_DEPENDENTS_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "local members = redis.call('SMEMBERS', KEYS[2]) " +
+            "redis.call('DEL', KEYS[2]) " +
+            "return members", List.class);
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+    private final JMultiCacheExtProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 登记过依赖的源配置，只增不减
+    private final Set<String> sourceConfigs = ConcurrentHashMap.newKeySet();
+    private volatile long sourcesRefreshedAt;
+
+    @PostConstruct
+    public void subscribe() {
+        properties.getConfigs().values().forEach(config ->
+                config.getDependsOn().forEach(dependsOn -> sourceConfigs.add(dependsOn.getConfig())));
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            // 级联只在发起失效的节点执行一次，没有登记过依赖的配置不访问 Redis
+            if (!remote && isSource(configName)) {
+                cascade(configName, keyParts);
+            }
+        });
+    }
+
+    /**
+     * 读取派生数据，未命中时调用 compute 计算并登记依赖
+     */
+    public <T> T fetchData(String derivedConfig, Function<DependencyScope, T> compute, String... keyParts) {
+        DependencyScope scope = new DependencyScope(jMultiCache);
+        long start = System.currentTimeMillis();
+        boolean[] computed = {false};
+        T value = jMultiCache.fetchData(derivedConfig, () -> {
+            computed[0] = true;
+            addStaticDependencies(derivedConfig, keyParts, scope);
+            return compute.apply(scope);
+        }, keyParts);
+
+        if (computed[0] && !scope.getSources().isEmpty()) {
+            List<String> sourceKeys = register(derivedConfig, keyParts, scope);
+            if (evictedSince(sourceKeys, start)) {
+                log.debug("[Derived] 计算期间依赖已失效，丢弃派生结果 config={}", derivedConfig);
+                evict(derivedConfig, keyParts);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 失效源条目，并级联失效所有引用它的派生条目
+     */
+    public void evict(String configName, String... keyParts) {
+        jMultiCacheInvalidationHub.evict(configName, keyParts);
+    }
+
+    /**
+     * 源条目已在本节点失效：写墓碑，取出反向索引，逐个失效派生条目。派生条目的失效再次经过失效中心，
+     * 由订阅回调继续向下级联；反向索引取出即删除，依赖成环时第二次访问拿到空集合而终止
+     */
+    @SuppressWarnings("unchecked")
+    private void cascade(String configName, String[] keyParts) {
+        String sourceKey = properties.buildRedisKey(configName, keyParts);
+        List<String> dependents = stringRedisTemplate.execute(TAKE_DEPENDENTS_SCRIPT,
+                List.of(TOMBSTONE_PREFIX + sourceKey, DEPS_PREFIX + sourceKey),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(TOMBSTONE_TTL.toMillis()));
+        if (dependents == null || dependents.isEmpty()) {
+            return;
+        }
+        for (String dependent : dependents) {
+            int split = dependent.indexOf('|');
+            String derivedConfig = dependent.substring(0, split);
+            String parts = dependent.substring(split + 1);
+            String[] derivedParts = parts.isEmpty() ? new String[0]
+                    : parts.split(String.valueOf(PART_SEPARATOR), -1);
+            log.debug("[Derived] 级联失效 {} -> {}", sourceKey, properties.buildRedisKey(derivedConfig, derivedParts));
+            jMultiCacheInvalidationHub.evict(derivedConfig, derivedParts);
+        }
+    }
+
+    /**
+     * 是否登记过依赖；本地未知时最多每个刷新周期从 Redis 同步一次其他节点动态登记的源配置
+     */
+    private boolean isSource(String configName) {
+        if (sourceConfigs.contains(configName)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (now - sourcesRefreshedAt < SOURCE_REFRESH_MILLIS) {
+            return false;
+        }
+        sourcesRefreshedAt = now;
+        Set<String> shared = stringRedisTemplate.opsForSet().members(SOURCE_CONFIGS_KEY);
+        if (shared != null) {
+            sourceConfigs.addAll(shared);
+        }
+        return sourceConfigs.contains(configName);
+    }
+
+    private void addStaticDependencies(String derivedConfig, String[] keyParts, DependencyScope scope) {
+        ExtConfig config = properties.getConfig(derivedConfig);
+        if (config == null) {
+            return;
+        }
+        for (DependsOnConfig dependsOn : config.getDependsOn()) {
+            String[] sourceParts = new String[dependsOn.getKeyPartIndexes().size()];
+            for (int i = 0; i < sourceParts.length; i++) {
+                sourceParts[i] = keyParts[dependsOn.getKeyPartIndexes().get(i)];
+            }
+            scope.dependsOn(dependsOn.getConfig(), sourceParts);
+        }
+    }
+
+    /**
+     * 在每个源的反向索引中登记派生条目，返回源 Key
+     */
+    private List<String> register(String derivedConfig, String[] keyParts, DependencyScope scope) {
+        String member = derivedConfig + "|" + String.join(String.valueOf(PART_SEPARATOR), keyParts);
+        ExtConfig config = properties.getConfig(derivedConfig);
+        long ttlMillis = config == null || config.getRedisTtl() == null
+                ? Duration.ofHours(1).toMillis() : config.getRedisTtl().toMillis();
+        Set<String> sourceKeys = new LinkedHashSet<>();
+        List<String> newConfigs = new ArrayList<>();
+        for (DependencyScope.Source source : scope.getSources()) {
+            sourceKeys.add(properties.buildRedisKey(source.configName(), source.keyParts()));
+            if (sourceConfigs.add(source.configName())) {
+                newConfigs.add(source.configName());
+            }
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            if (!newConfigs.isEmpty()) {
+                conn.sAdd(SOURCE_CONFIGS_KEY, newConfigs.toArray(String[]::new));
+            }
+            for (String sourceKey : sourceKeys) {
+                conn.sAdd(DEPS_PREFIX + sourceKey, member);
+                conn.pExpire(DEPS_PREFIX + sourceKey, ttlMillis);
+            }
+            return null;
+        });
+        return new ArrayList<>(sourceKeys);
+    }
+
+    private boolean evictedSince(List<String> sourceKeys, long start) {
+        List<String> tombstoneKeys = new ArrayList<>(sourceKeys.size());
+        for (String sourceKey : sourceKeys) {
+            tombstoneKeys.add(TOMBSTONE_PREFIX + sourceKey);
+        }
+        List<String> tombstones = stringRedisTemplate.opsForValue().multiGet(tombstoneKeys);
+        if (tombstones == null) {
+            return false;
+        }
+        for (String tombstone : tombstones) {
+            if (tombstone != null && Long.parseLong(tombstone) >= start) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.vevoly.jmulticache.test.entity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 分页索引：每个分页 Key 只缓存有序 ID 列表和总数，记录本身由实体缓存统一存储
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageIndex implements Serializable {
+    private long total;
+    private List<Long> ids;
+}
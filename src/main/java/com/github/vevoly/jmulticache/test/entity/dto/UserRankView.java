@@ -0,0 +1,26 @@
+package com.github.vevoly.jmulticache.test.entity.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 排行榜组合视图：排名 + 分数 + 用户名 (+ 用户所在分组名)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRankView implements Serializable {
+
+    private Integer rank;
+    private Long userId;
+    private Double score;
+    private String name;
+    private String groupName;
+
+    public UserRankView(Integer rank, Long userId, Double score, String name) {
+        this(rank, userId, score, name, null);
+    }
+}
@@ -0,0 +1,159 @@
+package com.github.vevoly.jmulticache.test.index;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * list / set 缓存的本地二级索引。
+ * <p>
+ * "在缓存的列表里按某个属性查找" 原本每次都要线性遍历；这里为 index-fields 中声明的字段在本地维护哈希索引。
+ * 索引以缓存 Key (keyParts) 为 Key，并记录构建它的集合实例：L1 命中返回同一个实例时复用索引，
+ * 换成其他实例 (L2 命中、重新回源、同样大小的替换) 时重建，不会返回旧集合中的元素。
+ * 订阅 {@link JMultiCacheInvalidationHub}，缓存 Key 失效时索引一起失效；索引的存活时间不超过 local-ttl。
+ * Local secondary indexes over cached lists and sets, keyed by the cache key and validated by the identity
+ * of the collection they were built from: L1 hits returning the same instance reuse the index, any other
+ * instance rebuilds it. Indexes are dropped on hub invalidations and never outlive local-ttl.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheLocalIndex {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+    private static final long DEFAULT_MAX_SIZE = 10_000;
+
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    private final Map<String, ConfigIndexes> indexes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            ConfigIndexes configIndexes = indexes.get(configName);
+            if (configIndexes != null) {
+                configIndexes.version.incrementAndGet();
+                configIndexes.entries.invalidate(String.join(":", keyParts));
+            }
+        });
+    }
+
+    /**
+     * 按字段值查找全部匹配的元素
+     *
+     * @param keyParts 集合所属的缓存 keyParts，与 fetchData 一致
+     * @return 不可修改的列表，元素均来自 elements
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> findAll(String configName, Collection<T> elements, String field, Object value, String... keyParts) {
+        if (elements == null || elements.isEmpty()) {
+            return List.of();
+        }
+        List<String> indexFields = indexFields(configName);
+        if (!indexFields.contains(field)) {
+            log.debug("[LocalIndex] 字段未声明索引，线性查找. config={}, field={}", configName, field);
+            return scan(elements, field, value);
+        }
+        ConfigIndexes configIndexes = indexes.computeIfAbsent(configName, this::newConfigIndexes);
+        String cacheKey = String.join(":", keyParts);
+        IndexEntry entry = configIndexes.entries.getIfPresent(cacheKey);
+        if (entry == null || entry.source() != elements) {
+            long version = configIndexes.version.get();
+            entry = new IndexEntry(elements, build(elements, indexFields));
+            configIndexes.entries.put(cacheKey, entry);
+            // 构建期间发生过失效，这份索引可能来自旧数据，本次使用但不保留
+            if (configIndexes.version.get() != version) {
+                configIndexes.entries.invalidate(cacheKey);
+            }
+        }
+        List<Object> matched = entry.index().get(field).get(String.valueOf(value));
+        return matched == null ? List.of() : Collections.unmodifiableList((List<T>) matched);
+    }
+
+    /**
+     * 按字段值查找第一个匹配的元素
+     */
+    public <T> T findFirst(String configName, Collection<T> elements, String field, Object value, String... keyParts) {
+        List<T> matched = findAll(configName, elements, field, value, keyParts);
+        return matched.isEmpty() ? null : matched.get(0);
+    }
+
+    /**
+     * 与框架 L1 使用相同的 local-ttl / local-max-size
+     */
+    private ConfigIndexes newConfigIndexes(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        Duration ttl = config.getLocalTtl() == null || config.getLocalTtl().isZero() ? DEFAULT_TTL : config.getLocalTtl();
+        long maxSize = config.getLocalMaxSize() == null ? DEFAULT_MAX_SIZE : config.getLocalMaxSize();
+        return new ConfigIndexes(Caffeine.newBuilder().expireAfterWrite(ttl).maximumSize(maxSize).build());
+    }
+
+    private Map<String, Map<String, List<Object>>> build(Collection<?> elements, List<String> indexFields) {
+        Map<String, Map<String, List<Object>>> index = new HashMap<>(indexFields.size() * 2);
+        for (String field : indexFields) {
+            index.put(field, new HashMap<>(elements.size() * 2));
+        }
+        for (Object element : elements) {
+            if (element == null) {
+                continue;
+            }
+            BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(element);
+            for (String field : indexFields) {
+                String key = String.valueOf(wrapper.getPropertyValue(field));
+                index.get(field).computeIfAbsent(key, k -> new ArrayList<>(1)).add(element);
+            }
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> scan(Collection<T> elements, String field, Object value) {
+        List<T> matched = new ArrayList<>();
+        for (T element : elements) {
+            if (element != null && Objects.equals(String.valueOf(
+                    PropertyAccessorFactory.forBeanPropertyAccess(element).getPropertyValue(field)), String.valueOf(value))) {
+                matched.add(element);
+            }
+        }
+        return matched;
+    }
+
+    private List<String> indexFields(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        return config == null ? List.of() : config.getIndexFields();
+    }
+
+    /**
+     * 单个配置的索引；version 每次失效递增，用于发现构建期间发生的失效
+     */
+    private record ConfigIndexes(Cache<String, IndexEntry> entries, AtomicLong version) {
+        ConfigIndexes(Cache<String, IndexEntry> entries) {
+            this(entries, new AtomicLong());
+        }
+    }
+
+    /**
+     * source: 构建索引的集合实例，按引用比较；index: 字段名 -> (字段值 -> 元素)
+     */
+    private record IndexEntry(Collection<?> source, Map<String, Map<String, List<Object>>> index) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.vevoly.jmulticache.test.invalidation;
+
+/**
+ * 订阅 {@link JMultiCacheInvalidationHub} 的失效事件，维护自己本地副本的扩展层都应该实现。
+ * Subscriber of {@link JMultiCacheInvalidationHub} events; every layer holding its own local copy should implement it.
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+    /**
+     * @param configName 配置名
+     * @param keyParts   与 fetchData 一致的 keyParts
+     * @param remote     事件是否来自其他节点
+     */
+    void onInvalidate(String configName, String[] keyParts, boolean remote);
+}
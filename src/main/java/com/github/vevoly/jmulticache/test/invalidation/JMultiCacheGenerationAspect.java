@@ -0,0 +1,133 @@
+package com.github.vevoly.jmulticache.test.invalidation;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.JMultiCacheKeyGenerator;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 在框架入口处嵌入代际号，开启 generation 的配置不论走哪条路径都使用同一套 Key。
+ * <p>
+ * {@link JMultiCache#fetchData}、{@link JMultiCacheOps} 的 evict / evictL1 / preloadMultiCache 在进入框架前把 keyParts
+ * 换成 {@link JMultiCacheGenerations#effectiveKeyParts}；调用方 (包括失效中心、写入方和各个门面) 始终传原始 keyParts。
+ * {@link JMultiCacheable} 方法排在本项目其他切面之后：按预编译的 Key 模板算出 keyParts，经 {@link JMultiCache#fetchData}
+ * 读取，未命中时直接调用目标方法，不再经过框架切面 (框架按 key-field 生成的 Key 无法带上代际号)。
+ * 按 ID 批量读取的 Key 由框架按 ID 生成，同样无法嵌入代际号，对开启 generation 的配置直接拒绝，避免读到旧代际的数据。
+ * Embeds generations at the framework boundary so every path of a generation-enabled config uses the same keys.
+ * Calls into JMultiCache / JMultiCacheOps get their keyParts rewritten; {@link JMultiCacheable} methods are served
+ * through {@link JMultiCache#fetchData} with the precompiled key template instead of the framework aspect.
+ * Multi-id batch reads cannot carry a generation and are rejected for such configs.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class JMultiCacheGenerationAspect {
+
+    private final JMultiCacheKeyGenerator jMultiCacheKeyGenerator;
+    private final JMultiCacheExtProperties properties;
+    // 延迟获取：切面创建时若连带创建 JMultiCache / JMultiCacheOps，它们就不会被本切面代理
+    private final ObjectProvider<JMultiCacheGenerations> jMultiCacheGenerationsProvider;
+    private final ObjectProvider<JMultiCache> jMultiCacheProvider;
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchData(String, java.util.function.Supplier, String...)) && args(configName, ..)")
+    public Object aroundFetchData(ProceedingJoinPoint pjp, String configName) throws Throwable {
+        if (!isEnabled(configName)) {
+            return pjp.proceed();
+        }
+        Object[] args = pjp.getArgs().clone();
+        args[2] = jMultiCacheGenerationsProvider.getObject().effectiveKeyParts(configName, (String[]) args[2]);
+        return pjp.proceed(args);
+    }
+
+    @Around("(execution(* io.github.vevoly.jmulticache.api.JMultiCacheOps.evict(String, Object...))"
+            + " || execution(* io.github.vevoly.jmulticache.api.JMultiCacheOps.evictL1(String, Object...))) && args(configName, ..)")
+    public Object aroundEvict(ProceedingJoinPoint pjp, String configName) throws Throwable {
+        if (!isEnabled(configName)) {
+            return pjp.proceed();
+        }
+        Object[] args = pjp.getArgs().clone();
+        Object[] keyParts = (Object[]) args[1];
+        String[] parts = new String[keyParts.length];
+        for (int i = 0; i < keyParts.length; i++) {
+            parts[i] = String.valueOf(keyParts[i]);
+        }
+        args[1] = jMultiCacheGenerationsProvider.getObject().effectiveKeyParts(configName, parts);
+        return pjp.proceed(args);
+    }
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCacheOps.preloadMultiCache(String, java.util.Map)) && args(configName, dataMap)")
+    public Object aroundPreload(ProceedingJoinPoint pjp, String configName, Map<String, ?> dataMap) throws Throwable {
+        if (!isEnabled(configName)) {
+            return pjp.proceed();
+        }
+        Map<String, Object> effective = new LinkedHashMap<>(dataMap.size() * 2);
+        dataMap.forEach((suffix, value) -> effective.put(
+                String.join(":", jMultiCacheGenerationsProvider.getObject().effectiveKeyParts(configName, suffix.split(":"))), value));
+        return pjp.proceed(new Object[]{configName, effective});
+    }
+
+    @Around("(execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchMultiDataMap(..))"
+            + " || execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchMultiDataList(..))) && args(configName, ..)")
+    public Object aroundFetchMulti(ProceedingJoinPoint pjp, String configName) throws Throwable {
+        if (isEnabled(configName)) {
+            throw new IllegalStateException("Multi-id fetch cannot embed generations, use fetchData for config " + configName);
+        }
+        return pjp.proceed();
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object aroundCacheable(ProceedingJoinPoint pjp, JMultiCacheable cacheable) throws Throwable {
+        String configName = cacheable.configName();
+        if (!StringUtils.hasText(configName) || !isEnabled(configName)) {
+            return pjp.proceed();
+        }
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        Object[] args = pjp.getArgs();
+        String key = jMultiCacheKeyGenerator.buildKey(configName, method, args);
+        String namespace = properties.getConfig(configName).getNamespace();
+        String suffix = key.startsWith(namespace + ":") ? key.substring(namespace.length() + 1) : key;
+        try {
+            return jMultiCacheProvider.getObject().fetchData(configName, () -> {
+                try {
+                    // 直接调用目标方法，跳过后续的框架切面
+                    return AopUtils.invokeJoinpointUsingReflection(pjp.getTarget(), method, args);
+                } catch (Throwable e) {
+                    throw new ProceedException(e);
+                }
+            }, suffix.split(":"));
+        } catch (ProceedException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean isEnabled(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        return config != null && config.getGeneration().isEnabled();
+    }
+
+    /**
+     * 在 lambda 中传递原方法抛出的受检异常
+     */
+    private static final class ProceedException extends RuntimeException {
+        ProceedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
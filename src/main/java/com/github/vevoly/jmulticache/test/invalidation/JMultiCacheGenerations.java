@@ -0,0 +1,209 @@
+package com.github.vevoly.jmulticache.test.invalidation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.GenerationConfig;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 基于代际号的批量失效，避免运维使用 KEYS 扫描阻塞 Redis。
+ * <p>
+ * 开启 generation 的配置，实际 Key 中会嵌入命名空间代际号 (以及可选的标签代际号，如 tenantId)：
+ * namespace:g{代际}:{keyParts}，标签所在的 keyPart 变为 {tag}#{代际}。
+ * evictNamespace / evictTag 只需 INCR 一次，旧代际的数据由后台线程 SCAN + UNLINK 增量清理。
+ * 代际号由 {@link JMultiCacheGenerationAspect} 在框架入口统一嵌入，调用方始终使用原始 keyParts。
+ * Generation-based bulk invalidation. Effective keys embed a namespace generation (and optionally a
+ * tag generation such as tenantId), so evictNamespace / evictTag are a single INCR; old generations
+ * are removed lazily in the background with incremental SCAN + UNLINK.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheGenerations {
+
+    private static final String GEN_KEY_PREFIX = "jmc:gen:";
+    private static final int SCAN_BATCH = 500;
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final JMultiCacheExtProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 代际号本地缓存，Key: 配置名，Value: (Redis 中代际号的 Key -> 代际号)
+    private final Map<String, Cache<String, Long>> localGenerations = new ConcurrentHashMap<>();
+    private final ExecutorService cleaner = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "j-multi-cache-generation-cleaner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 参数与 {@link JMultiCache#fetchData} 一致，代际号在框架入口嵌入
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        return jMultiCache.fetchData(configName, supplier, keyParts);
+    }
+
+    public void evict(String configName, String... keyParts) {
+        jMultiCacheOps.evict(configName, (Object[]) keyParts);
+    }
+
+    /**
+     * 使整个命名空间失效：O(1)，旧数据后台清理
+     */
+    public void evictNamespace(String configName) {
+        requireGenerationConfig(configName);
+        long oldGen = bump(configName, namespaceGenKey(configName));
+        String namespace = properties.getConfig(configName).getNamespace();
+        String pattern = escapeGlob(namespace) + ":g" + oldGen + ":*";
+        cleaner.execute(() -> unlinkByPattern(pattern, key -> true));
+        log.info("[Generation] 命名空间失效. config={}, generation {} -> {}", configName, oldGen, oldGen + 1);
+    }
+
+    /**
+     * 使某个标签 (如某个租户) 下的全部缓存失效：O(1)，旧数据后台清理
+     */
+    public void evictTag(String configName, String tag) {
+        GenerationConfig genConfig = requireGenerationConfig(configName);
+        if (genConfig.getTagPartIndex() < 0) {
+            throw new IllegalStateException("Config " + configName + " has no generation.tag-part-index");
+        }
+        long oldGen = bump(configName, tagGenKey(configName, tag));
+        String namespace = properties.getConfig(configName).getNamespace();
+        String taggedPart = tag + "#" + oldGen;
+        // namespace:g{n}: 之后第 tagPartIndex 段
+        int segment = namespace.split(":").length + 1 + genConfig.getTagPartIndex();
+        String pattern = escapeGlob(namespace) + ":g*" + escapeGlob(taggedPart) + "*";
+        cleaner.execute(() -> unlinkByPattern(pattern, key -> {
+            String[] segments = key.split(":");
+            return segments.length > segment && segments[segment].equals(taggedPart);
+        }));
+        log.info("[Generation] 标签失效. config={}, tag={}, generation {} -> {}", configName, tag, oldGen, oldGen + 1);
+    }
+
+    /**
+     * 计算嵌入代际号后的 keyParts；未开启时原样返回
+     */
+    public String[] effectiveKeyParts(String configName, String... keyParts) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getGeneration().isEnabled()) {
+            return keyParts;
+        }
+        int tagIndex = config.getGeneration().getTagPartIndex();
+        String[] parts = new String[keyParts.length + 1];
+        parts[0] = "g" + currentGeneration(configName, namespaceGenKey(configName));
+        System.arraycopy(keyParts, 0, parts, 1, keyParts.length);
+        if (tagIndex >= 0 && tagIndex < keyParts.length) {
+            String tag = keyParts[tagIndex];
+            parts[tagIndex + 1] = tag + "#" + currentGeneration(configName, tagGenKey(configName, tag));
+        }
+        return parts;
+    }
+
+    /**
+     * 增量 SCAN + UNLINK 删除匹配的 Key，不会阻塞 Redis
+     *
+     * @return 删除数量
+     */
+    public long unlinkByPattern(String pattern, Predicate<String> filter) {
+        Long removed = stringRedisTemplate.execute((RedisCallback<Long>) connection -> {
+            long count = 0;
+            ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH).build();
+            List<byte[]> batch = new ArrayList<>(SCAN_BATCH);
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext()) {
+                    byte[] key = cursor.next();
+                    if (!filter.test(new String(key, StandardCharsets.UTF_8))) {
+                        continue;
+                    }
+                    batch.add(key);
+                    if (batch.size() >= SCAN_BATCH) {
+                        count += unlink(connection, batch);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                count += unlink(connection, batch);
+            }
+            return count;
+        });
+        log.info("[Generation] 旧代际清理完成. pattern={}, removed={}", pattern, removed);
+        return removed == null ? 0 : removed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdown();
+    }
+
+    private long unlink(RedisConnection connection, List<byte[]> batch) {
+        Long count = connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+        batch.clear();
+        return count == null ? 0 : count;
+    }
+
+    private long currentGeneration(String configName, String genKey) {
+        return generationCache(configName).get(genKey, key -> {
+            String value = stringRedisTemplate.opsForValue().get(key);
+            return value == null ? 0L : Long.parseLong(value);
+        });
+    }
+
+    /**
+     * 代际号 +1，返回旧代际号；本节点立即可见
+     */
+    private long bump(String configName, String genKey) {
+        Long newGen = stringRedisTemplate.opsForValue().increment(genKey);
+        long gen = newGen == null ? 1L : newGen;
+        generationCache(configName).put(genKey, gen);
+        return gen - 1;
+    }
+
+    private Cache<String, Long> generationCache(String configName) {
+        return localGenerations.computeIfAbsent(configName, name -> Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(properties.getConfig(name).getGeneration().getLocalTtl())
+                .build());
+    }
+
+    private GenerationConfig requireGenerationConfig(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getGeneration().isEnabled()) {
+            throw new IllegalStateException("Config " + configName + " is not generation enabled");
+        }
+        return config.getGeneration();
+    }
+
+    private String namespaceGenKey(String configName) {
+        return GEN_KEY_PREFIX + configName;
+    }
+
+    private String tagGenKey(String configName, String tag) {
+        return GEN_KEY_PREFIX + configName + ":tag:" + tag;
+    }
+
+    private static String escapeGlob(String value) {
+        return value.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+}
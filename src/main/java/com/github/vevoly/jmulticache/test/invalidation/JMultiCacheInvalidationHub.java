@@ -0,0 +1,153 @@
+package com.github.vevoly.jmulticache.test.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 扩展层统一的失效入口。
+ * <p>
+ * 近端缓存、租户分区、L1 快照、请求级 L0、派生缓存等扩展层各自持有本地副本，框架的 evict 只清理框架自己的 L1/L2。
+ * 所有删除和写入都经过这里：先执行删除 (如有)，再通知本节点的订阅者，最后通过 Redis Pub/Sub 广播，
+ * 其他节点收到后清理框架 L1 并通知各自的订阅者。
+ * Single invalidation entry point for the extension layers. Every eviction or write goes through here: the
+ * entry is evicted (if requested), local subscribers are notified, and the event is broadcast over Redis
+ * Pub/Sub so other nodes drop their framework L1 entry and notify their own subscribers.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheInvalidationHub {
+
+    public static final String CHANNEL = "jmc:ext:invalidate";
+
+    private final JMultiCacheOps jMultiCacheOps;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    private RedisMessageListenerContainer container;
+
+    @PostConstruct
+    public void start() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(stringRedisTemplate.getRequiredConnectionFactory());
+        container.addMessageListener(this::onMessage, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.destroy();
+    }
+
+    /**
+     * 订阅失效事件。订阅方在 @PostConstruct 中调用，避免与写入方形成循环依赖
+     */
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 删除 L1/L2 并广播
+     */
+    public void evict(String configName, String... keyParts) {
+        jMultiCacheOps.evict(configName, (Object[]) keyParts);
+        publish(configName, List.<String[]>of(keyParts));
+    }
+
+    /**
+     * 批量删除 L1/L2，整批只广播一次
+     */
+    public void evictAll(String configName, Collection<String[]> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        keys.forEach(keyParts -> jMultiCacheOps.evict(configName, (Object[]) keyParts));
+        publish(configName, keys);
+    }
+
+    /**
+     * L2 已由调用方更新 (写入、预热、原地修改)，通知所有节点丢弃旧的本地副本
+     */
+    public void invalidate(String configName, Collection<String[]> keys) {
+        if (!keys.isEmpty()) {
+            publish(configName, keys);
+        }
+    }
+
+    /**
+     * Map 的 Key 为 keyParts 以 ":" 拼接的结果，与 preloadMultiCache 一致
+     */
+    public void invalidateSuffixes(String configName, Collection<String> suffixes) {
+        List<String[]> keys = new ArrayList<>(suffixes.size());
+        suffixes.forEach(suffix -> keys.add(suffix.split(":")));
+        invalidate(configName, keys);
+    }
+
+    /**
+     * 只通知本节点的订阅者，用于尚未写入 L2 的变更 (例如 write-behind 缓冲区)
+     */
+    public void invalidateLocal(String configName, String... keyParts) {
+        notifyListeners(configName, keyParts, false);
+    }
+
+    private void publish(String configName, Collection<String[]> keys) {
+        keys.forEach(keyParts -> notifyListeners(configName, keyParts, false));
+        try {
+            String payload = objectMapper.writeValueAsString(new InvalidationMessage(nodeId, configName, List.copyOf(keys)));
+            stringRedisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (Exception e) {
+            // 广播失败时其他节点的本地副本只能等 TTL 过期
+            log.error("[InvalidationHub] 广播失效事件失败. config={}, size={}", configName, keys.size(), e);
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        InvalidationMessage event;
+        try {
+            event = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), InvalidationMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("[InvalidationHub] 无法解析的失效事件", e);
+            return;
+        }
+        if (nodeId.equals(event.origin())) {
+            return;
+        }
+        for (String[] keyParts : event.keys()) {
+            jMultiCacheOps.evictL1(event.configName(), (Object[]) keyParts);
+            notifyListeners(event.configName(), keyParts, true);
+        }
+    }
+
+    private void notifyListeners(String configName, String[] keyParts, boolean remote) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidate(configName, keyParts, remote);
+            } catch (Exception e) {
+                log.error("[InvalidationHub] 订阅者处理失败. config={}, keyParts={}", configName, keyParts, e);
+            }
+        }
+    }
+
+    record InvalidationMessage(String origin, String configName, List<String[]> keys) {
+    }
+}
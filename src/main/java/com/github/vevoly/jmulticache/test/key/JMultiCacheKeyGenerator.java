@@ -0,0 +1,74 @@
+package com.github.vevoly.jmulticache.test.key;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 启动时把所有配置的 key-field 编译为 {@link KeyTemplate}，按 (配置, 方法) 缓存绑定好的生成器。
+ * Compiles every config's key-field into a {@link KeyTemplate} at startup and caches the
+ * per-(config, method) bound builders.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheKeyGenerator {
+
+    private final JMultiCacheExtProperties properties;
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Map<String, KeyTemplate> templates = new ConcurrentHashMap<>();
+    private final Map<String, Map<Method, KeyTemplate.KeyBuilder>> builders = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void compileAll() {
+        int fallback = 0;
+        for (Map.Entry<String, JMultiCacheExtProperties.ExtConfig> entry : properties.getConfigs().entrySet()) {
+            KeyTemplate template = KeyTemplate.compile(entry.getValue().getNamespace(), entry.getValue().getKeyField());
+            templates.put(entry.getKey(), template);
+            if (!template.isCompiled()) {
+                fallback++;
+                log.info("[KeyGenerator] key-field 无法直接编译，使用 SpEL 编译模式. config={}, key-field={}",
+                        entry.getKey(), template.getExpression());
+            }
+        }
+        log.info("[KeyGenerator] Key 模板编译完成. total={}, spelFallback={}", templates.size(), fallback);
+    }
+
+    public KeyTemplate getTemplate(String configName) {
+        KeyTemplate template = templates.get(configName);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown j-multi-cache config: " + configName);
+        }
+        return template;
+    }
+
+    /**
+     * 生成完整的 Redis Key (namespace + key-field 结果)
+     */
+    public String buildKey(String configName, Method method, Object[] args) {
+        return getBuilder(configName, method).build(args);
+    }
+
+    public KeyTemplate.KeyBuilder getBuilder(String configName, Method method) {
+        return builders.computeIfAbsent(configName, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> getTemplate(configName).bind(parameterNames(m)));
+    }
+
+    private String[] parameterNames(Method method) {
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        if (names == null) {
+            throw new IllegalStateException("Parameter names not available for " + method
+                    + ", compile with -parameters");
+        }
+        return names;
+    }
+}
@@ -0,0 +1,275 @@
+package com.github.vevoly.jmulticache.test.key;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的 Key 模板。
+ * <p>
+ * key-field 形如 "#tenantId + ':' + #id" 的表达式在启动时拆成 "字面量 / 变量" 片段，生成 Key 时直接拼接，
+ * 除最终的 String 外不产生额外对象；无法拆分的表达式回退到 SpEL 编译模式 (MIXED)。
+ * Key template compiled at startup. Plain concatenations of #variables and 'literals' are split into
+ * segments and appended straight into one builder; anything else falls back to SpEL in MIXED compiler mode.
+ */
+public final class KeyTemplate {
+
+    private static final SpelExpressionParser COMPILING_PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, KeyTemplate.class.getClassLoader()));
+
+    private final String prefix;
+    private final String expression;
+    // literals.length == variables.length + 1，literals[0] 已包含 "namespace:" 前缀
+    private final String[] literals;
+    private final String[] variables;
+    // 仅在无法拆分时使用
+    private final Expression fallback;
+
+    private KeyTemplate(String prefix, String expression, String[] literals, String[] variables, Expression fallback) {
+        this.prefix = prefix;
+        this.expression = expression;
+        this.literals = literals;
+        this.variables = variables;
+        this.fallback = fallback;
+    }
+
+    /**
+     * 编译 key-field 表达式
+     *
+     * @param namespace 命名空间，为空时只生成 Key 后缀
+     * @param keyField  key-field 表达式，为空时使用全部参数以 ":" 拼接
+     */
+    public static KeyTemplate compile(String namespace, String keyField) {
+        String prefix = StringUtils.hasText(namespace) ? namespace + ":" : "";
+        if (!StringUtils.hasText(keyField)) {
+            return new KeyTemplate(prefix, null, null, null, null);
+        }
+        List<Object> terms = parseConcatenation(keyField);
+        if (terms == null) {
+            return new KeyTemplate(prefix, keyField, null, null, COMPILING_PARSER.parseExpression(keyField));
+        }
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(prefix);
+        for (Object term : terms) {
+            if (term instanceof Variable variable) {
+                literals.add(literal.toString());
+                variables.add(variable.name());
+                literal.setLength(0);
+            } else {
+                literal.append((String) term);
+            }
+        }
+        literals.add(literal.toString());
+        return new KeyTemplate(prefix, keyField, literals.toArray(new String[0]), variables.toArray(new String[0]), null);
+    }
+
+    /**
+     * 是否已编译为直接拼接
+     */
+    public boolean isCompiled() {
+        return fallback == null;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * 模板引用的变量名；key-field 为空或回退到 SpEL 时返回空列表
+     */
+    public List<String> getVariables() {
+        return variables == null ? Collections.emptyList() : Arrays.asList(variables);
+    }
+
+    /**
+     * 变量之间的字面量，长度为变量数 + 1，第一个包含 "namespace:" 前缀；key-field 为空或回退到 SpEL 时返回空列表
+     */
+    public List<String> getLiterals() {
+        return literals == null ? Collections.emptyList() : Arrays.asList(literals);
+    }
+
+    /**
+     * 按方法参数名绑定，返回可重复使用的 Key 生成器
+     */
+    public KeyBuilder bind(String[] paramNames) {
+        return new KeyBuilder(this, paramNames);
+    }
+
+    /**
+     * 按变量表生成 Key，用于不经过方法调用的场景 (例如按行数据生成 Key)
+     */
+    public String build(Map<String, ?> variableValues) {
+        if (fallback != null) {
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            variableValues.forEach(context::setVariable);
+            return prefix + fallback.getValue(context);
+        }
+        if (literals == null) {
+            StringBuilder sb = new StringBuilder(prefix);
+            boolean first = true;
+            for (Object value : variableValues.values()) {
+                if (!first) {
+                    sb.append(':');
+                }
+                append(sb, value);
+                first = false;
+            }
+            return sb.toString();
+        }
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            append(sb, variableValues.get(variables[i]));
+            sb.append(literals[i + 1]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 数值直接写入 StringBuilder，避免 String.valueOf 的中间对象
+     */
+    static void append(StringBuilder sb, Object value) {
+        if (value instanceof Long l) {
+            sb.append(l.longValue());
+        } else if (value instanceof Integer i) {
+            sb.append(i.intValue());
+        } else {
+            sb.append(value);
+        }
+    }
+
+    /**
+     * 解析 "term + term + ..."，term 只能是 #变量 或 '字面量'。
+     * 前两项都是变量时 SpEL 可能做数值加法，不能按字符串拼接处理，返回 null。
+     */
+    private static List<Object> parseConcatenation(String expression) {
+        List<Object> terms = new ArrayList<>();
+        int pos = 0;
+        int length = expression.length();
+        boolean expectTerm = true;
+        while (pos < length) {
+            char c = expression.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (expectTerm && c == '#') {
+                int start = ++pos;
+                while (pos < length && Character.isJavaIdentifierPart(expression.charAt(pos))) {
+                    pos++;
+                }
+                if (pos == start) {
+                    return null;
+                }
+                terms.add(new Variable(expression.substring(start, pos)));
+                expectTerm = false;
+            } else if (expectTerm && c == '\'') {
+                StringBuilder literal = new StringBuilder();
+                pos++;
+                while (true) {
+                    if (pos >= length) {
+                        return null;
+                    }
+                    char ch = expression.charAt(pos++);
+                    if (ch == '\'') {
+                        // SpEL 中 '' 表示单引号
+                        if (pos < length && expression.charAt(pos) == '\'') {
+                            literal.append('\'');
+                            pos++;
+                            continue;
+                        }
+                        break;
+                    }
+                    literal.append(ch);
+                }
+                terms.add(literal.toString());
+                expectTerm = false;
+            } else if (!expectTerm && c == '+') {
+                pos++;
+                expectTerm = true;
+            } else {
+                return null;
+            }
+        }
+        if (expectTerm || terms.isEmpty()) {
+            return null;
+        }
+        if (terms.size() > 1 && terms.get(0) instanceof Variable && terms.get(1) instanceof Variable) {
+            return null;
+        }
+        return terms;
+    }
+
+    private record Variable(String name) {
+    }
+
+    /**
+     * 绑定了参数位置的 Key 生成器，热路径上只做数组下标访问
+     */
+    public static final class KeyBuilder {
+
+        private final KeyTemplate template;
+        private final String[] paramNames;
+        private final int[] argIndexes;
+        // 上一次生成的 Key 长度，用于预分配 StringBuilder 容量
+        private volatile int sizeHint = 32;
+
+        private KeyBuilder(KeyTemplate template, String[] paramNames) {
+            this.template = template;
+            this.paramNames = paramNames;
+            if (template.variables == null) {
+                this.argIndexes = null;
+                return;
+            }
+            this.argIndexes = new int[template.variables.length];
+            List<String> names = Arrays.asList(paramNames);
+            for (int i = 0; i < template.variables.length; i++) {
+                int index = names.indexOf(template.variables[i]);
+                if (index < 0) {
+                    throw new IllegalArgumentException("Key variable #" + template.variables[i]
+                            + " not found in parameters " + names);
+                }
+                argIndexes[i] = index;
+            }
+        }
+
+        public String build(Object[] args) {
+            if (template.fallback != null) {
+                StandardEvaluationContext context = new StandardEvaluationContext();
+                for (int i = 0; i < paramNames.length; i++) {
+                    context.setVariable(paramNames[i], args[i]);
+                }
+                return template.prefix + template.fallback.getValue(context);
+            }
+            StringBuilder sb = new StringBuilder(sizeHint);
+            if (argIndexes == null) {
+                sb.append(template.prefix);
+                for (int i = 0; i < args.length; i++) {
+                    if (i > 0) {
+                        sb.append(':');
+                    }
+                    append(sb, args[i]);
+                }
+            } else {
+                String[] literals = template.literals;
+                sb.append(literals[0]);
+                for (int i = 0; i < argIndexes.length; i++) {
+                    append(sb, args[argIndexes[i]]);
+                    sb.append(literals[i + 1]);
+                }
+            }
+            if (sb.length() > sizeHint) {
+                sizeHint = sb.length();
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.github.vevoly.jmulticache.test.list;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheGenerations;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.strategy.DeltaListStorageStrategy;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * storage-type: list / delta 缓存的增量操作。
+ * <p>
+ * list：追加 / 头插 / 按 ID 删除 / 截断都直接映射为 pipeline 的 RPUSHX / LPUSHX / LREM / LTRIM；
+ * delta：同样的修改交给 {@link DeltaListStorageStrategy#update}，只向 Redis 追加一个差量。
+ * 不再需要整表失效后回源重建；修改后本节点 L1 失效，并通过 {@link JMultiCacheInvalidationHub} 广播，
+ * 其他节点的 L1 和扩展层副本同样失效，下次读取从 L2 获取最新列表 (delta 只需补读差量)。
+ * 列表未缓存时不会凭空创建一个不完整的列表。
+ * Incremental operations for list- and delta-storage caches: list maps to pipelined RPUSHX / LPUSHX / LREM /
+ * LTRIM, delta appends a single diff through {@link DeltaListStorageStrategy#update}. After each change the
+ * local L1 entry is evicted and the change is broadcast through {@link JMultiCacheInvalidationHub}; lists that
+ * are not cached are left alone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheListOps {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheGenerations jMultiCacheGenerations;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+    private final DeltaListStorageStrategy deltaListStorageStrategy;
+
+    /**
+     * 尾部追加，maxLength > 0 时只保留最后 maxLength 个元素
+     */
+    public <T> void append(String configName, Collection<T> items, long maxLength, String... keyParts) {
+        push(configName, items, false, maxLength, keyParts);
+    }
+
+    /**
+     * 头部插入，maxLength > 0 时只保留前 maxLength 个元素
+     */
+    public <T> void prepend(String configName, Collection<T> items, long maxLength, String... keyParts) {
+        push(configName, items, true, maxLength, keyParts);
+    }
+
+    /**
+     * 按业务主键删除元素
+     *
+     * @return 删除的元素个数
+     */
+    public long removeById(String configName, String idField, Object id, String... keyParts) {
+        String key = redisKey(configName, keyParts);
+        Class<?> entityClass = entityClass(configName);
+        if (isDelta(configName)) {
+            long[] removed = {0};
+            updateDelta(configName, keyParts, items -> {
+                items.removeIf(raw -> matchesId(deserialize(raw, entityClass), idField, id));
+                return items;
+            }, items -> removed[0] = items);
+            return removed[0];
+        }
+        List<String> rawValues = stringRedisTemplate.opsForList().range(key, 0, -1);
+        if (rawValues == null || rawValues.isEmpty()) {
+            return 0;
+        }
+        List<String> toRemove = new ArrayList<>();
+        for (String raw : rawValues) {
+            if (matchesId(deserialize(raw, entityClass), idField, id)) {
+                toRemove.add(raw);
+            }
+        }
+        if (toRemove.isEmpty()) {
+            return 0;
+        }
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            toRemove.forEach(raw -> conn.lRem(key, 0, raw));
+            return null;
+        });
+        evictL1(configName, keyParts);
+        return toRemove.size();
+    }
+
+    /**
+     * 截断到最多 maxLength 个元素，keepHead 为 true 保留头部，否则保留尾部
+     */
+    public void trim(String configName, long maxLength, boolean keepHead, String... keyParts) {
+        if (isDelta(configName)) {
+            updateDelta(configName, keyParts, items -> truncate(items, maxLength, keepHead), null);
+            return;
+        }
+        String key = redisKey(configName, keyParts);
+        if (keepHead) {
+            stringRedisTemplate.opsForList().trim(key, 0, maxLength - 1);
+        } else {
+            stringRedisTemplate.opsForList().trim(key, -maxLength, -1);
+        }
+        evictL1(configName, keyParts);
+    }
+
+    /**
+     * 区间读取 (LRANGE)，用于大列表分页，不需要取回整个列表
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> range(String configName, long start, long end, String... keyParts) {
+        String key = redisKey(configName, keyParts);
+        List<String> rawValues = isDelta(configName)
+                ? slice(deltaListStorageStrategy.items(key), start, end)
+                : stringRedisTemplate.opsForList().range(key, start, end);
+        if (rawValues == null || rawValues.isEmpty()) {
+            return List.of();
+        }
+        Class<?> entityClass = entityClass(configName);
+        List<T> result = new ArrayList<>(rawValues.size());
+        for (String raw : rawValues) {
+            Object element = deserialize(raw, entityClass);
+            if (element != null) {
+                result.add((T) element);
+            }
+        }
+        return result;
+    }
+
+    private <T> void push(String configName, Collection<T> items, boolean head, long maxLength, String... keyParts) {
+        if (items.isEmpty()) {
+            return;
+        }
+        String key = redisKey(configName, keyParts);
+        String[] values = items.stream().map(this::serialize).toArray(String[]::new);
+        if (isDelta(configName)) {
+            updateDelta(configName, keyParts, current -> {
+                current.addAll(head ? 0 : current.size(), head ? reversed(values) : List.of(values));
+                return maxLength > 0 ? truncate(current, maxLength, head) : current;
+            }, null);
+            return;
+        }
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection conn = (StringRedisConnection) connection;
+                for (String value : values) {
+                    if (head) {
+                        conn.lPushX(key, value);
+                    } else {
+                        conn.rPushX(key, value);
+                    }
+                }
+                if (maxLength > 0) {
+                    if (head) {
+                        conn.lTrim(key, 0, maxLength - 1);
+                    } else {
+                        conn.lTrim(key, -maxLength, -1);
+                    }
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            // 例如 Key 上是空值占位符 (WRONGTYPE)，直接删除，下次读取时回源重建
+            log.warn("[ListOps] 增量写入失败，删除缓存等待重建. key={}", key, e);
+            jMultiCacheInvalidationHub.evict(configName, keyParts);
+            return;
+        }
+        evictL1(configName, keyParts);
+    }
+
+    /**
+     * delta 配置的修改：只追加一个差量；列表未缓存时不做任何事，差量链不一致时删除缓存等待重建
+     *
+     * @param removed 非空时接收修改前后的元素个数差
+     */
+    private void updateDelta(String configName, String[] keyParts, UnaryOperator<List<String>> mutation, LongConsumer removed) {
+        String key = redisKey(configName, keyParts);
+        Duration ttl = properties.getConfig(configName).getRedisTtl();
+        if (ttl == null) {
+            throw new IllegalStateException("redis-ttl is required for delta config " + configName);
+        }
+        boolean updated;
+        try {
+            updated = deltaListStorageStrategy.update(key, items -> {
+                int before = items.size();
+                List<String> result = mutation.apply(items);
+                if (removed != null) {
+                    removed.accept(before - result.size());
+                }
+                return result;
+            }, ttl);
+        } catch (IllegalStateException | DataAccessException e) {
+            log.warn("[ListOps] 差量写入失败，删除缓存等待重建. key={}", key, e);
+            jMultiCacheInvalidationHub.evict(configName, keyParts);
+            return;
+        }
+        if (updated) {
+            evictL1(configName, keyParts);
+        }
+    }
+
+    private boolean isDelta(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        return config != null && DeltaListStorageStrategy.TYPE_NAME.equals(config.getStorageType());
+    }
+
+    private static List<String> truncate(List<String> items, long maxLength, boolean keepHead) {
+        if (items.size() <= maxLength) {
+            return items;
+        }
+        int max = (int) maxLength;
+        return new ArrayList<>(keepHead ? items.subList(0, max) : items.subList(items.size() - max, items.size()));
+    }
+
+    /**
+     * 与 LRANGE 相同的下标语义：负数从尾部计数，end 包含在内
+     */
+    private static List<String> slice(List<String> items, long start, long end) {
+        int size = items.size();
+        long from = Math.max(0, start < 0 ? size + start : start);
+        long to = Math.min(size - 1L, end < 0 ? size + end : end);
+        return from > to ? List.of() : items.subList((int) from, (int) to + 1);
+    }
+
+    /**
+     * LPUSHX 逐个插入到头部，结果顺序与参数相反
+     */
+    private static List<String> reversed(String[] values) {
+        List<String> result = new ArrayList<>(List.of(values));
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static boolean matchesId(Object element, String idField, Object id) {
+        return element != null && Objects.equals(String.valueOf(
+                PropertyAccessorFactory.forBeanPropertyAccess(element).getPropertyValue(idField)), String.valueOf(id));
+    }
+
+    /**
+     * 直接操作 Redis 的 Key 需要自己嵌入代际号；交给框架和失效中心的始终是原始 keyParts
+     */
+    private String redisKey(String configName, String[] keyParts) {
+        return properties.buildRedisKey(configName, jMultiCacheGenerations.effectiveKeyParts(configName, keyParts));
+    }
+
+    private void evictL1(String configName, String[] keyParts) {
+        jMultiCacheOps.evictL1(configName, (Object[]) keyParts);
+        jMultiCacheInvalidationHub.invalidate(configName, List.<String[]>of(keyParts));
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("List element serialize failed: " + value, e);
+        }
+    }
+
+    private Object deserialize(String raw, Class<?> entityClass) {
+        try {
+            return objectMapper.readValue(raw, entityClass);
+        } catch (JsonProcessingException e) {
+            // 空值占位符等非实体元素
+            return null;
+        }
+    }
+
+    private Class<?> entityClass(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        try {
+            return ClassUtils.forName(config.getEntityClass(), getClass().getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("entity-class not found for " + configName, e);
+        }
+    }
+}
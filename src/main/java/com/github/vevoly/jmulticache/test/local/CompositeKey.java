@@ -0,0 +1,52 @@
+package com.github.vevoly.jmulticache.test.local;
+
+import java.util.Objects;
+
+/**
+ * 两段式复合 Key (例如 tenantId + id)，哈希值在创建/探测时一次算好。
+ * Two-part composite key (e.g. tenantId + id) with a precomputed hash.
+ */
+final class CompositeKey {
+
+    private Object first;
+    private Object second;
+    private int hash;
+
+    CompositeKey(Object first, Object second) {
+        probe(first, second);
+    }
+
+    CompositeKey probe(Object first, Object second) {
+        this.first = first;
+        this.second = second;
+        this.hash = 31 * Objects.hashCode(first) + Objects.hashCode(second);
+        return this;
+    }
+
+    Object first() {
+        return first;
+    }
+
+    Object second() {
+        return second;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof CompositeKey other && other.hash == hash
+                && Objects.equals(other.first, first) && Objects.equals(other.second, second);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return first + ":" + second;
+    }
+}
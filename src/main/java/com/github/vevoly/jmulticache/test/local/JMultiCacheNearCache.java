@@ -0,0 +1,170 @@
+package com.github.vevoly.jmulticache.test.local;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+
+/**
+ * 零分配的本地缓存探测路径。
+ * <p>
+ * fetchData(config, supplier, String...) 每次调用都要 String.valueOf(id)、分配 varargs 数组，并拼出完整的
+ * Redis Key 才能查 L1。这里以数值 ID / 预计算哈希的复合 Key 作为本地缓存 Key，使用线程内复用的探测对象查询，
+ * 命中时几乎不分配内存；只有未命中时才生成 Redis Key 字符串并走完整的 L1/L2/DB 流程。
+ * 近端缓存订阅 {@link JMultiCacheInvalidationHub}，任何节点、任何扩展层的删除和写入都会清理这里的副本。
+ * Allocation-free local probe path keyed by numeric IDs or precomputed-hash composite keys. The Redis key
+ * string is materialized only on a local miss, which then goes through the regular L1/L2/loader flow.
+ * Entries are dropped on every event from {@link JMultiCacheInvalidationHub}.
+ */
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheNearCache {
+
+    private static final ThreadLocal<LongKey> LONG_PROBE = ThreadLocal.withInitial(() -> new LongKey(0));
+    private static final ThreadLocal<CompositeKey> COMPOSITE_PROBE = ThreadLocal.withInitial(() -> new CompositeKey(null, null));
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+    private final JMultiCacheExtProperties properties;
+
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribe() {
+        jMultiCacheInvalidationHub.subscribe(this::onInvalidate);
+    }
+
+    /**
+     * 单个数值 ID 的查询，例如 TEST_USER_CACHE
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fetchData(String configName, long id, LongFunction<T> loader) {
+        NearCache cache = getCache(configName);
+        if (cache == null) {
+            return jMultiCache.fetchData(configName, () -> loader.apply(id), String.valueOf(id));
+        }
+        Object value = cache.entries.getIfPresent(LONG_PROBE.get().probe(id));
+        if (value != null) {
+            return (T) value;
+        }
+        long epoch = cache.epoch.get();
+        T loaded = jMultiCache.fetchData(configName, () -> loader.apply(id), String.valueOf(id));
+        cache.putIfNotInvalidated(new LongKey(id), loaded, epoch);
+        return loaded;
+    }
+
+    /**
+     * 两段式 Key 的查询，例如 TEST_USER_CACHE_BY_TENANT_ID (tenantId, id)
+     */
+    @SuppressWarnings("unchecked")
+    public <A, B, T> T fetchData(String configName, A first, B second, BiFunction<A, B, T> loader) {
+        NearCache cache = getCache(configName);
+        if (cache == null) {
+            return jMultiCache.fetchData(configName, () -> loader.apply(first, second),
+                    String.valueOf(first), String.valueOf(second));
+        }
+        Object value = cache.entries.getIfPresent(COMPOSITE_PROBE.get().probe(first, second));
+        if (value != null) {
+            return (T) value;
+        }
+        long epoch = cache.epoch.get();
+        T loaded = jMultiCache.fetchData(configName, () -> loader.apply(first, second),
+                String.valueOf(first), String.valueOf(second));
+        cache.putIfNotInvalidated(new CompositeKey(first, second), loaded, epoch);
+        return loaded;
+    }
+
+    public void evict(String configName, long id) {
+        jMultiCacheInvalidationHub.evict(configName, String.valueOf(id));
+    }
+
+    public void evict(String configName, Object first, Object second) {
+        jMultiCacheInvalidationHub.evict(configName, String.valueOf(first), String.valueOf(second));
+    }
+
+    /**
+     * 失效事件只携带字符串形式的 keyParts：单段 Key 解析为数值 ID，两段 Key 通过字符串索引找到复合 Key
+     */
+    private void onInvalidate(String configName, String[] keyParts, boolean remote) {
+        NearCache cache = caches.get(configName);
+        if (cache == null) {
+            return;
+        }
+        cache.epoch.incrementAndGet();
+        if (keyParts.length == 1) {
+            try {
+                cache.entries.invalidate(new LongKey(Long.parseLong(keyParts[0])));
+            } catch (NumberFormatException e) {
+                // 不是数值 ID，近端缓存里不会有这个 Key
+            }
+        } else if (keyParts.length == 2) {
+            CompositeKey key = cache.compositeIndex.getIfPresent(keyParts[0] + ":" + keyParts[1]);
+            if (key != null) {
+                cache.entries.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * 与框架 L1 使用相同的 local-ttl / local-max-size；local-ttl 为 0 时不启用
+     */
+    private NearCache getCache(String configName) {
+        NearCache cache = caches.get(configName);
+        if (cache != null) {
+            return cache;
+        }
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        Duration localTtl = config == null ? null : config.getLocalTtl();
+        if (localTtl == null || localTtl.isZero()) {
+            return null;
+        }
+        return caches.computeIfAbsent(configName, name -> new NearCache(localTtl, config.getLocalMaxSize()));
+    }
+
+    private static final class NearCache {
+
+        private final Cache<Object, Object> entries;
+        // "first:second" -> 复合 Key，失效事件按字符串查找；与数据同样的 TTL 和容量，多余的索引项无害
+        private final Cache<String, CompositeKey> compositeIndex;
+        // 每次失效递增；回源前后不一致说明回源期间发生过失效，结果不放入近端缓存
+        private final AtomicLong epoch = new AtomicLong();
+
+        NearCache(Duration localTtl, Long localMaxSize) {
+            this.entries = newCache(localTtl, localMaxSize);
+            this.compositeIndex = newCache(localTtl, localMaxSize);
+        }
+
+        void putIfNotInvalidated(Object key, Object value, long epochBeforeLoad) {
+            if (value == null) {
+                return;
+            }
+            if (key instanceof CompositeKey compositeKey) {
+                compositeIndex.put(compositeKey.toString(), compositeKey);
+            }
+            entries.put(key, value);
+            // 放入之后再检查，避免检查和放入之间的失效被漏掉
+            if (epoch.get() != epochBeforeLoad) {
+                entries.invalidate(key);
+            }
+        }
+
+        private static <K, V> Cache<K, V> newCache(Duration localTtl, Long localMaxSize) {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder().expireAfterWrite(localTtl);
+            if (localMaxSize != null) {
+                builder.maximumSize(localMaxSize);
+            }
+            return builder.build();
+        }
+    }
+}
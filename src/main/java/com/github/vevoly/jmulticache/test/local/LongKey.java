@@ -0,0 +1,41 @@
+package com.github.vevoly.jmulticache.test.local;
+
+/**
+ * 单个数值 ID 的本地缓存 Key，避免 Long 装箱和 Redis Key 字符串拼接。
+ * <p>
+ * 查询时使用线程内复用的探测 Key (可变)，只有写入缓存时才创建不可变实例。
+ * Local cache key for a single numeric ID. Lookups use a per-thread mutable probe;
+ * a fresh instance is only created when an entry is stored.
+ */
+final class LongKey {
+
+    private long id;
+
+    LongKey(long id) {
+        this.id = id;
+    }
+
+    LongKey probe(long id) {
+        this.id = id;
+        return this;
+    }
+
+    long id() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LongKey other && other.id == id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(id);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(id);
+    }
+}
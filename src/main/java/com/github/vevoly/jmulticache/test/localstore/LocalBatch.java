@@ -0,0 +1,66 @@
+package com.github.vevoly.jmulticache.test.localstore;
+
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@link LocalLogStore} 的批量操作，实现框架的 {@link BatchOperation}，用法与 Redis pipeline 相同：
+ * 先登记操作拿到 Future，execute 后统一完成
+ * Batched operations on a {@link LocalLogStore} implementing the framework's {@link BatchOperation},
+ * used like a Redis pipeline.
+ */
+public class LocalBatch implements BatchOperation {
+
+    private final LocalLogStore store;
+    private final List<Runnable> operations = new ArrayList<>();
+
+    LocalBatch(LocalLogStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public CompletableFuture<Object> get(String key) {
+        return add(() -> store.get(key));
+    }
+
+    @Override
+    public void set(String key, Object value, Duration ttl) {
+        add(() -> {
+            store.set(key, value, ttl);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Boolean> del(String key) {
+        return add(() -> store.del(key));
+    }
+
+    public CompletableFuture<Boolean> expire(String key, Duration ttl) {
+        return add(() -> store.expire(key, ttl));
+    }
+
+    /**
+     * 依次执行已登记的操作，整批只刷一次日志
+     */
+    public void execute() {
+        store.runBatch(operations);
+        operations.clear();
+    }
+
+    private <R> CompletableFuture<R> add(Supplier<R> operation) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        operations.add(() -> {
+            try {
+                future.complete(operation.get());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+}
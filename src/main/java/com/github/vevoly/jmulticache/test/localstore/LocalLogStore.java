@@ -0,0 +1,431 @@
+package com.github.vevoly.jmulticache.test.localstore;
+
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 本地持久化的 L2 替身存储引擎，实现框架的 {@link RedisClient}。
+ * <p>
+ * 数据全部在内存中，写操作以追加日志的形式落盘 (log-structured)，启动时重放日志恢复；日志超过阈值后
+ * 按当前数据重写压缩。只支持 string 值、TTL 和批量执行 ({@link LocalBatch} 实现 {@link BatchOperation})，
+ * 与存储策略实际用到的操作一致；用于 localstore profile 下 storage-type: local 的配置。
+ * <p>
+ * 并发：同一个 Key 的修改和日志追加在同一把分段锁内完成，保证日志顺序与内存一致；读取无锁。
+ * Embedded, persistent, log-structured stand-in for Redis implementing the framework's {@link RedisClient}:
+ * in-memory string values with an append-only operation log that is replayed on open and compacted past a
+ * size threshold. Supports TTLs and batched execution through {@link LocalBatch} ({@link BatchOperation}).
+ */
+@Slf4j
+public class LocalLogStore implements RedisClient, Closeable {
+
+    // 日志操作码
+    private static final byte OP_SET = 1;
+    private static final byte OP_DEL = 2;
+    private static final byte OP_EXPIRE = 3;
+
+    private static final int STRIPES = 64;
+    private static final String[] NO_ARGS = new String[0];
+
+    private final Path file;
+    private final long baseCompactThreshold;
+    private final boolean fsync;
+
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+    private final Object[] stripes = new Object[STRIPES];
+    // 普通写操作持有读锁，日志压缩持有写锁
+    private final ReentrantReadWriteLock compactionLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ThreadLocal<Boolean> batching = new ThreadLocal<>();
+
+    private final Object logLock = new Object();
+    private DataOutputStream logOut;
+    private FileOutputStream logFile;
+    private long logBytes;
+    private long compactThreshold;
+
+    /**
+     * @param compactThresholdBytes 日志超过该大小时压缩
+     * @param fsync                 每次写入 (或每个批次) 后是否强制刷盘
+     */
+    public LocalLogStore(Path file, long compactThresholdBytes, boolean fsync) throws IOException {
+        this.file = file;
+        this.baseCompactThreshold = compactThresholdBytes;
+        this.compactThreshold = compactThresholdBytes;
+        this.fsync = fsync;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        replay();
+        openLog();
+    }
+
+    public LocalLogStore(Path file) throws IOException {
+        this(file, 64L * 1024 * 1024, false);
+    }
+
+    // ---------------- string ----------------
+
+    @Override
+    public String get(String key) {
+        Entry entry = live(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public List<String> mget(List<String> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            values.add(get(key));
+        }
+        return values;
+    }
+
+    /**
+     * 只保存字符串：调用方 (存储策略) 负责序列化
+     *
+     * @param ttl null 或 0 表示永不过期
+     */
+    @Override
+    public void set(String key, Object value, Duration ttl) {
+        if (!(value instanceof String str)) {
+            throw new IllegalArgumentException("LocalLogStore only stores strings, got "
+                    + (value == null ? "null" : value.getClass().getName()));
+        }
+        write(key, OP_SET, new String[]{str, Long.toString(expireAt(ttl))});
+    }
+
+    public boolean del(String key) {
+        return (Boolean) write(key, OP_DEL, NO_ARGS);
+    }
+
+    public boolean exists(String key) {
+        return live(key) != null;
+    }
+
+    public boolean expire(String key, Duration ttl) {
+        return (Boolean) write(key, OP_EXPIRE, new String[]{Long.toString(expireAt(ttl))});
+    }
+
+    /**
+     * 剩余 TTL 毫秒数：-1 永不过期，-2 不存在
+     */
+    public long ttlMillis(String key) {
+        Entry entry = live(key);
+        if (entry == null) {
+            return -2;
+        }
+        return entry.expireAt == 0 ? -1 : Math.max(0, entry.expireAt - System.currentTimeMillis());
+    }
+
+    // ---------------- batch ----------------
+
+    /**
+     * 批量执行，相当于 pipeline：整批只刷一次日志
+     */
+    public LocalBatch batch() {
+        return new LocalBatch(this);
+    }
+
+    void runBatch(List<Runnable> operations) {
+        batching.set(Boolean.TRUE);
+        try {
+            operations.forEach(Runnable::run);
+        } finally {
+            batching.remove();
+            synchronized (logLock) {
+                flushLog();
+            }
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * 清理已过期的 Key (读取时也会惰性清理)
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Iterator<Map.Entry<String, Entry>> it = data.entrySet().iterator(); it.hasNext(); ) {
+            Entry entry = it.next().getValue();
+            if (entry.expireAt != 0 && entry.expireAt <= now) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public long getLogBytes() {
+        synchronized (logLock) {
+            return logBytes;
+        }
+    }
+
+    /**
+     * 按当前数据重写日志
+     */
+    public void compact() throws IOException {
+        compactionLock.writeLock().lock();
+        try {
+            purgeExpired();
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".compact");
+            long bytes;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                for (Map.Entry<String, Entry> item : data.entrySet()) {
+                    writeEntry(out, item.getKey(), item.getValue());
+                }
+                bytes = out.size();
+            }
+            synchronized (logLock) {
+                logOut.close();
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                openLog();
+                compactThreshold = Math.max(baseCompactThreshold, bytes * 2);
+            }
+            log.debug("[LocalStore] 日志压缩完成. keys={}, bytes={}", data.size(), bytes);
+        } finally {
+            compactionLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (logLock) {
+            flushLog();
+            logOut.close();
+        }
+    }
+
+    // ---------------- 内部实现 ----------------
+
+    private Object write(String key, byte op, String[] args) {
+        Object result;
+        compactionLock.readLock().lock();
+        try {
+            synchronized (stripe(key)) {
+                result = apply(op, key, args, System.currentTimeMillis());
+                append(op, key, args);
+            }
+        } finally {
+            compactionLock.readLock().unlock();
+        }
+        if (getLogBytes() > compactThreshold && compacting.compareAndSet(false, true)) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                compacting.set(false);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 执行一条操作，实时写入和日志重放共用
+     */
+    private Object apply(byte op, String key, String[] args, long now) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.isExpired(now)) {
+            data.remove(key);
+            entry = null;
+        }
+        switch (op) {
+            case OP_SET: {
+                data.put(key, new Entry(args[0], Long.parseLong(args[1])));
+                return null;
+            }
+            case OP_DEL:
+                return data.remove(key) != null;
+            case OP_EXPIRE: {
+                if (entry == null) {
+                    return false;
+                }
+                entry.expireAt = Long.parseLong(args[0]);
+                return true;
+            }
+            default:
+                throw new IllegalStateException("Unknown local store op: " + op);
+        }
+    }
+
+    private Entry live(String key) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private Object stripe(String key) {
+        return stripes[(key.hashCode() & 0x7FFFFFFF) % STRIPES];
+    }
+
+    private static long expireAt(Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? 0 : System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    // ---------------- 日志 ----------------
+
+    private void append(byte op, String key, String[] args) {
+        synchronized (logLock) {
+            try {
+                logBytes += writeRecord(logOut, op, key, args);
+                if (batching.get() == null) {
+                    flushLog();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Local store log write failed", e);
+            }
+        }
+    }
+
+    private void flushLog() {
+        try {
+            logOut.flush();
+            if (fsync) {
+                logFile.getFD().sync();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Local store log flush failed", e);
+        }
+    }
+
+    private static int writeRecord(DataOutputStream out, byte op, String key, String[] args) throws IOException {
+        out.writeByte(op);
+        int bytes = 1 + writeString(out, key) + 4;
+        out.writeInt(args.length);
+        for (String arg : args) {
+            bytes += writeString(out, arg);
+        }
+        return bytes;
+    }
+
+    private static int writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return 4 + bytes.length;
+    }
+
+    /**
+     * 压缩时把一个 Key 的当前状态写成一条日志记录
+     */
+    private static void writeEntry(DataOutputStream out, String key, Entry entry) throws IOException {
+        writeRecord(out, OP_SET, key, new String[]{entry.value, Long.toString(entry.expireAt)});
+    }
+
+    /**
+     * 重放日志；末尾不完整的记录 (写入中途宕机) 会被截掉
+     */
+    private void replay() throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        long valid = 0;
+        int records = 0;
+        long now = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                long length = 1;
+                String key;
+                String[] args;
+                try {
+                    byte[] keyBytes = readBytes(in);
+                    key = new String(keyBytes, StandardCharsets.UTF_8);
+                    args = new String[in.readInt()];
+                    length += 4 + keyBytes.length + 4;
+                    for (int i = 0; i < args.length; i++) {
+                        byte[] arg = readBytes(in);
+                        args[i] = new String(arg, StandardCharsets.UTF_8);
+                        length += 4 + arg.length;
+                    }
+                } catch (EOFException e) {
+                    log.warn("[LocalStore] 日志末尾记录不完整，已截断. file={}, validBytes={}", file, valid);
+                    break;
+                }
+                if (op < OP_SET || op > OP_EXPIRE) {
+                    // 旧版本写入的结构类型操作：不再支持，跳过
+                    log.warn("[LocalStore] 忽略不支持的日志操作. op={}, key={}", op, key);
+                } else {
+                    apply(op, key, args, now);
+                }
+                valid += length;
+                records++;
+            }
+        }
+        if (valid < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        purgeExpired();
+        logBytes = valid;
+        log.info("[LocalStore] 日志重放完成. records={}, keys={}", records, data.size());
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private void openLog() throws IOException {
+        logFile = new FileOutputStream(file.toFile(), true);
+        logOut = new DataOutputStream(new BufferedOutputStream(logFile, 64 * 1024));
+        logBytes = Files.size(file);
+    }
+
+    // ---------------- 数据结构 ----------------
+
+    private static final class Entry {
+
+        private final String value;
+        private volatile long expireAt;
+
+        private Entry(String value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        boolean isExpired(long now) {
+            return expireAt != 0 && expireAt <= now;
+        }
+    }
+}
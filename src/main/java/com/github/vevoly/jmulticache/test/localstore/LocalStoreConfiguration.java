@@ -0,0 +1,25 @@
+package com.github.vevoly.jmulticache.test.localstore;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * localstore profile：装配本地日志存储引擎，storage-type: local 的配置以它作为 L2
+ * Wires the embedded log-structured store under the localstore profile; configs with storage-type: local
+ * use it as their L2.
+ */
+@Configuration
+@Profile("localstore")
+public class LocalStoreConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public LocalLogStore localLogStore(JMultiCacheExtProperties properties) throws IOException {
+        JMultiCacheExtProperties.LocalStoreConfig config = properties.getLocalStore();
+        return new LocalLogStore(Path.of(config.getPath()), config.getCompactThresholdBytes(), config.isFsync());
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.vevoly.jmulticache.test.ops;
+
+import com.github.vevoly.jmulticache.test.cdc.JMultiCacheCdcPipeline;
+import com.github.vevoly.jmulticache.test.cost.JMultiCacheCostAwareCache;
+import com.github.vevoly.jmulticache.test.cost.LoadCostStats;
+import com.github.vevoly.jmulticache.test.resilience.JMultiCacheResilientCache;
+import com.github.vevoly.jmulticache.test.resilience.L2CircuitBreaker;
+import com.github.vevoly.jmulticache.test.tenant.JMultiCacheTenantCache;
+import com.github.vevoly.jmulticache.test.tenant.TenantStats;
+import com.github.vevoly.jmulticache.test.trace.FetchPhase;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheLatencyTracker;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 扩展组件的运维查询入口，与 JMultiCacheOps 配合使用
+ * Operational view over the extension components, used alongside JMultiCacheOps.
+ */
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheExtOps {
+
+    private final JMultiCacheCostAwareCache jMultiCacheCostAwareCache;
+    private final JMultiCacheResilientCache jMultiCacheResilientCache;
+    private final JMultiCacheLatencyTracker jMultiCacheLatencyTracker;
+    private final JMultiCacheTenantCache jMultiCacheTenantCache;
+    private final JMultiCacheCdcPipeline jMultiCacheCdcPipeline;
+
+    /**
+     * 回源代价统计：次数、平均/最大耗时、平均大小、准入拒绝和淘汰次数
+     */
+    public LoadCostStats.Snapshot getLoadCostStats(String configName) {
+        return jMultiCacheCostAwareCache.getCostStats(configName);
+    }
+
+    public String getLoadCostStatsText(String configName) {
+        LoadCostStats.Snapshot stats = getLoadCostStats(configName);
+        return String.format("[%s] loads=%d, avgLoad=%.2fms, maxLoad=%.2fms, avgSize=%dB, rejects=%d, evictions=%d, localSize=%d",
+                configName, stats.loads(), stats.avgLoadMillis(), stats.maxLoadMillis(), stats.avgSizeBytes(),
+                stats.admissionRejects(), stats.evictions(), jMultiCacheCostAwareCache.getLocalSize(configName));
+    }
+
+    /**
+     * 各 Redis 节点的 L2 健康状态：熔断状态、调用/异常/慢调用次数、平均耗时
+     */
+    public List<L2CircuitBreaker.Snapshot> getL2Health() {
+        return jMultiCacheResilientCache.getHealth();
+    }
+
+    public String getL2HealthText() {
+        StringBuilder sb = new StringBuilder();
+        for (L2CircuitBreaker.Snapshot health : getL2Health()) {
+            sb.append(String.format("[%s] state=%s, calls=%d, errors=%d, slow=%d, rejected=%d, opens=%d, ewma=%.2fms%n",
+                    health.node(), health.state(), health.calls(), health.errors(), health.slowCalls(),
+                    health.rejected(), health.opens(), health.ewmaLatencyMillis()));
+        }
+        sb.append(String.format("degradedL1Hits=%d, staleHits=%d, limitedLoads=%d", jMultiCacheResilientCache.getL1Hits(),
+                jMultiCacheResilientCache.getStaleHits(), jMultiCacheResilientCache.getLimitedLoads()));
+        return sb.toString();
+    }
+
+    /**
+     * 各阶段耗时分位数 (毫秒)，需开启 tracing
+     */
+    public String getLatencyText(String configName) {
+        StringBuilder sb = new StringBuilder("[" + configName + "]");
+        for (FetchPhase phase : FetchPhase.values()) {
+            Histogram histogram = jMultiCacheLatencyTracker.getHistogram(configName, phase);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                continue;
+            }
+            sb.append(String.format("%n  %-11s count=%d, p50=%.2fms, p99=%.2fms, p999=%.2fms, max=%.2fms",
+                    phase, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 各租户的命中率、回源次数、被拒绝的回源和分区占用
+     */
+    public Map<String, TenantStats.Snapshot> getTenantStats(String configName) {
+        return jMultiCacheTenantCache.getTenantStats(configName);
+    }
+
+    public String getTenantStatsText(String configName) {
+        StringBuilder sb = new StringBuilder("[" + configName + "]");
+        getTenantStats(configName).forEach((tenant, stats) ->
+                sb.append(String.format("%n  %-12s hit=%.2f%%, hits=%d, misses=%d, loads=%d, rejected=%d, size=%d/%d",
+                        tenant, stats.hitRatio() * 100, stats.hits(), stats.misses(), stats.loads(),
+                        stats.rejectedLoads(), stats.localSize(), stats.capacity())));
+        return sb.toString();
+    }
+
+    /**
+     * CDC 管道统计：事件数、Key 操作数、合并数、失效/刷新数、重投批次、延迟
+     */
+    public JMultiCacheCdcPipeline.Stats getCdcStats() {
+        return jMultiCacheCdcPipeline.getStats();
+    }
+
+    public String getCdcStatsText() {
+        JMultiCacheCdcPipeline.Stats stats = getCdcStats();
+        return String.format("events=%d, keyChanges=%d, coalesced=%d, evictions=%d, refreshes=%d, redeliveries=%d, lag=%dms",
+                stats.events(), stats.keyChanges(), stats.coalesced(), stats.evictions(), stats.refreshes(),
+                stats.redeliveries(), stats.lagMillis());
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.vevoly.jmulticache.test.page;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.PageConfig;
+import com.github.vevoly.jmulticache.test.entity.dto.PageIndex;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.version.JMultiCacheVersionGuard;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 分段分页缓存。
+ * <p>
+ * storage-type: page 会把整个分页对象按 "过滤条件 + 页码 + 页大小" 缓存，同一条记录在不同分页里重复存储，
+ * 一条记录变化还要删除无法枚举的分页 Key。这里每个分页 Key 只缓存有序 ID 列表和总数 ({@link PageIndex})，
+ * 记录通过实体配置的 pipeline 批量获取，更新记录只需删除实体缓存；下一页在后台异步预取。
+ * 分页回源得到的记录经 {@link JMultiCacheVersionGuard#preloadMultiCache} 写入实体缓存，回源期间被删除的记录不会以旧值写回。
+ * Segmented page cache: each page key stores only the ordered ID list and the total, records are resolved
+ * through a pipelined multi-get against the entity config, and the next page is prefetched asynchronously.
+ * Records from a page load go through the version guard, so records evicted during the load are not written back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCachePageCache {
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheVersionGuard jMultiCacheVersionGuard;
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    // 正在预取的分页 Key，避免同一页被重复预取
+    private final Set<String> prefetching = ConcurrentHashMap.newKeySet();
+    private final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "j-multi-cache-page-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 查询分页
+     *
+     * @param indexConfig  分页索引配置名，例如 TEST_USER_PAGE_INDEX
+     * @param current      页码
+     * @param size         页大小
+     * @param pageLoader   分页回源
+     * @param recordLoader 记录被单独淘汰后的批量回源
+     * @param filterParts  除页码、页大小外的 keyParts，页码和页大小会自动追加在最后
+     */
+    public <T> SegmentedPage<T> fetchPage(String indexConfig, long current, long size,
+                                          PageLoader<T> pageLoader,
+                                          Function<Collection<Long>, Map<Long, T>> recordLoader,
+                                          String... filterParts) {
+        PageConfig pageConfig = requirePageConfig(indexConfig);
+        PageIndex index = fetchIndex(indexConfig, pageConfig, current, size, pageLoader, filterParts);
+        if (index == null) {
+            return new SegmentedPage<>(current, size, 0, List.of());
+        }
+        List<T> records = resolveRecords(pageConfig, index.getIds(), recordLoader);
+        if (pageConfig.isPrefetch() && current * size < index.getTotal()) {
+            prefetch(indexConfig, pageConfig, current + 1, size, pageLoader, filterParts);
+        }
+        return new SegmentedPage<>(current, size, index.getTotal(), records);
+    }
+
+    /**
+     * 删除某个过滤条件下的指定分页索引 (记录本身不受影响)
+     */
+    public void evictPage(String indexConfig, long current, long size, String... filterParts) {
+        jMultiCacheInvalidationHub.evict(indexConfig, keyParts(filterParts, current, size));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private <T> PageIndex fetchIndex(String indexConfig, PageConfig pageConfig, long current, long size,
+                                     PageLoader<T> pageLoader, String[] filterParts) {
+        return jMultiCache.fetchData(indexConfig, () -> {
+            // 回源前取时间点：回源期间被 evict 的记录不会以旧值写回实体缓存
+            String loadStart = jMultiCacheVersionGuard.loadStart();
+            SegmentedPage<T> page = pageLoader.load(current, size);
+            if (page == null) {
+                return null;
+            }
+            // 回源得到的记录顺便写入实体缓存，后续解析 ID 时直接命中
+            Map<String, T> recordMap = new LinkedHashMap<>();
+            List<Long> ids = new ArrayList<>(page.getRecords().size());
+            for (T record : page.getRecords()) {
+                Long id = readId(record, pageConfig.getIdField());
+                ids.add(id);
+                recordMap.put(String.valueOf(id), record);
+            }
+            if (!recordMap.isEmpty()) {
+                Set<String> rejected = jMultiCacheVersionGuard.preloadMultiCache(pageConfig.getRecordConfig(), recordMap, loadStart);
+                // 被拒绝的记录在 resolveRecords 中按未命中重新回源
+                recordMap.keySet().removeAll(rejected);
+                jMultiCacheInvalidationHub.invalidateSuffixes(pageConfig.getRecordConfig(), recordMap.keySet());
+            }
+            return new PageIndex(page.getTotal(), ids);
+        }, keyParts(filterParts, current, size));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> resolveRecords(PageConfig pageConfig, List<Long> ids,
+                                       Function<Collection<Long>, Map<Long, T>> recordLoader) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, T> found = (Map<Long, T>) jMultiCache.fetchMultiDataMap(
+                pageConfig.getRecordConfig(), ids, pageConfig.getIdField(), missingIds -> recordLoader.apply(missingIds));
+        List<T> records = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T record = found.get(id);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private <T> void prefetch(String indexConfig, PageConfig pageConfig, long next, long size,
+                              PageLoader<T> pageLoader, String[] filterParts) {
+        String prefetchKey = indexConfig + ":" + String.join(":", keyParts(filterParts, next, size));
+        if (!prefetching.add(prefetchKey)) {
+            return;
+        }
+        prefetchExecutor.execute(() -> {
+            try {
+                fetchIndex(indexConfig, pageConfig, next, size, pageLoader, filterParts);
+            } catch (Exception e) {
+                log.warn("[PageCache] 预取下一页失败. key={}", prefetchKey, e);
+            } finally {
+                prefetching.remove(prefetchKey);
+            }
+        });
+    }
+
+    private Long readId(Object record, String idField) {
+        Object id = PropertyAccessorFactory.forBeanPropertyAccess(record).getPropertyValue(idField);
+        return id instanceof Number number ? number.longValue() : Long.valueOf(String.valueOf(id));
+    }
+
+    private String[] keyParts(String[] filterParts, long current, long size) {
+        String[] parts = new String[filterParts.length + 2];
+        System.arraycopy(filterParts, 0, parts, 0, filterParts.length);
+        parts[filterParts.length] = String.valueOf(current);
+        parts[filterParts.length + 1] = String.valueOf(size);
+        return parts;
+    }
+
+    private PageConfig requirePageConfig(String indexConfig) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(indexConfig);
+        if (config == null || config.getPage().getRecordConfig() == null) {
+            throw new IllegalArgumentException("Config " + indexConfig + " has no page.record-config");
+        }
+        return config.getPage();
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.vevoly.jmulticache.test.page;
+
+/**
+ * 分页回源：返回当前页的记录和总数
+ */
+@FunctionalInterface
+public interface PageLoader<T> {
+
+    SegmentedPage<T> load(long current, long size);
+}
@@ -0,0 +1,21 @@
+package com.github.vevoly.jmulticache.test.page;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 分段分页缓存的查询结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SegmentedPage<T> implements Serializable {
+    private long current;
+    private long size;
+    private long total;
+    private List<T> records;
+}
@@ -0,0 +1,142 @@
+package com.github.vevoly.jmulticache.test.plan;
+
+import io.github.vevoly.jmulticache.api.JMultiCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 多配置读取计划。声明一次、按参数多次执行，由 {@link JMultiCacheFetchPlanner} 执行。
+ * <p>
+ * 每一步读取一个配置；不依赖其他步骤的步骤同时发起，依赖某一步结果的步骤 (例如 用排行榜里的 userId 批量取用户)
+ * 在输入就绪后立刻发起。执行耗时约等于依赖深度 ({@link #depth()}) 次 L2 往返，而不是步骤数。
+ * Multi-config fetch plan: independent steps run concurrently, dependent steps start as soon as their
+ * input is ready, so latency follows the dependency depth rather than the number of steps.
+ *
+ * @param <P> 执行参数类型，例如 region
+ */
+public final class FetchPlan<P> {
+
+    private final List<Step> steps;
+    private final int depth;
+
+    private FetchPlan(List<Step> steps) {
+        this.steps = Collections.unmodifiableList(steps);
+        this.depth = steps.stream().mapToInt(step -> step.level).max().orElse(-1) + 1;
+    }
+
+    public static <P> Builder<P> builder() {
+        return new Builder<>();
+    }
+
+    List<Step> steps() {
+        return steps;
+    }
+
+    /**
+     * 依赖深度，即最少需要的串行往返次数
+     */
+    public int depth() {
+        return depth;
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    /**
+     * 单个步骤：input 为 -1 时以执行参数为输入，否则以对应步骤的结果为输入
+     */
+    record Step(int index, String configName, int input, int level, StepBody body) {
+    }
+
+    @FunctionalInterface
+    interface StepBody {
+        Object run(JMultiCache jMultiCache, Object input);
+    }
+
+    public static final class Builder<P> {
+
+        private final List<Step> steps = new ArrayList<>();
+
+        /**
+         * 按执行参数读取单个 Key，参数与 {@link JMultiCache#fetchData} 一致
+         */
+        public <T> Slot<T> fetch(String configName, Function<P, String[]> keyParts, Function<P, T> loader) {
+            return add(configName, null, (cache, input) -> {
+                @SuppressWarnings("unchecked")
+                P param = (P) input;
+                return cache.fetchData(configName, () -> loader.apply(param), keyParts.apply(param));
+            });
+        }
+
+        /**
+         * 以上一步的结果为输入读取单个 Key
+         */
+        public <A, T> Slot<T> fetch(String configName, Slot<A> after, Function<A, String[]> keyParts,
+                                    Function<A, T> loader) {
+            return add(configName, after, (cache, input) -> {
+                @SuppressWarnings("unchecked")
+                A value = (A) input;
+                return cache.fetchData(configName, () -> loader.apply(value), keyParts.apply(value));
+            });
+        }
+
+        /**
+         * 按执行参数批量读取，参数与 {@link JMultiCache#fetchMultiDataMap} 一致
+         */
+        public <K, V> Slot<Map<K, V>> fetchMulti(String configName, String idField, Function<P, Collection<K>> ids,
+                                                 Function<Collection<K>, Map<K, V>> loader) {
+            return add(configName, null, (cache, input) -> {
+                @SuppressWarnings("unchecked")
+                P param = (P) input;
+                return multi(cache, configName, idField, ids.apply(param), loader);
+            });
+        }
+
+        /**
+         * 以上一步的结果为输入批量读取，例如 排行榜 -> userId 列表 -> 用户详情
+         */
+        public <A, K, V> Slot<Map<K, V>> fetchMulti(String configName, String idField, Slot<A> after,
+                                                    Function<A, Collection<K>> ids,
+                                                    Function<Collection<K>, Map<K, V>> loader) {
+            return add(configName, after, (cache, input) -> {
+                @SuppressWarnings("unchecked")
+                A value = (A) input;
+                return multi(cache, configName, idField, ids.apply(value), loader);
+            });
+        }
+
+        public FetchPlan<P> build() {
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("FetchPlan 至少需要一个步骤");
+            }
+            return new FetchPlan<>(new ArrayList<>(steps));
+        }
+
+        private <T> Slot<T> add(String configName, Slot<?> after, StepBody body) {
+            if (after != null && after.owner() != this) {
+                throw new IllegalArgumentException("Slot 不属于当前计划: " + after);
+            }
+            int index = steps.size();
+            int level = after == null ? 0 : after.level() + 1;
+            steps.add(new Step(index, configName, after == null ? -1 : after.index(), level, body));
+            return new Slot<>(index, configName, level, this);
+        }
+
+        private static <K, V> Map<K, V> multi(JMultiCache cache, String configName, String idField,
+                                              Collection<K> ids, Function<Collection<K>, Map<K, V>> loader) {
+            if (ids == null || ids.isEmpty()) {
+                return Map.of();
+            }
+            @SuppressWarnings("unchecked")
+            Map<K, V> found = (Map<K, V>) cache.fetchMultiDataMap(configName, ids, idField,
+                    missingIds -> loader.apply(missingIds));
+            return found;
+        }
+    }
+}
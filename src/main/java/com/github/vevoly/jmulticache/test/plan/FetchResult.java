@@ -0,0 +1,37 @@
+package com.github.vevoly.jmulticache.test.plan;
+
+/**
+ * 读取计划的执行结果，按 {@link Slot} 类型化取值
+ * Typed result bundle of one plan execution.
+ */
+public final class FetchResult {
+
+    private final Object[] values;
+    private final long[] stepNanos;
+    private final long elapsedNanos;
+
+    FetchResult(Object[] values, long[] stepNanos, long elapsedNanos) {
+        this.values = values;
+        this.stepNanos = stepNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Slot<T> slot) {
+        return (T) values[slot.index()];
+    }
+
+    /**
+     * 某一步自身的耗时 (不含等待输入的时间)
+     */
+    public long getStepNanos(Slot<?> slot) {
+        return stepNanos[slot.index()];
+    }
+
+    /**
+     * 整个计划的端到端耗时
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,216 @@
+package com.github.vevoly.jmulticache.test.plan;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.scope.JMultiCacheRequestScope;
+import com.github.vevoly.jmulticache.test.trace.FetchTrace;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheTracing;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 执行 {@link FetchPlan}。
+ * <p>
+ * 每一步作为独立任务提交到线程池：根步骤立即并发执行，依赖步骤在输入完成后由完成它的线程提交；
+ * 各步骤内部仍走 fetchData / fetchMultiDataMap，L1、批量 L2 读取、空值缓存和回源锁都由框架处理，
+ * 回源也因此在不同步骤间并行。任一步骤失败或整体超时时抛出异常，并中断仍在执行的步骤 (回源中的阻塞调用会收到中断)。
+ * 步骤中再执行计划 (嵌套) 时直接在当前工作线程上按顺序执行，不会占满线程池后互相等待。
+ * 调用线程的请求级 L0 作用域和 fetch 追踪会带到步骤线程上，追踪耗时在完成后合并回调用线程。
+ * Executes fetch plans: root steps run concurrently, dependent steps are submitted as soon as their input
+ * completes, and each step goes through the regular fetchData / fetchMultiDataMap path. Failures and timeouts
+ * interrupt running steps; nested plans run inline on the worker; the request scope and fetch trace follow
+ * the steps onto the pool threads.
+ */
+@Slf4j
+@Component
+public class JMultiCacheFetchPlanner {
+
+    // 标记线程池的工作线程，嵌套执行时据此改为在当前线程上执行
+    private static final ThreadLocal<Boolean> WORKER = new ThreadLocal<>();
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheExtProperties properties;
+    private final ExecutorService executor;
+
+    public JMultiCacheFetchPlanner(JMultiCache jMultiCache, JMultiCacheExtProperties properties) {
+        this.jMultiCache = jMultiCache;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getFetchPlan().getThreads(), r -> {
+            Thread thread = new Thread(() -> {
+                WORKER.set(Boolean.TRUE);
+                r.run();
+            }, "j-multi-cache-fetch-plan");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <P> FetchResult execute(FetchPlan<P> plan, P param) {
+        if (WORKER.get() != null) {
+            return executeInline(plan, param);
+        }
+        long start = System.nanoTime();
+        Execution execution = new Execution(plan.steps(), JMultiCacheRequestScope.share());
+
+        // 1. 提交根步骤，依赖步骤在输入完成后提交
+        execution.start(param);
+
+        // 2. 等待全部完成
+        try {
+            execution.done.get(properties.getFetchPlan().getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            execution.cancel();
+            throw new IllegalStateException("FetchPlan 执行超时: " + properties.getFetchPlan().getTimeout(), e);
+        } catch (InterruptedException e) {
+            execution.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("FetchPlan 执行被中断", e);
+        } catch (ExecutionException e) {
+            execution.cancel();
+            throw unwrap(e.getCause());
+        }
+        for (FetchTrace trace : execution.traces) {
+            JMultiCacheTracing.join(trace);
+        }
+        long elapsed = System.nanoTime() - start;
+        log.debug("[FetchPlan] steps={}, depth={}, elapsed={}µs", plan.size(), plan.depth(), elapsed / 1_000);
+        return new FetchResult(execution.values, execution.stepNanos, elapsed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 在工作线程上按声明顺序执行 (输入一定在前面)，作用域和追踪已绑定在当前线程上
+     */
+    private <P> FetchResult executeInline(FetchPlan<P> plan, P param) {
+        List<FetchPlan.Step> steps = plan.steps();
+        Object[] values = new Object[steps.size()];
+        long[] stepNanos = new long[steps.size()];
+        long start = System.nanoTime();
+        for (FetchPlan.Step step : steps) {
+            long stepStart = System.nanoTime();
+            values[step.index()] = step.body().run(jMultiCache, step.input() < 0 ? param : values[step.input()]);
+            stepNanos[step.index()] = System.nanoTime() - stepStart;
+        }
+        return new FetchResult(values, stepNanos, System.nanoTime() - start);
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime
+                : new IllegalStateException("FetchPlan 步骤执行失败", cause);
+    }
+
+    /**
+     * 一次计划执行的状态
+     */
+    private final class Execution {
+
+        private final List<FetchPlan.Step> steps;
+        private final JMultiCacheRequestScope.Scope scope;
+        // 每个步骤的依赖步骤
+        private final List<List<FetchPlan.Step>> dependents;
+        private final Object[] values;
+        private final long[] stepNanos;
+        private final FetchTrace[] traces;
+        private final AtomicReferenceArray<Future<?>> tasks;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Execution(List<FetchPlan.Step> steps, JMultiCacheRequestScope.Scope scope) {
+            this.steps = steps;
+            this.scope = scope;
+            this.dependents = new ArrayList<>(steps.size());
+            this.values = new Object[steps.size()];
+            this.stepNanos = new long[steps.size()];
+            this.traces = new FetchTrace[steps.size()];
+            this.tasks = new AtomicReferenceArray<>(steps.size());
+            this.remaining = new AtomicInteger(steps.size());
+            for (int i = 0; i < steps.size(); i++) {
+                dependents.add(new ArrayList<>());
+                traces[i] = JMultiCacheTracing.fork();
+            }
+            for (FetchPlan.Step step : steps) {
+                if (step.input() >= 0) {
+                    dependents.get(step.input()).add(step);
+                }
+            }
+        }
+
+        void start(Object param) {
+            for (FetchPlan.Step step : steps) {
+                if (step.input() < 0) {
+                    submit(step, param);
+                }
+            }
+        }
+
+        /**
+         * 中断所有已提交的步骤。与 submit 交替发生时，submit 提交后会再检查一次 done，不会漏掉新提交的步骤
+         */
+        void cancel() {
+            done.cancel(false);
+            for (int i = 0; i < tasks.length(); i++) {
+                Future<?> task = tasks.get(i);
+                if (task != null) {
+                    task.cancel(true);
+                }
+            }
+        }
+
+        private void submit(FetchPlan.Step step, Object input) {
+            if (done.isDone()) {
+                return;
+            }
+            Future<?> task;
+            try {
+                task = executor.submit(() -> run(step, input));
+            } catch (RejectedExecutionException e) {
+                done.completeExceptionally(e);
+                return;
+            }
+            tasks.set(step.index(), task);
+            if (done.isDone()) {
+                task.cancel(true);
+            }
+        }
+
+        private void run(FetchPlan.Step step, Object input) {
+            try (JMultiCacheRequestScope.Attachment ignoredScope = JMultiCacheRequestScope.attach(scope);
+                 JMultiCacheTracing.Attachment ignoredTrace = JMultiCacheTracing.attach(traces[step.index()])) {
+                long stepStart = System.nanoTime();
+                Object value = step.body().run(jMultiCache, input);
+                stepNanos[step.index()] = System.nanoTime() - stepStart;
+                values[step.index()] = value;
+                for (FetchPlan.Step dependent : dependents.get(step.index())) {
+                    submit(dependent, value);
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    done.complete(null);
+                }
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.vevoly.jmulticache.test.plan;
+
+/**
+ * 读取计划中某一步结果的类型化句柄，从 {@link FetchResult#get(Slot)} 取值
+ * Typed handle to the result of one plan step.
+ *
+ * @param <T> 该步结果类型
+ */
+public final class Slot<T> {
+
+    private final int index;
+    private final String configName;
+    private final int level;
+    private final Object owner;
+
+    Slot(int index, String configName, int level, Object owner) {
+        this.index = index;
+        this.configName = configName;
+        this.level = level;
+        this.owner = owner;
+    }
+
+    Object owner() {
+        return owner;
+    }
+
+    int index() {
+        return index;
+    }
+
+    /**
+     * 依赖深度，0 表示不依赖其他步骤
+     */
+    public int level() {
+        return level;
+    }
+
+    public String configName() {
+        return configName;
+    }
+
+    @Override
+    public String toString() {
+        return "Slot[" + index + ":" + configName + "@" + level + "]";
+    }
+}
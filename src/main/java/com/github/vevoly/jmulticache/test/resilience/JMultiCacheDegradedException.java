@@ -0,0 +1,12 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+/**
+ * L2 不可用、没有可用的过期数据且回源被限流时抛出
+ * Thrown when L2 is unavailable, no stale value is held and the loader rate limit is exhausted.
+ */
+public class JMultiCacheDegradedException extends RuntimeException {
+
+    public JMultiCacheDegradedException(String message) {
+        super(message);
+    }
+}
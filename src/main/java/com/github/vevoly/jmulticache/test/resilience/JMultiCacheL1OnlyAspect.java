@@ -0,0 +1,24 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.stereotype.Component;
+
+/**
+ * 在框架读取 L2 的入口处检查 {@link L1OnlyRead}：只读 L1 时不访问 Redis。
+ * <p>
+ * 拦截所有存储策略 Bean 的 read / readMulti 和 RedisClient Bean 的 get；降级期间 Redis 已熔断或故障，不会再被阻塞。
+ * Stops L2 reads of storage strategies and the RedisClient while an {@link L1OnlyRead} is active, so a
+ * degraded lookup never blocks on an open or failing Redis.
+ */
+@Aspect
+@Component
+public class JMultiCacheL1OnlyAspect {
+
+    @Before("execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.read(..))"
+            + " || execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.readMulti(..))"
+            + " || execution(* io.github.vevoly.jmulticache.api.redis.RedisClient.get(..))")
+    public void beforeL2Read() {
+        L1OnlyRead.beforeL2Read();
+    }
+}
@@ -0,0 +1,201 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.cluster.JMultiCacheClusterBatch;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ResilienceConfig;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheTracing;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * L2 熔断与降级。
+ * <p>
+ * Redis 变慢或宕机时，每次 fetchData 都会先阻塞在 L2 上再回源，Redis 故障随之扩散成数据库故障。
+ * 这里按 Redis 节点统计 L2 调用的耗时和异常 (扣除回源耗时)，达到阈值后熔断：熔断期间不再访问 Redis，
+ * 先只读框架 L1 ({@link L1OnlyRead})，再返回"过期储备"中的旧数据 (有上限、超过 stale-max-age 丢弃)，
+ * 都没有时按令牌桶限流回源，超出限额抛出 {@link JMultiCacheDegradedException}。
+ * L2 circuit breaker with a degraded L1-only mode. L2 latency and errors are tracked per Redis node; while
+ * the breaker is open, Redis is skipped: the framework L1 is read first, then stale values from a bounded
+ * reserve, and loader calls are rate limited so a Redis incident does not turn into a database incident.
+ */
+@Slf4j
+@Component
+public class JMultiCacheResilientCache {
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheClusterBatch clusterBatch;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    private final Map<String, L2CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Cache<String, Object> staleReserve;
+    private final LoaderRateLimiter loaderLimiter;
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder limitedLoads = new LongAdder();
+
+    public JMultiCacheResilientCache(JMultiCache jMultiCache, JMultiCacheExtProperties properties,
+                                     JMultiCacheClusterBatch clusterBatch,
+                                     JMultiCacheInvalidationHub jMultiCacheInvalidationHub) {
+        this.jMultiCache = jMultiCache;
+        this.properties = properties;
+        this.clusterBatch = clusterBatch;
+        this.jMultiCacheInvalidationHub = jMultiCacheInvalidationHub;
+        ResilienceConfig config = properties.getResilience();
+        this.staleReserve = Caffeine.newBuilder()
+                .maximumSize(config.getStaleReserveSize())
+                .expireAfterWrite(config.getStaleMaxAge())
+                .build();
+        this.loaderLimiter = new LoaderRateLimiter(config.getLoaderPermitsPerSecond());
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        // 数据已被写入 / 删除：过期储备里的旧值不能再用于降级
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) ->
+                staleReserve.invalidate(properties.buildRedisKey(configName, keyParts)));
+    }
+
+    /**
+     * 带熔断降级的 fetchData，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        ResilienceConfig config = properties.getResilience();
+        if (!config.isEnabled()) {
+            return jMultiCache.fetchData(configName, supplier, keyParts);
+        }
+        String key = properties.buildRedisKey(configName, keyParts);
+        String node = clusterBatch.nodeOf(key);
+        L2CircuitBreaker breaker = breakerOf(node);
+
+        long start = System.nanoTime();
+        if (breaker.tryAcquire(start)) {
+            long[] loaderNanos = {0};
+            boolean[] loaderFailed = {false};
+            // 每次放行的调用都必须给熔断器一个结论，否则半开状态的探测名额永远不会归还
+            boolean recorded = false;
+            try {
+                T value = jMultiCache.fetchData(configName, () -> {
+                    long loadStart = System.nanoTime();
+                    try {
+                        return supplier.get();
+                    } catch (RuntimeException e) {
+                        loaderFailed[0] = true;
+                        throw e;
+                    } finally {
+                        loaderNanos[0] = System.nanoTime() - loadStart;
+                    }
+                }, keyParts);
+                long end = System.nanoTime();
+                long l2Nanos = end - start - loaderNanos[0];
+                // 按耗时估计的 L1 命中不计入 L2 健康统计
+                if (loaderNanos[0] > 0 || l2Nanos >= JMultiCacheTracing.L1_HIT_NANOS) {
+                    breaker.onSuccess(l2Nanos, end);
+                    recorded = true;
+                }
+                if (value != null) {
+                    staleReserve.put(key, value);
+                }
+                return value;
+            } catch (RuntimeException e) {
+                // 1. 回源本身的异常不是 L2 故障，原样抛出
+                if (loaderFailed[0]) {
+                    throw e;
+                }
+                long end = System.nanoTime();
+                breaker.onError(end - start - loaderNanos[0], end);
+                recorded = true;
+                log.warn("[Resilience] L2 调用失败, node={}, key={}, error={}", node, key, e.toString());
+            } finally {
+                if (!recorded) {
+                    // L1 命中或回源异常：没有 L2 的健康结论，归还探测名额
+                    breaker.onIgnored();
+                }
+            }
+        }
+        // 2. 熔断中或 L2 调用失败：降级
+        return degraded(configName, key, supplier, keyParts);
+    }
+
+    public void evict(String configName, String... keyParts) {
+        jMultiCacheInvalidationHub.evict(configName, keyParts);
+    }
+
+    public List<L2CircuitBreaker.Snapshot> getHealth() {
+        List<L2CircuitBreaker.Snapshot> snapshots = new ArrayList<>(breakers.size());
+        breakers.values().forEach(breaker -> snapshots.add(breaker.snapshot()));
+        return snapshots;
+    }
+
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    public long getLimitedLoads() {
+        return limitedLoads.sum();
+    }
+
+    public long getL1Hits() {
+        return l1Hits.sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T degraded(String configName, String key, Supplier<T> supplier, String... keyParts) {
+        // 1. 框架 L1：仍在 local-ttl 内的数据比过期储备更新
+        Object[] l1Value = readL1(configName, keyParts);
+        if (l1Value != null) {
+            l1Hits.increment();
+            return (T) l1Value[0];
+        }
+        Object stale = staleReserve.getIfPresent(key);
+        if (stale != null) {
+            staleHits.increment();
+            return (T) stale;
+        }
+        if (!loaderLimiter.tryAcquire()) {
+            limitedLoads.increment();
+            throw new JMultiCacheDegradedException("L2 unavailable and loader rate limit exceeded, key=" + key);
+        }
+        T value = supplier.get();
+        if (value != null) {
+            staleReserve.put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * 只读框架 L1，命中时返回 {value} (value 可能是缓存的 null)，未命中返回 null
+     */
+    private Object[] readL1(String configName, String... keyParts) {
+        L1OnlyRead.enter();
+        try {
+            return new Object[]{jMultiCache.fetchData(configName, () -> {
+                L1OnlyRead.beforeL2Read();
+                return null;
+            }, keyParts)};
+        } catch (RuntimeException e) {
+            if (!L1OnlyRead.isMiss(e)) {
+                log.warn("[Resilience] 读取 L1 失败, config={}, error={}", configName, e.toString());
+            }
+            return null;
+        } finally {
+            L1OnlyRead.exit();
+        }
+    }
+
+    private L2CircuitBreaker breakerOf(String node) {
+        return breakers.computeIfAbsent(node, name -> new L2CircuitBreaker(name, properties.getResilience()));
+    }
+}
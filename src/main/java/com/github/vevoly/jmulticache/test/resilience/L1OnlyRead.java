@@ -0,0 +1,60 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+/**
+ * 只读框架 L1 的线程标记。
+ * <p>
+ * 框架没有单独读取 L1 的 API；标记期间调用 {@code JMultiCache.fetchData}，L1 命中照常返回，
+ * 一旦走到 L2 读取 (存储策略 / RedisClient，由 {@link JMultiCacheL1OnlyAspect} 拦截) 或回源，就抛出 {@link Miss} 结束本次调用。
+ * Thread-local marker for L1-only reads through {@code JMultiCache.fetchData}: L1 hits return as usual,
+ * any L2 read or loader call ends the call with {@link Miss} instead of touching Redis or the database.
+ */
+public final class L1OnlyRead {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+    private static final Miss MISS = new Miss();
+
+    private L1OnlyRead() {
+    }
+
+    static void enter() {
+        ACTIVE.set(Boolean.TRUE);
+    }
+
+    static void exit() {
+        ACTIVE.remove();
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * 在 L2 读取或回源前调用：只读 L1 时直接结束本次调用
+     */
+    public static void beforeL2Read() {
+        if (isActive()) {
+            throw MISS;
+        }
+    }
+
+    /**
+     * 异常 (或其 cause 链上) 是否为 L1 未命中；框架可能包装存储策略抛出的异常
+     */
+    static boolean isMiss(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t == MISS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * L1 未命中。单例，不填充堆栈
+     */
+    static final class Miss extends RuntimeException {
+        private Miss() {
+            super("L1 miss", null, false, false);
+        }
+    }
+}
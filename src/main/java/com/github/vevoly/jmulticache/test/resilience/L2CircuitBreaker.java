@@ -0,0 +1,155 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ResilienceConfig;
+
+/**
+ * 单个 Redis 节点的健康统计和熔断器。
+ * <p>
+ * 最近 window-size 次调用中失败 (异常或慢调用) 比例达到阈值时打开；打开 open-duration 后进入半开，
+ * 只放行一个探测请求，成功则关闭，失败则重新打开。
+ * Health tracking and circuit breaker for one Redis node: opens when the failure rate (errors and slow
+ * calls) over the sliding window reaches the threshold, then lets a single probe through after
+ * open-duration to decide whether to close again.
+ */
+public class L2CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String node;
+    private final long slowCallNanos;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+
+    // 滑动窗口：true 表示失败
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probing;
+
+    private long calls;
+    private long errors;
+    private long slowCalls;
+    private long rejected;
+    private long opens;
+    private double ewmaLatencyNanos;
+
+    public L2CircuitBreaker(String node, ResilienceConfig config) {
+        this.node = node;
+        this.slowCallNanos = config.getSlowCallThreshold().toNanos();
+        this.failureRateThreshold = config.getFailureRateThreshold();
+        this.minimumCalls = Math.max(1, config.getMinimumCalls());
+        this.openDurationNanos = config.getOpenDuration().toNanos();
+        this.window = new boolean[Math.max(config.getWindowSize(), this.minimumCalls)];
+    }
+
+    /**
+     * 是否允许访问 L2
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nowNanos - openedAt >= openDurationNanos) {
+                    state = State.HALF_OPEN;
+                    probing = true;
+                    return true;
+                }
+                rejected++;
+                return false;
+            default:
+                // 半开状态只放行一个探测请求
+                if (!probing) {
+                    probing = true;
+                    return true;
+                }
+                rejected++;
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess(long latencyNanos, long nowNanos) {
+        boolean slow = latencyNanos > slowCallNanos;
+        if (slow) {
+            slowCalls++;
+        }
+        record(slow, latencyNanos, nowNanos);
+    }
+
+    public synchronized void onError(long latencyNanos, long nowNanos) {
+        errors++;
+        record(true, latencyNanos, nowNanos);
+    }
+
+    /**
+     * 放行的调用没有产生 L2 健康结论 (L1 命中、回源自身异常)：半开状态下归还探测名额，由下一个请求重新探测
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            probing = false;
+        }
+    }
+
+    private void record(boolean failed, long latencyNanos, long nowNanos) {
+        calls++;
+        ewmaLatencyNanos = ewmaLatencyNanos == 0 ? latencyNanos : ewmaLatencyNanos * 0.9 + latencyNanos * 0.1;
+        if (state == State.HALF_OPEN) {
+            probing = false;
+            if (failed) {
+                open(nowNanos);
+            } else {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // 熔断前发出的请求晚到的结果，不影响状态
+            return;
+        }
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            open(nowNanos);
+        }
+    }
+
+    private void open(long nowNanos) {
+        state = State.OPEN;
+        openedAt = nowNanos;
+        opens++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(node, state, calls, errors, slowCalls, rejected, opens, ewmaLatencyNanos / 1_000_000.0);
+    }
+
+    public record Snapshot(String node, State state, long calls, long errors, long slowCalls, long rejected,
+                           long opens, double ewmaLatencyMillis) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+/**
+ * 令牌桶：L2 不可用时限制回源速率，桶容量为每秒许可数
+ * Token bucket that caps loader calls while L2 is unavailable.
+ */
+public class LoaderRateLimiter {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    public LoaderRateLimiter(int permitsPerSecond) {
+        this.capacity = Math.max(1, permitsPerSecond);
+        this.permitsPerNano = capacity / 1_000_000_000.0;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+}
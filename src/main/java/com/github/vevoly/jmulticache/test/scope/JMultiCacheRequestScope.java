@@ -0,0 +1,200 @@
+package com.github.vevoly.jmulticache.test.scope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 请求级 L0 缓存。
+ * <p>
+ * 作用域绑定在当前线程上 (平台线程和虚拟线程都是一个请求一个线程)，内部是不加锁的 HashMap。
+ * 作用域内同一个 Key 只解析一次，之后直接返回同一个结果，保证一次请求内读取一致。
+ * 作用域可以嵌套，只有最外层关闭时才清空。集合结果每次返回一份副本，调用方修改不会影响作用域内的其他读取；
+ * 当前请求写入数据时，失效事件 (见 JMultiCacheRequestScopeAspect) 会清掉对应的 Key。
+ * 请求内把工作交给其他线程 (例如读取计划的步骤) 时，用 {@link #share()} 和 {@link #attach} 把作用域带过去，
+ * 共享后的作用域加锁访问。
+ * Request-scoped L0 cache: a plain, unsynchronized HashMap bound to the current thread (one request per
+ * platform or virtual thread). Within a scope every key resolves once, giving consistent reads; collection
+ * results are handed out as copies, and writes made by the request invalidate the affected keys. A scope
+ * handed to worker threads via {@link #share()} / {@link #attach} switches to locked access.
+ */
+public final class JMultiCacheRequestScope {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    // 缓存 null 结果的占位符
+    private static final Object NULL = new Object();
+
+    private JMultiCacheRequestScope() {
+    }
+
+    /**
+     * 打开作用域，使用 try-with-resources 关闭
+     */
+    public static Scope open() {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            scope = new Scope();
+            CURRENT.set(scope);
+        }
+        scope.depth.incrementAndGet();
+        return scope;
+    }
+
+    /**
+     * 在作用域内执行，例如事务方法或异步任务
+     */
+    public static <T> T call(Supplier<T> action) {
+        try (Scope ignored = open()) {
+            return action.get();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * 返回当前线程的作用域并标记为共享，没有作用域时返回 null。必须在交给其他线程之前调用
+     */
+    public static Scope share() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.shared = true;
+        }
+        return scope;
+    }
+
+    /**
+     * 在当前线程上绑定 {@link #share()} 得到的作用域，返回的句柄关闭时解绑；scope 为 null 或当前线程已有作用域时什么也不做
+     */
+    public static Attachment attach(Scope scope) {
+        if (scope == null || CURRENT.get() != null) {
+            return () -> {
+            };
+        }
+        CURRENT.set(scope);
+        return CURRENT::remove;
+    }
+
+    /**
+     * 作用域内查找，未命中时调用 loader 并记住结果 (包括 null)；不在作用域内时直接调用 loader。
+     * List / Set / Map 结果保存和返回的都是副本
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T computeIfAbsent(String key, Function<String, T> loader) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return loader.apply(key);
+        }
+        if (scope.shared) {
+            return computeShared(scope, key, loader);
+        }
+        Object value = scope.values.get(key);
+        if (value == null) {
+            T loaded = loader.apply(key);
+            scope.values.put(key, loaded == null ? NULL : copyOf(loaded));
+            return loaded;
+        }
+        return value == NULL ? null : (T) copyOf(value);
+    }
+
+    /**
+     * 共享作用域：只在读写 Map 时加锁，loader 在锁外执行；并发解析同一个 Key 时以先放入的结果为准
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T computeShared(Scope scope, String key, Function<String, T> loader) {
+        Object value;
+        synchronized (scope) {
+            value = scope.values.get(key);
+        }
+        if (value == null) {
+            T loaded = loader.apply(key);
+            synchronized (scope) {
+                value = scope.values.putIfAbsent(key, loaded == null ? NULL : copyOf(loaded));
+            }
+            if (value == null) {
+                return loaded;
+            }
+        }
+        return value == NULL ? null : (T) copyOf(value);
+    }
+
+    /**
+     * 当前请求内修改了数据时调用，下次读取重新解析
+     */
+    public static void invalidate(String key) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        if (scope.shared) {
+            synchronized (scope) {
+                scope.values.remove(key);
+            }
+        } else {
+            scope.values.remove(key);
+        }
+    }
+
+    private static Object copyOf(Object value) {
+        if (value instanceof List<?> list) {
+            return new ArrayList<>(list);
+        }
+        if (value instanceof Set<?> set) {
+            return new LinkedHashSet<>(set);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return new LinkedHashMap<>(map);
+        }
+        return value;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Map<String, Object> values = new HashMap<>();
+        // 共享后其他线程上也可能嵌套打开，使用原子计数
+        private final AtomicInteger depth = new AtomicInteger();
+        // 交给其他线程后为 true，之后所有访问加锁
+        private volatile boolean shared;
+
+        public int size() {
+            if (shared) {
+                synchronized (this) {
+                    return values.size();
+                }
+            }
+            return values.size();
+        }
+
+        @Override
+        public void close() {
+            if (depth.decrementAndGet() == 0) {
+                if (shared) {
+                    synchronized (this) {
+                        values.clear();
+                    }
+                } else {
+                    values.clear();
+                }
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * {@link #attach} 的解绑句柄
+     */
+    @FunctionalInterface
+    public interface Attachment extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
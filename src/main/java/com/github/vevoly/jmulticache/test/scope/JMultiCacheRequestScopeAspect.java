@@ -0,0 +1,77 @@
+package com.github.vevoly.jmulticache.test.scope;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.key.JMultiCacheKeyGenerator;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 在框架的 {@link JMultiCacheable} 切面之前查询请求级 L0 缓存。
+ * <p>
+ * 只对配置了 request-scoped 的缓存生效；Key 由预编译的 Key 模板生成，命中时跳过框架的 SpEL 和 Caffeine 查找。
+ * 失效事件在写入方的线程上同步通知，因此当前请求内的写入 (ListOps、JMultiCacheWriter 等) 会清掉自己作用域里的旧值；
+ * 其他请求的写入在下一个请求中可见。
+ * Consults the request-scoped L0 cache ahead of the framework's {@link JMultiCacheable} aspect, for
+ * configs with request-scoped enabled. Keys come from the precompiled key templates. Invalidations are
+ * delivered on the writer's thread, so writes made by the current request drop the stale L0 entry.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class JMultiCacheRequestScopeAspect {
+
+    private final JMultiCacheKeyGenerator jMultiCacheKeyGenerator;
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    @PostConstruct
+    public void subscribe() {
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) ->
+                JMultiCacheRequestScope.invalidate(properties.buildRedisKey(configName, keyParts)));
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object around(ProceedingJoinPoint pjp, JMultiCacheable cacheable) throws Throwable {
+        String configName = cacheable.configName();
+        if (!JMultiCacheRequestScope.isActive() || !StringUtils.hasText(configName)) {
+            return pjp.proceed();
+        }
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.isRequestScoped()) {
+            return pjp.proceed();
+        }
+        String key = jMultiCacheKeyGenerator.buildKey(configName,
+                ((MethodSignature) pjp.getSignature()).getMethod(), pjp.getArgs());
+        try {
+            return JMultiCacheRequestScope.computeIfAbsent(key, k -> {
+                try {
+                    return pjp.proceed();
+                } catch (Throwable e) {
+                    throw new ProceedException(e);
+                }
+            });
+        } catch (ProceedException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 在 lambda 中传递原方法抛出的受检异常
+     */
+    private static final class ProceedException extends RuntimeException {
+        ProceedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
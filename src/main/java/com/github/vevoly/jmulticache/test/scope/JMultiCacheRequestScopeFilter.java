@@ -0,0 +1,29 @@
+package com.github.vevoly.jmulticache.test.scope;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 为每个 Web 请求打开 L0 作用域
+ * Opens an L0 scope around every web request.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class JMultiCacheRequestScopeFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (JMultiCacheRequestScope.Scope ignored = JMultiCacheRequestScope.open()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -1,13 +1,30 @@
 package com.github.vevoly.jmulticache.test.service;
 
 import com.github.vevoly.jmulticache.test.entity.LongArticle;
+import io.github.vevoly.jmulticache.api.JMultiCache;
 import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 public class ArticleService {
+
+    private final JMultiCache jMultiCache;
+
     @JMultiCacheable(configName = "TEST_GZIP_CACHE")
     public LongArticle getArticle(Long id) {
+        return buildArticle(id);
+    }
+
+    /**
+     * 分阶段计时：可以看到解压 / 反序列化在总耗时中的占比
+     */
+    public LongArticle getArticleTraced(Long id) {
+        return jMultiCache.fetchData("TEST_GZIP_CACHE", () -> buildArticle(id), String.valueOf(id));
+    }
+
+    private LongArticle buildArticle(Long id) {
         // 模拟一个超大对象
         StringBuilder content = new StringBuilder();
         for (int i = 0; i < 100; i++) {
@@ -1,15 +1,24 @@
 package com.github.vevoly.jmulticache.test.service;
 
+import com.github.vevoly.jmulticache.test.derived.JMultiCacheDerived;
+import com.github.vevoly.jmulticache.test.entity.TestGroup;
 import com.github.vevoly.jmulticache.test.entity.TestUser;
 import com.github.vevoly.jmulticache.test.entity.dto.UserRank;
+import com.github.vevoly.jmulticache.test.entity.dto.UserRankView;
+import com.github.vevoly.jmulticache.test.plan.FetchPlan;
+import com.github.vevoly.jmulticache.test.plan.FetchResult;
+import com.github.vevoly.jmulticache.test.plan.JMultiCacheFetchPlanner;
+import com.github.vevoly.jmulticache.test.plan.Slot;
 import io.github.vevoly.jmulticache.api.JMultiCache;
 import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -21,6 +30,27 @@ public class RankService {
     @Autowired
     private JMultiCache jMultiCache;
 
+    @Autowired
+    private JMultiCacheDerived jMultiCacheDerived;
+
+    @Autowired
+    private JMultiCacheFetchPlanner jMultiCacheFetchPlanner;
+
+    // 排行榜用户所在的租户
+    private static final String RANK_TENANT = "T1";
+
+    // --- 读取计划: 排行榜 -> 用户详情，与租户分组列表并行；声明一次，按 region 执行 ---
+    // 3 个步骤只需 2 次串行往返：分组列表与排行榜同时读取，用户详情在排行榜就绪后立即发起
+    private final FetchPlan.Builder<String> rankViewPlanBuilder = FetchPlan.builder();
+    private final Slot<List<UserRank>> rankSlot = rankViewPlanBuilder.fetch("TEST_GAME_RANK",
+            region -> new String[]{region}, region -> mockBatchQueryUsers());
+    private final Slot<List<TestGroup>> groupSlot = rankViewPlanBuilder.fetch("TEST_GROUP_LIST",
+            region -> new String[]{RANK_TENANT}, region -> mockQueryGroups());
+    private final Slot<Map<Long, TestUser>> userSlot = rankViewPlanBuilder.fetchMulti("TEST_USER_CACHE", "id", rankSlot,
+            ranks -> ranks.stream().map(UserRank::getUserId).collect(Collectors.toList()),
+            missingIds -> mockBatchQueryUsers(missingIds));
+    private final FetchPlan<String> rankViewPlan = rankViewPlanBuilder.build();
+
     // --- 模拟 DB: 获取排行榜 (只返回 ID 和 分数) ---
     @JMultiCacheable(configName = "TEST_GAME_RANK")
     public List<UserRank> getRankByRegion(String region) {
@@ -35,6 +65,44 @@ public class RankService {
 
     }
 
+    // --- 派生缓存: 排行榜 + 用户详情的组合视图，任一用户或排行榜失效时级联失效 ---
+    @SuppressWarnings("unchecked")
+    public List<UserRankView> getRankView(String region) {
+        return jMultiCacheDerived.fetchData("TEST_RANK_VIEW", deps -> {
+            List<UserRank> ranks = new ArrayList<>(getRankByRegionManual(region));
+            ranks.sort(Comparator.comparing(UserRank::getScore).reversed());
+            List<Long> userIds = ranks.stream().map(UserRank::getUserId).collect(Collectors.toList());
+            Map<Long, TestUser> users = (Map<Long, TestUser>) jMultiCache.fetchMultiDataMap(
+                    "TEST_USER_CACHE", userIds, "id", missingIds -> mockBatchQueryUsers(missingIds));
+            deps.dependsOnEach("TEST_USER_CACHE", userIds);
+
+            List<UserRankView> views = new ArrayList<>(ranks.size());
+            for (int i = 0; i < ranks.size(); i++) {
+                UserRank rank = ranks.get(i);
+                TestUser user = users.get(rank.getUserId());
+                views.add(new UserRankView(i + 1, rank.getUserId(), rank.getScore(), user == null ? null : user.getName()));
+            }
+            return views;
+        }, region);
+    }
+
+    public List<UserRankView> getRankViewPlanned(String region) {
+        FetchResult result = jMultiCacheFetchPlanner.execute(rankViewPlan, region);
+        List<UserRank> ranks = new ArrayList<>(result.get(rankSlot));
+        ranks.sort(Comparator.comparing(UserRank::getScore).reversed());
+        Map<Long, TestUser> users = result.get(userSlot);
+        Map<Long, String> groupNames = result.get(groupSlot).stream()
+                .collect(Collectors.toMap(TestGroup::getId, TestGroup::getName, (a, b) -> a));
+        List<UserRankView> views = new ArrayList<>(ranks.size());
+        for (int i = 0; i < ranks.size(); i++) {
+            UserRank rank = ranks.get(i);
+            TestUser user = users.get(rank.getUserId());
+            views.add(new UserRankView(i + 1, rank.getUserId(), rank.getScore(), user == null ? null : user.getName(),
+                    user == null ? null : groupNames.get(user.getGroupId())));
+        }
+        return views;
+    }
+
     private List<UserRank> mockBatchQueryUsers() {
         return Arrays.asList(
                 new UserRank(1001L, 5000.0), // 第2名
@@ -43,6 +111,17 @@ public class RankService {
         );
     }
 
+    // --- 模拟 DB: 查询租户的分组列表，与 TestGroupServiceImpl 的模拟数据一致 ---
+    private List<TestGroup> mockQueryGroups() {
+        log.info(">>>>>> [DB] 查询分组列表 tenantId={}", RANK_TENANT);
+        return Arrays.asList(
+                new TestGroup(1L, RANK_TENANT, "group1"),
+                new TestGroup(2L, RANK_TENANT, "group2"),
+                new TestGroup(3L, RANK_TENANT, "group3"),
+                new TestGroup(4L, RANK_TENANT, "group4")
+        );
+    }
+
     // --- 模拟 DB: 批量查询用户详情 ---
     public Map<Long, TestUser> mockBatchQueryUsers(Collection<Long> ids) {
         log.info(">>>>>> [DB] 批量查询用户详情 ids={}", ids);
@@ -11,7 +11,13 @@ public interface TestGroupService {
 
     List<TestGroup> listByTenantId(String tenantId);
 
+    List<TestGroup> listByTenantIdDelta(String tenantId);
+
     TestGroup getByName(String name);
 
     List<TestGroup> list();
+
+    void addGroup(TestGroup group);
+
+    void removeGroup(String tenantId, Long id);
 }
@@ -1,7 +1,13 @@
 package com.github.vevoly.jmulticache.test.service;
 
+import com.github.vevoly.jmulticache.test.annotation.JMultiCacheBatchable;
 import com.github.vevoly.jmulticache.test.entity.TestUser;
 import com.github.vevoly.jmulticache.test.entity.dto.UserRank;
+import com.github.vevoly.jmulticache.test.local.JMultiCacheNearCache;
+import com.github.vevoly.jmulticache.test.resilience.JMultiCacheResilientCache;
+import com.github.vevoly.jmulticache.test.tenant.JMultiCacheTenantCache;
+import com.github.vevoly.jmulticache.test.ttl.JMultiCacheAdaptiveTtl;
+import com.github.vevoly.jmulticache.test.write.JMultiCacheWriter;
 import io.github.vevoly.jmulticache.api.JMultiCache;
 import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +23,11 @@ import java.util.stream.Collectors;
 public class TestService {
 
     private final JMultiCache jMultiCache;
+    private final JMultiCacheWriter jMultiCacheWriter;
+    private final JMultiCacheNearCache jMultiCacheNearCache;
+    private final JMultiCacheResilientCache jMultiCacheResilientCache;
+    private final JMultiCacheTenantCache jMultiCacheTenantCache;
+    private final JMultiCacheAdaptiveTtl jMultiCacheAdaptiveTtl;
 
     // --- 模拟 DB 查询 ---
     TestUser mockDbQuery(Long id) {
@@ -37,16 +48,47 @@ public class TestService {
         return jMultiCache.fetchData("TEST_USER_CACHE", () -> mockDbQuery(id), String.valueOf(id));
     }
 
+    // --- 场景 2.1: 零分配的本地探测 (数值 ID 作为本地 Key，未命中才拼接 Redis Key) ---
+    public TestUser getUserByIdFast(long id) {
+        return jMultiCacheNearCache.fetchData("TEST_USER_CACHE", id, this::mockDbQuery);
+    }
+
+    // --- 场景 2.2: Redis 故障时熔断，返回过期数据并限流回源 ---
+    public TestUser getUserByIdResilient(Long id) {
+        return jMultiCacheResilientCache.fetchData("TEST_USER_CACHE", () -> mockDbQuery(id), String.valueOf(id));
+    }
+
+    // --- 场景 2.3: 重启后 L1 快照中的热点数据已恢复到框架 L1，普通 fetchData 直接命中 ---
+    public TestUser getUserByIdWarm(Long id) {
+        return jMultiCache.fetchData("TEST_USER_CACHE", () -> mockDbQuery(id), String.valueOf(id));
+    }
+
     @JMultiCacheable(configName = "TEST_USER_CACHE_BY_TENANT_ID")
     public TestUser getUserByTenantIdIdAnnotation(String tenantId, Long id) {
         return mockDbQuery(id);
     }
 
     public TestUser getUserByTenantIdIdManual(String tenantId, Long id) {
-        return jMultiCache.fetchData("TEST_USER_CACHE_BY_TENANT_ID", () -> mockDbQuery(id), tenantId, String.valueOf(id));
+        return jMultiCacheWriter.fetchData("TEST_USER_CACHE_BY_TENANT_ID", () -> mockDbQuery(id), tenantId, String.valueOf(id));
     }
 
-    @JMultiCacheable(configName = "TEST_USER_CACHE")
+    // 按租户隔离本地缓存容量，并限制每个租户的并发回源
+    public TestUser getUserByTenantIdIdIsolated(String tenantId, Long id) {
+        return jMultiCacheTenantCache.fetchData("TEST_USER_CACHE_BY_TENANT_ID", () -> mockDbQuery(id), tenantId, String.valueOf(id));
+    }
+
+    // 按访问频率和变化频率自适应调整 TTL：稳定的热点 Key 延长 TTL，频繁变化的 Key 缩短 TTL
+    public TestUser getUserByTenantIdIdAdaptive(String tenantId, Long id) {
+        return jMultiCacheAdaptiveTtl.fetchData("TEST_USER_CACHE_BY_TENANT_ID", () -> mockDbQuery(id), tenantId, String.valueOf(id));
+    }
+
+    // --- 场景 3: 显式写缓存 (write-behind，频繁更新会被合并) ---
+    public void updateUser(TestUser user) {
+        jMultiCacheWriter.put("TEST_USER_CACHE_BY_TENANT_ID", user, user.getTenantId(), String.valueOf(user.getId()));
+    }
+
+    // 批量模式：只有未命中缓存的 ID 会传进来，结果按入参顺序返回
+    @JMultiCacheBatchable(configName = "TEST_USER_CACHE", idField = "id")
     List<TestUser> getUsersByIdsAnnotation(Collection<Long> ids) {
         return Arrays.asList(
                 new TestUser(9000L, "T1", 1L,"PoorMan", 28),
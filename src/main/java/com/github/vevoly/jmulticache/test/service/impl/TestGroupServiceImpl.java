@@ -1,6 +1,9 @@
 package com.github.vevoly.jmulticache.test.service.impl;
 
+import com.github.vevoly.jmulticache.test.bloom.JMultiCacheBloomGuard;
 import com.github.vevoly.jmulticache.test.entity.TestGroup;
+import com.github.vevoly.jmulticache.test.index.JMultiCacheLocalIndex;
+import com.github.vevoly.jmulticache.test.list.JMultiCacheListOps;
 import com.github.vevoly.jmulticache.test.service.TestGroupService;
 import io.github.vevoly.jmulticache.api.JMultiCache;
 import io.github.vevoly.jmulticache.api.JMultiCacheOps;
@@ -26,6 +29,12 @@ public class TestGroupServiceImpl implements TestGroupService, JMultiCachePreloa
     private JMultiCache jMultiCache;
     @Autowired
     private JMultiCacheOps jMultiCacheOps;
+    @Autowired
+    private JMultiCacheBloomGuard jMultiCacheBloomGuard;
+    @Autowired
+    private JMultiCacheListOps jMultiCacheListOps;
+    @Autowired
+    private JMultiCacheLocalIndex jMultiCacheLocalIndex;
 
     /**
      * 解决Aop自调用失效问题使用自我注入
@@ -59,7 +68,7 @@ public class TestGroupServiceImpl implements TestGroupService, JMultiCachePreloa
     }
 
     @Override
-    @JMultiCacheable
+    @JMultiCacheable(configName = "TEST_GROUP")
     public TestGroup getById(Long id) {
         return TestGroup.builder().id(id).name("group" + id).build();
     }
@@ -70,6 +79,12 @@ public class TestGroupServiceImpl implements TestGroupService, JMultiCachePreloa
         return mockDbQueryList(tenantId);
     }
 
+    @Override
+    @JMultiCacheable(configName = "TEST_GROUP_LIST_DELTA")
+    public List<TestGroup> listByTenantIdDelta(String tenantId) {
+        return mockDbQueryList(tenantId);
+    }
+
     @Override
     public TestGroup getByName(String name) {
         // 解决Aop自调用失效问题使用自我注入
@@ -77,8 +92,8 @@ public class TestGroupServiceImpl implements TestGroupService, JMultiCachePreloa
         if (CollectionUtils.isEmpty(list)) {
             return null;
         }
-        // 过滤
-        return list.stream().filter(item -> item.getName().equals(name)).findFirst().orElse(null);
+        // 走本地索引，O(1) 查找
+        return jMultiCacheLocalIndex.findFirst("TEST_GROUP_LIST", list, "name", name, tenantId);
     }
 
     /**
@@ -91,6 +106,23 @@ public class TestGroupServiceImpl implements TestGroupService, JMultiCachePreloa
         return mockDbQueryAll();
     }
 
+    /**
+     * 新增分组：DB 写入后直接追加到租户的分组列表缓存，不需要整表重建
+     */
+    @Override
+    public void addGroup(TestGroup group) {
+        jMultiCacheListOps.append("TEST_GROUP_LIST", List.of(group), 0, group.getTenantId());
+        jMultiCacheBloomGuard.put("TEST_GROUP_LIST", group.getTenantId());
+    }
+
+    /**
+     * 删除分组：按 ID 从租户的分组列表缓存中移除
+     */
+    @Override
+    public void removeGroup(String tenantId, Long id) {
+        jMultiCacheListOps.removeById("TEST_GROUP_LIST", "id", id, tenantId);
+    }
+
     /**
      * 手动缓存预热
      * @return
@@ -99,7 +131,8 @@ public class TestGroupServiceImpl implements TestGroupService, JMultiCachePreloa
     public int preloadMultiCache() {
         List<TestGroup> list = mockDbQueryAll();
         Map<String, List<TestGroup>> group = StreamUtils.group(list, TestGroup::getTenantId);
-        jMultiCacheOps.preloadMultiCache("TEST_GROUP_LIST", group);
+        // 预热的同时构建防穿透布隆过滤器
+        jMultiCacheBloomGuard.preloadMultiCache("TEST_GROUP_LIST", group);
         return 0;
     }
 }
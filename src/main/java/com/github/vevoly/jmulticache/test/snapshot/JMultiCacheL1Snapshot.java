@@ -0,0 +1,332 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ExtConfig;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * L1 快照：重启后快速恢复本地缓存命中率。
+ * <p>
+ * 每次发布后各节点的 L1 都是空的，L2 要扛一段时间的流量洪峰。开启 snapshot-top-n 的配置会在
+ * {@link JMultiCache#fetchData} 入口 ({@link JMultiCacheSnapshotAspect}) 记录访问热度，
+ * 优雅停机时把每个配置最热的 N 条数据、剩余本地 TTL 以及当时 L2 数据的摘要写入内存映射文件。
+ * 启动时校验文件年龄、配置指纹和剩余 TTL，应用就绪后用一次 pipeline 比较 L2 当前摘要，
+ * 一致的条目直接恢复到框架 L1：经 fetchData 进入框架，L2 读取由快照中的值代替，不访问 Redis，也不写 L2。
+ * 停机期间被修改或删除的条目丢弃；启动后的失效通过失效中心同步。
+ * L1 snapshot for warm restarts: the hottest N entries per config (tracked at the JMultiCache.fetchData
+ * boundary) are written with their remaining local TTL and a digest of the L2 value on graceful shutdown.
+ * Once the application is ready, digests are compared in one pipeline and matching entries are restored
+ * into the framework L1 through fetchData, with the L2 read answered from the snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheL1Snapshot {
+
+    /**
+     * KEYS[1]=数据 Key，返回 L2 数据的 SHA1；Key 不存在或类型无法计算摘要时返回 nil
+     */
+    private static final String DIGEST_LUA =
+            "local t = redis.call('TYPE', KEYS[1])['ok'] " +
+            "if t == 'string' then return redis.sha1hex(redis.call('GET', KEYS[1])) end " +
+            "if t == 'list' then return redis.sha1hex(table.concat(redis.call('LRANGE', KEYS[1], 0, -1), '\\n')) end " +
+            "if t == 'set' then local m = redis.call('SMEMBERS', KEYS[1]) table.sort(m) " +
+            "  return redis.sha1hex(table.concat(m, '\\n')) end " +
+            "return false";
+
+    // 延迟获取：本类被切面依赖，直接注入会让 JMultiCache 过早创建而不被代理
+    private final ObjectProvider<JMultiCache> jMultiCacheProvider;
+    private final JMultiCacheExtProperties properties;
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    // 访问热度，Key: 配置名 -> Redis Key
+    private final Map<String, Cache<String, Tracked>> tracked = new ConcurrentHashMap<>();
+    // 启动时读入、尚未恢复的快照条目
+    private final List<SnapshotEntry> pending = new ArrayList<>();
+    private final LongAdder restored = new LongAdder();
+
+    @PostConstruct
+    public void subscribe() {
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            Cache<String, Tracked> cache = tracked.get(configName);
+            if (cache != null) {
+                cache.invalidate(properties.buildRedisKey(configName, keyParts));
+            }
+        });
+    }
+
+    @PostConstruct
+    public void load() {
+        JMultiCacheExtProperties.SnapshotConfig config = properties.getSnapshot();
+        if (!config.isEnabled()) {
+            return;
+        }
+        Path path = Path.of(config.getPath());
+        try {
+            if (!Files.isRegularFile(path)) {
+                return;
+            }
+            // 1. 文件太旧 (例如停机很久) 直接丢弃
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(path).toMillis();
+            if (age > config.getMaxAge().toMillis()) {
+                log.info("[L1Snapshot] 快照已过期，忽略. age={}ms", age);
+                return;
+            }
+            // 2. 逐条校验配置指纹和剩余 TTL
+            long now = System.currentTimeMillis();
+            int discarded = 0;
+            for (SnapshotEntry entry : L1SnapshotFile.read(path)) {
+                ExtConfig extConfig = properties.getConfig(entry.configName());
+                if (extConfig == null || extConfig.getSnapshotTopN() <= 0 || entry.l2Digest().isEmpty()
+                        || !fingerprint(extConfig).equals(entry.fingerprint()) || entry.expireAtMillis() <= now) {
+                    discarded++;
+                    continue;
+                }
+                pending.add(entry);
+            }
+            log.info("[L1Snapshot] 快照读取完成. entries={}, discarded={}", pending.size(), discarded);
+        } catch (Exception e) {
+            log.warn("[L1Snapshot] 快照读取失败，冷启动. path={}", path, e);
+        }
+    }
+
+    /**
+     * 应用就绪后把校验通过的条目恢复到框架 L1
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SnapshotEntry> entries = new ArrayList<>(pending);
+        // 释放对映射区域的引用
+        pending.clear();
+        List<String> digests;
+        try {
+            digests = l2Digests(entries);
+        } catch (Exception e) {
+            log.warn("[L1Snapshot] 读取 L2 摘要失败，冷启动", e);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int discarded = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            SnapshotEntry entry = entries.get(i);
+            ExtConfig config = properties.getConfig(entry.configName());
+            // 停机期间 L2 被修改或删除的条目不能再用
+            Object value = entry.l2Digest().equals(digests.get(i)) && entry.expireAtMillis() > now
+                    ? deserialize(entry, config) : null;
+            if (value == null || !restoreToL1(entry, value)) {
+                discarded++;
+                continue;
+            }
+            restored.increment();
+            track(entry.configName(), properties.buildRedisKey(entry.configName(), entry.keyParts()),
+                    entry.keyParts(), value, entry.expireAtMillis(), config);
+        }
+        log.info("[L1Snapshot] 快照已恢复到 L1. restored={}, discarded={}", restored.sum(), discarded);
+    }
+
+    public long getRestoredCount() {
+        return restored.sum();
+    }
+
+    public int getPendingSize() {
+        return pending.size();
+    }
+
+    /**
+     * 是否需要为该配置记录访问热度
+     */
+    boolean isTracked(String configName) {
+        ExtConfig config = properties.getConfig(configName);
+        return config != null && config.getSnapshotTopN() > 0 && properties.getSnapshot().isEnabled();
+    }
+
+    /**
+     * 记录一次经 fetchData 的访问
+     */
+    void record(String configName, String[] keyParts, Object value) {
+        ExtConfig config = properties.getConfig(configName);
+        track(configName, properties.buildRedisKey(configName, keyParts), keyParts, value,
+                System.currentTimeMillis() + localTtl(config).toMillis(), config);
+    }
+
+    /**
+     * 优雅停机时写入快照
+     */
+    @PreDestroy
+    public void save() {
+        JMultiCacheExtProperties.SnapshotConfig snapshotConfig = properties.getSnapshot();
+        if (!snapshotConfig.isEnabled() || tracked.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<SnapshotEntry> candidates = new ArrayList<>();
+        tracked.forEach((configName, cache) -> {
+            ExtConfig config = properties.getConfig(configName);
+            String fingerprint = fingerprint(config);
+            cache.asMap().values().stream()
+                    .filter(t -> t.expireAtMillis > now)
+                    .sorted(Comparator.comparingLong((Tracked t) -> t.hits.sum()).reversed())
+                    .limit(config.getSnapshotTopN())
+                    .forEach(t -> {
+                        try {
+                            candidates.add(new SnapshotEntry(configName, t.keyParts, fingerprint, "", kindOf(t.value),
+                                    t.expireAtMillis, ByteBuffer.wrap(objectMapper.writeValueAsBytes(t.value))));
+                        } catch (Exception e) {
+                            log.debug("[L1Snapshot] 序列化失败，跳过. config={}", configName, e);
+                        }
+                    });
+        });
+        // 记录此刻 L2 的摘要，无法计算摘要的条目 (L2 已不存在、Redis 不可用) 不写入快照
+        List<SnapshotEntry> entries = new ArrayList<>(candidates.size());
+        try {
+            List<String> digests = l2Digests(candidates);
+            for (int i = 0; i < candidates.size(); i++) {
+                SnapshotEntry c = candidates.get(i);
+                if (digests.get(i) != null) {
+                    entries.add(new SnapshotEntry(c.configName(), c.keyParts(), c.fingerprint(), digests.get(i),
+                            c.valueKind(), c.expireAtMillis(), c.payload()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("[L1Snapshot] 读取 L2 摘要失败，不写入快照", e);
+            return;
+        }
+        try {
+            L1SnapshotFile.write(Path.of(snapshotConfig.getPath()), entries);
+            log.info("[L1Snapshot] 快照写入完成. entries={}, path={}", entries.size(), snapshotConfig.getPath());
+        } catch (Exception e) {
+            log.warn("[L1Snapshot] 快照写入失败", e);
+        }
+    }
+
+    /**
+     * 经 fetchData 进入框架：L1 未命中时存储策略的 L2 读取由快照值代替，框架把它放入 L1
+     */
+    private boolean restoreToL1(SnapshotEntry entry, Object value) {
+        SnapshotRestore.offer(value);
+        try {
+            jMultiCacheProvider.getObject().fetchData(entry.configName(), () -> {
+                // 不回源、不回填：走到这里说明快照值没有被采用
+                throw new IllegalStateException("Snapshot value was not used");
+            }, entry.keyParts());
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("[L1Snapshot] 恢复失败，丢弃. config={}, error={}", entry.configName(), e.toString());
+            return false;
+        } finally {
+            SnapshotRestore.clear();
+        }
+    }
+
+    private List<String> l2Digests(List<SnapshotEntry> entries) {
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection conn = (StringRedisConnection) connection;
+            for (SnapshotEntry entry : entries) {
+                conn.eval(DIGEST_LUA, ReturnType.VALUE, 1, properties.buildRedisKey(entry.configName(), entry.keyParts()));
+            }
+            return null;
+        });
+        List<String> digests = new ArrayList<>(results.size());
+        results.forEach(result -> digests.add(result == null ? null : result.toString()));
+        return digests;
+    }
+
+    private void track(String configName, String key, String[] keyParts, Object value, long expireAtMillis,
+                       ExtConfig config) {
+        Cache<String, Tracked> cache = tracked.computeIfAbsent(configName, name -> Caffeine.newBuilder()
+                .maximumSize(config.getSnapshotTopN() * 4L)
+                .expireAfterWrite(localTtl(config))
+                .build());
+        Tracked entry = cache.getIfPresent(key);
+        if (entry == null || entry.value != value) {
+            // 新加载的数据：保留热度，重新计算过期时间
+            Tracked fresh = new Tracked(keyParts, value, expireAtMillis);
+            if (entry != null) {
+                fresh.hits.add(entry.hits.sum());
+            }
+            cache.put(key, fresh);
+            entry = fresh;
+        }
+        entry.hits.increment();
+    }
+
+    private Object deserialize(SnapshotEntry entry, ExtConfig config) {
+        try {
+            Class<?> entityClass = ClassUtils.forName(config.getEntityClass(), getClass().getClassLoader());
+            JavaType type = switch (entry.valueKind()) {
+                case SnapshotEntry.KIND_LIST -> objectMapper.getTypeFactory().constructCollectionType(List.class, entityClass);
+                case SnapshotEntry.KIND_SET -> objectMapper.getTypeFactory().constructCollectionType(Set.class, entityClass);
+                default -> objectMapper.getTypeFactory().constructType(entityClass);
+            };
+            return objectMapper.readValue(new ByteBufferBackedInputStream(entry.payload().duplicate()), type);
+        } catch (Exception e) {
+            log.debug("[L1Snapshot] 反序列化失败，丢弃. config={}", entry.configName(), e);
+            return null;
+        }
+    }
+
+    private static byte kindOf(Object value) {
+        if (value instanceof List) {
+            return SnapshotEntry.KIND_LIST;
+        }
+        return value instanceof Set ? SnapshotEntry.KIND_SET : SnapshotEntry.KIND_OBJECT;
+    }
+
+    private static String fingerprint(ExtConfig config) {
+        return config.getEntityClass() + "|" + config.getKeyField() + "|" + config.getStorageType();
+    }
+
+    private static Duration localTtl(ExtConfig config) {
+        return config.getLocalTtl() == null ? Duration.ofMinutes(1) : config.getLocalTtl();
+    }
+
+    private static final class Tracked {
+
+        private final String[] keyParts;
+        private final Object value;
+        private final long expireAtMillis;
+        private final LongAdder hits = new LongAdder();
+
+        private Tracked(String[] keyParts, Object value, long expireAtMillis) {
+            this.keyParts = keyParts;
+            this.value = value;
+            this.expireAtMillis = expireAtMillis;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 把 {@link JMultiCacheL1Snapshot} 接入框架。
+ * <p>
+ * 1. {@code JMultiCache.fetchData}：开启 snapshot-top-n 的配置记录访问热度，排在代际切面之前，记录的是原始 keyParts；
+ * 2. 存储策略的 read：恢复快照期间直接返回快照中的值，框架把它当作 L2 命中放入 L1。
+ * Hooks {@link JMultiCacheL1Snapshot} into the framework: fetchData calls of snapshot configs record
+ * hotness, and while an entry is being restored the storage-strategy read returns the snapshot value.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@RequiredArgsConstructor
+public class JMultiCacheSnapshotAspect {
+
+    private final JMultiCacheL1Snapshot jMultiCacheL1Snapshot;
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchData(String, java.util.function.Supplier, String...)) && args(configName, ..)")
+    public Object aroundFetchData(ProceedingJoinPoint pjp, String configName) throws Throwable {
+        if (!jMultiCacheL1Snapshot.isTracked(configName)) {
+            return pjp.proceed();
+        }
+        Object value = pjp.proceed();
+        if (value != null) {
+            jMultiCacheL1Snapshot.record(configName, (String[]) pjp.getArgs()[2], value);
+        }
+        return value;
+    }
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.read(..))")
+    public Object aroundRead(ProceedingJoinPoint pjp) throws Throwable {
+        Object value = SnapshotRestore.take();
+        return value != null ? value : pjp.proceed();
+    }
+}
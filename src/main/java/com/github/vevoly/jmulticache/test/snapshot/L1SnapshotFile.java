@@ -0,0 +1,126 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * L1 快照文件的读写，使用内存映射。
+ * <p>
+ * 格式：magic(int) | 格式版本(int) | 条数(int) | 条目...；字符串为 长度(short) + UTF-8，值为 长度(int) + JSON。
+ * 先写临时文件再原子替换，进程在写入中途被杀也不会留下半个快照。读取时只解析索引字段，
+ * 值是映射区域上的只读切片，不会复制到堆上。
+ * Memory-mapped L1 snapshot file: a small header followed by length-prefixed entries. Written to a temp
+ * file and atomically moved into place; on read only the index fields are decoded and payloads stay as
+ * read-only slices of the mapping.
+ */
+public final class L1SnapshotFile {
+
+    private static final int MAGIC = 0x4A4D4331; // "JMC1"
+    static final int FORMAT_VERSION = 2;
+
+    private L1SnapshotFile() {
+    }
+
+    public static void write(Path path, Collection<SnapshotEntry> entries) throws IOException {
+        // 1. 序列化到内存，得到总长度
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entries.size() * 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (SnapshotEntry entry : entries) {
+                writeString(out, entry.configName());
+                out.writeShort(entry.keyParts().length);
+                for (String part : entry.keyParts()) {
+                    writeString(out, part);
+                }
+                writeString(out, entry.fingerprint());
+                writeString(out, entry.l2Digest());
+                out.writeByte(entry.valueKind());
+                out.writeLong(entry.expireAtMillis());
+                ByteBuffer payload = entry.payload().duplicate();
+                out.writeInt(payload.remaining());
+                byte[] chunk = new byte[Math.min(payload.remaining(), 8192)];
+                while (payload.hasRemaining()) {
+                    int length = Math.min(chunk.length, payload.remaining());
+                    payload.get(chunk, 0, length);
+                    out.write(chunk, 0, length);
+                }
+            }
+        }
+        byte[] data = bytes.toByteArray();
+
+        // 2. 映射临时文件写入，再原子替换
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, data.length);
+            buffer.put(data);
+            buffer.force();
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 读取快照，文件不存在、格式版本不匹配或内容损坏 (截断、长度字段越界) 时返回空列表。
+     * 返回条目的 payload 引用映射区域，映射在所有条目被回收前一直有效
+     */
+    public static List<SnapshotEntry> read(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return List.of();
+            }
+            int count = buffer.getInt();
+            List<SnapshotEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String configName = readString(buffer);
+                String[] keyParts = new String[buffer.getShort()];
+                for (int p = 0; p < keyParts.length; p++) {
+                    keyParts[p] = readString(buffer);
+                }
+                String fingerprint = readString(buffer);
+                String l2Digest = readString(buffer);
+                byte valueKind = buffer.get();
+                long expireAt = buffer.getLong();
+                int length = buffer.getInt();
+                ByteBuffer payload = buffer.slice(buffer.position(), length).asReadOnlyBuffer();
+                buffer.position(buffer.position() + length);
+                entries.add(new SnapshotEntry(configName, keyParts, fingerprint, l2Digest, valueKind, expireAt, payload));
+            }
+            return entries;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            // 文件损坏：整体作废，不使用其中已解析的部分
+            return List.of();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
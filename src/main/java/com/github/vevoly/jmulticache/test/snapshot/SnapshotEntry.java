@@ -0,0 +1,20 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 快照中的一条 L1 数据
+ *
+ * @param fingerprint    配置指纹 (entity-class + key-field)，配置变化后旧快照作废
+ * @param l2Digest       写入快照时 L2 数据的摘要，首次访问时与 L2 当前摘要比较，不一致说明停机期间数据已变化
+ * @param valueKind      0 = 对象，1 = List，2 = Set
+ * @param expireAtMillis 本地 TTL 剩余时间对应的绝对过期时间
+ * @param payload        JSON；读取快照时是内存映射文件上的只读视图，反序列化前不会复制到堆上
+ */
+public record SnapshotEntry(String configName, String[] keyParts, String fingerprint, String l2Digest,
+                            byte valueKind, long expireAtMillis, ByteBuffer payload) {
+
+    public static final byte KIND_OBJECT = 0;
+    public static final byte KIND_LIST = 1;
+    public static final byte KIND_SET = 2;
+}
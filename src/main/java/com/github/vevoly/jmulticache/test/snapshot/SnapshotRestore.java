@@ -0,0 +1,32 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+/**
+ * 恢复快照时当前线程待交给框架的值：下一次存储策略的 read 直接返回它，不访问 Redis。只使用一次
+ * Per-thread value handed to the next storage-strategy read while a snapshot entry is restored into L1.
+ */
+final class SnapshotRestore {
+
+    private static final ThreadLocal<Object> VALUE = new ThreadLocal<>();
+
+    private SnapshotRestore() {
+    }
+
+    static void offer(Object value) {
+        VALUE.set(value);
+    }
+
+    /**
+     * 取出并清除待恢复的值，没有时返回 null
+     */
+    static Object take() {
+        Object value = VALUE.get();
+        if (value != null) {
+            VALUE.remove();
+        }
+        return value;
+    }
+
+    static void clear() {
+        VALUE.remove();
+    }
+}
@@ -0,0 +1,466 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.vevoly.jmulticache.api.config.ResolvedJMultiCacheConfig;
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import io.github.vevoly.jmulticache.api.utils.JMultiCacheHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 用户自定义策略：列表差量存储。
+ * <p>
+ * 大列表只改动一个元素时，整表重新序列化写入 Redis 的流量很大。这里 Redis 中保存一个基准快照和一串差量：
+ * <ul>
+ *     <li>key：版本头 "当前版本:基准版本:类型"</li>
+ *     <li>key:base："基准版本|JSON 数组"</li>
+ *     <li>key:d：基准之后的差量链，每条为 "版本:差量;" ({@link ListDeltaCodec})，追加差量用 APPEND</li>
+ * </ul>
+ * 差量由 {@link #update} 写入 ({@code JMultiCacheListOps} 对 storage-type: delta 的配置走这里)；框架回填时
+ * 本节点持有当前版本也只追加差量。差量链超过 16 个或差量超过全量的 1/4 时写入新的基准 (压缩)。
+ * 追加和改写基准都在 Lua 中比较版本头；新的基准链的起始版本取自 Redis 时间 (微秒)，本地持有的旧版本不会被误用。
+ * 读取固定为 版本头 + 差量链 (+ 本节点没有可用版本时的基准)，单条读取一次 MGET，批量读取全部登记在
+ * BatchOperation 上；本节点的版本早于当前基准时，单条读取补读基准，批量读取按未命中处理。
+ * 读写都经过 StringRedisTemplate / 框架批次的字符串值，差量缺失、版本不匹配等任何不一致都按未命中处理。
+ * 集群模式下三个 Key 需要同槽，namespace 应使用 hash tag。
+ * User-defined strategy: delta-encoded lists. Redis holds a base snapshot plus an appended chain of small
+ * diffs; nodes that already hold a version read only the header and the chain. Deltas are appended by
+ * {@link #update} (used by JMultiCacheListOps for delta configs) and by backfills of a node holding the
+ * current version. Appends and rebases compare the header in Lua. Batch reads are queued entirely on the
+ * BatchOperation. Any inconsistency is treated as a miss.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeltaListStorageStrategy implements RedisStorageStrategy<Object> {
+
+    /**
+     * 写入新的基准并清空差量链。KEYS[1]=版本头, KEYS[2]=基准, KEYS[3]=差量链,
+     * ARGV[1]=JSON, ARGV[2]=TTL (毫秒), ARGV[3]=类型, ARGV[4]=期望的版本头 (为空时不比较)；版本头不一致返回 0，否则返回新版本
+     */
+    private static final RedisScript<Long> REBASE_SCRIPT = new DefaultRedisScript<>(
+            "local h = redis.call('GET', KEYS[1]) " +
+            "if ARGV[4] ~= '' and h ~= ARGV[4] then return 0 end " +
+            "local v = string.match(h or '', '^(%d+):%d+:%a$') " +
+            "local next " +
+            "if v then next = tonumber(v) + 1 else " +
+            "  local t = redis.call('TIME') next = tonumber(t[1]) * 1000000 + tonumber(t[2]) end " +
+            "local ver = string.format('%d', next) " +
+            "redis.call('SET', KEYS[2], ver .. '|' .. ARGV[1], 'PX', ARGV[2]) " +
+            "redis.call('DEL', KEYS[3]) " +
+            "redis.call('SET', KEYS[1], ver .. ':' .. ver .. ':' .. ARGV[3], 'PX', ARGV[2]) " +
+            "return next", Long.class);
+
+    /**
+     * 追加差量。KEYS[1]=版本头, KEYS[2]=基准, KEYS[3]=差量链, ARGV[1]=期望的版本头, ARGV[2]=差量, ARGV[3]=TTL (毫秒)；
+     * 版本头不一致返回 0，否则追加差量、推进版本头并给整条链续期，返回新版本
+     */
+    private static final RedisScript<Long> APPEND_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+            "local v, b, k = string.match(ARGV[1], '^(%d+):(%d+):(%a)$') " +
+            "local ver = string.format('%d', tonumber(v) + 1) " +
+            "redis.call('APPEND', KEYS[3], ver .. ':' .. ARGV[2] .. ';') " +
+            "redis.call('PEXPIRE', KEYS[3], ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[3]) " +
+            "redis.call('SET', KEYS[1], ver .. ':' .. b .. ':' .. k, 'PX', ARGV[3]) " +
+            "return tonumber(ver)", Long.class);
+
+    /**
+     * 写入空值占位符。KEYS 同上, ARGV[1]=占位符, ARGV[2]=TTL (毫秒)
+     */
+    private static final RedisScript<Long> EMPTY_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[2], KEYS[3]) " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2]) " +
+            "return 1", Long.class);
+
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    // 自定义类型名称
+    public static final String TYPE_NAME = "delta";
+
+    // 差量链最大长度，超过后写入新的基准
+    private static final int MAX_CHAIN = 16;
+    // 差量大小超过全量的该比例时直接写全量
+    private static final double MAX_DELTA_RATIO = 0.25;
+    // update 遇到并发修改时的重试次数
+    private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    private static final String BASE_SUFFIX = ":base";
+    private static final String CHAIN_SUFFIX = ":d";
+
+    private static final char KIND_LIST = 'l';
+    private static final char KIND_OBJECT = 'o';
+
+    // 本节点持有的最新版本元素 (JSON)，Key: Redis Key
+    private final Cache<String, Versioned> versions = Caffeine.newBuilder()
+            .maximumSize(1_000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    @Override
+    public String getStorageType() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Object read(RedisClient redisClient, String key, TypeReference<Object> typeRef, ResolvedJMultiCacheConfig config) {
+        Optional<Object> value = decode(key, readCurrent(key), typeRef, config);
+        return value == null ? null : value.orElse(null);
+    }
+
+    @Override
+    public <V> Map<String, CompletableFuture<Optional<V>>> readMulti(BatchOperation batch, List<String> keysToRead, TypeReference<V> typeRef, ResolvedJMultiCacheConfig config) {
+        // 全部读取登记在批次内：版本头 + 差量链，本节点没有可用版本时再加基准
+        // 结果为 null 表示未命中，Optional.empty() 表示命中空值占位符
+        Map<String, CompletableFuture<Optional<V>>> futures = new LinkedHashMap<>();
+        for (String key : keysToRead) {
+            CompletableFuture<Object> header = batch.get(key);
+            CompletableFuture<Object> chain = batch.get(key + CHAIN_SUFFIX);
+            CompletableFuture<Object> base = versions.getIfPresent(key) == null
+                    ? batch.get(key + BASE_SUFFIX) : CompletableFuture.completedFuture(null);
+            futures.put(key, CompletableFuture.allOf(header, chain, base).thenApply(ignored -> decode(key,
+                    new Stored(asString(header.join()), asString(base.join()), asString(chain.join()), null), typeRef, config)));
+        }
+        return futures;
+    }
+
+    @Override
+    public void write(RedisClient redisClient, String key, Object value, ResolvedJMultiCacheConfig config) {
+        // 1. 防穿透处理
+        if (JMultiCacheHelper.isSpecialEmptyData(value, config)) {
+            stringRedisTemplate.execute(EMPTY_SCRIPT, chainKeys(key), config.getEmptyValueMark(),
+                    String.valueOf(config.getEmptyCacheTtl().toMillis()));
+            versions.invalidate(key);
+            return;
+        }
+        List<String> items;
+        char kind = value instanceof Collection ? KIND_LIST : KIND_OBJECT;
+        try {
+            items = elements(value);
+        } catch (IOException e) {
+            log.error("[DeltaStrategy] 序列化失败 key={}", key, e);
+            return;
+        }
+        // 2. 回填的数据来自数据源，追加差量失败 (期间被其他节点改动) 时无条件改写基准
+        Header current = Header.parse(stringRedisTemplate.opsForValue().get(key));
+        String ttl = String.valueOf(config.getRedisTtl().toMillis());
+        if (store(key, kind, items, current, ttl, false) == 0) {
+            log.debug("[DeltaStrategy] 版本头已变化，改写基准 key={}", key);
+            store(key, kind, items, null, ttl, false);
+        }
+    }
+
+    /**
+     * 批量写入：每个 Key 在批次内写入基准、清空差量链，最后写版本头
+     */
+    @Override
+    public void writeMulti(BatchOperation batch, Map<String, Object> dataToCache, ResolvedJMultiCacheConfig config) {
+        dataToCache.forEach((key, value) -> {
+            List<String> items;
+            try {
+                items = elements(value);
+            } catch (IOException e) {
+                log.error("[DeltaStrategy] 序列化失败 key={}", key, e);
+                return;
+            }
+            char kind = value instanceof Collection ? KIND_LIST : KIND_OBJECT;
+            long version = newChainVersion();
+            batch.set(key + BASE_SUFFIX, version + "|" + toJson(kind, items), config.getRedisTtl());
+            batch.set(key + CHAIN_SUFFIX, "", config.getRedisTtl());
+            batch.set(key, new Header(version, version, kind).toString(), config.getRedisTtl());
+            versions.put(key, new Versioned(version, items));
+        });
+    }
+
+    @Override
+    public void writeMultiEmpty(BatchOperation batch, List<String> keysToMarkEmpty, ResolvedJMultiCacheConfig config) {
+        keysToMarkEmpty.forEach(key -> {
+            // 批次没有删除操作：基准和差量链写成空串，随占位符一起过期
+            batch.set(key + BASE_SUFFIX, "", config.getEmptyCacheTtl());
+            batch.set(key + CHAIN_SUFFIX, "", config.getEmptyCacheTtl());
+            batch.set(key, config.getEmptyValueMark(), config.getEmptyCacheTtl());
+            versions.invalidate(key);
+        });
+    }
+
+    /**
+     * 修改已缓存的列表并以差量写入，元素为 JSON。调用方先更新数据源，再用本方法把同样的修改应用到缓存上。
+     * 追加和改写基准都比较版本头，期间被其他节点改动时基于最新版本重试
+     *
+     * @param mutation 对当前元素的修改，参数是可修改的副本
+     * @return false 表示列表未缓存 (或是空值占位符)，没有写入任何数据
+     * @throws IllegalStateException 差量链不一致或多次重试仍冲突，调用方应删除该缓存等待回源重建
+     */
+    public boolean update(String key, UnaryOperator<List<String>> mutation, Duration ttl) {
+        String ttlMillis = String.valueOf(ttl.toMillis());
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            Stored stored = readCurrent(key);
+            Header current = Header.parse(stored.header());
+            if (current == null || current.kind != KIND_LIST) {
+                return false;
+            }
+            List<String> items = resolve(key, current, stored);
+            if (items == null) {
+                throw new IllegalStateException("Delta chain is inconsistent for " + key);
+            }
+            if (store(key, KIND_LIST, mutation.apply(new ArrayList<>(items)), current, ttlMillis, true) > 0) {
+                return true;
+            }
+        }
+        throw new IllegalStateException("Delta update kept conflicting for " + key);
+    }
+
+    /**
+     * 当前缓存的元素 (JSON)，未缓存时返回空列表
+     */
+    public List<String> items(String key) {
+        Stored stored = readCurrent(key);
+        Header current = Header.parse(stored.header());
+        if (current == null) {
+            return List.of();
+        }
+        List<String> items = resolve(key, current, stored);
+        return items == null ? List.of() : items;
+    }
+
+    /**
+     * 写入新版本：本节点持有当前版本时尝试追加差量，否则 (或差量过大、链过长) 写入新的基准
+     *
+     * @param current 期望的版本头，null 表示不存在或不关心
+     * @param strict  为 true 时改写基准也比较版本头
+     * @return 新版本，版本头不一致时返回 0
+     */
+    private long store(String key, char kind, List<String> items, Header current, String ttl, boolean strict) {
+        Versioned local = versions.getIfPresent(key);
+        if (current != null && kind == KIND_LIST && current.kind == KIND_LIST && local != null
+                && local.version == current.version && current.version - current.baseVersion < MAX_CHAIN) {
+            String delta = ListDeltaCodec.encode(ListDeltaCodec.diff(local.items, items));
+            if (delta.length() <= fullLength(items) * MAX_DELTA_RATIO) {
+                Long next = stringRedisTemplate.execute(APPEND_SCRIPT, chainKeys(key), current.toString(), delta, ttl);
+                long version = next == null ? 0 : next;
+                if (version > 0) {
+                    versions.put(key, new Versioned(version, items));
+                    log.debug("[DeltaStrategy] 差量写入 key={}, version={}, delta={}B", key, version, delta.length());
+                } else {
+                    versions.invalidate(key);
+                }
+                return version;
+            }
+        }
+        String json = toJson(kind, items);
+        String expected = strict && current != null ? current.toString() : "";
+        Long next = stringRedisTemplate.execute(REBASE_SCRIPT, chainKeys(key), json, ttl, String.valueOf(kind), expected);
+        long version = next == null ? 0 : next;
+        if (version > 0) {
+            versions.put(key, new Versioned(version, items));
+            log.debug("[DeltaStrategy] 基准写入 key={}, version={}, size={}B", key, version, json.length());
+        } else {
+            versions.invalidate(key);
+        }
+        return version;
+    }
+
+    /**
+     * 一次 MGET 读取版本头、差量链，本节点没有可用版本时同时读取基准
+     */
+    private Stored readCurrent(String key) {
+        boolean withBase = versions.getIfPresent(key) == null;
+        List<String> keys = withBase ? chainKeys(key) : List.of(key, key + CHAIN_SUFFIX);
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        if (values == null) {
+            return new Stored(null, null, null, null);
+        }
+        return withBase ? new Stored(values.get(0), values.get(1), values.get(2), null)
+                : new Stored(values.get(0), null, values.get(1), () -> stringRedisTemplate.opsForValue().get(key + BASE_SUFFIX));
+    }
+
+    private <V> Optional<V> decode(String key, Stored stored, TypeReference<V> typeRef, ResolvedJMultiCacheConfig config) {
+        // 1. 解析版本头
+        String header = stored.header();
+        if (!StringUtils.hasText(header)) {
+            return null;
+        }
+        if (config.getEmptyValueMark().equals(header)) {
+            return Optional.empty();
+        }
+        Header parsed = Header.parse(header);
+        if (parsed == null) {
+            return null;
+        }
+        try {
+            // 2. 从本地版本或基准快照开始，补齐差量
+            List<String> items = resolve(key, parsed, stored);
+            if (items == null) {
+                return null;
+            }
+            // 3. 反序列化
+            return Optional.ofNullable(objectMapper.readValue(toJson(parsed.kind, items), typeRef));
+        } catch (IllegalStateException | IOException e) {
+            log.warn("[DeltaStrategy] 差量数据不一致，按未命中处理 key={}", key, e);
+            versions.invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * 从本地版本或基准开始应用差量链。需要基准而手上没有 (批量读取) 时返回 null；差量缺失时抛出 IllegalStateException
+     */
+    private List<String> resolve(String key, Header header, Stored stored) {
+        Versioned local = versions.getIfPresent(key);
+        if (local != null && local.version == header.version) {
+            return local.items;
+        }
+        try {
+            List<String> items;
+            long from;
+            if (local != null && local.version >= header.baseVersion && local.version < header.version) {
+                items = local.items;
+                from = local.version;
+            } else {
+                String base = stored.base() != null ? stored.base()
+                        : stored.baseReader() != null ? stored.baseReader().get() : null;
+                int split = base == null ? -1 : base.indexOf('|');
+                if (split < 0 || Long.parseLong(base.substring(0, split)) != header.baseVersion) {
+                    return null;
+                }
+                items = header.kind == KIND_OBJECT ? List.of(base.substring(split + 1)) : parseArray(base.substring(split + 1));
+                from = header.baseVersion;
+            }
+            if (from < header.version) {
+                Map<Long, String> deltas = parseChain(stored.chain());
+                for (long version = from + 1; version <= header.version; version++) {
+                    String delta = deltas.get(version);
+                    if (delta == null) {
+                        throw new IllegalStateException("Missing delta " + version + " for " + key);
+                    }
+                    items = ListDeltaCodec.apply(items, ListDeltaCodec.decode(delta));
+                }
+            }
+            versions.put(key, new Versioned(header.version, items));
+            return items;
+        } catch (IOException | IllegalArgumentException e) {
+            // 基准 / 差量链损坏 (非法 JSON、版本号、Base64)
+            throw new IllegalStateException("Corrupted delta data for " + key, e);
+        }
+    }
+
+    private static Map<Long, String> parseChain(String chain) {
+        Map<Long, String> deltas = new HashMap<>();
+        if (!StringUtils.hasText(chain)) {
+            return deltas;
+        }
+        for (String entry : chain.split(";")) {
+            int split = entry.indexOf(':');
+            if (split > 0) {
+                deltas.put(Long.parseLong(entry.substring(0, split)), entry.substring(split + 1));
+            }
+        }
+        return deltas;
+    }
+
+    private static List<String> chainKeys(String key) {
+        return List.of(key, key + BASE_SUFFIX, key + CHAIN_SUFFIX);
+    }
+
+    private static String asString(Object raw) {
+        return raw instanceof String str ? str : null;
+    }
+
+    /**
+     * 批量写入时新的基准链起始版本，与 Lua 中取 Redis 时间的规则一致 (微秒)，并加上随机数避免同一时刻的重复
+     */
+    private static long newChainVersion() {
+        return System.currentTimeMillis() * 1000 + ThreadLocalRandom.current().nextInt(1000);
+    }
+
+    private static String toJson(char kind, List<String> items) {
+        return kind == KIND_OBJECT ? items.get(0) : "[" + String.join(",", items) + "]";
+    }
+
+    private List<String> elements(Object value) throws IOException {
+        if (!(value instanceof Collection<?> collection)) {
+            return List.of(objectMapper.writeValueAsString(value));
+        }
+        List<String> items = new ArrayList<>(collection.size());
+        for (Object element : collection) {
+            items.add(objectMapper.writeValueAsString(element));
+        }
+        return items;
+    }
+
+    private List<String> parseArray(String json) throws IOException {
+        JsonNode array = objectMapper.readTree(json);
+        List<String> items = new ArrayList<>(array.size());
+        for (JsonNode element : array) {
+            items.add(objectMapper.writeValueAsString(element));
+        }
+        return items;
+    }
+
+    private static long fullLength(List<String> items) {
+        long length = 2;
+        for (String item : items) {
+            length += item.length() + 1;
+        }
+        return length;
+    }
+
+    private record Versioned(long version, List<String> items) {
+    }
+
+    /**
+     * 一次读取得到的数据；baseReader 只在单条读取时存在，用于本节点版本早于当前基准时补读基准
+     */
+    private record Stored(String header, String base, String chain, Supplier<String> baseReader) {
+    }
+
+    private record Header(long version, long baseVersion, char kind) {
+
+        static Header parse(String header) {
+            if (header == null) {
+                return null;
+            }
+            String[] parts = header.split(":");
+            if (parts.length != 3 || parts[2].length() != 1) {
+                return null;
+            }
+            try {
+                return new Header(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2].charAt(0));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return version + ":" + baseVersion + ":" + kind;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.github.vevoly.jmulticache.test.strategy;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.trace.FetchPhase;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheTracing;
 import io.github.vevoly.jmulticache.api.config.ResolvedJMultiCacheConfig;
 import io.github.vevoly.jmulticache.api.redis.RedisClient;
 import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
@@ -47,8 +49,10 @@ public class GzipStringStorageStrategy implements RedisStorageStrategy<Object> {
 
     @Override
     public Object read(RedisClient redisClient, String key, TypeReference<Object> typeRef, ResolvedJMultiCacheConfig config) {
-        // 1. 从 Redis 获取 Base64 字符串
+        // 1. 从 Redis 获取 Base64 字符串 (Redis 异常直接抛出，不能当作未命中去回源)
+        long start = System.nanoTime();
         String base64Str = (String) redisClient.get(key);
+        JMultiCacheTracing.record(FetchPhase.L2_READ, System.nanoTime() - start);
 
         if (!StringUtils.hasText(base64Str)) {
             return null;
@@ -60,10 +64,15 @@ public class GzipStringStorageStrategy implements RedisStorageStrategy<Object> {
 
         try {
             // 3. 解压: Base64 -> Gzip -> JSON
+            long decodeStart = System.nanoTime();
             String json = decompress(base64Str);
             // 4. 反序列化
-            return objectMapper.readValue(json, typeRef);
-        } catch (Exception e) {
+            Object value = objectMapper.readValue(json, typeRef);
+            JMultiCacheTracing.record(FetchPhase.DESERIALIZE, System.nanoTime() - decodeStart);
+            JMultiCacheTracing.payload(base64Str.length());
+            return value;
+        } catch (IOException | IllegalArgumentException e) {
+            // 数据损坏 (含非法 Base64)：按未命中处理，回源后覆盖
             log.error("Gzip 解压/反序列化失败 key={}", key, e);
             return null;
         }
@@ -83,18 +92,24 @@ public class GzipStringStorageStrategy implements RedisStorageStrategy<Object> {
             return;
         }
 
+        long start = System.nanoTime();
+        String json;
+        String compressedStr;
         try {
             // 2. 序列化: Object -> JSON
-            String json = objectMapper.writeValueAsString(value);
+            json = objectMapper.writeValueAsString(value);
             // 3. 压缩: JSON -> Gzip -> Base64
-            String compressedStr = compress(json);
-            // 4. 写入 Redis
-            redisClient.set(key, compressedStr, config.getRedisTtl());
-            log.info(">>> [GzipStrategy] 压缩写入成功. 原长: {}, 压缩后: {}, Key: {}",
-                    json.length(), compressedStr.length(), key);
-        } catch (Exception e) {
-            log.error("Gzip 压缩/写入失败 key={}", key, e);
+            compressedStr = compress(json);
+        } catch (IOException e) {
+            log.error("Gzip 压缩失败 key={}", key, e);
+            return;
         }
+        // 4. 写入 Redis，Redis 异常向上抛出，交给调用方 (熔断统计) 处理
+        redisClient.set(key, compressedStr, config.getRedisTtl());
+        JMultiCacheTracing.record(FetchPhase.BACKFILL, System.nanoTime() - start);
+        JMultiCacheTracing.payload(compressedStr.length());
+        log.info(">>> [GzipStrategy] 压缩写入成功. 原长: {}, 压缩后: {}, Key: {}",
+                json.length(), compressedStr.length(), key);
     }
 
     @Override
@@ -0,0 +1,93 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 列表版本间的差量编码。
+ * <p>
+ * 两个版本去掉公共前缀和公共后缀后，差异表示为一次 splice：从 start 开始删除 deleteCount 个元素并插入 inserts。
+ * 追加、删除、修改单个元素都只需要很小的 diff。编码为二进制后 Base64，可直接存为 Redis 字符串。
+ * Delta between two list versions expressed as a single splice after trimming the common prefix and
+ * suffix, encoded as compact binary in Base64.
+ */
+public final class ListDeltaCodec {
+
+    private ListDeltaCodec() {
+    }
+
+    public record Splice(int start, int deleteCount, List<String> inserts) {
+    }
+
+    public static Splice diff(List<String> from, List<String> to) {
+        int prefix = 0;
+        int max = Math.min(from.size(), to.size());
+        while (prefix < max && from.get(prefix).equals(to.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && from.get(from.size() - 1 - suffix).equals(to.get(to.size() - 1 - suffix))) {
+            suffix++;
+        }
+        return new Splice(prefix, from.size() - prefix - suffix,
+                new ArrayList<>(to.subList(prefix, to.size() - suffix)));
+    }
+
+    /**
+     * 应用差量，与基准版本不匹配时抛出 IllegalStateException
+     */
+    public static List<String> apply(List<String> base, Splice splice) {
+        if (splice.start() < 0 || splice.deleteCount() < 0 || splice.start() + splice.deleteCount() > base.size()) {
+            throw new IllegalStateException("Delta does not match base list, size=" + base.size()
+                    + ", start=" + splice.start() + ", delete=" + splice.deleteCount());
+        }
+        List<String> result = new ArrayList<>(base.size() - splice.deleteCount() + splice.inserts().size());
+        result.addAll(base.subList(0, splice.start()));
+        result.addAll(splice.inserts());
+        result.addAll(base.subList(splice.start() + splice.deleteCount(), base.size()));
+        return result;
+    }
+
+    public static String encode(Splice splice) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(splice.start());
+            out.writeInt(splice.deleteCount());
+            out.writeInt(splice.inserts().size());
+            for (String insert : splice.inserts()) {
+                byte[] data = insert.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(data.length);
+                out.write(data);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static Splice decode(String encoded) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)))) {
+            int start = in.readInt();
+            int deleteCount = in.readInt();
+            int count = in.readInt();
+            List<String> inserts = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                inserts.add(new String(data, StandardCharsets.UTF_8));
+            }
+            return new Splice(start, deleteCount, inserts);
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupted list delta", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.localstore.LocalBatch;
+import com.github.vevoly.jmulticache.test.localstore.LocalLogStore;
+import com.github.vevoly.jmulticache.test.trace.FetchPhase;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheTracing;
+import io.github.vevoly.jmulticache.api.config.ResolvedJMultiCacheConfig;
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import io.github.vevoly.jmulticache.api.utils.JMultiCacheHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 以 {@link LocalLogStore} 作为 L2 的 JSON 存储 (localstore profile)。
+ * <p>
+ * {@link LocalLogStore} 本身实现 RedisClient、{@link LocalBatch} 实现 BatchOperation；框架传入的 Redis 客户端不会被使用，
+ * 读写改为经这两个实现访问本地存储，批量读写整批只刷一次日志。
+ * JSON storage backed by the embedded {@link LocalLogStore} under the localstore profile. The store is a
+ * RedisClient and {@link LocalBatch} a BatchOperation; they replace the framework's Redis clients for this
+ * storage type, with one log flush per batch.
+ */
+@Slf4j
+@Component
+@Profile("localstore")
+@RequiredArgsConstructor
+public class LocalStoreStorageStrategy implements RedisStorageStrategy<Object> {
+
+    public static final String TYPE_NAME = "local";
+
+    private final ObjectMapper objectMapper;
+    private final LocalLogStore localLogStore;
+
+    @Override
+    public String getStorageType() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Object read(RedisClient redisClient, String key, TypeReference<Object> typeRef, ResolvedJMultiCacheConfig config) {
+        long start = System.nanoTime();
+        String json = localLogStore.get(key);
+        JMultiCacheTracing.record(FetchPhase.L2_READ, System.nanoTime() - start);
+        Optional<Object> value = decode(key, json, typeRef, config);
+        return value == null ? null : value.orElse(null);
+    }
+
+    @Override
+    public <V> Map<String, CompletableFuture<Optional<V>>> readMulti(BatchOperation batch, List<String> keysToRead, TypeReference<V> typeRef, ResolvedJMultiCacheConfig config) {
+        // 结果为 null 表示未命中，Optional.empty() 表示命中空值占位符
+        LocalBatch localBatch = localLogStore.batch();
+        Map<String, CompletableFuture<Optional<V>>> futures = new LinkedHashMap<>();
+        for (String key : keysToRead) {
+            futures.put(key, localBatch.get(key).thenApply(raw -> decode(key, (String) raw, typeRef, config)));
+        }
+        localBatch.execute();
+        return futures;
+    }
+
+    @Override
+    public void write(RedisClient redisClient, String key, Object value, ResolvedJMultiCacheConfig config) {
+        if (JMultiCacheHelper.isSpecialEmptyData(value, config)) {
+            localLogStore.set(key, config.getEmptyValueMark(), config.getEmptyCacheTtl());
+            return;
+        }
+        String payload = encode(key, value);
+        if (payload != null) {
+            long start = System.nanoTime();
+            localLogStore.set(key, payload, config.getRedisTtl());
+            JMultiCacheTracing.record(FetchPhase.BACKFILL, System.nanoTime() - start);
+            JMultiCacheTracing.payload(payload.length());
+        }
+    }
+
+    @Override
+    public void writeMulti(BatchOperation batch, Map<String, Object> dataToCache, ResolvedJMultiCacheConfig config) {
+        LocalBatch localBatch = localLogStore.batch();
+        dataToCache.forEach((key, value) -> {
+            String payload = encode(key, value);
+            if (payload != null) {
+                localBatch.set(key, payload, config.getRedisTtl());
+            }
+        });
+        localBatch.execute();
+    }
+
+    @Override
+    public void writeMultiEmpty(BatchOperation batch, List<String> keysToMarkEmpty, ResolvedJMultiCacheConfig config) {
+        LocalBatch localBatch = localLogStore.batch();
+        keysToMarkEmpty.forEach(key -> localBatch.set(key, config.getEmptyValueMark(), config.getEmptyCacheTtl()));
+        localBatch.execute();
+    }
+
+    private <V> Optional<V> decode(String key, String json, TypeReference<V> typeRef, ResolvedJMultiCacheConfig config) {
+        if (!StringUtils.hasText(json)) {
+            return null;
+        }
+        if (config.getEmptyValueMark().equals(json)) {
+            return Optional.empty();
+        }
+        try {
+            long start = System.nanoTime();
+            Optional<V> value = Optional.ofNullable(objectMapper.readValue(json, typeRef));
+            JMultiCacheTracing.record(FetchPhase.DESERIALIZE, System.nanoTime() - start);
+            JMultiCacheTracing.payload(json.length());
+            return value;
+        } catch (JsonProcessingException e) {
+            // 数据损坏：按未命中处理，回源后覆盖
+            log.error("[LocalStoreStrategy] 反序列化失败 key={}", key, e);
+            return null;
+        }
+    }
+
+    private String encode(String key, Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("[LocalStoreStrategy] 序列化失败 key={}", key, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.trace.FetchPhase;
+import com.github.vevoly.jmulticache.test.trace.JMultiCacheTracing;
+import com.github.vevoly.jmulticache.test.version.BackfillStamp;
+import com.github.vevoly.jmulticache.test.version.JMultiCacheVersionGuard;
+import io.github.vevoly.jmulticache.api.config.ResolvedJMultiCacheConfig;
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import io.github.vevoly.jmulticache.api.utils.JMultiCacheHelper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 带版本校验的 JSON 存储，配合 version-guard 使用。
+ * <p>
+ * 回源回填时如果当前线程带有 {@link BackfillStamp}，版本比较和写入在同一个 Lua 脚本中完成：
+ * 回源期间发生过 evict 的旧值根本不会写入 L2，其他节点也就读不到它。没有版本戳的写入 (显式写入) 直接写，
+ * 一次回源得到的一批记录 (例如分页回源) 经 {@link #writeIfNotEvictedSince} 按回源开始时间校验后写入。
+ * <p>
+ * 不论是否带版本戳，值都以 {@link #PREFIX} 开头的同一种编码写入，单条读写都走 StringRedisTemplate，与 Lua 脚本一致；
+ * 读到不带前缀的值 (切换到 versioned 之前由其他存储类型写入) 按未命中处理，回源后覆盖，不会被误读。
+ * JSON storage for configs with version-guard. When the loading thread carries a {@link BackfillStamp},
+ * the version check and the write happen in one Lua script, so a stale backfill never reaches L2.
+ * Writes without a stamp (explicit puts) are plain SETs; batch preloads of loaded records use
+ * {@link #writeIfNotEvictedSince}. Every value uses one encoding with an
+ * explicit {@link #PREFIX}; unprefixed legacy values are treated as misses and overwritten.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VersionedStorageStrategy implements RedisStorageStrategy<Object> {
+
+    public static final String TYPE_NAME = "versioned";
+
+    /**
+     * 编码标记，合法的 JSON 不会以它开头
+     */
+    public static final String PREFIX = "jmcv1|";
+
+    /**
+     * KEYS[1]=版本 Key, KEYS[2]=数据 Key, ARGV[1]=回源时看到的版本, ARGV[2]=数据, ARGV[3]=TTL (毫秒)
+     */
+    private static final RedisScript<Long> CONDITIONAL_SET_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    /**
+     * KEYS[1]=版本 Key, KEYS[2]=数据 Key, ARGV[1]=回源开始时的服务端时间 (微秒), ARGV[2]=数据, ARGV[3]=TTL (毫秒)
+     * 墓碑版本不小于写入它时的服务端时间，版本 >= ARGV[1] 说明回源开始后发生过 evict
+     */
+    private static final String SET_IF_NOT_EVICTED_SINCE_SCRIPT =
+            "if tonumber(redis.call('GET', KEYS[1]) or '0') >= tonumber(ARGV[1]) then return 0 end " +
+            "redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3]) " +
+            "return 1";
+
+    private final ObjectMapper objectMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public String getStorageType() {
+        return TYPE_NAME;
+    }
+
+    @Override
+    public Object read(RedisClient redisClient, String key, TypeReference<Object> typeRef, ResolvedJMultiCacheConfig config) {
+        long start = System.nanoTime();
+        String raw = stringRedisTemplate.opsForValue().get(key);
+        JMultiCacheTracing.record(FetchPhase.L2_READ, System.nanoTime() - start);
+        Optional<Object> value = decode(key, raw, typeRef, config);
+        return value == null ? null : value.orElse(null);
+    }
+
+    @Override
+    public <V> Map<String, CompletableFuture<Optional<V>>> readMulti(BatchOperation batch, List<String> keysToRead, TypeReference<V> typeRef, ResolvedJMultiCacheConfig config) {
+        // 结果为 null 表示未命中，Optional.empty() 表示命中空值占位符
+        Map<String, CompletableFuture<Optional<V>>> futures = new LinkedHashMap<>();
+        for (String key : keysToRead) {
+            futures.put(key, batch.get(key).thenApply(raw -> decode(key, raw instanceof String str ? str : null, typeRef, config)));
+        }
+        return futures;
+    }
+
+    @Override
+    public void write(RedisClient redisClient, String key, Object value, ResolvedJMultiCacheConfig config) {
+        boolean empty = JMultiCacheHelper.isSpecialEmptyData(value, config);
+        String payload = empty ? PREFIX + config.getEmptyValueMark() : encode(key, value);
+        if (payload == null) {
+            return;
+        }
+        Duration ttl = empty ? config.getEmptyCacheTtl() : config.getRedisTtl();
+        long start = System.nanoTime();
+        BackfillStamp stamp = BackfillStamp.current(key);
+        if (stamp == null) {
+            stringRedisTemplate.opsForValue().set(key, payload, ttl);
+        } else {
+            Long written = stringRedisTemplate.execute(CONDITIONAL_SET_SCRIPT, List.of(stamp.getVersionKey(), key),
+                    stamp.getVersion(), payload, String.valueOf(ttl.toMillis()));
+            stamp.complete(Long.valueOf(1L).equals(written));
+        }
+        JMultiCacheTracing.record(FetchPhase.BACKFILL, System.nanoTime() - start);
+        JMultiCacheTracing.payload(payload.length());
+    }
+
+    @Override
+    public void writeMulti(BatchOperation batch, Map<String, Object> dataToCache, ResolvedJMultiCacheConfig config) {
+        dataToCache.forEach((key, value) -> {
+            String payload = encode(key, value);
+            if (payload != null) {
+                batch.set(key, payload, config.getRedisTtl());
+            }
+        });
+    }
+
+    @Override
+    public void writeMultiEmpty(BatchOperation batch, List<String> keysToMarkEmpty, ResolvedJMultiCacheConfig config) {
+        keysToMarkEmpty.forEach(key -> batch.set(key, PREFIX + config.getEmptyValueMark(), config.getEmptyCacheTtl()));
+    }
+
+    /**
+     * 预热写入：一批记录在同一次回源中加载，回源开始后被 evict 过的 Key 不写入。
+     * 每个 Key 一个 EVAL，整批一次 pipeline，不要求各 Key 在同一个 slot
+     *
+     * @param dataByKey 数据 Key -> 值
+     * @param since     回源开始时的服务端时间 (微秒)，见 {@link JMultiCacheVersionGuard#loadStart()}
+     * @return 被拒绝的数据 Key
+     */
+    public Set<String> writeIfNotEvictedSince(Map<String, ?> dataByKey, String since, Duration ttl) {
+        List<String> keys = new ArrayList<>(dataByKey.size());
+        List<String> payloads = new ArrayList<>(dataByKey.size());
+        dataByKey.forEach((key, value) -> {
+            String payload = encode(key, value);
+            if (payload != null) {
+                keys.add(key);
+                payloads.add(payload);
+            }
+        });
+        if (keys.isEmpty()) {
+            return Set.of();
+        }
+        byte[] script = SET_IF_NOT_EVICTED_SINCE_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        byte[] sinceArg = since.getBytes(StandardCharsets.UTF_8);
+        byte[] ttlArg = String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 2,
+                        (key + JMultiCacheVersionGuard.VERSION_SUFFIX).getBytes(StandardCharsets.UTF_8),
+                        key.getBytes(StandardCharsets.UTF_8), sinceArg,
+                        payloads.get(i).getBytes(StandardCharsets.UTF_8), ttlArg);
+            }
+            return null;
+        });
+        Set<String> rejected = new LinkedHashSet<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!Long.valueOf(1L).equals(results.get(i))) {
+                rejected.add(keys.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    private <V> Optional<V> decode(String key, String raw, TypeReference<V> typeRef, ResolvedJMultiCacheConfig config) {
+        if (!StringUtils.hasText(raw)) {
+            return null;
+        }
+        if (!raw.startsWith(PREFIX)) {
+            // 旧编码：不猜测格式，按未命中处理，回源后以新编码覆盖
+            log.debug("[VersionedStrategy] 忽略旧编码的值 key={}", key);
+            return null;
+        }
+        String json = raw.substring(PREFIX.length());
+        if (config.getEmptyValueMark().equals(json)) {
+            return Optional.empty();
+        }
+        try {
+            long start = System.nanoTime();
+            Optional<V> value = Optional.ofNullable(objectMapper.readValue(json, typeRef));
+            JMultiCacheTracing.record(FetchPhase.DESERIALIZE, System.nanoTime() - start);
+            JMultiCacheTracing.payload(raw.length());
+            return value;
+        } catch (JsonProcessingException e) {
+            // 数据损坏：按未命中处理，回源后覆盖
+            log.error("[VersionedStrategy] 反序列化失败 key={}", key, e);
+            return null;
+        }
+    }
+
+    private String encode(String key, Object value) {
+        try {
+            return PREFIX + objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            log.error("[VersionedStrategy] 序列化失败 key={}", key, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.vevoly.jmulticache.test.tenant;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ExtConfig;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.TenantConfig;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.write.JMultiCacheWriter;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 按租户隔离的本地缓存。
+ * <p>
+ * 按租户分 Key 的配置共用一份框架 L1 容量，大租户的一次扫描就能把小租户的热点数据全部挤掉。
+ * 开启 tenant 的配置在框架前面加一层按租户准入的本地缓存：每个配置一个总容量有界的 Caffeine，
+ * 每个租户最多占用 capacity × share 条，超出份额的数据不进入这一层，照常由框架 L1 / L2 提供。
+ * 框架 L1 是所有扩展共享的，这里不清理其中的条目；两层保存的是同一个对象引用，不额外复制数据。
+ * 未命中时经 {@link JMultiCacheWriter#fetchData} 读取，write-behind 尚未刷新的数据同样可见。
+ * 可选限制每个租户的并发回源数，并按租户统计命中率，通过 JMultiCacheExtOps 查看。
+ * 写入、CDC 和其他节点的失效经 {@link JMultiCacheInvalidationHub} 到达这里。
+ * Tenant-isolated admission tier in front of the framework for tenant-enabled configs: one bounded Caffeine
+ * per config with per-tenant admission (capacity × share entries each); the excess is served by the shared
+ * framework L1 / L2, which is left untouched. Misses read through {@link JMultiCacheWriter#fetchData} so
+ * pending write-behind values are visible. Invalidated through the hub.
+ */
+@Slf4j
+@Component
+public class JMultiCacheTenantCache {
+
+    private final JMultiCacheWriter jMultiCacheWriter;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+    private final JMultiCacheExtProperties properties;
+    private final TenantKeyExtractor extractor;
+
+    // Key: 配置名
+    private final Map<String, TenantLocalCache> caches = new ConcurrentHashMap<>();
+
+    public JMultiCacheTenantCache(JMultiCacheWriter jMultiCacheWriter, JMultiCacheInvalidationHub jMultiCacheInvalidationHub,
+                                  JMultiCacheExtProperties properties, ObjectProvider<TenantKeyExtractor> extractor) {
+        this.jMultiCacheWriter = jMultiCacheWriter;
+        this.jMultiCacheInvalidationHub = jMultiCacheInvalidationHub;
+        this.properties = properties;
+        this.extractor = extractor.getIfAvailable(() -> this::tenantByPartIndex);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            TenantLocalCache cache = caches.get(configName);
+            if (cache != null) {
+                cache.epoch.incrementAndGet();
+                cache.entries.invalidate(properties.buildRedisKey(configName, keyParts));
+            }
+        });
+    }
+
+    /**
+     * 按租户隔离的 fetchData，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getTenant().isEnabled()) {
+            return jMultiCacheWriter.fetchData(configName, supplier, keyParts);
+        }
+        TenantLocalCache cache = caches.computeIfAbsent(configName, name -> new TenantLocalCache(config));
+        TenantState tenant = cache.tenantOf(extractor.tenantOf(configName, keyParts));
+        String key = properties.buildRedisKey(configName, keyParts);
+
+        // 1. 本地命中
+        Entry entry = cache.entries.getIfPresent(key);
+        if (entry != null) {
+            tenant.stats.recordHit();
+            return (T) entry.value();
+        }
+        tenant.stats.recordMiss();
+
+        // 2. write-behind 缓冲区 + 多级缓存，回源受租户并发限制；超出租户份额时不放入本层
+        long epoch = cache.epoch.get();
+        T value = jMultiCacheWriter.fetchData(configName, () -> load(tenant, config.getTenant(), supplier), keyParts);
+        if (value != null) {
+            cache.putIfAdmitted(key, new Entry(tenant, value), epoch);
+        }
+        return value;
+    }
+
+    /**
+     * 删除 L1/L2 并通过失效中心通知所有节点
+     */
+    public void evict(String configName, String... keyParts) {
+        jMultiCacheInvalidationHub.evict(configName, keyParts);
+    }
+
+    /**
+     * 某个配置下各租户的统计。只包含最近一个 local-ttl 内访问过的租户
+     */
+    public Map<String, TenantStats.Snapshot> getTenantStats(String configName) {
+        Map<String, TenantStats.Snapshot> result = new LinkedHashMap<>();
+        TenantLocalCache cache = caches.get(configName);
+        if (cache != null) {
+            cache.tenants.asMap().forEach((name, tenant) ->
+                    result.put(name, tenant.stats.snapshot(tenant.live.get(), tenant.capacity)));
+        }
+        return result;
+    }
+
+    private <T> T load(TenantState tenant, TenantConfig tenantConfig, Supplier<T> supplier) {
+        if (tenant.loadPermits == null) {
+            tenant.stats.recordLoad();
+            return supplier.get();
+        }
+        boolean acquired;
+        try {
+            acquired = tenant.loadPermits.tryAcquire(tenantConfig.getLoadWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            tenant.stats.recordRejectedLoad();
+            throw new TenantLoadLimitException("Tenant " + tenant.name + " exceeded "
+                    + tenantConfig.getMaxConcurrentLoads() + " concurrent loads");
+        }
+        try {
+            tenant.stats.recordLoad();
+            return supplier.get();
+        } finally {
+            tenant.loadPermits.release();
+        }
+    }
+
+    private String tenantByPartIndex(String configName, String[] keyParts) {
+        int index = properties.getConfig(configName).getTenant().getTenantPartIndex();
+        return index >= 0 && index < keyParts.length ? keyParts[index] : "_default";
+    }
+
+    private record Entry(TenantState owner, Object value) {
+    }
+
+    /**
+     * 一个配置的本地缓存：全部租户共用一个总容量有界的 Caffeine，租户状态在 local-ttl 内无访问后回收
+     */
+    private static final class TenantLocalCache {
+
+        private final TenantConfig tenantConfig;
+        private final long total;
+        private final Cache<String, Entry> entries;
+        private final Cache<String, TenantState> tenants;
+        // 每次失效递增；回源前后不一致说明回源期间发生过失效，结果不放入本地
+        private final AtomicLong epoch = new AtomicLong();
+
+        private TenantLocalCache(ExtConfig config) {
+            this.tenantConfig = config.getTenant();
+            this.total = tenantConfig.getCapacity() > 0 ? tenantConfig.getCapacity()
+                    : config.getLocalMaxSize() == null ? 10_000 : config.getLocalMaxSize();
+            Duration localTtl = config.getLocalTtl() == null || config.getLocalTtl().isZero()
+                    ? Duration.ofMinutes(1) : config.getLocalTtl();
+            this.entries = Caffeine.newBuilder()
+                    .maximumSize(total)
+                    .expireAfterWrite(localTtl)
+                    // 同步回调，租户占用数与缓存内容保持一致 (包括替换、过期和容量淘汰)
+                    .executor(Runnable::run)
+                    .<String, Entry>removalListener((key, entry, cause) -> {
+                        if (entry != null) {
+                            entry.owner().live.decrementAndGet();
+                        }
+                    })
+                    .build();
+            // 条目按写入时间过期，租户超过 local-ttl 没有访问时其条目也已全部过期，可以回收租户状态
+            this.tenants = Caffeine.newBuilder()
+                    .expireAfterAccess(localTtl)
+                    .build();
+        }
+
+        TenantState tenantOf(String name) {
+            return tenants.get(name, t -> new TenantState(t, total, tenantConfig));
+        }
+
+        /**
+         * 租户占用已达份额时不放入，该租户多出的数据由框架 L1 / L2 提供
+         */
+        void putIfAdmitted(String key, Entry entry, long epochBeforeLoad) {
+            TenantState owner = entry.owner();
+            if (owner.live.incrementAndGet() > owner.capacity) {
+                owner.live.decrementAndGet();
+                return;
+            }
+            entries.put(key, entry);
+            // 放入之后再检查，避免检查和放入之间的失效被漏掉
+            if (epoch.get() != epochBeforeLoad) {
+                entries.invalidate(key);
+            }
+        }
+    }
+
+    private static final class TenantState {
+
+        private final String name;
+        private final long capacity;
+        // 当前在本地缓存中的条目数
+        private final AtomicLong live = new AtomicLong();
+        private final Semaphore loadPermits;
+        private final TenantStats stats = new TenantStats();
+
+        private TenantState(String name, long total, TenantConfig tenantConfig) {
+            double share = tenantConfig.getShares().getOrDefault(name, tenantConfig.getDefaultShare());
+            this.name = name;
+            this.capacity = Math.max(1, (long) (total * share));
+            this.loadPermits = tenantConfig.getMaxConcurrentLoads() > 0
+                    ? new Semaphore(tenantConfig.getMaxConcurrentLoads()) : null;
+        }
+    }
+}
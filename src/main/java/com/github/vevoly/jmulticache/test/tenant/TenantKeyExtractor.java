@@ -0,0 +1,11 @@
+package com.github.vevoly.jmulticache.test.tenant;
+
+/**
+ * 从 keyParts 中取租户标识。默认按 tenant.tenant-part-index 取，注册该类型的 Bean 可以覆盖
+ * Extracts the tenant from the key parts; defaults to tenant.tenant-part-index, override with a bean.
+ */
+@FunctionalInterface
+public interface TenantKeyExtractor {
+
+    String tenantOf(String configName, String[] keyParts);
+}
@@ -0,0 +1,12 @@
+package com.github.vevoly.jmulticache.test.tenant;
+
+/**
+ * 租户并发回源数超出限制且等待超时时抛出
+ * Thrown when a tenant's concurrent loader limit is exhausted and the wait timed out.
+ */
+public class TenantLoadLimitException extends RuntimeException {
+
+    public TenantLoadLimitException(String message) {
+        super(message);
+    }
+}
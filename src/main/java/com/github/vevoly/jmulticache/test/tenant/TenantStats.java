@@ -0,0 +1,43 @@
+package com.github.vevoly.jmulticache.test.tenant;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个租户的命中统计
+ * Per-tenant hit, miss and loader counters.
+ */
+public class TenantStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder rejectedLoads = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordLoad() {
+        loads.increment();
+    }
+
+    void recordRejectedLoad() {
+        rejectedLoads.increment();
+    }
+
+    public Snapshot snapshot(long localSize, long capacity) {
+        return new Snapshot(hits.sum(), misses.sum(), loads.sum(), rejectedLoads.sum(), localSize, capacity);
+    }
+
+    public record Snapshot(long hits, long misses, long loads, long rejectedLoads, long localSize, long capacity) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+/**
+ * 缓存读取的耗时阶段
+ * Phases of a cache read.
+ */
+public enum FetchPhase {
+    // 存储策略读取 L2 (框架内置策略的反序列化也计入这里)
+    L2_READ,
+    // 解压 / 反序列化
+    DESERIALIZE,
+    // 回源
+    LOADER,
+    // 序列化并回填 Redis
+    BACKFILL,
+    // 其余部分：L1 查找、框架调度、批量读取的 Redis 往返
+    OTHER,
+    TOTAL;
+
+    static final FetchPhase[] VALUES = values();
+}
@@ -0,0 +1,112 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+import java.util.Arrays;
+
+/**
+ * 单次缓存读取的分阶段耗时，每个线程复用一个实例；调用结束后仍需访问数据时使用 {@link #snapshot()}
+ * Per-call phase timings; one reusable instance per thread. Use {@link #snapshot()} to keep the data
+ * beyond the call.
+ */
+public final class FetchTrace {
+
+    final long[] phaseNanos = new long[FetchPhase.VALUES.length];
+    String configName;
+    String key;
+    // Key 延迟拼接：只有慢日志和 Span 需要
+    String[] keyParts;
+    // 是否正在执行回源，回源里的嵌套读取计入 LOADER
+    boolean loading;
+    long payloadBytes = -1;
+    long startEpochNanos;
+
+    void reset(String configName) {
+        Arrays.fill(phaseNanos, 0);
+        this.configName = configName;
+        this.key = null;
+        this.keyParts = null;
+        this.loading = false;
+        this.payloadBytes = -1;
+    }
+
+    public long nanos(FetchPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public String getConfigName() {
+        return configName;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getPayloadBytes() {
+        return payloadBytes;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    /**
+     * 不可变副本，下一次调用复用本实例不会影响它
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(configName, key, payloadBytes, startEpochNanos, phaseNanos.clone());
+    }
+
+    String breakdown() {
+        StringBuilder sb = new StringBuilder();
+        for (FetchPhase phase : FetchPhase.VALUES) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos > 0) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(phase).append('=').append(String.format("%.2fms", nanos / 1_000_000.0));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 已完成调用的分阶段耗时
+     * Immutable timings of a finished call.
+     */
+    public static final class Snapshot {
+
+        private final String configName;
+        private final String key;
+        private final long payloadBytes;
+        private final long startEpochNanos;
+        private final long[] phaseNanos;
+
+        private Snapshot(String configName, String key, long payloadBytes, long startEpochNanos, long[] phaseNanos) {
+            this.configName = configName;
+            this.key = key;
+            this.payloadBytes = payloadBytes;
+            this.startEpochNanos = startEpochNanos;
+            this.phaseNanos = phaseNanos;
+        }
+
+        public long nanos(FetchPhase phase) {
+            return phaseNanos[phase.ordinal()];
+        }
+
+        public String getConfigName() {
+            return configName;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getPayloadBytes() {
+            return payloadBytes;
+        }
+
+        public long getStartEpochNanos() {
+            return startEpochNanos;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.TracingConfig;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 缓存读取分阶段耗时统计。
+ * <p>
+ * 由 {@link JMultiCacheTracingAspect} 在框架入口 ({@link JMultiCache} 的各个 fetch 方法、{@code @JMultiCacheable} 方法)
+ * 和存储策略上采集，业务代码和扩展门面不需要经过特定入口。按 配置 + 阶段 记录 HdrHistogram；超过 slow-threshold
+ * 的调用按采样率输出慢日志 (Key、各阶段耗时、数据大小)；注册了 {@link JMultiCacheSpanHook} 时把每次调用交给它生成 Span。
+ * 嵌套调用只记录最外层。关闭时每次调用只多一次布尔判断。
+ * Phase timing for cache reads, collected by {@link JMultiCacheTracingAspect} at the framework entry points and
+ * storage strategies: HdrHistograms per config and phase, sampled slow-call logging and an optional span hook.
+ * Nested calls are attributed to the outermost one. When disabled the overhead is a single boolean check.
+ */
+@Slf4j
+@Component
+public class JMultiCacheLatencyTracker {
+
+    private final JMultiCacheExtProperties properties;
+    private final ObjectProvider<JMultiCacheSpanHook> spanHooks;
+    private final boolean enabled;
+
+    private final Map<String, Map<FetchPhase, Histogram>> histograms = new ConcurrentHashMap<>();
+
+    public JMultiCacheLatencyTracker(JMultiCacheExtProperties properties, ObjectProvider<JMultiCacheSpanHook> spanHooks) {
+        this.properties = properties;
+        this.spanHooks = spanHooks;
+        this.enabled = properties.getTracing().isEnabled();
+        JMultiCacheTracing.setEnabled(enabled);
+    }
+
+    /**
+     * 结束一次调用：补齐 OTHER / TOTAL，写入直方图，按需输出慢日志和 Span
+     */
+    void finish(FetchTrace trace, long total) {
+        long[] phases = trace.phaseNanos;
+        long known = 0;
+        for (FetchPhase phase : FetchPhase.VALUES) {
+            if (phase != FetchPhase.OTHER && phase != FetchPhase.TOTAL) {
+                known += phases[phase.ordinal()];
+            }
+        }
+        phases[FetchPhase.OTHER.ordinal()] = Math.max(0, total - known);
+        phases[FetchPhase.TOTAL.ordinal()] = total;
+
+        // 1. 直方图 (微秒)
+        Map<FetchPhase, Histogram> byPhase = histogramsOf(trace.configName);
+        for (FetchPhase phase : FetchPhase.VALUES) {
+            long nanos = phases[phase.ordinal()];
+            if (nanos > 0) {
+                Histogram histogram = byPhase.get(phase);
+                histogram.recordValue(Math.min(nanos / 1_000, histogram.getHighestTrackableValue()));
+            }
+        }
+
+        // 2. 慢调用采样 (Key 只在需要输出时拼接)
+        TracingConfig config = properties.getTracing();
+        JMultiCacheSpanHook hook = spanHooks.getIfAvailable();
+        boolean slow = total >= config.getSlowThreshold().toNanos()
+                && ThreadLocalRandom.current().nextDouble() < config.getSlowSampleRate();
+        if ((slow || hook != null) && trace.key == null && trace.keyParts != null) {
+            trace.key = properties.buildRedisKey(trace.configName, trace.keyParts);
+        }
+        if (slow) {
+            log.warn("[Tracing] 慢调用 config={}, key={}, payload={}B, {}",
+                    trace.configName, trace.key, trace.payloadBytes, trace.breakdown());
+        }
+
+        // 3. Span：FetchTrace 会被本线程的下一次调用复用，钩子拿到的是副本
+        if (hook != null) {
+            hook.onFetch(trace.snapshot());
+        }
+    }
+
+    /**
+     * 某个配置某个阶段的耗时直方图 (微秒)，未记录时返回 null
+     */
+    public Histogram getHistogram(String configName, FetchPhase phase) {
+        Map<FetchPhase, Histogram> byPhase = histograms.get(configName);
+        return byPhase == null ? null : byPhase.get(phase);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private Map<FetchPhase, Histogram> histogramsOf(String configName) {
+        return histograms.computeIfAbsent(configName, name -> {
+            long max = properties.getTracing().getHistogramMax().toNanos() / 1_000;
+            Map<FetchPhase, Histogram> byPhase = new EnumMap<>(FetchPhase.class);
+            for (FetchPhase phase : FetchPhase.VALUES) {
+                byPhase.put(phase, new ConcurrentHistogram(max, 2));
+            }
+            return byPhase;
+        });
+    }
+}
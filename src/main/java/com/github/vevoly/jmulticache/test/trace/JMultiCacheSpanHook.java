@@ -0,0 +1,14 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+/**
+ * 可选的链路追踪钩子，例如用 OpenTelemetry 按 {@link FetchTrace.Snapshot} 中的起始时间和各阶段耗时补建 Span。
+ * 传入的是不可变副本，可以异步处理。没有注册该 Bean 时不产生任何开销。
+ * Optional span hook, e.g. an OpenTelemetry bridge that builds a span and per-phase child spans from the
+ * finished call. The snapshot is immutable and safe to hand off asynchronously. No cost when no bean is
+ * registered.
+ */
+@FunctionalInterface
+public interface JMultiCacheSpanHook {
+
+    void onFetch(FetchTrace.Snapshot trace);
+}
@@ -0,0 +1,132 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+/**
+ * 当前线程的 fetch 追踪上下文，供存储策略等深层代码记录阶段耗时。
+ * <p>
+ * 未开启追踪时 {@link #current()} 只读一个 volatile 字段就返回 null，不访问 ThreadLocal。
+ * Thread-bound fetch trace for deep call sites such as storage strategies. When tracing is off,
+ * {@link #current()} costs a single volatile read.
+ */
+public final class JMultiCacheTracing {
+
+    /**
+     * L1 命中的耗时阈值估计：未回源且耗时低于该值的调用按 L1 命中计。
+     * <p>
+     * 框架不暴露实际命中层级，这只是一个按耗时的估计：L1 上的慢调用 (GC、锁竞争) 会被计为 L2，
+     * 本机 / 同机房的快速 Redis 也可能被计为 L1。依赖该判断的统计都应当视为近似值。
+     * Latency-based estimate of an L1 hit; the framework does not expose the real hit level, so anything
+     * classified with this threshold is approximate.
+     */
+    public static final long L1_HIT_NANOS = 200_000;
+
+    private static volatile boolean enabled;
+    private static final ThreadLocal<FetchTrace> TRACE = ThreadLocal.withInitial(FetchTrace::new);
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private JMultiCacheTracing() {
+    }
+
+    static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 当前线程正在追踪的调用，没有时返回 null
+     */
+    public static FetchTrace current() {
+        if (!enabled || ACTIVE.get() == null) {
+            return null;
+        }
+        return TRACE.get();
+    }
+
+    /**
+     * 累加一个阶段的耗时；回源中的嵌套读取已计入 LOADER，不再重复记录
+     */
+    public static void record(FetchPhase phase, long nanos) {
+        FetchTrace trace = current();
+        if (trace != null && !trace.loading) {
+            trace.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    public static void payload(long bytes) {
+        FetchTrace trace = current();
+        if (trace != null && !trace.loading) {
+            trace.payloadBytes = bytes;
+        }
+    }
+
+    /**
+     * 为交给其他线程的子任务创建子追踪，当前线程没有在追踪时返回 null。子任务线程用 {@link #attach} 绑定，
+     * 完成后由原线程 {@link #join} 合并，避免多个线程同时写同一个 FetchTrace
+     */
+    public static FetchTrace fork() {
+        FetchTrace parent = current();
+        if (parent == null) {
+            return null;
+        }
+        FetchTrace child = new FetchTrace();
+        child.reset(parent.configName);
+        return child;
+    }
+
+    /**
+     * 在当前线程上绑定 {@link #fork()} 得到的子追踪，返回的句柄关闭时恢复原状态；child 为 null 时什么也不做
+     */
+    public static Attachment attach(FetchTrace child) {
+        if (child == null) {
+            return () -> {
+            };
+        }
+        FetchTrace previous = TRACE.get();
+        Boolean wasActive = ACTIVE.get();
+        TRACE.set(child);
+        ACTIVE.set(Boolean.TRUE);
+        return () -> {
+            TRACE.set(previous);
+            if (wasActive == null) {
+                ACTIVE.remove();
+            }
+        };
+    }
+
+    /**
+     * 把子追踪的各阶段耗时累加到当前线程的追踪上。并行子任务的耗时相加，可能大于实际经过的时间
+     */
+    public static void join(FetchTrace child) {
+        FetchTrace trace = current();
+        if (trace == null || child == null) {
+            return;
+        }
+        for (int i = 0; i < trace.phaseNanos.length; i++) {
+            trace.phaseNanos[i] += child.phaseNanos[i];
+        }
+        trace.payloadBytes = Math.max(trace.payloadBytes, child.payloadBytes);
+    }
+
+    static FetchTrace begin(String configName) {
+        FetchTrace trace = TRACE.get();
+        trace.reset(configName);
+        ACTIVE.set(Boolean.TRUE);
+        return trace;
+    }
+
+    static void end() {
+        ACTIVE.remove();
+    }
+
+    /**
+     * {@link #attach} 的解绑句柄
+     */
+    @FunctionalInterface
+    public interface Attachment extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 在框架入口和存储策略上采集分阶段耗时，交给 {@link JMultiCacheLatencyTracker} 汇总。
+ * <p>
+ * 覆盖 {@link JMultiCache} 的全部 fetch 方法和 {@link JMultiCacheable} 方法：fetch 方法把 loader 包一层记录 LOADER；
+ * {@link RedisStorageStrategy} 的 read / write 记录 L2_READ / BACKFILL，自定义策略通过 {@link JMultiCacheTracing}
+ * 已上报的部分不重复计入，框架内置策略的整段耗时 (含反序列化) 归入这两个阶段。
+ * 排在请求级缓存、布隆过滤器和成本感知切面之后，被它们直接拦下的调用不计入；代际、成本感知切面改走 fetchData 时，
+ * 回源仍按 LOADER 记录。走框架切面的 {@link JMultiCacheable} 方法拿不到框架内部的回源调用，方法体耗时计入 OTHER。
+ * 批量读取由框架在 BatchOperation 上执行，Redis 往返同样计入 OTHER。
+ * Collects phase timings at the framework entry points and on storage strategies. Method bodies of
+ * {@link JMultiCacheable} methods served by the framework aspect and batched Redis round trips end up in OTHER.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@RequiredArgsConstructor
+public class JMultiCacheTracingAspect {
+
+    private final JMultiCacheLatencyTracker jMultiCacheLatencyTracker;
+    private final JMultiCacheExtProperties properties;
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchData(String, java.util.function.Supplier, String...)) && args(configName, ..)")
+    public Object aroundFetchData(ProceedingJoinPoint pjp, String configName) throws Throwable {
+        if (!JMultiCacheTracing.isEnabled()) {
+            return pjp.proceed();
+        }
+        return trace(pjp, configName, (String[]) pjp.getArgs()[2], null, 1);
+    }
+
+    @Around("(execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchMultiDataMap(..))"
+            + " || execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchMultiDataList(..))) && args(configName, ids, ..)")
+    public Object aroundFetchMulti(ProceedingJoinPoint pjp, String configName, Collection<?> ids) throws Throwable {
+        if (!JMultiCacheTracing.isEnabled()) {
+            return pjp.proceed();
+        }
+        return trace(pjp, configName, null, "<" + ids.size() + " ids>", 3);
+    }
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchUnionData(..)) && args(keys, ..)")
+    public Object aroundFetchUnion(ProceedingJoinPoint pjp, List<String> keys) throws Throwable {
+        if (!JMultiCacheTracing.isEnabled() || keys.isEmpty()) {
+            return pjp.proceed();
+        }
+        String key = keys.size() == 1 ? keys.get(0) : keys.get(0) + " <+" + (keys.size() - 1) + " keys>";
+        return trace(pjp, configOf(keys.get(0), "fetchUnionData"), null, key, 1);
+    }
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.JMultiCache.fetchHashData(..)) && args(key, field, ..)")
+    public Object aroundFetchHash(ProceedingJoinPoint pjp, String key, String field) throws Throwable {
+        if (!JMultiCacheTracing.isEnabled()) {
+            return pjp.proceed();
+        }
+        return trace(pjp, configOf(key, "fetchHashData"), null, key + "#" + field, 3);
+    }
+
+    @Around("@annotation(cacheable)")
+    public Object aroundCacheable(ProceedingJoinPoint pjp, JMultiCacheable cacheable) throws Throwable {
+        String configName = cacheable.configName();
+        if (!JMultiCacheTracing.isEnabled() || !StringUtils.hasText(configName)) {
+            return pjp.proceed();
+        }
+        return trace(pjp, configName, null, pjp.getSignature().toShortString(), -1);
+    }
+
+    @Around("execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.read(..))"
+            + " || execution(* io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy.write(..))")
+    public Object aroundStorage(ProceedingJoinPoint pjp) throws Throwable {
+        FetchTrace trace = JMultiCacheTracing.current();
+        if (trace == null || trace.loading) {
+            return pjp.proceed();
+        }
+        FetchPhase phase = "read".equals(pjp.getSignature().getName()) ? FetchPhase.L2_READ : FetchPhase.BACKFILL;
+        long reported = reportedNanos(trace);
+        long start = System.nanoTime();
+        try {
+            return pjp.proceed();
+        } finally {
+            // 策略自己上报过的阶段不重复计入，剩余部分 (内置策略为全部耗时) 归入读取 / 回填
+            long unreported = System.nanoTime() - start - (reportedNanos(trace) - reported);
+            trace.phaseNanos[phase.ordinal()] += Math.max(0, unreported);
+        }
+    }
+
+    /**
+     * 执行一次被追踪的调用；loaderIndex 为参数中 loader 的位置，没有 loader 时为 -1
+     */
+    private Object trace(ProceedingJoinPoint pjp, String configName, String[] keyParts, String key, int loaderIndex) throws Throwable {
+        FetchTrace current = JMultiCacheTracing.current();
+        if (current != null && current.loading) {
+            // 回源里的嵌套读取，耗时计入外层的 LOADER
+            return pjp.proceed();
+        }
+        Object[] args = pjp.getArgs().clone();
+        if (current != null) {
+            // 同一次读取的内层入口 (如 @JMultiCacheable 方法被改走 fetchData)：只给回源计时
+            return proceed(pjp, args, current, loaderIndex);
+        }
+        FetchTrace trace = JMultiCacheTracing.begin(configName);
+        trace.keyParts = keyParts;
+        trace.key = key;
+        trace.startEpochNanos = System.currentTimeMillis() * 1_000_000;
+        long start = System.nanoTime();
+        try {
+            return proceed(pjp, args, trace, loaderIndex);
+        } finally {
+            long total = System.nanoTime() - start;
+            JMultiCacheTracing.end();
+            jMultiCacheLatencyTracker.finish(trace, total);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object proceed(ProceedingJoinPoint pjp, Object[] args, FetchTrace trace, int loaderIndex) throws Throwable {
+        if (loaderIndex < 0) {
+            return pjp.proceed();
+        }
+        Object loader = args[loaderIndex];
+        if (loader instanceof Supplier<?> supplier) {
+            args[loaderIndex] = (Supplier<Object>) () -> {
+                long loadStart = enterLoader(trace);
+                try {
+                    return supplier.get();
+                } finally {
+                    exitLoader(trace, loadStart);
+                }
+            };
+        } else if (loader instanceof Function<?, ?> function) {
+            Function<Object, Object> raw = (Function<Object, Object>) function;
+            args[loaderIndex] = (Function<Object, Object>) input -> {
+                long loadStart = enterLoader(trace);
+                try {
+                    return raw.apply(input);
+                } finally {
+                    exitLoader(trace, loadStart);
+                }
+            };
+        }
+        return pjp.proceed(args);
+    }
+
+    private static long enterLoader(FetchTrace trace) {
+        trace.loading = true;
+        return System.nanoTime();
+    }
+
+    private static void exitLoader(FetchTrace trace, long loadStart) {
+        trace.phaseNanos[FetchPhase.LOADER.ordinal()] += System.nanoTime() - loadStart;
+        trace.loading = false;
+    }
+
+    private static long reportedNanos(FetchTrace trace) {
+        long[] phases = trace.phaseNanos;
+        return phases[FetchPhase.L2_READ.ordinal()] + phases[FetchPhase.DESERIALIZE.ordinal()]
+                + phases[FetchPhase.BACKFILL.ordinal()];
+    }
+
+    /**
+     * 按 namespace 前缀找到 Key 所属的配置，找不到时使用 fallback，避免直方图按原始 Key 无限增长
+     */
+    private String configOf(String key, String fallback) {
+        for (var entry : properties.getConfigs().entrySet()) {
+            String namespace = entry.getValue().getNamespace();
+            if (namespace != null && key.startsWith(namespace) && (key.length() == namespace.length()
+                    || key.charAt(namespace.length()) == ':')) {
+                return entry.getKey();
+            }
+        }
+        return fallback;
+    }
+}
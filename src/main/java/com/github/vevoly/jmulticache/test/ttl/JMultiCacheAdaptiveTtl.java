@@ -0,0 +1,167 @@
+package com.github.vevoly.jmulticache.test.ttl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.AdaptiveTtlConfig;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ExtConfig;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 自适应 TTL。
+ * <p>
+ * 静态的 redis-ttl / local-ttl 只能靠猜。这里按 Key 记录访问频率和变化频率 (回源结果与上次是否不同)：
+ * 回源结果不变且访问频繁时 TTL 翻倍，发生变化时减半 (AIMD)，并限制在 min-ttl ~ max-ttl 之间。
+ * 新的 Redis TTL 在回填后通过 PEXPIRE 生效；本地 TTL 按配置中 local-ttl / redis-ttl 的比例缩放，
+ * 缩短时由本组件提前淘汰 L1，最长不超过配置的 local-ttl。
+ * Adaptive per-key TTL. Unchanged reloads of frequently read keys double the TTL, changed reloads halve
+ * it, within configured bounds. The Redis TTL is applied with PEXPIRE after backfill; the local TTL is
+ * scaled by the configured local/redis ratio and enforced by evicting L1 early.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheAdaptiveTtl {
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final JMultiCacheExtProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Key: Redis Key
+    private final Cache<String, KeyStats> keyStats = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(1, TimeUnit.HOURS)
+            .build();
+
+    /**
+     * 带自适应 TTL 的 fetchData，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getAdaptiveTtl().isEnabled()) {
+            return jMultiCache.fetchData(configName, supplier, keyParts);
+        }
+        String key = properties.buildRedisKey(configName, keyParts);
+        KeyStats stats = keyStats.get(key, k -> new KeyStats(initialTtl(config)));
+        long now = System.currentTimeMillis();
+        stats.recordAccess(now);
+
+        // 自适应的本地 TTL 比配置更短时，提前淘汰 L1
+        if (stats.localLoadedAt > 0 && now - stats.localLoadedAt > localTtlMillis(config, stats.ttlMillis)) {
+            jMultiCacheOps.evictL1(configName, (Object[]) keyParts);
+            stats.localLoadedAt = 0;
+        }
+
+        boolean[] reloaded = {false};
+        T value = jMultiCache.fetchData(configName, () -> {
+            reloaded[0] = true;
+            return supplier.get();
+        }, keyParts);
+
+        if (stats.localLoadedAt == 0) {
+            stats.localLoadedAt = now;
+        }
+        if (reloaded[0] && value != null) {
+            long ttl = stats.onReload(hash(value), config.getAdaptiveTtl(), now);
+            stringRedisTemplate.expire(key, ttl, TimeUnit.MILLISECONDS);
+            stats.localLoadedAt = now;
+            log.debug("[AdaptiveTtl] key={}, ttl={}ms, changes={}/{}", key, ttl, stats.changes, stats.reloads);
+        }
+        return value;
+    }
+
+    /**
+     * 当前 Key 的自适应 Redis TTL，未记录时返回 null
+     */
+    public Duration getTtl(String configName, String... keyParts) {
+        KeyStats stats = keyStats.getIfPresent(properties.buildRedisKey(configName, keyParts));
+        return stats == null ? null : Duration.ofMillis(stats.ttlMillis);
+    }
+
+    private long initialTtl(ExtConfig config) {
+        AdaptiveTtlConfig adaptive = config.getAdaptiveTtl();
+        long base = config.getRedisTtl() == null ? adaptive.getMinTtl().toMillis() : config.getRedisTtl().toMillis();
+        return clamp(base, adaptive);
+    }
+
+    private long localTtlMillis(ExtConfig config, long redisTtlMillis) {
+        if (config.getLocalTtl() == null || config.getRedisTtl() == null || config.getRedisTtl().isZero()) {
+            return Long.MAX_VALUE;
+        }
+        double ratio = (double) config.getLocalTtl().toMillis() / config.getRedisTtl().toMillis();
+        return Math.min(config.getLocalTtl().toMillis(), (long) (redisTtlMillis * ratio));
+    }
+
+    private int hash(Object value) {
+        try {
+            return Arrays.hashCode(objectMapper.writeValueAsBytes(value));
+        } catch (Exception e) {
+            return value.hashCode();
+        }
+    }
+
+    private static long clamp(long ttl, AdaptiveTtlConfig adaptive) {
+        return Math.max(adaptive.getMinTtl().toMillis(), Math.min(adaptive.getMaxTtl().toMillis(), ttl));
+    }
+
+    /**
+     * 单个 Key 的统计，只在回源时做计算，访问路径上只更新计数
+     */
+    private static final class KeyStats {
+        volatile long ttlMillis;
+        volatile long localLoadedAt;
+        volatile int lastHash;
+        volatile long windowStart = System.currentTimeMillis();
+        volatile int windowAccesses;
+        volatile double accessPerMinute;
+        int reloads;
+        int changes;
+
+        KeyStats(long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+        }
+
+        void recordAccess(long now) {
+            windowAccesses++;
+            long elapsed = now - windowStart;
+            if (elapsed >= 60_000) {
+                // 按分钟窗口平滑访问频率
+                accessPerMinute = accessPerMinute * 0.5 + windowAccesses * 60_000.0 / elapsed * 0.5;
+                windowAccesses = 0;
+                windowStart = now;
+            }
+        }
+
+        synchronized long onReload(int valueHash, AdaptiveTtlConfig adaptive, long now) {
+            boolean first = reloads == 0;
+            reloads++;
+            boolean changed = !first && valueHash != lastHash;
+            lastHash = valueHash;
+            if (changed) {
+                changes++;
+                ttlMillis = clamp(ttlMillis / 2, adaptive);
+            } else if (!first && currentAccessPerMinute(now) >= adaptive.getHotAccessPerMinute()) {
+                ttlMillis = clamp(ttlMillis * 2, adaptive);
+            }
+            return ttlMillis;
+        }
+
+        private double currentAccessPerMinute(long now) {
+            long elapsed = Math.max(1, now - windowStart);
+            return Math.max(accessPerMinute, windowAccesses * 60_000.0 / elapsed);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.vevoly.jmulticache.test.version;
+
+/**
+ * 回源线程上的版本戳：{@link JMultiCacheVersionGuard} 记录回源时看到的版本，
+ * 存储策略回填 L2 时取出并在同一个 Lua 脚本中校验版本、写入数据。
+ * Per-thread backfill stamp. The version guard records the version observed by the load, and the
+ * storage strategy checks it and writes the value in a single Lua script.
+ */
+public final class BackfillStamp {
+
+    public enum State {
+        // 还没有存储策略处理过
+        PENDING,
+        ACCEPTED,
+        REJECTED
+    }
+
+    private static final ThreadLocal<BackfillStamp> CURRENT = new ThreadLocal<>();
+
+    private final String dataKey;
+    private final String versionKey;
+    private final String version;
+    private final BackfillStamp previous;
+    private State state = State.PENDING;
+
+    private BackfillStamp(String dataKey, String versionKey, String version, BackfillStamp previous) {
+        this.dataKey = dataKey;
+        this.versionKey = versionKey;
+        this.version = version;
+        this.previous = previous;
+    }
+
+    static BackfillStamp open(String dataKey, String versionKey, String version) {
+        BackfillStamp stamp = new BackfillStamp(dataKey, versionKey, version, CURRENT.get());
+        CURRENT.set(stamp);
+        return stamp;
+    }
+
+    /**
+     * 当前线程上与 dataKey 对应、尚未处理的版本戳；没有时返回 null，按普通写入处理
+     */
+    public static BackfillStamp current(String dataKey) {
+        BackfillStamp stamp = CURRENT.get();
+        return stamp != null && stamp.state == State.PENDING && stamp.dataKey.equals(dataKey) ? stamp : null;
+    }
+
+    public String getVersionKey() {
+        return versionKey;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void complete(boolean accepted) {
+        this.state = accepted ? State.ACCEPTED : State.REJECTED;
+    }
+
+    void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
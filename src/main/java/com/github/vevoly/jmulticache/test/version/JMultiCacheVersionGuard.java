@@ -0,0 +1,245 @@
+package com.github.vevoly.jmulticache.test.version;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.VersionGuardConfig;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.strategy.VersionedStorageStrategy;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 版本墓碑：解决 "慢回源 + 并发删除" 导致旧数据被回填的问题。
+ * <p>
+ * 每个 Key 旁边维护一个版本标记 (Redis 服务端时间戳，单调递增)。evict 时原子地写入更新的版本并删除数据，
+ * 回源前后比较版本：回源期间版本变化则重新加载；回填时由 {@link VersionedStorageStrategy} 在同一个 Lua 脚本中
+ * 校验版本并写入，版本不一致的旧值不会进入 L2。
+ * Version tombstones against stale backfill races. Evictions atomically bump a per-key version and
+ * delete the entry; loads that observe a version change are retried, and the backfill is a single
+ * check-and-set script in {@link VersionedStorageStrategy}, so an older value never reaches L2.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheVersionGuard {
+
+    public static final String VERSION_SUFFIX = ":ver";
+
+    /**
+     * KEYS[1]=版本 Key, KEYS[2]=数据 Key, ARGV[1]=墓碑 TTL (毫秒)
+     * 新版本 = max(服务端微秒时间, 当前版本 + 1)，墓碑过期后也不会出现 ABA；
+     * 用 %.0f 写入，避免 Lua 把大整数转成科学计数法
+     */
+    private static final RedisScript<Long> TOMBSTONE_SCRIPT = new DefaultRedisScript<>(
+            "local t = redis.call('TIME') " +
+            "local v = tonumber(t[1]) * 1000000 + tonumber(t[2]) " +
+            "local cur = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "if v <= cur then v = cur + 1 end " +
+            "redis.call('SET', KEYS[1], string.format('%.0f', v), 'PX', ARGV[1]) " +
+            "redis.call('DEL', KEYS[2]) " +
+            "return v", Long.class);
+
+    private static final RedisScript<String> SERVER_TIME_SCRIPT = new DefaultRedisScript<>(
+            "local t = redis.call('TIME') " +
+            "return string.format('%.0f', tonumber(t[1]) * 1000000 + tonumber(t[2]))", String.class);
+
+    /**
+     * KEYS[1]=版本 Key, KEYS[2]=数据 Key, ARGV[1]=回源开始时的服务端时间 (微秒)
+     * 用于 storage-type 不是 versioned 的配置：预热后删除回源开始后被 evict 过的条目
+     */
+    private static final RedisScript<Long> DELETE_IF_EVICTED_SINCE_SCRIPT = new DefaultRedisScript<>(
+            "if tonumber(redis.call('GET', KEYS[1]) or '0') >= tonumber(ARGV[1]) then " +
+            "  redis.call('DEL', KEYS[2]) return 0 " +
+            "end return 1", Long.class);
+
+    /**
+     * KEYS[1]=版本 Key, KEYS[2]=数据 Key, ARGV[1]=回源时看到的版本
+     * 仅用于 storage-type 不是 versioned 的配置：回填后才校验，校验前的短暂窗口内其他节点仍可能读到旧值
+     */
+    private static final RedisScript<Long> VALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then " +
+            "  redis.call('DEL', KEYS[2]) return 0 " +
+            "end return 1", Long.class);
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final JMultiCacheExtProperties properties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+    private final VersionedStorageStrategy versionedStorageStrategy;
+
+    /**
+     * 带版本校验的 fetchData，参数与 {@link JMultiCache#fetchData} 一致
+     */
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        VersionGuardConfig guardConfig = getGuardConfig(configName);
+        if (guardConfig == null) {
+            return jMultiCache.fetchData(configName, supplier, keyParts);
+        }
+        String dataKey = properties.buildRedisKey(configName, keyParts);
+        String versionKey = dataKey + VERSION_SUFFIX;
+
+        BackfillStamp[] stamp = new BackfillStamp[1];
+        T value;
+        try {
+            value = jMultiCache.fetchData(configName, () -> {
+                String[] seenVersion = new String[1];
+                T loaded = loadWithStableVersion(versionKey, supplier, guardConfig.getMaxReloads(), seenVersion);
+                // 回源结束后才挂上版本戳，回源过程中嵌套的 fetchData 不会误用
+                stamp[0] = BackfillStamp.open(dataKey, versionKey, seenVersion[0]);
+                return loaded;
+            }, keyParts);
+        } finally {
+            if (stamp[0] != null) {
+                stamp[0].close();
+            }
+        }
+
+        // 命中缓存时没有回填，无需校验
+        if (stamp[0] == null) {
+            return value;
+        }
+        boolean accepted = switch (stamp[0].getState()) {
+            case ACCEPTED -> true;
+            case REJECTED -> false;
+            // 存储策略没有处理版本戳，退回事后校验
+            case PENDING -> Long.valueOf(1L).equals(stringRedisTemplate.execute(VALIDATE_SCRIPT,
+                    List.of(versionKey, dataKey), stamp[0].getVersion()));
+        };
+        if (!accepted) {
+            // L2 没有写入旧值，但框架已经把它放进了本节点 L1
+            jMultiCacheOps.evictL1(configName, (Object[]) keyParts);
+            log.info("[VersionGuard] 回源期间发生 evict，已拒绝旧数据回填. key={}", dataKey);
+        }
+        return value;
+    }
+
+    @PostConstruct
+    public void checkStorageTypes() {
+        properties.getConfigs().forEach((name, config) -> {
+            if (config.getVersionGuard().isEnabled() && !VersionedStorageStrategy.TYPE_NAME.equals(config.getStorageType())) {
+                log.warn("[VersionGuard] storage-type 不是 {}，回填只能事后校验. config={}",
+                        VersionedStorageStrategy.TYPE_NAME, name);
+            }
+        });
+    }
+
+    /**
+     * 删除缓存并留下更新版本的墓碑
+     */
+    public void evict(String configName, String... keyParts) {
+        tombstone(configName, keyParts);
+        jMultiCacheInvalidationHub.evict(configName, keyParts);
+    }
+
+    /**
+     * 只写入更新版本的墓碑并删除 L2，不通知失效中心；用于随后由调用方自行写入或广播的场景。
+     * 未启用 version-guard 的配置什么也不做
+     */
+    public void tombstone(String configName, String... keyParts) {
+        VersionGuardConfig guardConfig = getGuardConfig(configName);
+        if (guardConfig == null) {
+            return;
+        }
+        String dataKey = properties.buildRedisKey(configName, keyParts);
+        stringRedisTemplate.execute(TOMBSTONE_SCRIPT, List.of(dataKey + VERSION_SUFFIX, dataKey),
+                String.valueOf(guardConfig.getTombstoneTtl().toMillis()));
+    }
+
+    /**
+     * 一批记录回源前调用，返回当前的服务端时间 (微秒)。之后写入的墓碑版本都不小于它
+     */
+    public String loadStart() {
+        return stringRedisTemplate.execute(SERVER_TIME_SCRIPT, List.of());
+    }
+
+    /**
+     * 预热一批在同一次回源中加载的记录，Map 的 Key 与 {@link JMultiCacheOps#preloadMultiCache} 一致。
+     * 回源开始 (since) 之后被 evict 过的条目不会留在 L2；未启用 version-guard 的配置直接预热
+     *
+     * @param since {@link #loadStart()} 在回源前返回的时间
+     * @return 被拒绝的 Key 后缀，调用方不应再把这些值当作缓存内容
+     */
+    public <T> Set<String> preloadMultiCache(String configName, Map<String, T> dataMap, String since) {
+        if (dataMap.isEmpty()) {
+            return Set.of();
+        }
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (getGuardConfig(configName) == null) {
+            jMultiCacheOps.preloadMultiCache(configName, dataMap);
+            return Set.of();
+        }
+        Map<String, String> suffixByKey = new LinkedHashMap<>(dataMap.size() * 2);
+        dataMap.keySet().forEach(suffix -> suffixByKey.put(properties.buildRedisKey(configName, suffix.split(":")), suffix));
+        Set<String> rejected = new LinkedHashSet<>();
+        if (VersionedStorageStrategy.TYPE_NAME.equals(config.getStorageType())) {
+            // 比较和写入在同一个脚本中完成，旧值不会进入 L2；只写 L2，L1 在下一次读取时填充
+            Map<String, T> dataByKey = new LinkedHashMap<>(dataMap.size() * 2);
+            suffixByKey.forEach((key, suffix) -> dataByKey.put(key, dataMap.get(suffix)));
+            Duration ttl = config.getRedisTtl() == null ? Duration.ofHours(1) : config.getRedisTtl();
+            versionedStorageStrategy.writeIfNotEvictedSince(dataByKey, since, ttl)
+                    .forEach(key -> rejected.add(suffixByKey.get(key)));
+        } else {
+            // 其他存储类型只能先写再校验
+            jMultiCacheOps.preloadMultiCache(configName, dataMap);
+            suffixByKey.forEach((key, suffix) -> {
+                Long kept = stringRedisTemplate.execute(DELETE_IF_EVICTED_SINCE_SCRIPT,
+                        List.of(key + VERSION_SUFFIX, key), since);
+                if (!Long.valueOf(1L).equals(kept)) {
+                    jMultiCacheOps.evictL1(configName, (Object[]) suffix.split(":"));
+                    rejected.add(suffix);
+                }
+            });
+        }
+        if (!rejected.isEmpty()) {
+            log.info("[VersionGuard] 回源期间发生 evict，已拒绝预热旧数据. config={}, keys={}", configName, rejected);
+        }
+        return rejected;
+    }
+
+    /**
+     * 回源期间版本发生变化则重新加载，返回前记录最终看到的版本
+     */
+    private <T> T loadWithStableVersion(String versionKey, Supplier<T> supplier, int maxReloads, String[] seenVersion) {
+        String before = currentVersion(versionKey);
+        T value = supplier.get();
+        for (int i = 0; i < maxReloads; i++) {
+            String after = currentVersion(versionKey);
+            if (after.equals(before)) {
+                break;
+            }
+            log.debug("[VersionGuard] 回源期间版本变化，重新加载. key={}, {} -> {}", versionKey, before, after);
+            before = after;
+            value = supplier.get();
+        }
+        seenVersion[0] = before;
+        return value;
+    }
+
+    private String currentVersion(String versionKey) {
+        String version = stringRedisTemplate.opsForValue().get(versionKey);
+        return version == null ? "0" : version;
+    }
+
+    private VersionGuardConfig getGuardConfig(String configName) {
+        JMultiCacheExtProperties.ExtConfig config = properties.getConfig(configName);
+        if (config == null || !config.getVersionGuard().isEnabled()) {
+            return null;
+        }
+        return config.getVersionGuard();
+    }
+}
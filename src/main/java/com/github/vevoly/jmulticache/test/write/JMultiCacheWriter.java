@@ -0,0 +1,252 @@
+package com.github.vevoly.jmulticache.test.write;
+
+import com.github.vevoly.jmulticache.test.bloom.JMultiCacheBloomGuard;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ExtConfig;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.WriteMode;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 显式写缓存 API，支持 write-through 与 write-behind。
+ * <p>
+ * write-behind 模式下，同一个 Key 的多次更新在有界缓冲区中合并，按 flush-interval 批量写入 L2
+ * （走 preloadMultiCache 的 pipeline 路径），本节点的读取通过 {@link #fetchData} 立即可见。
+ * 写入 L2 后用刚写入的值重新加载本节点 L1，而不是只让 L1 失效；
+ * write-behind 的数据在刷新前由缓冲区充当本节点的 L1（框架没有直接写 L1 的 API，L2 里仍是旧值）。
+ * Explicit cache update API. In write-behind mode repeated updates of the same key are coalesced
+ * in a bounded buffer and flushed to L2 in pipelined batches; local reads see them immediately.
+ * After each L2 write the local L1 is reloaded with the new value; until a write-behind batch is
+ * flushed the buffer serves as the node-local view.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JMultiCacheWriter {
+
+    private final JMultiCache jMultiCache;
+    private final JMultiCacheOps jMultiCacheOps;
+    private final JMultiCacheExtProperties properties;
+    private final JMultiCacheBloomGuard jMultiCacheBloomGuard;
+    private final JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    private final Map<String, WriteBehindBuffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "j-multi-cache-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 写入单条缓存，keyParts 与 fetchData 一致
+     */
+    public <T> void put(String configName, T value, String... keyParts) {
+        putAll(configName, Map.of(String.join(":", keyParts), value));
+    }
+
+    /**
+     * 批量写入，Map 的 Key 为 keyParts 以 ":" 拼接的结果，与 preloadMultiCache 一致
+     */
+    public <T> void putAll(String configName, Map<String, T> dataMap) {
+        if (dataMap.isEmpty()) {
+            return;
+        }
+        jMultiCacheBloomGuard.putAll(configName, dataMap.keySet());
+        if (getWriteMode(configName) == WriteMode.BEHIND) {
+            getBuffer(configName).putAll(dataMap);
+            // L2 中还是旧值，本节点 L1 和扩展层副本先失效，刷新前读取由缓冲区提供最新值；刷新时再广播
+            dataMap.keySet().forEach(suffix -> {
+                evictL1(configName, suffix);
+                jMultiCacheInvalidationHub.invalidateLocal(configName, suffix.split(":"));
+            });
+            return;
+        }
+        writeThrough(configName, dataMap);
+    }
+
+    /**
+     * 读取时优先返回尚未刷新的 write-behind 数据，保证本节点读己之写
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T fetchData(String configName, Supplier<T> supplier, String... keyParts) {
+        WriteBehindBuffer buffer = buffers.get(configName);
+        if (buffer != null) {
+            Object pending = buffer.get(String.join(":", keyParts));
+            if (pending != null) {
+                return (T) pending;
+            }
+        }
+        return jMultiCache.fetchData(configName, supplier, keyParts);
+    }
+
+    /**
+     * 立即刷新指定配置的缓冲区。定时刷新和缓冲区满时的同步刷新共用一把锁，同一配置同一时刻只有一个批次在写
+     */
+    public void flush(String configName) {
+        WriteBehindBuffer buffer = buffers.get(configName);
+        if (buffer == null) {
+            return;
+        }
+        buffer.flushLock.lock();
+        try {
+            Map<String, Object> batch = buffer.drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                writeThrough(configName, batch);
+                buffer.complete();
+                log.debug("[WriteBehind] 刷新完成. config={}, size={}", configName, batch.size());
+            } catch (Exception e) {
+                // 写失败时放回缓冲区，已有更新的 Key 不会被旧值覆盖；放不下的部分不再保留
+                Map<String, Object> dropped = buffer.restore();
+                log.error("[WriteBehind] 刷新失败，等待下次重试. config={}, size={}, dropped={}",
+                        configName, batch.size(), dropped.size(), e);
+                evictDropped(configName, dropped.keySet());
+            }
+        } finally {
+            buffer.flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdown();
+        buffers.keySet().forEach(this::flush);
+    }
+
+    private void writeThrough(String configName, Map<String, ?> dataMap) {
+        jMultiCacheOps.preloadMultiCache(configName, dataMap);
+        jMultiCacheInvalidationHub.invalidateSuffixes(configName, dataMap.keySet());
+        dataMap.forEach((suffix, value) -> reloadL1(configName, suffix, value));
+    }
+
+    /**
+     * 用刚写入 L2 的值重新加载本节点 L1：先失效旧条目，再由 fetchData 从 L2 读回
+     */
+    private void reloadL1(String configName, String suffix, Object value) {
+        String[] keyParts = suffix.split(":");
+        jMultiCacheOps.evictL1(configName, (Object[]) keyParts);
+        jMultiCache.fetchData(configName, () -> value, keyParts);
+    }
+
+    /**
+     * 超出缓冲区上限而被丢弃的写入：L2 中仍是旧值，先失效本节点 L1，再尽力通过失效中心删除 L2 并广播，
+     * 之后的读取回源得到最新数据
+     */
+    private void evictDropped(String configName, Collection<String> suffixes) {
+        for (String suffix : suffixes) {
+            evictL1(configName, suffix);
+            try {
+                jMultiCacheInvalidationHub.evict(configName, suffix.split(":"));
+            } catch (Exception e) {
+                log.warn("[WriteBehind] 丢弃的写入失效失败，L2 中的旧值需等待过期. config={}, key={}", configName, suffix, e);
+            }
+        }
+    }
+
+    private void evictL1(String configName, String suffix) {
+        jMultiCacheOps.evictL1(configName, (Object[]) suffix.split(":"));
+    }
+
+    private WriteMode getWriteMode(String configName) {
+        ExtConfig config = properties.getConfig(configName);
+        return config == null ? WriteMode.THROUGH : config.getWriteMode();
+    }
+
+    private WriteBehindBuffer getBuffer(String configName) {
+        return buffers.computeIfAbsent(configName, name -> {
+            ExtConfig config = properties.getConfig(name);
+            WriteBehindBuffer buffer = new WriteBehindBuffer(config.getWriteBehind().getMaxPending(), () -> flush(name));
+            long intervalMillis = config.getWriteBehind().getFlushInterval().toMillis();
+            flushScheduler.scheduleWithFixedDelay(() -> flush(name), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            return buffer;
+        });
+    }
+
+    /**
+     * 有界合并缓冲区：同一个 Key 只保留最后一次写入
+     */
+    static class WriteBehindBuffer {
+
+        private final int maxPending;
+        private final Runnable overflowFlush;
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private Map<String, Object> pending = new LinkedHashMap<>();
+        // 已取出、正在写入 L2 的批次，写完之前读取仍然可见
+        private Map<String, Object> inflight = Map.of();
+
+        WriteBehindBuffer(int maxPending, Runnable overflowFlush) {
+            this.maxPending = maxPending;
+            this.overflowFlush = overflowFlush;
+        }
+
+        void putAll(Map<String, ?> dataMap) {
+            boolean full;
+            synchronized (this) {
+                pending.putAll(dataMap);
+                full = pending.size() >= maxPending;
+            }
+            // 缓冲区满时由写入线程同步刷新，形成背压
+            if (full) {
+                overflowFlush.run();
+            }
+        }
+
+        synchronized Object get(String suffix) {
+            Object value = pending.get(suffix);
+            return value != null ? value : inflight.get(suffix);
+        }
+
+        synchronized Map<String, Object> drain() {
+            inflight = pending;
+            pending = new LinkedHashMap<>();
+            return inflight;
+        }
+
+        synchronized void complete() {
+            inflight = Map.of();
+        }
+
+        /**
+         * 把写入失败的批次放回缓冲区，与正常写入使用同一个上限：刷新期间的新写入优先，
+         * 旧批次只放回剩余容量，放不下的条目作为结果返回，由调用方处理
+         */
+        synchronized Map<String, Object> restore() {
+            Map<String, Object> dropped = new LinkedHashMap<>();
+            int room = maxPending - pending.size();
+            for (Map.Entry<String, Object> entry : inflight.entrySet()) {
+                if (pending.containsKey(entry.getKey())) {
+                    continue;
+                }
+                if (room > 0) {
+                    pending.put(entry.getKey(), entry.getValue());
+                    room--;
+                } else {
+                    dropped.put(entry.getKey(), entry.getValue());
+                }
+            }
+            inflight = Map.of();
+            return dropped;
+        }
+
+        synchronized int size() {
+            return pending.size();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.vevoly.jmulticache.test.accessor;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.KeyTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JMultiCacheAccessorGeneratorTest {
+
+    @Test
+    @DisplayName("测试访问器生成：key-field 中的字面量后缀作为独立的 keyPart 保留")
+    void testLiteralSegmentsKept() {
+        assertThat(args("#id + ':suffix'")).isEqualTo("part(id), \"suffix\"");
+        assertThat(args("#tenantId + ':' + #id")).isEqualTo("part(tenantId), part(id)");
+        assertThat(args("'v2:' + #id")).isEqualTo("\"v2\", part(id)");
+        assertThat(args("#region + '_' + #id")).isEqualTo("part(region) + \"_\" + part(id)");
+
+        JMultiCacheExtProperties.ExtConfig config = new JMultiCacheExtProperties.ExtConfig();
+        config.setKeyField("#id + ':suffix'");
+        config.setEntityClass("com.github.vevoly.jmulticache.test.entity.TestUser");
+        String source = new JMultiCacheAccessorGenerator(new JMultiCacheExtProperties())
+                .generateSource("TEST_WEIRD_SUFFIX", "TestWeirdSuffixAccessor", config);
+        assertThat(source).contains("public com.github.vevoly.jmulticache.test.entity.TestUser fetch(Long id, ")
+                .contains("doFetch(loader, part(id), \"suffix\");")
+                .contains("doEvict(part(id), \"suffix\");")
+                .contains("public static final TypeReference<com.github.vevoly.jmulticache.test.entity.TestUser> TYPE")
+                .contains("super(jMultiCache, jMultiCacheOps, CONFIG_NAME, TYPE);");
+    }
+
+    @Test
+    @DisplayName("测试访问器生成：写入指定目录，每个配置一个类")
+    void testGenerateIntoDirectory(@TempDir Path sourceRoot) throws IOException {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        JMultiCacheExtProperties.ExtConfig config = new JMultiCacheExtProperties.ExtConfig();
+        config.setKeyField("#tenantId");
+        config.setStorageType("list");
+        config.setEntityClass("com.github.vevoly.jmulticache.test.entity.TestUser");
+        properties.getConfigs().put("TEST_USER_CACHE_LIST", config);
+
+        new JMultiCacheAccessorGenerator(properties).generateAccessors(sourceRoot);
+
+        Path generated = sourceRoot.resolve("jmulticache/generated/accessor/TestUserCacheListAccessor.java");
+        assertThat(generated).exists();
+        assertThat(Files.readString(generated))
+                .contains("TypeReference<java.util.List<com.github.vevoly.jmulticache.test.entity.TestUser>> TYPE")
+                .contains("fetch(String tenantId, ");
+    }
+
+    private static String args(String keyField) {
+        KeyTemplate template = KeyTemplate.compile(null, keyField);
+        return JMultiCacheAccessorGenerator.keyPartArgs(template.getLiterals(), template.getVariables());
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTraceSimulatorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("测试环形文件：写满后保留最近的记录，按时间顺序读出")
+    void testRingFile() throws Exception {
+        Path path = dir.resolve("TEST_USER_CACHE.trace");
+        try (AccessTraceFile file = AccessTraceFile.open(path, 100)) {
+            for (int i = 0; i < 250; i++) {
+                file.append(i, 1_000L + i, AccessEvent.LEVEL_L1, i);
+            }
+        }
+        // 重新打开继续追加
+        try (AccessTraceFile file = AccessTraceFile.open(path, 100)) {
+            assertThat(file.getWritten()).isEqualTo(250);
+            file.append(250, 1_250L, AccessEvent.LEVEL_LOADER, 7);
+        }
+
+        List<AccessEvent> events = AccessTraceFile.read(path);
+        assertThat(events).hasSize(100);
+        assertThat(events.get(0).keyHash()).isEqualTo(151);
+        assertThat(events.get(99)).isEqualTo(new AccessEvent(250, 1_250L, AccessEvent.LEVEL_LOADER, 7));
+    }
+
+    @Test
+    @DisplayName("测试重放模拟：L1 越大命中率越高，L2 TTL 越长回源越少")
+    void testSimulation() {
+        // 偏斜访问：20% 的 Key 承担大部分流量，每 10ms 一次
+        Random random = new Random(42);
+        List<AccessEvent> events = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextDouble() < 0.8 ? random.nextInt(200) : 200 + random.nextInt(5_000);
+            events.add(new AccessEvent(key, i * 10L, AccessEvent.LEVEL_L2, 0));
+        }
+
+        AccessTraceSimulator.Result small = AccessTraceSimulator.simulate(events, new AccessTraceSimulator.Scenario(
+                AccessTraceSimulator.Policy.TINY_LFU, 100, Duration.ofMinutes(1), Duration.ofHours(1)));
+        AccessTraceSimulator.Result large = AccessTraceSimulator.simulate(events, new AccessTraceSimulator.Scenario(
+                AccessTraceSimulator.Policy.TINY_LFU, 2_000, Duration.ofMinutes(1), Duration.ofHours(1)));
+        AccessTraceSimulator.Result shortRedisTtl = AccessTraceSimulator.simulate(events, new AccessTraceSimulator.Scenario(
+                AccessTraceSimulator.Policy.LRU, 2_000, Duration.ofMinutes(1), Duration.ofSeconds(30)));
+
+        assertThat(large.l1HitRatio()).isGreaterThan(small.l1HitRatio());
+        assertThat(large.l2RequestsPerSecond()).isLessThan(small.l2RequestsPerSecond());
+        assertThat(shortRedisTtl.loads()).isGreaterThan(large.loads());
+        assertThat(large.requests()).isEqualTo(50_000);
+    }
+}
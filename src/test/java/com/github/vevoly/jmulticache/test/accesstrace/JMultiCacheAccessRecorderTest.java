@@ -0,0 +1,111 @@
+package com.github.vevoly.jmulticache.test.accesstrace;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.key.JMultiCacheKeyGenerator;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JMultiCacheAccessRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("测试访问记录：在框架入口按本次调用的框架动作判定命中层级，回源记录采样大小，@JMultiCacheable 方法同样记录")
+    void testRecordFromFrameworkPath() throws Exception {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        properties.getAccessTrace().setDirectory(dir.toString());
+        JMultiCacheExtProperties.ExtConfig config = new JMultiCacheExtProperties.ExtConfig();
+        config.setNamespace("test:a");
+        config.setRecordAccess(true);
+        properties.getConfigs().put("CONFIG_A", config);
+        JMultiCacheAccessRecorder recorder = new JMultiCacheAccessRecorder(properties, new ObjectMapper());
+        JMultiCacheKeyGenerator keyGenerator = mock(JMultiCacheKeyGenerator.class);
+        when(keyGenerator.buildKey(eq("CONFIG_A"), any(), any())).thenReturn("test:a:9");
+        JMultiCacheAccessRecordAspect aspect = new JMultiCacheAccessRecordAspect(recorder, keyGenerator, properties);
+
+        RedisStorageStrategy<Object> strategy = proxy(mock(RedisStorageStrategy.class), aspect);
+        when(strategy.read(any(), eq("test:a:2"), any(), any())).thenReturn("l2");
+
+        // 模拟框架：1 命中 L1；2 命中 L2；3 未命中，回源后回填
+        JMultiCache framework = mock(JMultiCache.class);
+        doAnswer(invocation -> {
+            String key = "test:a:" + invocation.getArgument(2);
+            if (key.endsWith(":1")) {
+                return "l1";
+            }
+            Object value = strategy.read(null, key, null, null);
+            if (value == null) {
+                value = ((Supplier<Object>) invocation.getArgument(1)).get();
+                strategy.write(null, key, value, null);
+            }
+            return value;
+        }).when(framework).fetchData(anyString(), any(), any(String[].class));
+        JMultiCache jMultiCache = proxy(framework, aspect);
+
+        jMultiCache.fetchData("CONFIG_A", () -> "db", "1");
+        jMultiCache.fetchData("CONFIG_A", () -> "db", "2");
+        jMultiCache.fetchData("CONFIG_A", () -> "value", "3");
+        // 未开启 record-access 的配置不记录
+        jMultiCache.fetchData("CONFIG_B", () -> "db", "1");
+
+        CachedService target = new CachedService(strategy);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        CachedService service = factory.getProxy();
+        service.load();
+        recorder.close();
+
+        List<AccessEvent> events = AccessTraceFile.read(recorder.getTracePath("CONFIG_A"));
+        assertThat(events).extracting(AccessEvent::level).containsExactly(
+                AccessEvent.LEVEL_L1, AccessEvent.LEVEL_L2, AccessEvent.LEVEL_LOADER, AccessEvent.LEVEL_LOADER);
+        assertThat(events.get(0).keyHash()).isEqualTo(JMultiCacheAccessRecorder.hash("test:a:1"));
+        // "value" 的 JSON 为 7 字节；第二次回源未采样，使用均值
+        assertThat(events).extracting(AccessEvent::sizeBytes).containsExactly(0, 0, 7, 7);
+        assertThat(events.get(3).keyHash()).isEqualTo(JMultiCacheAccessRecorder.hash("test:a:9"));
+        assertThat(recorder.getTracePath("CONFIG_B")).doesNotExist();
+    }
+
+    private static <T> T proxy(T target, JMultiCacheAccessRecordAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    public static class CachedService {
+
+        private final RedisStorageStrategy<Object> strategy;
+
+        CachedService(RedisStorageStrategy<Object> strategy) {
+            this.strategy = strategy;
+        }
+
+        // 模拟框架切面：L2 未命中，执行方法体后回填
+        @JMultiCacheable(configName = "CONFIG_A")
+        public String load() {
+            strategy.read(null, "test:a:9", null, null);
+            strategy.write(null, "test:a:9", "other", null);
+            return "other";
+        }
+    }
+}
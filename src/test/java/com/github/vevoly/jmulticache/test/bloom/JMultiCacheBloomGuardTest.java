@@ -0,0 +1,97 @@
+package com.github.vevoly.jmulticache.test.bloom;
+
+import com.github.vevoly.jmulticache.test.entity.TestGroup;
+import com.github.vevoly.jmulticache.test.service.TestGroupService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest
+class JMultiCacheBloomGuardTest {
+
+    @Autowired
+    private JMultiCacheBloomGuard jMultiCacheBloomGuard;
+    @Autowired
+    private TestGroupService testGroupService;
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试布隆过滤器：不存在的租户不回源")
+    void testBloomGuardBlocksUnknownKey() {
+        // 启动时 preload 已构建 TEST_GROUP_LIST 的过滤器 (tenant001 ~ tenant003)
+        assertThat(jMultiCacheBloomGuard.mightContain("TEST_GROUP_LIST", "tenant001")).isTrue();
+
+        AtomicInteger loaderCalls = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            List<TestGroup> result = jMultiCacheBloomGuard.fetchData("TEST_GROUP_LIST", () -> {
+                loaderCalls.incrementAndGet();
+                return null;
+            }, "not_exist_tenant_" + i);
+            assertThat(result).isNull();
+        }
+        log.info("布隆过滤器误判导致的回源次数: {}", loaderCalls.get());
+        // fpp = 0.01，100 次扫描几乎不会回源
+        assertThat(loaderCalls.get()).isLessThan(5);
+    }
+
+    @Test
+    @DisplayName("测试布隆过滤器：注解读路径同样拦截不存在的租户")
+    void testBloomGuardOnCacheablePath() {
+        assertThat(testGroupService.listByTenantId("tenant001")).isNotEmpty();
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            testGroupService.listByTenantId("not_exist_tenant_" + i);
+        }
+        // 每次回源 sleep(200)，被拦截时不会回源
+        assertThat(System.currentTimeMillis() - start).isLessThan(1000);
+    }
+
+    @Test
+    @DisplayName("测试 Redis 位图过滤器：位图丢失后回到未就绪状态，不再误杀")
+    void testRedisBloomFilterLostBitmap() {
+        RedisBitmapBloomFilter filter = new RedisBitmapBloomFilter(stringRedisTemplate, "jmc:bloom:test", 1000, 0.01);
+        assertThat(filter.getBitmapKey()).startsWith("jmc:bloom:test:");
+        stringRedisTemplate.delete(filter.getBitmapKey());
+        filter.put("a");
+        filter.markReady();
+        assertThat(filter.isReady()).isTrue();
+        assertThat(filter.mightContain("a")).isTrue();
+
+        stringRedisTemplate.delete(filter.getBitmapKey());
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightContain("b")).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试本地布隆过滤器：已登记的 Key 一定可能存在")
+    void testLocalBloomFilter() {
+        LocalBloomFilter filter = new LocalBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("id:" + i);
+        }
+        // 未就绪时全部放行
+        assertThat(filter.mightContain("id:-1")).isTrue();
+        filter.markReady();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("id:" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 1000; i < 11000; i++) {
+            if (filter.mightContain("id:" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
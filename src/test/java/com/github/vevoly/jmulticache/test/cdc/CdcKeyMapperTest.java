@@ -0,0 +1,91 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcMapping;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.CdcMode;
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CdcKeyMapperTest {
+
+    private final CdcKeyMapper mapper = new CdcKeyMapper(properties(), new ObjectMapper());
+
+    @Test
+    @DisplayName("测试 CDC 映射：按 key-field 计算 Key，Key 变化时旧 Key 失效")
+    void testUpdateMovesKey() {
+        ChangeEvent event = ChangeEvent.update("t_user",
+                Map.of("id", 7L, "tenant_id", "T1", "group_id", 1L, "name", "old", "age", 18),
+                Map.of("id", 7L, "tenant_id", "T2", "group_id", 1L, "name", "new", "age", 18));
+
+        List<KeyChange> changes = mapper.map(event);
+
+        assertThat(changes).extracting(KeyChange::key).containsExactly(
+                "USER|7", "USER_BY_TENANT|T1:7", "USER_BY_TENANT|T2:7");
+        assertThat(changes.get(0).action()).isEqualTo(CdcMode.REFRESH);
+        TestUser refreshed = (TestUser) changes.get(0).value();
+        assertThat(refreshed.getTenantId()).isEqualTo("T2");
+        assertThat(refreshed.getName()).isEqualTo("new");
+        assertThat(changes.get(2).action()).isEqualTo(CdcMode.EVICT);
+    }
+
+    @Test
+    @DisplayName("测试 CDC 映射：删除只失效，未映射的表和缺列的行被跳过")
+    void testDeleteAndSkips() {
+        List<KeyChange> deleted = mapper.map(ChangeEvent.delete("t_user", Map.of("id", 8L, "tenant_id", "T1")));
+        assertThat(deleted).extracting(KeyChange::key).containsExactly("USER|8", "USER_BY_TENANT|T1:8");
+        assertThat(deleted).allMatch(change -> change.action() == CdcMode.EVICT);
+
+        assertThat(mapper.map(ChangeEvent.insert("t_other", Map.of("id", 1L)))).isEmpty();
+        assertThat(mapper.map(ChangeEvent.insert("t_user", Map.of("id", 9L, "name", "x"))))
+                .extracting(KeyChange::key).containsExactly("USER|9");
+    }
+
+    @Test
+    @DisplayName("测试 CDC 映射：配置缺少 key-field 时忽略该映射，不影响其他映射")
+    void testMappingWithoutKeyFieldIsSkipped() {
+        JMultiCacheExtProperties properties = properties();
+        JMultiCacheExtProperties.ExtConfig noKeyField = new JMultiCacheExtProperties.ExtConfig();
+        noKeyField.setNamespace("test:group:id");
+        properties.getConfigs().put("GROUP", noKeyField);
+        CdcMapping group = mapping("GROUP", CdcMode.EVICT);
+        group.setTable("t_group");
+        properties.getCdc().getMappings().add(group);
+
+        CdcKeyMapper skipping = new CdcKeyMapper(properties, new ObjectMapper());
+
+        assertThat(skipping.isMapped("t_group")).isFalse();
+        assertThat(skipping.map(ChangeEvent.delete("t_user", Map.of("id", 8L, "tenant_id", "T1"))))
+                .extracting(KeyChange::key).containsExactly("USER|8", "USER_BY_TENANT|T1:8");
+    }
+
+    private static JMultiCacheExtProperties properties() {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        JMultiCacheExtProperties.ExtConfig user = new JMultiCacheExtProperties.ExtConfig();
+        user.setNamespace("test:user");
+        user.setKeyField("#id");
+        user.setEntityClass(TestUser.class.getName());
+        JMultiCacheExtProperties.ExtConfig byTenant = new JMultiCacheExtProperties.ExtConfig();
+        byTenant.setNamespace("test:user:tenantId_id");
+        byTenant.setKeyField("#tenantId + ':' + #id");
+        properties.getConfigs().put("USER", user);
+        properties.getConfigs().put("USER_BY_TENANT", byTenant);
+        properties.getCdc().getMappings().add(mapping("USER", CdcMode.REFRESH));
+        properties.getCdc().getMappings().add(mapping("USER_BY_TENANT", CdcMode.EVICT));
+        return properties;
+    }
+
+    private static CdcMapping mapping(String config, CdcMode mode) {
+        CdcMapping mapping = new CdcMapping();
+        mapping.setTable("t_user");
+        mapping.setConfig(config);
+        mapping.setMode(mode);
+        return mapping;
+    }
+}
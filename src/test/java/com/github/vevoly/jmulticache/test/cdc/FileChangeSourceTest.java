@@ -0,0 +1,75 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileChangeSourceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("测试文件事件源：rollback 重新投递，commit 后重启从确认位置继续，半行不消费")
+    void testCommitRollbackAndResume(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("changes.jsonl");
+        Files.writeString(file,
+                line(1) + line(2) + "{\"table\":\"t_user\",\"op\":\"UPD", StandardCharsets.UTF_8);
+
+        // 1. 只读到两条完整行，回滚后重新投递
+        FileChangeSource source = new FileChangeSource(file, objectMapper);
+        assertThat(ids(source.poll(10, Duration.ZERO))).containsExactly(1L, 2L);
+        source.rollback();
+        assertThat(ids(source.poll(1, Duration.ZERO))).containsExactly(1L);
+        source.commit();
+
+        // 2. 补全半行后，新的实例从已确认位置继续
+        Files.writeString(file, "ATE\",\"after\":{\"id\":3},\"timestamp\":0}\n", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+        FileChangeSource restarted = new FileChangeSource(file, objectMapper);
+        assertThat(ids(restarted.poll(10, Duration.ZERO))).containsExactly(2L, 3L);
+        assertThat(restarted.poll(10, Duration.ofMillis(20))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("测试文件事件源：超过读取块的行被跳过并计数，后续事件照常消费")
+    void testSkipOversizedLine(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("changes.jsonl");
+        String oversized = "{\"table\":\"t_user\",\"note\":\"" + "x".repeat(3 << 20) + "\"}\n";
+        Files.writeString(file, line(1) + oversized.substring(0, 2 << 20), StandardCharsets.UTF_8);
+
+        // 1. 超长行还没写完：停在该行之前等待
+        FileChangeSource source = new FileChangeSource(file, objectMapper);
+        assertThat(ids(source.poll(10, Duration.ZERO))).containsExactly(1L);
+        assertThat(source.poll(10, Duration.ZERO)).isEmpty();
+        assertThat(source.getSkippedRecords()).isZero();
+
+        // 2. 写完后跳过该行，消费后面的事件
+        Files.writeString(file, oversized.substring(2 << 20) + line(2) + "not json\n" + line(3),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        assertThat(ids(source.poll(10, Duration.ZERO))).containsExactly(2L, 3L);
+        assertThat(source.getSkippedRecords()).isEqualTo(2);
+        source.commit();
+        assertThat(source.getCommittedOffset()).isEqualTo(Files.size(file));
+    }
+
+    private static String line(long id) {
+        return "{\"table\":\"t_user\",\"op\":\"DELETE\",\"before\":{\"id\":" + id + "},\"timestamp\":0}\n";
+    }
+
+    private static List<Long> ids(List<ChangeEvent> events) {
+        return events.stream()
+                .map(event -> event.after() != null ? event.after() : event.before())
+                .map(row -> ((Number) row.get("id")).longValue())
+                .toList();
+    }
+}
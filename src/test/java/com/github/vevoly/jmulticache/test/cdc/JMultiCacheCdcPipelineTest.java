@@ -0,0 +1,85 @@
+package com.github.vevoly.jmulticache.test.cdc;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheCdcPipelineTest {
+
+    @Autowired
+    private JMultiCacheCdcPipeline jMultiCacheCdcPipeline;
+
+    @Autowired
+    private JMultiCache jMultiCache;
+
+    @Autowired
+    private JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试 CDC 刷新：源表连续更新后缓存为最后一次的值，同一 Key 的变更被合并")
+    void testRowChangeRefreshesCache() throws Exception {
+        String id = "7001";
+        jMultiCache.fetchData("TEST_USER_CACHE", () -> new TestUser(7001L, "T1", 1L, "before", 18), id);
+        InMemoryChangeSource source = (InMemoryChangeSource) jMultiCacheCdcPipeline.getSource();
+
+        // 1. 在缓存 API 之外连续更新同一行
+        for (int version = 1; version <= 20; version++) {
+            source.publish(ChangeEvent.update("t_user",
+                    Map.of("id", 7001L, "tenant_id", "T1", "group_id", 1L, "name", "v" + (version - 1), "age", 18),
+                    Map.of("id", 7001L, "tenant_id", "T1", "group_id", 1L, "name", "v" + version, "age", 18)));
+        }
+
+        // 2. 等待全部确认
+        awaitCommitted(source);
+
+        // 3. 读到的是最后一次更新，不再回源
+        TestUser user = jMultiCache.fetchData("TEST_USER_CACHE", () -> {
+            throw new IllegalStateException("Should be refreshed by CDC!");
+        }, id);
+        assertThat(user.getName()).isEqualTo("v20");
+        assertThat(jMultiCacheCdcPipeline.getStats().redeliveries()).isZero();
+
+        // 4. 刷新前写入了版本墓碑，回源中的旧值无法再回填
+        assertThat(stringRedisTemplate.hasKey("test:user:" + id + ":ver")).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试 CDC 失效：删除经失效中心执行，本节点订阅方收到每个映射配置的 Key")
+    void testEvictionThroughHub() throws Exception {
+        List<String> notified = new CopyOnWriteArrayList<>();
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            if (!remote) {
+                notified.add(configName + "|" + String.join(":", keyParts));
+            }
+        });
+        InMemoryChangeSource source = (InMemoryChangeSource) jMultiCacheCdcPipeline.getSource();
+
+        source.publish(ChangeEvent.delete("t_group", Map.of("id", 9001L, "tenant_id", "T9", "name", "g")));
+        awaitCommitted(source);
+
+        assertThat(notified).contains("TEST_GROUP|9001", "TEST_GROUP_LIST|T9");
+    }
+
+    private static void awaitCommitted(InMemoryChangeSource source) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (source.pending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(source.pending()).isZero();
+    }
+}
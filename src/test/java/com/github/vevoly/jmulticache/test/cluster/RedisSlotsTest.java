@@ -0,0 +1,79 @@
+package com.github.vevoly.jmulticache.test.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisSlotsTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("测试槽位计算：与 Redis CLUSTER KEYSLOT 结果一致，hash-tag 相同则同槽")
+    void testSlot() {
+        assertThat(RedisSlots.slot("123456789")).isEqualTo(12739);
+        assertThat(RedisSlots.slot("foo")).isEqualTo(12182);
+        assertThat(RedisSlots.slot("{user1000}.following")).isEqualTo(RedisSlots.slot("{user1000}.followers"));
+        // 空 hash-tag 按整个 Key 计算
+        assertThat(RedisSlots.slot("{}foo")).isNotEqualTo(RedisSlots.slot("foo"));
+    }
+
+    @Test
+    @DisplayName("测试按节点批量：每个节点只执行一次批次，批次内每个分组都只包含同一个槽的 Key，结果完整合并")
+    void testSlotGroupedBatch() {
+        ClusterBatchExecutor executor = new ClusterBatchExecutor(
+                SlotNodeResolver.evenlySplit("node-a", "node-b", "node-c"), pool);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add("test:user:" + i);
+        }
+
+        assertThat(executor.plan(keys)).hasSize(3);
+
+        List<List<List<String>>> nodeBatches = new ArrayList<>();
+        Map<String, String> result = executor.execute(keys, slotGroups -> {
+            synchronized (nodeBatches) {
+                nodeBatches.add(slotGroups);
+            }
+            Map<String, String> values = new HashMap<>();
+            slotGroups.forEach(slotKeys -> slotKeys.forEach(key -> values.put(key, key.toUpperCase())));
+            return values;
+        });
+
+        assertThat(result).hasSize(300).containsEntry("test:user:7", "TEST:USER:7");
+        assertThat(nodeBatches).hasSize(3);
+        assertThat(nodeBatches).allSatisfy(slotGroups -> assertThat(slotGroups).allSatisfy(slotKeys ->
+                assertThat(slotKeys.stream().map(RedisSlots::slot).collect(Collectors.toSet())).hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("测试单机批量：不按槽拆分，整批只有一个分组")
+    void testStandaloneBatch() {
+        ClusterBatchExecutor executor = new ClusterBatchExecutor(SlotNodeResolver.singleNode(), Runnable::run);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            keys.add("test:user:" + i);
+        }
+
+        Map<String, List<List<String>>> plan = executor.plan(keys);
+        assertThat(plan).hasSize(1);
+        assertThat(plan.get("default")).hasSize(1);
+        assertThat(plan.get("default").get(0)).containsExactlyElementsOf(keys);
+        assertThat(executor.plan(List.of())).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.vevoly.jmulticache.test.cost;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CostAwareLocalCacheTest {
+
+    @Test
+    @DisplayName("测试代价感知淘汰：容量不足时优先保留回源昂贵的数据")
+    void testExpensiveEntriesSurvive() {
+        LoadCostStats stats = new LoadCostStats();
+        CostAwareLocalCache cache = new CostAwareLocalCache(20, Long.MAX_VALUE, stats);
+
+        // 交替写入廉价 (1µs) 和昂贵 (200ms) 的数据，大小相同
+        for (int i = 0; i < 200; i++) {
+            if (i % 2 == 0) {
+                cache.put("cheap:" + i, "v", 1_000, 100);
+            } else {
+                cache.put("expensive:" + i, "v", 200_000_000, 100);
+            }
+        }
+
+        int expensive = 0;
+        for (int i = 0; i < 200; i++) {
+            if (cache.get("expensive:" + i) != null) {
+                expensive++;
+            }
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(20);
+        assertThat(expensive).isGreaterThanOrEqualTo(12);
+        // 缓存被昂贵数据占满后，廉价数据不再准入
+        assertThat(stats.snapshot().admissionRejects()).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("测试代价感知淘汰：采样覆盖全部存活条目，反复覆盖同一个 Key 后仍能正常淘汰")
+    void testSamplingCoversLiveEntries() {
+        LoadCostStats stats = new LoadCostStats();
+        CostAwareLocalCache cache = new CostAwareLocalCache(20, Long.MAX_VALUE, stats);
+        for (int i = 0; i < 19; i++) {
+            cache.put("cheap:" + i, "v", 1_000, 100);
+        }
+        for (int i = 0; i < 100; i++) {
+            cache.put("hot", "v", 200_000_000, 100);
+        }
+        // 访问过的昂贵条目优先级最高
+        for (int i = 0; i < 10; i++) {
+            cache.get("hot");
+        }
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            cache.put("expensive:" + i, "v", 200_000_000, 100);
+            if (cache.get("expensive:" + i) != null) {
+                admitted++;
+            }
+        }
+        assertThat(cache.size()).isEqualTo(20);
+        assertThat(cache.get("hot")).isNotNull();
+        assertThat(admitted).isGreaterThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("测试代价感知缓存：回源期间发生失效，结果不写入")
+    void testInvalidatedDuringLoad() {
+        CostAwareLocalCache cache = new CostAwareLocalCache(20, Long.MAX_VALUE, new LoadCostStats());
+        long epoch = cache.epoch();
+        cache.invalidate("k");
+        cache.put("k", "stale", 1_000, 100, epoch);
+        assertThat(cache.get("k")).isNull();
+
+        cache.put("k", "fresh", 1_000, 100, cache.epoch());
+        assertThat(cache.get("k")).isEqualTo("fresh");
+    }
+}
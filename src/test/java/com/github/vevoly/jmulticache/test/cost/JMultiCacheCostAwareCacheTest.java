@@ -0,0 +1,72 @@
+package com.github.vevoly.jmulticache.test.cost;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JMultiCacheCostAwareCacheTest {
+
+    @Test
+    @DisplayName("测试回源代价：只统计方法体耗时，框架命中不计为一次廉价回源")
+    @SuppressWarnings("unchecked")
+    void testOnlySupplierIsTimed() {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        JMultiCacheExtProperties.ExtConfig config = new JMultiCacheExtProperties.ExtConfig();
+        config.setNamespace("test:group:id");
+        config.setCostAware(true);
+        properties.getConfigs().put("TEST_GROUP", config);
+
+        // 模拟框架：Key 第一次出现时回源，之后视为 L1 / L2 命中，命中本身也有 30ms 延迟 (例如较慢的 L2)
+        Set<String> cachedKeys = ConcurrentHashMap.newKeySet();
+        JMultiCache jMultiCache = mock(JMultiCache.class);
+        when(jMultiCache.fetchData(eq("TEST_GROUP"), any(Supplier.class), any(String[].class))).thenAnswer(invocation -> {
+            Supplier<Object> supplier = invocation.getArgument(1);
+            String key = invocation.getArgument(2);
+            sleep(30);
+            return cachedKeys.add(key) ? supplier.get() : "value-" + key;
+        });
+        ObjectProvider<JMultiCache> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(jMultiCache);
+        JMultiCacheCostAwareCache cache = new JMultiCacheCostAwareCache(provider, properties, new ObjectMapper(), null);
+
+        // 1. 回源：方法体耗时 5ms，框架自身的 30ms 不计入
+        cache.fetchData("TEST_GROUP", () -> {
+            sleep(5);
+            return "value-1";
+        }, "1");
+        LoadCostStats.Snapshot afterLoad = cache.getCostStats("TEST_GROUP");
+        assertThat(afterLoad.loads()).isEqualTo(1);
+        assertThat(afterLoad.avgLoadMillis()).isBetween(5.0, 25.0);
+
+        // 2. 框架命中 (本节点另一个 Key 已在 L2)：不记为回源，仍进入本地缓存
+        cachedKeys.add("2");
+        Object hit = cache.fetchData("TEST_GROUP", () -> {
+            throw new IllegalStateException("Should hit framework cache!");
+        }, "2");
+        assertThat(hit).isEqualTo("value-2");
+        assertThat(cache.getCostStats("TEST_GROUP").loads()).isEqualTo(1);
+        assertThat(cache.getCostStats("TEST_GROUP").avgLoadMillis()).isEqualTo(afterLoad.avgLoadMillis());
+        assertThat(cache.getLocalSize("TEST_GROUP")).isEqualTo(2);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
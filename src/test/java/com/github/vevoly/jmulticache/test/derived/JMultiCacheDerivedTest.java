@@ -0,0 +1,108 @@
+package com.github.vevoly.jmulticache.test.derived;
+
+import com.github.vevoly.jmulticache.test.entity.dto.UserRankView;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheDerivedTest {
+
+    private static final String DERIVED = "TEST_RANK_VIEW";
+
+    @Autowired
+    private JMultiCacheDerived jMultiCacheDerived;
+
+    @Autowired
+    private JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    @Autowired
+    private JMultiCacheOps jMultiCacheOps;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试级联失效：只有引用了源条目的派生数据被失效，L2 中的其他派生数据不受影响")
+    void testCascadingEviction() {
+        String regionA = "derived_a";
+        String regionB = "derived_b";
+        jMultiCacheDerived.evict(DERIVED, regionA);
+        jMultiCacheDerived.evict(DERIVED, regionB);
+        AtomicInteger computes = new AtomicInteger();
+
+        // 1. 两个派生条目分别依赖 用户 1001 和 用户 1002，写入 L2 并登记反向索引
+        jMultiCacheDerived.fetchData(DERIVED, deps -> {
+            computes.incrementAndGet();
+            deps.dependsOn("TEST_USER_CACHE", "1001");
+            return List.of(new UserRankView(1, 1001L, 5000.0, "a"));
+        }, regionA);
+        jMultiCacheDerived.fetchData(DERIVED, deps -> {
+            computes.incrementAndGet();
+            deps.dependsOn("TEST_USER_CACHE", "1002");
+            return List.of(new UserRankView(1, 1002L, 8888.0, "b"));
+        }, regionB);
+        assertThat(computes.get()).isEqualTo(2);
+        assertThat(stringRedisTemplate.hasKey("test:game:rank:view:" + regionA)).isTrue();
+        assertThat(stringRedisTemplate.hasKey("jmc:deps:test:user:1001")).isTrue();
+
+        // 2. 失效用户 1001：regionA 的 L2 被删除，反向索引被取出；regionB 清掉 L1 后仍从 L2 命中
+        jMultiCacheDerived.evict("TEST_USER_CACHE", "1001");
+        assertThat(stringRedisTemplate.hasKey("test:game:rank:view:" + regionA)).isFalse();
+        assertThat(stringRedisTemplate.hasKey("jmc:deps:test:user:1001")).isFalse();
+        jMultiCacheOps.evictL1(DERIVED, regionB);
+        List<UserRankView> fromL2 = jMultiCacheDerived.fetchData(DERIVED, deps -> {
+            throw new IllegalStateException("Should hit derived cache in L2!");
+        }, regionB);
+        assertThat(fromL2).hasSize(1);
+        jMultiCacheDerived.fetchData(DERIVED, deps -> {
+            computes.incrementAndGet();
+            return List.of(new UserRankView(1, 1001L, 5000.0, "a"));
+        }, regionA);
+        assertThat(computes.get()).isEqualTo(3);
+
+        // 3. 配置中的 depends-on: 失效排行榜同样级联
+        jMultiCacheDerived.evict("TEST_GAME_RANK", regionB);
+        assertThat(stringRedisTemplate.hasKey("test:game:rank:view:" + regionB)).isFalse();
+        jMultiCacheDerived.fetchData(DERIVED, deps -> {
+            computes.incrementAndGet();
+            return List.of(new UserRankView(1, 1002L, 8888.0, "b"));
+        }, regionB);
+        assertThat(computes.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("测试失效中心触发的级联：写入方直接调用失效中心时派生数据同样失效")
+    void testCascadeFromHub() {
+        String region = "derived_hub";
+        jMultiCacheDerived.evict(DERIVED, region);
+        jMultiCacheDerived.fetchData(DERIVED, deps -> {
+            deps.dependsOn("TEST_USER_CACHE", "1003");
+            return List.of(new UserRankView(1, 1003L, 100.0, "c"));
+        }, region);
+
+        // L2 已由写入方更新，只通知失效
+        jMultiCacheInvalidationHub.invalidateSuffixes("TEST_USER_CACHE", List.of("1003"));
+        assertThat(stringRedisTemplate.hasKey("test:game:rank:view:" + region)).isFalse();
+    }
+
+    @Test
+    @DisplayName("测试级联范围：没有登记过依赖的配置失效时不写墓碑、不访问反向索引")
+    void testSkipNonSourceConfig() {
+        jMultiCacheDerived.evict("TEST_GZIP_CACHE", "derived_skip");
+        assertThat(stringRedisTemplate.hasKey("jmc:deps:evicted:test:gzip:article:derived_skip")).isFalse();
+
+        // depends-on 中的源配置始终级联
+        jMultiCacheDerived.evict("TEST_GAME_RANK", "derived_skip");
+        assertThat(stringRedisTemplate.hasKey("jmc:deps:evicted:test:game:rank:derived_skip")).isTrue();
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.vevoly.jmulticache.test.index;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.entity.TestGroup;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JMultiCacheLocalIndexTest {
+
+    @Test
+    @DisplayName("测试本地索引：同一集合实例复用索引，失效或换成其他实例时重建")
+    void testIndexValidatedByInstance() {
+        JMultiCacheInvalidationHub hub = new JMultiCacheInvalidationHub(null, null, null);
+        JMultiCacheLocalIndex index = newIndex(hub);
+
+        List<TestGroup> first = List.of(new TestGroup(1L, "tenant001", "group1"), new TestGroup(2L, "tenant001", "group2"));
+        assertThat(index.findFirst("TEST_GROUP_LIST", first, "name", "group2", "tenant001")).isSameAs(first.get(1));
+        // 1. 同一个实例 (L1 命中) 再次查找，结果仍来自该实例
+        assertThat(index.findFirst("TEST_GROUP_LIST", first, "name", "group1", "tenant001")).isSameAs(first.get(0));
+
+        // 2. 同一个缓存 Key 的新实例 (例如从 L2 反序列化) 返回新实例中的元素
+        List<TestGroup> copy = new ArrayList<>(List.of(new TestGroup(1L, "tenant001", "group1"),
+                new TestGroup(2L, "tenant001", "group2")));
+        assertThat(index.findFirst("TEST_GROUP_LIST", copy, "name", "group2", "tenant001")).isSameAs(copy.get(1));
+
+        // 3. 失效后按新数据重建
+        hub.invalidateLocal("TEST_GROUP_LIST", "tenant001");
+        List<TestGroup> renamed = List.of(new TestGroup(1L, "tenant001", "group1"), new TestGroup(2L, "tenant001", "renamed"));
+        assertThat(index.findFirst("TEST_GROUP_LIST", renamed, "name", "renamed", "tenant001")).isSameAs(renamed.get(1));
+        assertThat(index.findFirst("TEST_GROUP_LIST", renamed, "name", "group2", "tenant001")).isNull();
+
+        // 4. 元素个数变化时重建
+        List<TestGroup> grown = new ArrayList<>(renamed);
+        grown.add(new TestGroup(3L, "tenant001", "group3"));
+        assertThat(index.findFirst("TEST_GROUP_LIST", grown, "name", "group3", "tenant001")).isSameAs(grown.get(2));
+
+        // 5. 不同缓存 Key 互不影响
+        List<TestGroup> other = List.of(new TestGroup(9L, "tenant002", "group2"));
+        assertThat(index.findFirst("TEST_GROUP_LIST", other, "name", "group2", "tenant002")).isSameAs(other.get(0));
+    }
+
+    @Test
+    @DisplayName("测试本地索引：没有失效事件时，同样大小的替换也不会返回旧元素")
+    void testSameSizeReplacementWithoutInvalidation() {
+        JMultiCacheLocalIndex index = newIndex(new JMultiCacheInvalidationHub(null, null, null));
+
+        List<TestGroup> before = List.of(new TestGroup(1L, "tenant001", "group1"), new TestGroup(2L, "tenant001", "group2"));
+        assertThat(index.findFirst("TEST_GROUP_LIST", before, "name", "group2", "tenant001")).isSameAs(before.get(1));
+
+        // 漏掉了失效事件，新集合大小相同但内容不同
+        List<TestGroup> after = List.of(new TestGroup(1L, "tenant001", "group1"), new TestGroup(3L, "tenant001", "group3"));
+        assertThat(index.findFirst("TEST_GROUP_LIST", after, "name", "group2", "tenant001")).isNull();
+        assertThat(index.findFirst("TEST_GROUP_LIST", after, "name", "group3", "tenant001")).isSameAs(after.get(1));
+
+        // 返回的列表不暴露内部索引
+        List<TestGroup> matched = index.findAll("TEST_GROUP_LIST", after, "name", "group1", "tenant001");
+        assertThat(matched).containsExactly(after.get(0));
+        assertThatThrownBy(() -> matched.add(new TestGroup(4L, "tenant001", "group1")))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(index.findAll("TEST_GROUP_LIST", after, "name", "group1", "tenant001")).hasSize(1);
+    }
+
+    private JMultiCacheLocalIndex newIndex(JMultiCacheInvalidationHub hub) {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        JMultiCacheExtProperties.ExtConfig config = new JMultiCacheExtProperties.ExtConfig();
+        config.setIndexFields(List.of("name"));
+        properties.getConfigs().put("TEST_GROUP_LIST", config);
+        // 只使用本地订阅，不连接 Redis
+        JMultiCacheLocalIndex index = new JMultiCacheLocalIndex(properties, hub);
+        index.subscribe();
+        return index;
+    }
+}
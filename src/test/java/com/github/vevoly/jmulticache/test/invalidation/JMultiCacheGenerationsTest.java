@@ -0,0 +1,92 @@
+package com.github.vevoly.jmulticache.test.invalidation;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheGenerationsTest {
+
+    private static final String CONFIG = "TEST_USER_CACHE_LIST";
+
+    @Autowired
+    private JMultiCacheGenerations jMultiCacheGenerations;
+
+    @Autowired
+    private JMultiCache jMultiCache;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试代际失效：evictTag 只影响单个租户，evictNamespace 影响全部")
+    void testTagAndNamespaceEviction() throws InterruptedException {
+        AtomicInteger loadsA = new AtomicInteger();
+        AtomicInteger loadsB = new AtomicInteger();
+
+        fetch("gen_tenant_a", loadsA);
+        fetch("gen_tenant_b", loadsB);
+        String oldKeyA = "test:user:list:" + String.join(":", jMultiCacheGenerations.effectiveKeyParts(CONFIG, "gen_tenant_a"));
+        assertThat(stringRedisTemplate.hasKey(oldKeyA)).isTrue();
+
+        // 1. 标签失效：只有租户 A 重新回源
+        jMultiCacheGenerations.evictTag(CONFIG, "gen_tenant_a");
+        fetch("gen_tenant_a", loadsA);
+        fetch("gen_tenant_b", loadsB);
+        assertThat(loadsA.get()).isEqualTo(2);
+        assertThat(loadsB.get()).isEqualTo(1);
+
+        // 2. 命名空间失效：全部重新回源
+        jMultiCacheGenerations.evictNamespace(CONFIG);
+        fetch("gen_tenant_a", loadsA);
+        fetch("gen_tenant_b", loadsB);
+        assertThat(loadsA.get()).isEqualTo(3);
+        assertThat(loadsB.get()).isEqualTo(2);
+
+        // 3. 旧代际的数据在后台被清理
+        for (int i = 0; i < 50 && Boolean.TRUE.equals(stringRedisTemplate.hasKey(oldKeyA)); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(stringRedisTemplate.hasKey(oldKeyA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("测试代际失效：直接调用 JMultiCache.fetchData 同样使用带代际号的 Key")
+    void testPlainFetchDataUsesGeneration() {
+        String tenantId = "gen_tenant_plain";
+        AtomicInteger loads = new AtomicInteger();
+
+        fetchPlain(tenantId, loads);
+        fetchPlain(tenantId, loads);
+        assertThat(loads.get()).isEqualTo(1);
+        String key = "test:user:list:" + String.join(":", jMultiCacheGenerations.effectiveKeyParts(CONFIG, tenantId));
+        assertThat(stringRedisTemplate.hasKey(key)).isTrue();
+
+        jMultiCacheGenerations.evictTag(CONFIG, tenantId);
+        fetchPlain(tenantId, loads);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private void fetchPlain(String tenantId, AtomicInteger loads) {
+        jMultiCache.fetchData(CONFIG, () -> {
+            loads.incrementAndGet();
+            return List.of(new TestUser(1L, tenantId, 1L, "Plain-" + tenantId, 18));
+        }, tenantId);
+    }
+
+    private List<TestUser> fetch(String tenantId, AtomicInteger loads) {
+        return jMultiCacheGenerations.fetchData(CONFIG, () -> {
+            loads.incrementAndGet();
+            return List.of(new TestUser(1L, tenantId, 1L, "Gen-" + tenantId, 18));
+        }, tenantId);
+    }
+}
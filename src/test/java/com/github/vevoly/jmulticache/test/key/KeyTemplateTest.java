@@ -0,0 +1,51 @@
+package com.github.vevoly.jmulticache.test.key;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyTemplateTest {
+
+    @Test
+    @DisplayName("测试 Key 模板：简单拼接被编译，结果与 SpEL 一致")
+    void testCompiledTemplates() {
+        KeyTemplate tenantId = KeyTemplate.compile("test:user:tenantId_id", "#tenantId + ':' + #id");
+        assertThat(tenantId.isCompiled()).isTrue();
+        assertThat(tenantId.getVariables()).containsExactly("tenantId", "id");
+        assertThat(tenantId.bind(new String[]{"tenantId", "id"}).build(new Object[]{"tenant001", 2002L}))
+                .isEqualTo("test:user:tenantId_id:tenant001:2002");
+
+        KeyTemplate suffix = KeyTemplate.compile("test:user", "#id + ':suffix'");
+        assertThat(suffix.bind(new String[]{"id"}).build(new Object[]{1001L})).isEqualTo("test:user:1001:suffix");
+
+        KeyTemplate page = KeyTemplate.compile("test:user:page",
+                "#userId + ':' + #dateType + ':' + #status + ':' + #page + ':' + #size");
+        assertThat(page.isCompiled()).isTrue();
+        // 参数顺序与模板变量顺序无关
+        assertThat(page.bind(new String[]{"size", "page", "status", "dateType", "userId"})
+                .build(new Object[]{10, 1L, "SUCCESS", "2023-11", 8888L}))
+                .isEqualTo("test:user:page:8888:2023-11:SUCCESS:1:10");
+    }
+
+    @Test
+    @DisplayName("测试 Key 模板：无 key-field 时使用全部参数，复杂表达式回退 SpEL")
+    void testFallbacks() {
+        KeyTemplate noKeyField = KeyTemplate.compile("test:group:id", null);
+        assertThat(noKeyField.bind(new String[]{"id"}).build(new Object[]{100L})).isEqualTo("test:group:id:100");
+
+        // 前两项都是变量时 SpEL 会做数值加法
+        KeyTemplate numeric = KeyTemplate.compile("test:sum", "#a + #b");
+        assertThat(numeric.isCompiled()).isFalse();
+        assertThat(numeric.bind(new String[]{"a", "b"}).build(new Object[]{1, 2})).isEqualTo("test:sum:3");
+
+        KeyTemplate method = KeyTemplate.compile("test:upper", "#name.toUpperCase()");
+        assertThat(method.isCompiled()).isFalse();
+        Map<String, Object> variables = new LinkedHashMap<>();
+        variables.put("name", "abc");
+        assertThat(method.build(variables)).isEqualTo("test:upper:ABC");
+    }
+}
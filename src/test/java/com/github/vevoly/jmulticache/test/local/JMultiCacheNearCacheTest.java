@@ -0,0 +1,83 @@
+package com.github.vevoly.jmulticache.test.local;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.strategy.VersionedStorageStrategy;
+import com.github.vevoly.jmulticache.test.version.JMultiCacheVersionGuard;
+import com.github.vevoly.jmulticache.test.write.JMultiCacheWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheNearCacheTest {
+
+    @Autowired
+    private JMultiCacheNearCache jMultiCacheNearCache;
+
+    @Autowired
+    private JMultiCacheVersionGuard jMultiCacheVersionGuard;
+
+    @Autowired
+    private JMultiCacheWriter jMultiCacheWriter;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试近端缓存：其他扩展层的删除和写入会清理近端副本")
+    void testInvalidatedByOtherLayers() {
+        long id = 9001L;
+        jMultiCacheVersionGuard.evict("TEST_USER_CACHE", String.valueOf(id));
+        AtomicInteger loads = new AtomicInteger();
+
+        // 1. 第一次回源，第二次命中近端缓存
+        assertThat(fetch(id, loads, "V1").getName()).isEqualTo("V1");
+        assertThat(fetch(id, loads, "V1").getName()).isEqualTo("V1");
+        assertThat(loads.get()).isEqualTo(1);
+
+        // 2. VersionGuard 删除后重新回源
+        jMultiCacheVersionGuard.evict("TEST_USER_CACHE", String.valueOf(id));
+        assertThat(fetch(id, loads, "V2").getName()).isEqualTo("V2");
+        assertThat(loads.get()).isEqualTo(2);
+
+        // 3. 显式写入后读到新值
+        jMultiCacheWriter.put("TEST_USER_CACHE", new TestUser(id, "tenant001", 1L, "V3", 18), String.valueOf(id));
+        assertThat(fetch(id, loads, "unused").getName()).isEqualTo("V3");
+    }
+
+    @Test
+    @DisplayName("测试近端缓存：其他节点广播的失效事件会清理近端副本")
+    void testInvalidatedByRemoteNode() throws InterruptedException {
+        long id = 9002L;
+        jMultiCacheVersionGuard.evict("TEST_USER_CACHE", String.valueOf(id));
+        AtomicInteger loads = new AtomicInteger();
+        fetch(id, loads, "V1");
+
+        // 模拟另一个节点写入 L2 后广播
+        stringRedisTemplate.opsForValue().set("test:user:" + id, VersionedStorageStrategy.PREFIX
+                + "{\"id\":9002,\"tenantId\":\"tenant001\",\"name\":\"Remote\",\"age\":18}");
+        stringRedisTemplate.convertAndSend(JMultiCacheInvalidationHub.CHANNEL,
+                "{\"origin\":\"other-node\",\"configName\":\"TEST_USER_CACHE\",\"keys\":[[\"9002\"]]}");
+
+        String name = null;
+        for (int i = 0; i < 50 && !"Remote".equals(name); i++) {
+            Thread.sleep(20);
+            name = fetch(id, loads, "unused").getName();
+        }
+        assertThat(name).isEqualTo("Remote");
+    }
+
+    private TestUser fetch(long id, AtomicInteger loads, String name) {
+        return jMultiCacheNearCache.fetchData("TEST_USER_CACHE", id, key -> {
+            loads.incrementAndGet();
+            return new TestUser(key, "tenant001", 1L, name, 18);
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.vevoly.jmulticache.test.localstore;
+
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalLogStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("测试基本操作和 TTL")
+    void testOperations() throws Exception {
+        try (LocalLogStore store = new LocalLogStore(dir.resolve("l2.log"))) {
+            store.set("test:user:1", "{\"id\":1}", Duration.ofMinutes(1));
+            store.set("test:user:2", "{\"id\":2}", Duration.ofMillis(20));
+            assertThat(store.get("test:user:1")).isEqualTo("{\"id\":1}");
+            assertThat(store.ttlMillis("test:user:1")).isPositive();
+            assertThat(store.mget(List.of("test:user:1", "missing"))).containsExactly("{\"id\":1}", null);
+
+            assertThat(store.expire("test:user:1", null)).isTrue();
+            assertThat(store.ttlMillis("test:user:1")).isEqualTo(-1);
+            assertThat(store.del("test:user:1")).isTrue();
+            assertThat(store.exists("test:user:1")).isFalse();
+
+            // 作为框架的 RedisClient 使用：只接受已序列化的字符串
+            RedisClient client = store;
+            client.set("test:user:3", "v3", Duration.ofMinutes(1));
+            assertThat(client.get("test:user:3")).isEqualTo("v3");
+            assertThatThrownBy(() -> client.set("test:user:4", 4L, null)).isInstanceOf(IllegalArgumentException.class);
+
+            Thread.sleep(30);
+            assertThat(store.get("test:user:2")).isNull();
+            assertThat(store.ttlMillis("test:user:2")).isEqualTo(-2);
+        }
+    }
+
+    @Test
+    @DisplayName("测试批量执行：按登记顺序完成所有 Future")
+    void testBatch() throws Exception {
+        try (LocalLogStore store = new LocalLogStore(dir.resolve("l2.log"))) {
+            BatchOperation batch = store.batch();
+            batch.set("k1", "v1", null);
+            CompletableFuture<Object> k1 = batch.get("k1");
+            CompletableFuture<Object> missing = batch.get("k2");
+            assertThat(k1).isNotDone();
+
+            ((LocalBatch) batch).execute();
+            assertThat(k1).isCompletedWithValue("v1");
+            assertThat(missing).isCompletedWithValue(null);
+        }
+    }
+
+    @Test
+    @DisplayName("测试持久化：重启后重放日志，压缩后数据不变，不完整的末尾记录被截断")
+    void testReplayAndCompaction() throws Exception {
+        Path file = dir.resolve("l2.log");
+        try (LocalLogStore store = new LocalLogStore(file)) {
+            for (int i = 0; i < 100; i++) {
+                store.set("counter", String.valueOf(i), null);
+            }
+            store.set("ttl", "v", null);
+            store.expire("ttl", Duration.ofHours(1));
+            store.set("deleted", "v", null);
+            store.del("deleted");
+            store.set("gone", "v", Duration.ofMillis(1));
+        }
+        // 模拟写入中途宕机
+        Files.write(file, new byte[]{1, 0, 0}, StandardOpenOption.APPEND);
+
+        try (LocalLogStore store = new LocalLogStore(file)) {
+            assertThat(store.get("counter")).isEqualTo("99");
+            assertThat(store.get("deleted")).isNull();
+            assertThat(store.get("gone")).isNull();
+
+            long before = store.getLogBytes();
+            store.compact();
+            assertThat(store.getLogBytes()).isLessThan(before);
+        }
+
+        try (LocalLogStore store = new LocalLogStore(file)) {
+            assertThat(store.get("counter")).isEqualTo("99");
+            assertThat(store.get("ttl")).isEqualTo("v");
+            assertThat(store.ttlMillis("ttl")).isPositive();
+            assertThat(store.size()).isEqualTo(2);
+        }
+    }
+}
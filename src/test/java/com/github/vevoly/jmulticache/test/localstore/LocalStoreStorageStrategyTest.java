@@ -0,0 +1,52 @@
+package com.github.vevoly.jmulticache.test.localstore;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.service.TestService;
+import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("localstore")
+class LocalStoreStorageStrategyTest {
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private LocalLogStore localLogStore;
+
+    @Autowired
+    private JMultiCacheOps jMultiCacheOps;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试本地存储引擎：storage-type: local 的配置回填到本地日志存储，不写 Redis")
+    void testLocalStoreAsL2() {
+        Long id = 6601L;
+        String key = "test:user:" + id + ":suffix";
+        localLogStore.del(key);
+        stringRedisTemplate.delete(key);
+
+        // 1. 回源后写入本地存储
+        testService.getUserWeirdSuffix(id);
+        assertThat(localLogStore.get(key)).contains("\"id\":" + id);
+        assertThat(stringRedisTemplate.hasKey(key)).isFalse();
+
+        // 2. 直接修改本地存储中的数据，清掉 L1 后读到的是本地存储里的值
+        localLogStore.set(key, localLogStore.get(key).replace("User-" + id, "FromLocalStore"), Duration.ofMinutes(1));
+        jMultiCacheOps.evictL1("TEST_WEIRD_SUFFIX", id + ":suffix");
+        TestUser cached = testService.getUserWeirdSuffix(id);
+        assertThat(cached.getName()).isEqualTo("FromLocalStore");
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.vevoly.jmulticache.test.page;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.version.JMultiCacheVersionGuard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCachePageCacheTest {
+
+    @Autowired
+    private JMultiCachePageCache jMultiCachePageCache;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private JMultiCacheVersionGuard jMultiCacheVersionGuard;
+
+    @Test
+    @DisplayName("测试分段分页：分页只存 ID 列表，记录共享实体缓存")
+    void testSegmentedPage() throws InterruptedException {
+        String userId = "8899";
+        String indexKeyPrefix = "test:user:page:index:8899:2023-11:SUCCESS:";
+        stringRedisTemplate.delete(List.of(indexKeyPrefix + "1:10", indexKeyPrefix + "2:10"));
+        // 按页计数：第 2 页由后台预取，不能和第 1 页的回源次数混在一起
+        Map<Long, AtomicInteger> pageLoads = new ConcurrentHashMap<>();
+        PageLoader<TestUser> pageLoader = (current, size) -> {
+            pageLoads.computeIfAbsent(current, page -> new AtomicInteger()).incrementAndGet();
+            List<TestUser> records = new ArrayList<>();
+            for (long i = (current - 1) * size; i < Math.min(current * size, 25); i++) {
+                records.add(new TestUser(30000L + i, "T1", 1L, "PageUser-" + i, 18));
+            }
+            return new SegmentedPage<>(current, size, 25, records);
+        };
+
+        // 1. 第一页：回源
+        SegmentedPage<TestUser> page1 = jMultiCachePageCache.fetchPage("TEST_USER_PAGE_INDEX", 1, 10,
+                pageLoader, ids -> {
+                    throw new IllegalStateException("Records should come from page load");
+                }, userId, "2023-11", "SUCCESS");
+        assertThat(page1.getTotal()).isEqualTo(25);
+        assertThat(page1.getRecords()).extracting(TestUser::getId).startsWith(30000L, 30001L).hasSize(10);
+
+        // 2. 分页 Key 只存 ID 列表，记录在实体缓存
+        String indexValue = stringRedisTemplate.opsForValue().get(indexKeyPrefix + "1:10");
+        assertThat(indexValue).doesNotContain("PageUser");
+        assertThat(stringRedisTemplate.hasKey("test:user:30000")).isTrue();
+
+        // 3. 再次查询第一页：不回源
+        SegmentedPage<TestUser> cached = jMultiCachePageCache.fetchPage("TEST_USER_PAGE_INDEX", 1, 10,
+                pageLoader, ids -> {
+                    throw new IllegalStateException("Should hit record cache!");
+                }, userId, "2023-11", "SUCCESS");
+        assertThat(cached.getRecords()).hasSize(10);
+        assertThat(pageLoads.get(1L).get()).isEqualTo(1);
+
+        // 4. 等待第 2 页预取完成，之后查询第 2 页不回源
+        for (int i = 0; i < 100 && !Boolean.TRUE.equals(stringRedisTemplate.hasKey(indexKeyPrefix + "2:10")); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(pageLoads.get(2L)).isNotNull();
+        SegmentedPage<TestUser> page2 = jMultiCachePageCache.fetchPage("TEST_USER_PAGE_INDEX", 2, 10,
+                pageLoader, ids -> {
+                    throw new IllegalStateException("Should hit record cache!");
+                }, userId, "2023-11", "SUCCESS");
+        assertThat(page2.getRecords()).extracting(TestUser::getId).startsWith(30010L).hasSize(10);
+        assertThat(pageLoads.get(2L).get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试分段分页：回源期间被删除的记录不以旧值写回实体缓存")
+    void testPagePreloadRespectsVersionGuard() {
+        String indexKey = "test:user:page:index:8900:2023-11:SUCCESS:1:10";
+        stringRedisTemplate.delete(List.of(indexKey, "test:user:30100", "test:user:30101"));
+        PageLoader<TestUser> pageLoader = (current, size) -> {
+            List<TestUser> records = List.of(
+                    new TestUser(30100L, "T1", 1L, "Stale-30100", 18),
+                    new TestUser(30101L, "T1", 1L, "PageUser-30101", 18));
+            // 回源读到旧数据之后、写入缓存之前，30100 被更新并删除
+            jMultiCacheVersionGuard.evict("TEST_USER_CACHE", "30100");
+            return new SegmentedPage<>(current, size, 2, records);
+        };
+        List<Long> reloaded = new ArrayList<>();
+
+        SegmentedPage<TestUser> page = jMultiCachePageCache.fetchPage("TEST_USER_PAGE_INDEX", 1, 10,
+                pageLoader, ids -> {
+                    reloaded.addAll(ids);
+                    return Map.of(30100L, new TestUser(30100L, "T1", 1L, "Fresh-30100", 18));
+                }, "8900", "2023-11", "SUCCESS");
+
+        // 旧值被拒绝，记录按未命中重新回源；未受影响的记录照常写入
+        assertThat(reloaded).containsExactly(30100L);
+        assertThat(page.getRecords()).extracting(TestUser::getName).containsExactly("Fresh-30100", "PageUser-30101");
+        assertThat(stringRedisTemplate.opsForValue().get("test:user:30101")).contains("PageUser-30101");
+        assertThat(stringRedisTemplate.opsForValue().get("test:user:30100")).doesNotContain("Stale-30100");
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.vevoly.jmulticache.test.plan;
+
+import com.github.vevoly.jmulticache.test.entity.TestGroup;
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.scope.JMultiCacheRequestScope;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class JMultiCacheFetchPlannerTest {
+
+    @Autowired
+    private JMultiCacheFetchPlanner jMultiCacheFetchPlanner;
+
+    @Test
+    @DisplayName("测试读取计划：无依赖步骤并发回源，依赖步骤使用上一步结果")
+    void testPlanExecution() {
+        // 1. 两个根步骤各回源 300ms，用户详情依赖分组结果
+        FetchPlan.Builder<String> builder = FetchPlan.builder();
+        Slot<TestGroup> group = builder.fetch("TEST_GROUP", tag -> new String[]{"plan-" + tag}, tag -> {
+            sleep(300);
+            return new TestGroup(9001L, "T1", "group-" + tag);
+        });
+        Slot<TestUser> owner = builder.fetch("TEST_USER_CACHE", tag -> new String[]{"plan-owner-" + tag}, tag -> {
+            sleep(300);
+            return new TestUser(9002L, "T1", 9001L, "owner-" + tag, 30);
+        });
+        Slot<Map<Long, TestUser>> members = builder.fetchMulti("TEST_USER_CACHE", "id", group,
+                g -> List.of(g.getId() * 10 + 1, g.getId() * 10 + 2),
+                missingIds -> missingIds.stream().collect(Collectors.toMap(id -> id,
+                        id -> new TestUser(id, "T1", 9001L, "member-" + id, 20))));
+        FetchPlan<String> plan = builder.build();
+        assertThat(plan.depth()).isEqualTo(2);
+
+        // 2. 执行：两个 300ms 的回源并行，总耗时远小于串行的 600ms
+        String tag = String.valueOf(System.nanoTime());
+        FetchResult result = jMultiCacheFetchPlanner.execute(plan, tag);
+        assertThat(result.get(group).getName()).isEqualTo("group-" + tag);
+        assertThat(result.get(owner).getName()).isEqualTo("owner-" + tag);
+        assertThat(result.get(members)).containsOnlyKeys(90011L, 90012L);
+        assertThat(result.getElapsedNanos()).isLessThan(550_000_000L);
+    }
+
+    @Test
+    @DisplayName("测试读取计划：步骤异常向调用方抛出")
+    void testStepFailure() {
+        FetchPlan.Builder<String> builder = FetchPlan.builder();
+        builder.fetch("TEST_GROUP", tag -> new String[]{"plan-fail-" + tag}, tag -> {
+            throw new IllegalArgumentException("boom");
+        });
+        FetchPlan<String> plan = builder.build();
+
+        assertThatThrownBy(() -> jMultiCacheFetchPlanner.execute(plan, String.valueOf(System.nanoTime())))
+                .hasStackTraceContaining("boom");
+    }
+
+    @Test
+    @DisplayName("测试读取计划：步骤失败时中断仍在回源的其他步骤")
+    void testFailureInterruptsRunningSteps() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        FetchPlan.Builder<String> builder = FetchPlan.builder();
+        builder.fetch("TEST_GROUP", tag -> new String[]{"plan-slow-" + tag}, tag -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        builder.fetch("TEST_USER_CACHE", tag -> new String[]{"plan-boom-" + tag}, tag -> {
+            sleep(50);
+            throw new IllegalArgumentException("boom");
+        });
+        FetchPlan<String> plan = builder.build();
+
+        assertThatThrownBy(() -> jMultiCacheFetchPlanner.execute(plan, String.valueOf(System.nanoTime())))
+                .hasStackTraceContaining("boom");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("测试读取计划：步骤内嵌套执行计划时，步骤数超过线程数也不会互相等待")
+    void testNestedPlan() {
+        FetchPlan.Builder<String> innerBuilder = FetchPlan.builder();
+        Slot<TestGroup> innerGroup = innerBuilder.fetch("TEST_GROUP", tag -> new String[]{"plan-inner-" + tag},
+                tag -> new TestGroup(9100L, "T1", "inner-" + tag));
+        FetchPlan<String> inner = innerBuilder.build();
+
+        // 外层 16 个根步骤 (线程池 8 个线程)，每一步都再执行一次内层计划
+        FetchPlan.Builder<String> outerBuilder = FetchPlan.builder();
+        List<Slot<TestGroup>> slots = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            int n = i;
+            slots.add(outerBuilder.fetch("TEST_GROUP", tag -> new String[]{"plan-outer-" + n + "-" + tag},
+                    tag -> jMultiCacheFetchPlanner.execute(inner, tag + "-" + n).get(innerGroup)));
+        }
+        FetchPlan<String> outer = outerBuilder.build();
+
+        String tag = String.valueOf(System.nanoTime());
+        FetchResult result = jMultiCacheFetchPlanner.execute(outer, tag);
+        for (int i = 0; i < slots.size(); i++) {
+            assertThat(result.get(slots.get(i)).getName()).isEqualTo("inner-" + tag + "-" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("测试读取计划：调用线程的请求级 L0 作用域在步骤线程上可见")
+    void testRequestScopePropagation() {
+        AtomicInteger loads = new AtomicInteger();
+        FetchPlan.Builder<String> builder = FetchPlan.builder();
+        // 两步读取同一个 L0 Key，第二步依赖第一步，在另一个任务中执行
+        Slot<TestGroup> first = builder.fetch("TEST_GROUP", tag -> new String[]{"plan-l0-a-" + tag},
+                tag -> new TestGroup(9201L, tag, JMultiCacheRequestScope.computeIfAbsent("plan-l0-" + tag,
+                        k -> "v" + loads.incrementAndGet())));
+        Slot<TestGroup> second = builder.fetch("TEST_GROUP", first, group -> new String[]{"plan-l0-b-" + group.getTenantId()},
+                group -> new TestGroup(9202L, group.getTenantId(), JMultiCacheRequestScope.computeIfAbsent(
+                        "plan-l0-" + group.getTenantId(), k -> "v" + loads.incrementAndGet())));
+        FetchPlan<String> plan = builder.build();
+
+        String tag = String.valueOf(System.nanoTime());
+        try (JMultiCacheRequestScope.Scope scope = JMultiCacheRequestScope.open()) {
+            FetchResult result = jMultiCacheFetchPlanner.execute(plan, tag);
+            assertThat(result.get(first).getName()).isEqualTo("v1");
+            assertThat(result.get(second).getName()).isEqualTo("v1");
+            assertThat(scope.size()).isEqualTo(1);
+            // 调用线程上读取同一个 Key 命中步骤线程写入的值
+            assertThat(JMultiCacheRequestScope.<String>computeIfAbsent("plan-l0-" + tag, k -> "miss")).isEqualTo("v1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
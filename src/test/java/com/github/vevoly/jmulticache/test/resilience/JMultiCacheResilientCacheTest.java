@@ -0,0 +1,72 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+import com.github.vevoly.jmulticache.test.cluster.JMultiCacheClusterBatch;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JMultiCacheResilientCacheTest {
+
+    @Test
+    @DisplayName("测试降级：L2 故障或熔断时先读框架 L1，不访问 Redis，也不回源")
+    @SuppressWarnings("unchecked")
+    void testDegradedReadsFrameworkL1First() {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        JMultiCacheExtProperties.ExtConfig config = new JMultiCacheExtProperties.ExtConfig();
+        config.setNamespace("test:user");
+        properties.getConfigs().put("TEST_USER_CACHE", config);
+        properties.getResilience().setWindowSize(2);
+        properties.getResilience().setMinimumCalls(2);
+
+        // 模拟框架：先查 L1，未命中时读 L2 (存储策略入口由 JMultiCacheL1OnlyAspect 检查)，Redis 已宕机
+        Map<String, Object> frameworkL1 = new HashMap<>(Map.of("1001", "l1-user-1001"));
+        AtomicInteger l2Reads = new AtomicInteger();
+        JMultiCache jMultiCache = mock(JMultiCache.class);
+        when(jMultiCache.fetchData(eq("TEST_USER_CACHE"), any(Supplier.class), any(String[].class))).thenAnswer(invocation -> {
+            String id = invocation.getArgument(2);
+            if (frameworkL1.containsKey(id)) {
+                return frameworkL1.get(id);
+            }
+            L1OnlyRead.beforeL2Read();
+            l2Reads.incrementAndGet();
+            throw new RedisConnectionFailureException("Redis down");
+        });
+        JMultiCacheClusterBatch clusterBatch = mock(JMultiCacheClusterBatch.class);
+        when(clusterBatch.nodeOf(anyString())).thenReturn("node-a");
+        JMultiCacheResilientCache cache = new JMultiCacheResilientCache(jMultiCache, properties, clusterBatch, null);
+
+        // 1. L2 调用失败：未在 L1 的 Key 按限流回源，两次失败后熔断
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Object> loader = () -> "db-" + loads.incrementAndGet();
+        assertThat(cache.fetchData("TEST_USER_CACHE", loader, "2001")).isEqualTo("db-1");
+        assertThat(cache.fetchData("TEST_USER_CACHE", loader, "2002")).isEqualTo("db-2");
+        assertThat(cache.getHealth()).singleElement()
+                .extracting(L2CircuitBreaker.Snapshot::state).isEqualTo(L2CircuitBreaker.State.OPEN);
+        int l2ReadsWhenOpened = l2Reads.get();
+
+        // 2. 熔断中：L1 仍有的数据直接返回，不读 L2、不回源
+        assertThat(cache.fetchData("TEST_USER_CACHE", loader, "1001")).isEqualTo("l1-user-1001");
+        assertThat(cache.getL1Hits()).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(2);
+
+        // 3. 熔断中 L1 未命中：只读 L1 的调用不访问 L2，接着用过期储备
+        assertThat(cache.fetchData("TEST_USER_CACHE", loader, "2001")).isEqualTo("db-1");
+        assertThat(cache.getStaleHits()).isEqualTo(1);
+        assertThat(l2Reads.get()).isEqualTo(l2ReadsWhenOpened);
+        assertThat(L1OnlyRead.isActive()).isFalse();
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.vevoly.jmulticache.test.resilience;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties.ResilienceConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class L2CircuitBreakerTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    @DisplayName("测试熔断：慢调用比例超过阈值后打开，冷却后半开只放行一个探测，探测成功后关闭")
+    void testOpenHalfOpenClose() {
+        ResilienceConfig config = new ResilienceConfig();
+        config.setWindowSize(10);
+        config.setMinimumCalls(10);
+        config.setSlowCallThreshold(Duration.ofMillis(100));
+        config.setOpenDuration(Duration.ofSeconds(10));
+        L2CircuitBreaker breaker = new L2CircuitBreaker("node-a", config);
+
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            breaker.onSuccess(MS, now);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onSuccess(500 * MS, now);
+        }
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.CLOSED);
+        breaker.onError(MS, now);
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(now + 5_000 * MS)).isFalse();
+
+        // 冷却结束：只放行一个探测请求
+        long later = now + 10_000 * MS;
+        assertThat(breaker.tryAcquire(later)).isTrue();
+        assertThat(breaker.tryAcquire(later)).isFalse();
+        breaker.onSuccess(MS, later);
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.CLOSED);
+        assertThat(breaker.snapshot().opens()).isEqualTo(1);
+        assertThat(breaker.snapshot().rejected()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("测试半开探测：探测请求没有触达 L2 (L1 命中) 时归还探测名额，下一个请求继续探测")
+    void testIgnoredProbeIsReleased() {
+        ResilienceConfig config = new ResilienceConfig();
+        config.setWindowSize(1);
+        config.setMinimumCalls(1);
+        config.setOpenDuration(Duration.ofSeconds(10));
+        L2CircuitBreaker breaker = new L2CircuitBreaker("node-a", config);
+
+        breaker.onError(MS, 0);
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.OPEN);
+
+        long later = 10_000 * MS;
+        assertThat(breaker.tryAcquire(later)).isTrue();
+        breaker.onIgnored();
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.HALF_OPEN);
+
+        // 名额已归还：下一个请求成为探测，成功后关闭
+        assertThat(breaker.tryAcquire(later)).isTrue();
+        breaker.onSuccess(MS, later);
+        assertThat(breaker.getState()).isEqualTo(L2CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("测试回源限流：令牌耗尽后拒绝")
+    void testLoaderRateLimit() {
+        LoaderRateLimiter limiter = new LoaderRateLimiter(3);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+    }
+}
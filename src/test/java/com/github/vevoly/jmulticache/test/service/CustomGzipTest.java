@@ -71,4 +71,18 @@ class CustomGzipTest {
         assertThat(cachedArticle.getContent()).isEqualTo(article.getContent());
         assertThat(cachedArticle.getId()).isEqualTo(id);
     }
+
+    @Test
+    @DisplayName("测试自定义 Gzip 策略：Redis 中的数据不是合法 Base64 时按未命中处理并覆盖")
+    void testCorruptedPayload() {
+        Long id = 889L;
+        String redisKey = "test:gzip:article:" + id;
+        jMultiCacheAdmin.evict("TEST_GZIP_CACHE", String.valueOf(id));
+        stringRedisTemplate.opsForValue().set(redisKey, "not-base64!!");
+
+        LongArticle article = articleService.getArticle(id);
+        assertThat(article).isNotNull();
+        assertThat(article.getId()).isEqualTo(id);
+        assertThat(stringRedisTemplate.opsForValue().get(redisKey)).matches("^[A-Za-z0-9+/=]+$");
+    }
 }
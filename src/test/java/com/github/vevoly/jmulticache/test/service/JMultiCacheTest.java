@@ -1,7 +1,9 @@
 package com.github.vevoly.jmulticache.test.service;
 
+import com.github.vevoly.jmulticache.test.accessor.JMultiCacheAccessorGenerator;
 import com.github.vevoly.jmulticache.test.entity.TestUser;
 import com.github.vevoly.jmulticache.test.entity.dto.UserRank;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheGenerations;
 import io.github.vevoly.jmulticache.api.JMultiCache;
 import io.github.vevoly.jmulticache.api.JMultiCacheEnumGenerator;
 import io.github.vevoly.jmulticache.api.JMultiCacheOps;
@@ -13,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.SpyBean;
@@ -21,6 +24,7 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -43,6 +47,12 @@ class JMultiCacheTest {
     @Autowired
     private JMultiCacheEnumGenerator jMultiCacheEnumGenerator;
 
+    @Autowired
+    private JMultiCacheAccessorGenerator jMultiCacheAccessorGenerator;
+
+    @Autowired
+    private JMultiCacheGenerations jMultiCacheGenerations;
+
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
@@ -212,8 +222,9 @@ class JMultiCacheTest {
         // 假设 jMultiCache 有支持 List 的 API，或者 fetchData 返回 List 时自动处理
         jMultiCache.fetchData("TEST_USER_CACHE_LIST", () -> users, tenantId);
 
-        // 验证 Redis 数据结构类型
-        String redisKey = "test:user:list:" + tenantId;
+        // 验证 Redis 数据结构类型 (该配置开启了 generation，Key 中嵌入代际号)
+        String redisKey = "test:user:list:" + String.join(":",
+                jMultiCacheGenerations.effectiveKeyParts("TEST_USER_CACHE_LIST", tenantId));
         assertThat(stringRedisTemplate.hasKey(redisKey)).isTrue();
         // 获取类型，应该是 LIST
         assertThat(stringRedisTemplate.type(redisKey).code()).isEqualTo("list");
@@ -633,6 +644,13 @@ class JMultiCacheTest {
         }
     }
 
+    @Test
+    @DisplayName("开发辅助：生成类型化缓存访问器 (写入临时目录，不改动源码树)")
+    void testJMultiCacheAccessorGenerator(@TempDir Path sourceRoot) throws IOException {
+        jMultiCacheAccessorGenerator.generateAccessors(sourceRoot);
+        assertThat(sourceRoot.resolve("jmulticache/generated/accessor/TestUserCacheAccessor.java")).exists();
+    }
+
     @Test
     @DisplayName("集成测试：ZSet获取榜单(手动)")
     void testRankManual() {
@@ -724,7 +742,10 @@ class JMultiCacheTest {
                     && !args.contains(1002L);
         }));
 
-        // 4.3 验证回填
+        // 4.3 验证批量注解：命中的直接返回，未命中的 9000 回源，结果按入参顺序
+        assertThat(users).extracting(TestUser::getId).containsExactly(1003L, 1001L, 1002L, 9000L);
+
+        // 4.4 验证回填
         // 1001 之前不在缓存，现在应该在 Redis 里了
         assertThat(stringRedisTemplate.hasKey("test:user:1001")).isTrue();
     }
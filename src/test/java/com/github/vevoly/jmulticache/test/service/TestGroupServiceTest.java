@@ -1,7 +1,11 @@
 package com.github.vevoly.jmulticache.test.service;
 
 import com.github.vevoly.jmulticache.test.entity.TestGroup;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.list.JMultiCacheListOps;
+import com.github.vevoly.jmulticache.test.scope.JMultiCacheRequestScope;
 import io.github.vevoly.jmulticache.api.JMultiCacheOps;
+import io.github.vevoly.jmulticache.api.JMultiCachePreload;
 import jmulticache.generated.JMultiCacheName;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +17,7 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -29,6 +34,12 @@ class TestGroupServiceTest {
     @Autowired
     private StringRedisTemplate stringRedisTemplate;
 
+    @Autowired
+    private JMultiCacheListOps jMultiCacheListOps;
+
+    @Autowired
+    private JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
     // 清理环境
     @BeforeEach
     void setUp() {
@@ -45,7 +56,8 @@ class TestGroupServiceTest {
     @DisplayName("测试缓存预热：数据应批量写入 Redis")
     void testPreloadMultiCache() {
 
-        // 1. 启动时，缓存自动预热
+        // 1. 启动时缓存自动预热；setUp 已清理 test:group:*，这里手动再预热一次
+        ((JMultiCachePreload) testGroupService).preloadMultiCache();
         // 2. 验证 Redis 中是否存在对应的 Key
         // mockDbQueryAll 包含 tenant001, tenant002, tenant003
         // key 应该是 namespace + tenantId
@@ -57,10 +69,11 @@ class TestGroupServiceTest {
         assertThat(hasTenant2).as("租户2的缓存应该存在").isTrue();
         assertThat(hasTenant3).as("租户3的缓存应该存在").isTrue();
 
-        // 3. 验证数据内容 (可选)
-        String jsonValue = stringRedisTemplate.opsForValue().get("test:group:list:tenantId:tenant001");
-        log.info("Redis Value for tenant001: {}", jsonValue);
-        assertThat(jsonValue).contains("group1").contains("group2");
+        // 3. 验证数据内容 (可选)：TEST_GROUP_LIST 是 storage-type: list，每个元素一个 JSON
+        List<String> jsonValues = stringRedisTemplate.opsForList().range("test:group:list:tenantId:tenant001", 0, -1);
+        log.info("Redis Value for tenant001: {}", jsonValues);
+        assertThat(jsonValues).hasSize(4);
+        assertThat(String.join(",", jsonValues)).contains("group1").contains("group2");
     }
 
     // ==========================================
@@ -140,6 +153,108 @@ class TestGroupServiceTest {
         assertThat(g2.getName()).isEqualTo(g1.getName());
     }
 
+    // ==========================================
+    // 5. 测试列表增量操作 (append / remove / range)
+    // ==========================================
+    @Test
+    @DisplayName("测试列表增量操作：追加和删除不触发整表回源")
+    void testListIncrementalOps() {
+        String tenantId = "tenant001";
+        assertThat(testGroupService.listByTenantId(tenantId)).hasSize(4);
+
+        // 1. 追加一个分组
+        testGroupService.addGroup(new TestGroup(5L, tenantId, "group5"));
+        long start = System.currentTimeMillis();
+        List<TestGroup> afterAdd = testGroupService.listByTenantId(tenantId);
+        assertThat(System.currentTimeMillis() - start).isLessThan(200); // 没有走 sleep(200) 的回源
+        assertThat(afterAdd).hasSize(5);
+        assertThat(afterAdd.get(4).getName()).isEqualTo("group5");
+
+        // 2. 区间读取最后两个
+        List<TestGroup> tail = jMultiCacheListOps.range("TEST_GROUP_LIST", -2, -1, tenantId);
+        assertThat(tail).extracting(TestGroup::getName).containsExactly("group4", "group5");
+
+        // 3. 按 ID 删除
+        testGroupService.removeGroup(tenantId, 2L);
+        assertThat(testGroupService.listByTenantId(tenantId))
+                .extracting(TestGroup::getName)
+                .containsExactly("group1", "group3", "group4", "group5");
+    }
+
+    @Test
+    @DisplayName("测试列表增量操作：修改通过失效中心广播给所有节点")
+    void testListOpsBroadcast() {
+        String tenantId = "tenant002";
+        assertThat(testGroupService.listByTenantId(tenantId)).hasSize(4);
+        List<String> events = new CopyOnWriteArrayList<>();
+        jMultiCacheInvalidationHub.subscribe((configName, keyParts, remote) -> {
+            if ("TEST_GROUP_LIST".equals(configName)) {
+                events.add(String.join(":", keyParts));
+            }
+        });
+
+        testGroupService.removeGroup(tenantId, 1L);
+        assertThat(events).contains(tenantId);
+    }
+
+    @Test
+    @DisplayName("测试差量列表增量操作：修改以差量追加到 Redis，读取不回源")
+    void testDeltaListOps() {
+        String tenantId = "tenant003";
+        String key = "test:group:delta:tenantId:" + tenantId;
+        jMultiCacheOps.evictL1("TEST_GROUP_LIST_DELTA", tenantId);
+        assertThat(testGroupService.listByTenantIdDelta(tenantId)).hasSize(4);
+        String base = stringRedisTemplate.opsForValue().get(key + ":base");
+
+        // 1. 按 ID 删除：只追加差量，基准不变
+        assertThat(jMultiCacheListOps.removeById("TEST_GROUP_LIST_DELTA", "id", 2L, tenantId)).isEqualTo(1);
+        assertThat(stringRedisTemplate.opsForValue().get(key + ":d")).isNotEmpty();
+        assertThat(stringRedisTemplate.opsForValue().get(key + ":base")).isEqualTo(base);
+        long start = System.currentTimeMillis();
+        List<TestGroup> afterRemove = testGroupService.listByTenantIdDelta(tenantId);
+        assertThat(System.currentTimeMillis() - start).isLessThan(200); // 没有走 sleep(200) 的回源
+        assertThat(afterRemove).extracting(TestGroup::getName).containsExactly("group1", "group3", "group4");
+
+        // 2. 追加一个分组 (小列表上差量超过全量的 1/4，会改写基准) 后区间读取
+        jMultiCacheListOps.append("TEST_GROUP_LIST_DELTA", List.of(new TestGroup(5L, tenantId, "group5")), 0, tenantId);
+        assertThat(jMultiCacheListOps.<TestGroup>range("TEST_GROUP_LIST_DELTA", -2, -1, tenantId))
+                .extracting(TestGroup::getName).containsExactly("group4", "group5");
+        assertThat(testGroupService.listByTenantIdDelta(tenantId)).extracting(TestGroup::getName)
+                .containsExactly("group1", "group3", "group4", "group5");
+    }
+
+    @Test
+    @DisplayName("测试请求级 L0 缓存：同一请求内重复读取结果一致，返回的集合互不影响")
+    void testRequestScope() {
+        String tenantId = "tenant001";
+        try (JMultiCacheRequestScope.Scope scope = JMultiCacheRequestScope.open()) {
+            List<TestGroup> first = testGroupService.listByTenantId(tenantId);
+            TestGroup byName = testGroupService.getByName("group1");
+            first.clear();
+            List<TestGroup> second = testGroupService.listByTenantId(tenantId);
+
+            assertThat(second).isNotSameAs(first).isNotEmpty();
+            assertThat(byName).isNotNull();
+            assertThat(scope.size()).isEqualTo(1);
+        }
+        assertThat(JMultiCacheRequestScope.isActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("测试请求级 L0 缓存：当前请求内通过 ListOps 写入后，再次读取看到新数据")
+    void testRequestScopeInvalidatedByWrite() {
+        String tenantId = "tenant001";
+        try (JMultiCacheRequestScope.Scope scope = JMultiCacheRequestScope.open()) {
+            int before = testGroupService.listByTenantId(tenantId).size();
+            jMultiCacheListOps.append("TEST_GROUP_LIST",
+                    List.of(new TestGroup(999L, tenantId, "group-l0")), 100, tenantId);
+
+            List<TestGroup> after = testGroupService.listByTenantId(tenantId);
+            assertThat(after).hasSize(before + 1);
+            assertThat(after).extracting(TestGroup::getName).contains("group-l0");
+        }
+    }
+
     @Test
     @DisplayName("开发辅助：查看本地缓存命中率")
     void testJMultiCacheEnumGenerator2() {
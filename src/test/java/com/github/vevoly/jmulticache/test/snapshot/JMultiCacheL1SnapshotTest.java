@@ -0,0 +1,134 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JMultiCacheL1SnapshotTest {
+
+    private static final String USER_JSON = "{\"id\":1001,\"tenantId\":\"T1\",\"name\":\"Snapshot-1001\"}";
+
+    @TempDir
+    Path dir;
+
+    private JMultiCacheExtProperties properties;
+    private JMultiCacheExtProperties.ExtConfig config;
+    private Path path;
+
+    @BeforeEach
+    void setUp() {
+        path = dir.resolve("l1.snapshot");
+        properties = new JMultiCacheExtProperties();
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(path.toString());
+        properties.getSnapshot().setMaxAge(Duration.ofMinutes(10));
+        config = new JMultiCacheExtProperties.ExtConfig();
+        config.setNamespace("test:user");
+        config.setEntityClass(TestUser.class.getName());
+        config.setKeyField("#id");
+        config.setSnapshotTopN(100);
+        properties.getConfigs().put("TEST_USER_CACHE", config);
+    }
+
+    @Test
+    @DisplayName("测试快照加载：文件过旧、配置指纹变化、本地 TTL 已过的条目被丢弃")
+    void testAgeAndFingerprintRejection() throws Exception {
+        long future = System.currentTimeMillis() + 60_000;
+        L1SnapshotFile.write(path, List.of(
+                entry("1001", fingerprint(), future),
+                entry("1002", "com.example.Old|#id|null", future),
+                entry("1003", fingerprint(), System.currentTimeMillis() - 1)));
+
+        JMultiCacheL1Snapshot snapshot = newSnapshot(null, null);
+        snapshot.load();
+        assertThat(snapshot.getPendingSize()).isEqualTo(1);
+
+        // 文件超过 max-age：整体作废
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofMinutes(11).toMillis()));
+        JMultiCacheL1Snapshot stale = newSnapshot(null, null);
+        stale.load();
+        assertThat(stale.getPendingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试快照加载：损坏的文件按冷启动处理")
+    void testCorruptFile() throws Exception {
+        Files.write(path, new byte[]{0x4A, 0x4D, 0x43, 0x31, 0, 0, 0, 2, 0, 0, 0, 5, 0, 9});
+        JMultiCacheL1Snapshot snapshot = newSnapshot(null, null);
+        snapshot.load();
+        assertThat(snapshot.getPendingSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("测试快照恢复：L2 摘要一致的条目恢复到框架 L1，不一致的丢弃")
+    @SuppressWarnings("unchecked")
+    void testRestoreIntoFrameworkL1() throws Exception {
+        long future = System.currentTimeMillis() + 60_000;
+        L1SnapshotFile.write(path, List.of(entry("1001", fingerprint(), future), entry("1002", fingerprint(), future)));
+
+        // 模拟框架：L1 未命中时读 L2，存储策略的 read 由 JMultiCacheSnapshotAspect 换成快照值，结果放入 L1
+        Map<String, Object> frameworkL1 = new HashMap<>();
+        JMultiCache jMultiCache = mock(JMultiCache.class);
+        when(jMultiCache.fetchData(eq("TEST_USER_CACHE"), any(Supplier.class), any(String[].class))).thenAnswer(invocation -> {
+            String id = invocation.getArgument(2);
+            Object value = SnapshotRestore.take();
+            if (value == null) {
+                value = ((Supplier<Object>) invocation.getArgument(1)).get();
+            }
+            frameworkL1.put(id, value);
+            return value;
+        });
+        // 1002 在停机期间被修改
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        when(redis.executePipelined(any(RedisCallback.class))).thenReturn(List.of("digest", "changed"));
+
+        JMultiCacheL1Snapshot snapshot = newSnapshot(jMultiCache, redis);
+        snapshot.load();
+        snapshot.restore();
+
+        assertThat(snapshot.getRestoredCount()).isEqualTo(1);
+        assertThat(frameworkL1).containsOnlyKeys("1001");
+        assertThat(((TestUser) frameworkL1.get("1001")).getName()).isEqualTo("Snapshot-1001");
+        assertThat(snapshot.getPendingSize()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private JMultiCacheL1Snapshot newSnapshot(JMultiCache jMultiCache, StringRedisTemplate redis) {
+        ObjectProvider<JMultiCache> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(jMultiCache);
+        return new JMultiCacheL1Snapshot(provider, properties, new ObjectMapper(), redis, null);
+    }
+
+    private SnapshotEntry entry(String id, String fingerprint, long expireAt) {
+        return new SnapshotEntry("TEST_USER_CACHE", new String[]{id}, fingerprint, "digest", SnapshotEntry.KIND_OBJECT,
+                expireAt, ByteBuffer.wrap(USER_JSON.replace("1001", id).getBytes()));
+    }
+
+    private String fingerprint() {
+        return config.getEntityClass() + "|" + config.getKeyField() + "|" + config.getStorageType();
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.vevoly.jmulticache.test.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class L1SnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("测试快照文件：写入后读取内容一致")
+    void testRoundTrip() throws Exception {
+        Path path = dir.resolve("l1.snapshot");
+        SnapshotEntry user = new SnapshotEntry("TEST_USER_CACHE", new String[]{"1001"}, "fp", "d1",
+                SnapshotEntry.KIND_OBJECT, 123L, utf8("{\"id\":1001,\"name\":\"用户\"}"));
+        SnapshotEntry list = new SnapshotEntry("TEST_GROUP_LIST", new String[]{"tenant001"}, "fp2", "d2",
+                SnapshotEntry.KIND_LIST, 456L, utf8("[]"));
+
+        L1SnapshotFile.write(path, List.of(user, list));
+        List<SnapshotEntry> read = L1SnapshotFile.read(path);
+
+        assertThat(read).hasSize(2);
+        assertThat(read.get(0).keyParts()).containsExactly("1001");
+        assertThat(read.get(0).l2Digest()).isEqualTo("d1");
+        assertThat(StandardCharsets.UTF_8.decode(read.get(0).payload().duplicate()).toString()).contains("用户");
+        // 值是映射区域上的只读视图，不是堆上的副本
+        assertThat(read.get(0).payload().isReadOnly()).isTrue();
+        assertThat(read.get(0).payload().hasArray()).isFalse();
+        assertThat(read.get(1).valueKind()).isEqualTo(SnapshotEntry.KIND_LIST);
+        assertThat(read.get(1).expireAtMillis()).isEqualTo(456L);
+        assertThat(StandardCharsets.UTF_8.decode(read.get(1).payload().duplicate()).toString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("测试快照文件：不存在或格式不匹配时返回空")
+    void testMissingOrCorrupt() throws Exception {
+        assertThat(L1SnapshotFile.read(dir.resolve("missing"))).isEmpty();
+        Path corrupt = dir.resolve("corrupt");
+        Files.write(corrupt, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        assertThat(L1SnapshotFile.read(corrupt)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("测试快照文件：格式版本不一致或内容被截断时整体作废")
+    void testVersionMismatchAndTruncated() throws Exception {
+        Path path = dir.resolve("l1.snapshot");
+        ByteBuffer payload = utf8("{\"id\":1001}");
+        int payloadLength = payload.remaining();
+        L1SnapshotFile.write(path, List.of(new SnapshotEntry("TEST_USER_CACHE", new String[]{"1001"}, "fp", "d1",
+                SnapshotEntry.KIND_OBJECT, 123L, payload)));
+        byte[] valid = Files.readAllBytes(path);
+
+        // 1. 旧版本写入的文件
+        byte[] oldVersion = valid.clone();
+        ByteBuffer.wrap(oldVersion).putInt(4, L1SnapshotFile.FORMAT_VERSION - 1);
+        Files.write(path, oldVersion);
+        assertThat(L1SnapshotFile.read(path)).isEmpty();
+
+        // 2. 写入中途被截断 (头部完整)
+        Files.write(path, Arrays.copyOf(valid, valid.length - 5));
+        assertThat(L1SnapshotFile.read(path)).isEmpty();
+
+        // 3. 值的长度字段被破坏
+        byte[] badLength = valid.clone();
+        ByteBuffer.wrap(badLength).putInt(valid.length - payloadLength - 4, Integer.MAX_VALUE);
+        Files.write(path, badLength);
+        assertThat(L1SnapshotFile.read(path)).isEmpty();
+    }
+
+    private static ByteBuffer utf8(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
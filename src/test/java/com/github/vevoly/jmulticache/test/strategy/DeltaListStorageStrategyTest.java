@@ -0,0 +1,202 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vevoly.jmulticache.api.config.ResolvedJMultiCacheConfig;
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import io.github.vevoly.jmulticache.api.redis.batch.BatchOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 差量存储策略测试：每个策略实例代表一个节点，共用同一个 Redis
+ */
+@SpringBootTest
+class DeltaListStorageStrategyTest {
+
+    private static final String KEY = "test:strategy:delta:list";
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final TypeReference<Object> typeRef = new TypeReference<>() {
+    };
+    private ResolvedJMultiCacheConfig config;
+    private final RedisClient redisClient = mock(RedisClient.class);
+
+    @BeforeEach
+    void setUp() {
+        Set<String> keys = stringRedisTemplate.keys(KEY + "*");
+        if (keys != null && !keys.isEmpty()) {
+            stringRedisTemplate.delete(keys);
+        }
+        config = mock(ResolvedJMultiCacheConfig.class);
+        when(config.getEmptyValueMark()).thenReturn("[[EMPTY]]");
+        when(config.getRedisTtl()).thenReturn(Duration.ofMinutes(1));
+        when(config.getEmptyCacheTtl()).thenReturn(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("测试差量追加：update 只追加差量，已持有旧版本的节点只补差量，并发修改时基于最新版本重试")
+    void testUpdateAppendsDeltas() {
+        DeltaListStorageStrategy node1 = newNode();
+        DeltaListStorageStrategy node2 = newNode();
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            items.add("item-" + i);
+        }
+        // 未缓存的列表不会被凭空创建
+        assertThat(node1.update(KEY, list -> list, TTL)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(KEY)).isFalse();
+
+        // 1. 写入基准，节点 2 读取后持有该版本
+        node1.write(redisClient, KEY, new ArrayList<>(items), config);
+        assertThat(node2.read(redisClient, KEY, typeRef, config)).isEqualTo(items);
+        String base = stringRedisTemplate.opsForValue().get(KEY + ":base");
+
+        // 2. 修改只追加差量，基准不变，节点 2 补齐差量后得到最新列表
+        assertThat(node1.update(KEY, list -> append(list, "\"appended\""), TTL)).isTrue();
+        items.add("appended");
+        assertThat(stringRedisTemplate.opsForValue().get(KEY + ":base")).isEqualTo(base);
+        assertThat(stringRedisTemplate.opsForValue().get(KEY + ":d")).containsOnlyOnce(";");
+        assertThat(node2.read(redisClient, KEY, typeRef, config)).isEqualTo(items);
+
+        // 3. 节点 1 计算修改时节点 2 抢先追加：版本头比较失败，节点 1 基于最新版本重试，两次修改都保留
+        boolean[] raced = {false};
+        node1.update(KEY, list -> {
+            if (!raced[0]) {
+                raced[0] = true;
+                node2.update(KEY, other -> append(other, "\"from-node2\""), TTL);
+            }
+            return append(list, "\"from-node1\"");
+        }, TTL);
+        items.add("from-node2");
+        items.add("from-node1");
+        // 三次修改都以差量追加在同一条链上
+        assertThat(stringRedisTemplate.opsForValue().get(KEY + ":d")).matches("(?:[^;]+;){3}");
+        assertThat(newNode().read(redisClient, KEY, typeRef, config)).isEqualTo(items);
+        assertThat(node2.read(redisClient, KEY, typeRef, config)).isEqualTo(items);
+
+        // 4. 框架回填的数据来自数据源：无条件改写基准，差量链清空
+        node1.write(redisClient, KEY, List.of("x"), config);
+        assertThat(node2.read(redisClient, KEY, typeRef, config)).isEqualTo(List.of("x"));
+    }
+
+    @Test
+    @DisplayName("测试批量读写：读取全部登记在批次内，已持有版本的节点不读基准；空值占位符清理整条链")
+    void testBatch() {
+        DeltaListStorageStrategy node1 = newNode();
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            items.add("item-" + i);
+        }
+        node1.write(redisClient, KEY, new ArrayList<>(items), config);
+        node1.update(KEY, list -> append(list, "\"appended\""), TTL);
+
+        // 1. 批量写入新的基准，旧的差量链被清空
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put(KEY, new ArrayList<>(items));
+        data.put(KEY + ":other", List.of("c"));
+        FakeBatch write = new FakeBatch();
+        node1.writeMulti(write.batch, data, config);
+        write.execute();
+        assertThat(stringRedisTemplate.opsForValue().get(KEY + ":d")).isEmpty();
+
+        // 2. 新节点批量读取：版本头、差量链、基准都在批次内
+        DeltaListStorageStrategy node2 = newNode();
+        FakeBatch read = new FakeBatch();
+        Map<String, CompletableFuture<Optional<Object>>> futures = node2.readMulti(read.batch,
+                List.of(KEY, KEY + ":other", KEY + ":missing"), typeRef, config);
+        read.execute();
+        assertThat(read.gets).isEqualTo(9);
+        assertThat(futures.get(KEY).join()).contains(items);
+        assertThat(futures.get(KEY + ":other").join()).contains(List.of("c"));
+        assertThat(futures.get(KEY + ":missing").join()).isNull();
+
+        // 3. 追加差量后，持有旧版本的节点批量读取只读版本头和差量链
+        node1.update(KEY, list -> append(list, "\"c\""), TTL);
+        FakeBatch delta = new FakeBatch();
+        Map<String, CompletableFuture<Optional<Object>>> deltaFutures = node2.readMulti(delta.batch,
+                List.of(KEY), typeRef, config);
+        delta.execute();
+        assertThat(delta.gets).isEqualTo(2);
+        items.add("c");
+        assertThat(deltaFutures.get(KEY).join()).contains(items);
+
+        // 4. 批量写入空值占位符，基准和差量链一并清空
+        FakeBatch empty = new FakeBatch();
+        node1.writeMultiEmpty(empty.batch, List.of(KEY), config);
+        empty.execute();
+        assertThat(stringRedisTemplate.opsForValue().get(KEY + ":base")).isEmpty();
+        FakeBatch readEmpty = new FakeBatch();
+        Map<String, CompletableFuture<Optional<Object>>> emptyFutures = newNode().readMulti(readEmpty.batch,
+                List.of(KEY), typeRef, config);
+        readEmpty.execute();
+        assertThat(emptyFutures.get(KEY).join()).isEmpty();
+        assertThat(node1.update(KEY, list -> append(list, "\"d\""), TTL)).isFalse();
+    }
+
+    private static List<String> append(List<String> list, String json) {
+        list.add(json);
+        return list;
+    }
+
+    private DeltaListStorageStrategy newNode() {
+        return new DeltaListStorageStrategy(objectMapper, stringRedisTemplate);
+    }
+
+    /**
+     * 按登记顺序执行的批次，与 pipeline 的语义一致
+     */
+    private final class FakeBatch {
+
+        private final BatchOperation batch = mock(BatchOperation.class);
+        private final List<Runnable> operations = new ArrayList<>();
+        private int gets;
+
+        FakeBatch() {
+            when(batch.get(anyString())).thenAnswer(invocation -> {
+                String key = invocation.getArgument(0);
+                gets++;
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                operations.add(() -> future.complete(stringRedisTemplate.opsForValue().get(key)));
+                return future;
+            });
+            doAnswer(invocation -> {
+                String key = invocation.getArgument(0);
+                String value = invocation.getArgument(1);
+                Duration ttl = invocation.getArgument(2);
+                operations.add(() -> stringRedisTemplate.opsForValue().set(key, value, ttl));
+                return null;
+            }).when(batch).set(anyString(), any(), any(Duration.class));
+        }
+
+        void execute() {
+            operations.forEach(Runnable::run);
+        }
+    }
+}
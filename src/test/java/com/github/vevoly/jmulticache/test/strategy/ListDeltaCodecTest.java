@@ -0,0 +1,45 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ListDeltaCodecTest {
+
+    @Test
+    @DisplayName("测试列表差量：追加、删除、修改都只编码变化的元素，应用后与新版本一致")
+    void testDiffAndApply() {
+        List<String> v1 = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            v1.add("{\"id\":" + i + ",\"name\":\"group" + i + "\"}");
+        }
+        List<String> v2 = new ArrayList<>(v1);
+        v2.add("{\"id\":1000,\"name\":\"group1000\"}");
+        List<String> v3 = new ArrayList<>(v2);
+        v3.remove(10);
+        List<String> v4 = new ArrayList<>(v3);
+        v4.set(500, "{\"id\":501,\"name\":\"renamed\"}");
+
+        List<List<String>> versions = List.of(v1, v2, v3, v4);
+        for (int i = 0; i + 1 < versions.size(); i++) {
+            ListDeltaCodec.Splice splice = ListDeltaCodec.diff(versions.get(i), versions.get(i + 1));
+            assertThat(splice.inserts().size()).isLessThanOrEqualTo(1);
+            String encoded = ListDeltaCodec.encode(splice);
+            assertThat(encoded.length()).isLessThan(100);
+            assertThat(ListDeltaCodec.apply(versions.get(i), ListDeltaCodec.decode(encoded))).isEqualTo(versions.get(i + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("测试列表差量：与基准不匹配时拒绝应用")
+    void testMismatchedBase() {
+        ListDeltaCodec.Splice splice = ListDeltaCodec.diff(List.of("a", "b", "c"), List.of("a", "c"));
+        assertThatThrownBy(() -> ListDeltaCodec.apply(List.of("a"), splice))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.vevoly.jmulticache.test.strategy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import io.github.vevoly.jmulticache.api.config.ResolvedJMultiCacheConfig;
+import io.github.vevoly.jmulticache.api.redis.RedisClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class VersionedStorageStrategyTest {
+
+    private static final String KEY = "test:strategy:versioned:1";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final TypeReference<Object> typeRef = new TypeReference<>() {
+    };
+    private final RedisClient redisClient = mock(RedisClient.class);
+    private VersionedStorageStrategy strategy;
+    private ResolvedJMultiCacheConfig config;
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate.delete(KEY);
+        strategy = new VersionedStorageStrategy(objectMapper, stringRedisTemplate);
+        config = mock(ResolvedJMultiCacheConfig.class);
+        when(config.getEmptyValueMark()).thenReturn("[[EMPTY]]");
+        when(config.getRedisTtl()).thenReturn(Duration.ofMinutes(1));
+        when(config.getEmptyCacheTtl()).thenReturn(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("测试版本化编码：切换 storage-type 之前写入的旧值按未命中处理，回填后以新编码覆盖")
+    void testLegacyValueIsMiss() {
+        // 1. 旧的 string 存储写入的纯 JSON
+        stringRedisTemplate.opsForValue().set(KEY, "{\"id\":1,\"tenantId\":\"T1\",\"name\":\"Legacy\",\"age\":18}");
+        assertThat(strategy.read(redisClient, KEY, typeRef, config)).isNull();
+
+        // 2. 回填后带编码标记，可以正常读回
+        strategy.write(redisClient, KEY, new TestUser(1L, "T1", 1L, "New", 18), config);
+        assertThat(stringRedisTemplate.opsForValue().get(KEY)).startsWith(VersionedStorageStrategy.PREFIX);
+        Object value = strategy.read(redisClient, KEY, typeRef, config);
+        assertThat(objectMapper.convertValue(value, TestUser.class).getName()).isEqualTo("New");
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.vevoly.jmulticache.test.tenant;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.write.JMultiCacheWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheTenantCacheTest {
+
+    private static final String CONFIG = "TEST_USER_CACHE_BY_TENANT_ID";
+
+    @Autowired
+    private JMultiCacheTenantCache jMultiCacheTenantCache;
+    @Autowired
+    private JMultiCacheWriter jMultiCacheWriter;
+
+    @Test
+    @DisplayName("测试租户隔离：大租户扫描不会挤掉小租户的热点数据")
+    void testTenantIsolation() {
+        String small = "tenant_small";
+        String big = "tenant_big";
+        jMultiCacheTenantCache.evict(CONFIG, small, "1");
+
+        // 1. 小租户的热点数据进入分区
+        jMultiCacheTenantCache.fetchData(CONFIG, () -> new TestUser(1L, small, 1L, "hot", 18), small, "1");
+
+        // 2. 大租户扫描远超自身份额的数据
+        for (long id = 0; id < 2_000; id++) {
+            long userId = id;
+            jMultiCacheTenantCache.fetchData(CONFIG, () -> new TestUser(userId, big, 1L, "scan", 18),
+                    big, String.valueOf(id));
+        }
+
+        // 3. 小租户仍然命中自己的分区
+        TestUser hot = jMultiCacheTenantCache.fetchData(CONFIG, () -> {
+            throw new IllegalStateException("Should hit tenant partition!");
+        }, small, "1");
+        assertThat(hot.getName()).isEqualTo("hot");
+
+        Map<String, TenantStats.Snapshot> stats = jMultiCacheTenantCache.getTenantStats(CONFIG);
+        assertThat(stats.get(small).hits()).isEqualTo(1);
+        assertThat(stats.get(big).capacity()).isEqualTo(500); // 2000 × 0.25
+        assertThat(stats.get(big).localSize()).isLessThanOrEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("测试租户分区的失效：经失效中心删除后重新回源")
+    void testEvictThroughHub() {
+        String tenant = "tenant_evict";
+        jMultiCacheTenantCache.evict(CONFIG, tenant, "2");
+        jMultiCacheTenantCache.fetchData(CONFIG, () -> new TestUser(2L, tenant, 1L, "v1", 18), tenant, "2");
+
+        // 删除 L1/L2 并广播，本地分区同步失效
+        jMultiCacheTenantCache.evict(CONFIG, tenant, "2");
+        TestUser reloaded = jMultiCacheTenantCache.fetchData(CONFIG,
+                () -> new TestUser(2L, tenant, 1L, "v2", 18), tenant, "2");
+        assertThat(reloaded.getName()).isEqualTo("v2");
+        assertThat(jMultiCacheTenantCache.getTenantStats(CONFIG).get(tenant).loads()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("测试租户分区读己之写：write-behind 尚未刷新的数据经租户分区读取可见")
+    void testReadThroughWriteBehindBuffer() {
+        String tenant = "tenant_write";
+        jMultiCacheTenantCache.evict(CONFIG, tenant, "3");
+        jMultiCacheTenantCache.fetchData(CONFIG, () -> new TestUser(3L, tenant, 1L, "v1", 18), tenant, "3");
+
+        // 写入只进入缓冲区，L2 中仍是 v1；本地分区经失效中心失效
+        jMultiCacheWriter.put(CONFIG, new TestUser(3L, tenant, 1L, "v2", 18), tenant, "3");
+        TestUser pending = jMultiCacheTenantCache.fetchData(CONFIG, () -> {
+            throw new IllegalStateException("Should read the write-behind buffer!");
+        }, tenant, "3");
+        assertThat(pending.getName()).isEqualTo("v2");
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.vevoly.jmulticache.test.trace;
+
+import com.github.vevoly.jmulticache.test.config.JMultiCacheExtProperties;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import io.github.vevoly.jmulticache.api.annotation.JMultiCacheable;
+import io.github.vevoly.jmulticache.api.strategy.RedisStorageStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JMultiCacheLatencyTrackerTest {
+
+    private static final long MS = 1_000_000;
+
+    private final List<FetchTrace.Snapshot> spans = new CopyOnWriteArrayList<>();
+
+    private JMultiCacheLatencyTracker tracker;
+    private JMultiCacheTracingAspect aspect;
+    private JMultiCache jMultiCache;
+
+    @AfterEach
+    void tearDown() {
+        JMultiCacheTracing.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("测试分阶段计时：策略自报的阶段不重复计入，其余读取耗时归入 L2_READ，钩子拿到的副本不会被下一次调用覆盖")
+    void testPhasesAndImmutableSpans() {
+        setUp(true);
+
+        jMultiCache.fetchData("CONFIG_A", () -> sleep(50), "1");
+        jMultiCache.fetchData("CONFIG_B", () -> sleep(1), "2");
+
+        assertThat(spans).hasSize(2);
+        FetchTrace.Snapshot first = spans.get(0);
+        assertThat(first.getConfigName()).isEqualTo("CONFIG_A");
+        assertThat(first.getKey()).isEqualTo("CONFIG_A:1");
+        assertThat(first.getPayloadBytes()).isEqualTo(128);
+        assertThat(first.nanos(FetchPhase.DESERIALIZE)).isEqualTo(MS);
+        // 策略读取睡眠 2ms，自报的 1ms 反序列化不重复计入 L2_READ；回源的 50ms 给首次调用的预热留出余量
+        assertThat(first.nanos(FetchPhase.L2_READ)).isGreaterThanOrEqualTo(MS).isLessThan(first.nanos(FetchPhase.LOADER));
+        assertThat(first.nanos(FetchPhase.LOADER)).isGreaterThanOrEqualTo(50 * MS);
+        assertThat(first.nanos(FetchPhase.TOTAL)).isGreaterThanOrEqualTo(first.nanos(FetchPhase.LOADER));
+        assertThat(spans.get(1).getConfigName()).isEqualTo("CONFIG_B");
+
+        assertThat(tracker.getHistogram("CONFIG_A", FetchPhase.TOTAL).getTotalCount()).isEqualTo(1);
+        assertThat(tracker.getHistogram("CONFIG_A", FetchPhase.L2_READ).getTotalCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("测试分阶段计时：嵌套调用计入外层的回源耗时，只产生一个 Span")
+    void testNestedFetch() {
+        setUp(true);
+
+        jMultiCache.fetchData("OUTER", () -> jMultiCache.fetchData("INNER", () -> sleep(1), "2"), "1");
+
+        assertThat(spans).extracting(FetchTrace.Snapshot::getConfigName).containsExactly("OUTER");
+        // 内层的反序列化计入 LOADER，不会累加到外层
+        assertThat(spans.get(0).nanos(FetchPhase.DESERIALIZE)).isEqualTo(MS);
+        assertThat(tracker.getHistogram("INNER", FetchPhase.TOTAL)).isNull();
+    }
+
+    @Test
+    @DisplayName("测试分阶段计时：批量读取和 @JMultiCacheable 方法同样被记录")
+    void testMultiFetchAndCacheable() {
+        setUp(true);
+
+        jMultiCache.fetchMultiDataMap("CONFIG_M", List.of(1L, 2L), "id", ids -> {
+            sleep(2);
+            return Map.of();
+        });
+        AspectJProxyFactory factory = new AspectJProxyFactory(new CachedService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        CachedService service = factory.getProxy();
+        service.load();
+
+        assertThat(spans).hasSize(2);
+        assertThat(spans.get(0).getConfigName()).isEqualTo("CONFIG_M");
+        assertThat(spans.get(0).getKey()).isEqualTo("<2 ids>");
+        assertThat(spans.get(0).nanos(FetchPhase.LOADER)).isGreaterThanOrEqualTo(2 * MS);
+        assertThat(spans.get(1).getConfigName()).isEqualTo("CONFIG_C");
+        assertThat(spans.get(1).getKey()).contains("load");
+        assertThat(spans.get(1).nanos(FetchPhase.TOTAL)).isGreaterThanOrEqualTo(MS);
+    }
+
+    @Test
+    @DisplayName("测试分阶段计时：关闭时直接调用框架，不记录任何数据")
+    void testDisabled() {
+        setUp(false);
+
+        jMultiCache.fetchData("CONFIG_A", () -> "v", "1");
+
+        assertThat(spans).isEmpty();
+        assertThat(tracker.getHistogram("CONFIG_A", FetchPhase.TOTAL)).isNull();
+        assertThat(JMultiCacheTracing.current()).isNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setUp(boolean enabled) {
+        JMultiCacheExtProperties properties = new JMultiCacheExtProperties();
+        properties.getTracing().setEnabled(enabled);
+        properties.getTracing().setSlowSampleRate(0);
+        ObjectProvider<JMultiCacheSpanHook> hooks = mock(ObjectProvider.class);
+        when(hooks.getIfAvailable()).thenReturn(spans::add);
+        tracker = new JMultiCacheLatencyTracker(properties, hooks);
+        aspect = new JMultiCacheTracingAspect(tracker, properties);
+
+        // 模拟存储策略：读取 2ms，其中自报 1ms 反序列化
+        RedisStorageStrategy<Object> strategy = proxy(mock(RedisStorageStrategy.class));
+        doAnswer(invocation -> {
+            sleep(2);
+            JMultiCacheTracing.record(FetchPhase.DESERIALIZE, MS);
+            JMultiCacheTracing.payload(128);
+            return null;
+        }).when(strategy).read(any(), anyString(), any(), any());
+
+        // 模拟框架：L1 未命中，经存储策略读取 L2，然后回源
+        JMultiCache framework = mock(JMultiCache.class);
+        doAnswer(invocation -> {
+            strategy.read(null, invocation.getArgument(0), null, null);
+            return ((Supplier<Object>) invocation.getArgument(1)).get();
+        }).when(framework).fetchData(anyString(), any(), any(String[].class));
+        doAnswer(invocation -> ((Function<Collection<Object>, Object>) invocation.getArgument(3))
+                .apply(invocation.getArgument(1))).when(framework).fetchMultiDataMap(anyString(), any(), anyString(), any());
+        jMultiCache = proxy(framework);
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "v";
+    }
+
+    public static class CachedService {
+
+        @JMultiCacheable(configName = "CONFIG_C")
+        public String load() {
+            return sleep(1);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.vevoly.jmulticache.test.ttl;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import com.github.vevoly.jmulticache.test.invalidation.JMultiCacheInvalidationHub;
+import com.github.vevoly.jmulticache.test.service.TestService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheAdaptiveTtlTest {
+
+    private static final String CONFIG = "TEST_USER_CACHE_BY_TENANT_ID";
+
+    @Autowired
+    private JMultiCacheAdaptiveTtl jMultiCacheAdaptiveTtl;
+
+    @Autowired
+    private JMultiCacheInvalidationHub jMultiCacheInvalidationHub;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试自适应 TTL：回源结果变化时 TTL 减半，稳定且频繁访问时 TTL 翻倍，并作用到 Redis")
+    void testAdaptiveTtl() {
+        String tenantId = "tenant_ttl";
+        String id = "8101";
+        String redisKey = "test:user:tenantId_id:" + tenantId + ":" + id;
+        jMultiCacheInvalidationHub.evict(CONFIG, tenantId, id);
+
+        // 1. 首次回源：使用配置的 redis-ttl (41s)
+        reload(tenantId, id, "v1");
+        assertThat(jMultiCacheAdaptiveTtl.getTtl(CONFIG, tenantId, id)).isEqualTo(Duration.ofSeconds(41));
+
+        // 2. 回源结果变化：TTL 减半，Redis 中的过期时间同步缩短
+        reload(tenantId, id, "v2");
+        assertThat(jMultiCacheAdaptiveTtl.getTtl(CONFIG, tenantId, id)).isEqualTo(Duration.ofMillis(20_500));
+        assertThat(stringRedisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS)).isBetween(1L, 20_500L);
+
+        // 3. 回源结果不变且访问频繁 (> hot-access-per-minute)：TTL 翻倍
+        for (int i = 0; i < 10; i++) {
+            jMultiCacheAdaptiveTtl.fetchData(CONFIG, () -> {
+                throw new IllegalStateException("Should hit cache!");
+            }, tenantId, id);
+        }
+        reload(tenantId, id, "v2");
+        assertThat(jMultiCacheAdaptiveTtl.getTtl(CONFIG, tenantId, id)).isEqualTo(Duration.ofSeconds(41));
+        assertThat(stringRedisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS)).isGreaterThan(20_500L);
+    }
+
+    @Test
+    @DisplayName("测试自适应 TTL 的读路径：TestService 回源后记录 Key 的 TTL")
+    void testServiceReadPath() {
+        String tenantId = "tenant_ttl";
+        Long id = 8102L;
+        jMultiCacheInvalidationHub.evict(CONFIG, tenantId, String.valueOf(id));
+
+        TestUser user = testService.getUserByTenantIdIdAdaptive(tenantId, id);
+        assertThat(user.getId()).isEqualTo(id);
+        assertThat(jMultiCacheAdaptiveTtl.getTtl(CONFIG, tenantId, String.valueOf(id))).isNotNull();
+    }
+
+    private void reload(String tenantId, String id, String name) {
+        jMultiCacheInvalidationHub.evict(CONFIG, tenantId, id);
+        TestUser user = jMultiCacheAdaptiveTtl.fetchData(CONFIG,
+                () -> new TestUser(Long.valueOf(id), tenantId, 1L, name, 18), tenantId, id);
+        assertThat(user.getName()).isEqualTo(name);
+    }
+}
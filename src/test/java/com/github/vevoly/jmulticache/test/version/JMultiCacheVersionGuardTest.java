@@ -0,0 +1,86 @@
+package com.github.vevoly.jmulticache.test.version;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheVersionGuardTest {
+
+    @Autowired
+    private JMultiCacheVersionGuard jMultiCacheVersionGuard;
+
+    @Autowired
+    private JMultiCache jMultiCache;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("测试版本墓碑：回源期间 evict，旧数据不会留在缓存里")
+    void testStaleBackfillRejected() throws Exception {
+        String id = "6001";
+        jMultiCacheVersionGuard.evict("TEST_USER_CACHE", id);
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // 1. 慢回源：第一次读到旧数据，等待 evict 完成后才返回
+        CompletableFuture<TestUser> slowFetch = CompletableFuture.supplyAsync(() ->
+                jMultiCacheVersionGuard.fetchData("TEST_USER_CACHE", () -> {
+                    if (loads.incrementAndGet() == 1) {
+                        loading.countDown();
+                        await(evicted);
+                        return new TestUser(6001L, "T1", 1L, "Old", 18);
+                    }
+                    return new TestUser(6001L, "T1", 1L, "New", 18);
+                }, id));
+
+        // 2. 回源期间发生 evict (例如 DB 已更新)
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        jMultiCacheVersionGuard.evict("TEST_USER_CACHE", id);
+        evicted.countDown();
+
+        // 3. 检测到版本变化后重新加载，缓存中是新数据
+        assertThat(slowFetch.get(5, TimeUnit.SECONDS).getName()).isEqualTo("New");
+        TestUser cached = jMultiCache.fetchData("TEST_USER_CACHE", () -> null, id);
+        assertThat(cached.getName()).isEqualTo("New");
+    }
+
+    @Test
+    @DisplayName("测试版本墓碑：重载次数用尽仍有 evict，旧数据不会写入 L2")
+    void testStaleBackfillNeverReachesL2() {
+        String id = "6002";
+        jMultiCacheVersionGuard.evict("TEST_USER_CACHE", id);
+
+        // 每次回源都伴随一次 evict，max-reloads 用尽后回源看到的版本仍然落后
+        TestUser value = jMultiCacheVersionGuard.fetchData("TEST_USER_CACHE", () -> {
+            jMultiCacheVersionGuard.evict("TEST_USER_CACHE", id);
+            return new TestUser(6002L, "T1", 1L, "Stale", 18);
+        }, id);
+
+        assertThat(value.getName()).isEqualTo("Stale");
+        // 版本校验和写入在同一个脚本中完成，L2 中从未出现过旧值
+        assertThat(stringRedisTemplate.hasKey("test:user:" + id)).isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
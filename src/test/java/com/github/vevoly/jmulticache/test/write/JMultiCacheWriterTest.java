@@ -0,0 +1,95 @@
+package com.github.vevoly.jmulticache.test.write;
+
+import com.github.vevoly.jmulticache.test.entity.TestUser;
+import io.github.vevoly.jmulticache.api.JMultiCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JMultiCacheWriterTest {
+
+    @Autowired
+    private JMultiCacheWriter jMultiCacheWriter;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private JMultiCache jMultiCache;
+
+    @Test
+    @DisplayName("测试 write-behind：多次更新合并，本地立即可见，刷新后写入 Redis")
+    void testWriteBehindCoalescing() {
+        String tenantId = "tenant_wb";
+        Long id = 7001L;
+        String redisKey = "test:user:tenantId_id:" + tenantId + ":" + id;
+        stringRedisTemplate.delete(redisKey);
+
+        // 1. 连续更新 10 次，只保留最后一次
+        for (int age = 1; age <= 10; age++) {
+            jMultiCacheWriter.put("TEST_USER_CACHE_BY_TENANT_ID",
+                    new TestUser(id, tenantId, 1L, "WB-User", age), tenantId, String.valueOf(id));
+        }
+
+        // 2. 本节点读己之写，不回源
+        TestUser cached = jMultiCacheWriter.fetchData("TEST_USER_CACHE_BY_TENANT_ID", () -> {
+            throw new IllegalStateException("Should hit write-behind buffer!");
+        }, tenantId, String.valueOf(id));
+        assertThat(cached.getAge()).isEqualTo(10);
+
+        // 3. 刷新后 Redis 中是最后一次的值
+        jMultiCacheWriter.flush("TEST_USER_CACHE_BY_TENANT_ID");
+        assertThat(stringRedisTemplate.hasKey(redisKey)).isTrue();
+        assertThat(stringRedisTemplate.opsForValue().get(redisKey)).contains("\"age\":10");
+    }
+
+    @Test
+    @DisplayName("测试 write-behind：并发写入与定时刷新交错，最终写入的是最后一次的值")
+    void testWriteBehindConcurrentFlush() throws Exception {
+        String tenantId = "tenant_wb_race";
+        Long id = 7002L;
+        String redisKey = "test:user:tenantId_id:" + tenantId + ":" + id;
+        stringRedisTemplate.delete(redisKey);
+
+        Thread flusher = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                jMultiCacheWriter.flush("TEST_USER_CACHE_BY_TENANT_ID");
+            }
+        });
+        flusher.start();
+        for (int age = 1; age <= 200; age++) {
+            jMultiCacheWriter.put("TEST_USER_CACHE_BY_TENANT_ID",
+                    new TestUser(id, tenantId, 1L, "WB-User", age), tenantId, String.valueOf(id));
+            // 刷新进行中也能读到自己的写入
+            TestUser cached = jMultiCacheWriter.fetchData("TEST_USER_CACHE_BY_TENANT_ID", () -> null,
+                    tenantId, String.valueOf(id));
+            assertThat(cached.getAge()).isEqualTo(age);
+        }
+        flusher.join();
+        jMultiCacheWriter.flush("TEST_USER_CACHE_BY_TENANT_ID");
+        assertThat(stringRedisTemplate.opsForValue().get(redisKey)).contains("\"age\":200");
+    }
+
+    @Test
+    @DisplayName("测试 write-through：写入后本节点 L1 持有新值")
+    void testWriteThroughReloadsL1() {
+        Long id = 7003L;
+        String redisKey = "test:user:" + id;
+        stringRedisTemplate.delete(redisKey);
+
+        jMultiCacheWriter.put("TEST_USER_CACHE", new TestUser(id, "tenant001", 1L, "WT-User", 20), String.valueOf(id));
+        assertThat(stringRedisTemplate.opsForValue().get(redisKey)).contains("\"age\":20");
+
+        // 删除 L2 后仍能从 L1 读到新值，说明 L1 已被更新而不是仅被失效
+        stringRedisTemplate.delete(redisKey);
+        TestUser cached = jMultiCache.fetchData("TEST_USER_CACHE", () -> {
+            throw new IllegalStateException("Should hit L1!");
+        }, String.valueOf(id));
+        assertThat(cached.getAge()).isEqualTo(20);
+    }
+}
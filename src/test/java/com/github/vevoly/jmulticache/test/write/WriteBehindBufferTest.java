@@ -0,0 +1,39 @@
+package com.github.vevoly.jmulticache.test.write;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindBufferTest {
+
+    @Test
+    @DisplayName("测试 write-behind 回滚：失败批次放回时不超过上限，刷新期间的新写入优先")
+    void testRestoreRespectsMaxPending() {
+        JMultiCacheWriter.WriteBehindBuffer buffer = new JMultiCacheWriter.WriteBehindBuffer(4, () -> {
+        });
+        buffer.putAll(entries("a", 4));
+        buffer.drain();
+
+        // 刷新期间又写入 3 条，其中 a:1 覆盖了批次中的旧值
+        buffer.putAll(Map.of("a:1", "new"));
+        buffer.putAll(entries("b", 2));
+
+        Map<String, Object> dropped = buffer.restore();
+
+        assertThat(buffer.size()).isEqualTo(4);
+        assertThat(buffer.get("a:1")).isEqualTo("new");
+        assertThat(dropped).containsOnlyKeys("a:3", "a:4");
+    }
+
+    private static Map<String, Object> entries(String prefix, int count) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (int i = 1; i <= count; i++) {
+            entries.put(prefix + ":" + i, "v" + i);
+        }
+        return entries;
+    }
+}